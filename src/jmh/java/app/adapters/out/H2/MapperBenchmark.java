@@ -0,0 +1,79 @@
+package app.adapters.out.H2;
+
+import app.adapters.out.H2.entity.AuthorEntity;
+import app.adapters.out.H2.entity.BookEntity;
+import app.adapters.out.H2.entity.CustomerEntity;
+import app.adapters.out.H2.entity.TransactionEntity;
+import app.domain.models.Book;
+import app.domain.models.Customer;
+import app.domain.models.Transaction;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity-to-domain mapping cost of the H2 adapters, without any database access.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+    @Param({"3"})
+    public int authorsPerBook;
+
+    @Param({"50"})
+    public int loansPerCustomer;
+
+    private BookDaoAdapter bookDaoAdapter;
+    private TransaktionDaoAdapter transaktionDaoAdapter;
+    private CustomerDaoAdapter customerDaoAdapter;
+
+    private BookEntity book;
+    private TransactionEntity transaction;
+    private CustomerEntity customer;
+
+    @Setup
+    public void setUp() {
+        bookDaoAdapter = new BookDaoAdapter(null, null, null, null, null);
+        transaktionDaoAdapter = new TransaktionDaoAdapter(null, null, null, null, null);
+        customerDaoAdapter = new CustomerDaoAdapter(null, null);
+
+        Set<AuthorEntity> authors = new HashSet<>();
+        for (int i = 0; i < authorsPerBook; i++) {
+            authors.add(new AuthorEntity(UUID.randomUUID(), "Author " + i, "Bio " + i, new HashSet<>()));
+        }
+        book = new BookEntity(UUID.randomUUID(), "The Benchmark", "978-0-00-000000-0", 2024, true, LocalDate.now(), authors, new ArrayList<>(), 0L);
+
+        customer = new CustomerEntity(UUID.randomUUID(), "Bench Customer", "bench@example.com", true, new ArrayList<>());
+        List<TransactionEntity> loans = customer.getTransactions();
+        for (int i = 0; i < loansPerCustomer; i++) {
+            loans.add(new TransactionEntity(UUID.randomUUID(), LocalDate.now().minusDays(30), LocalDate.now().minusDays(20),
+                    LocalDate.now().minusDays(16), customer, book));
+        }
+        transaction = loans.getFirst();
+    }
+
+    @Benchmark
+    public Book mapToBook() {
+        return bookDaoAdapter.mapToBook(book);
+    }
+
+    @Benchmark
+    public Transaction mapTransactionToDomain() {
+        return transaktionDaoAdapter.mapToDomain(transaction);
+    }
+
+    @Benchmark
+    public Customer mapCustomerEntityToCustomer() {
+        return customerDaoAdapter.mapCustomerEntityToCustomer(customer);
+    }
+}
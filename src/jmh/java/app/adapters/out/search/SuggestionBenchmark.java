@@ -0,0 +1,95 @@
+package app.adapters.out.search;
+
+import app.adapters.out.H2.repositories.AuthorRepository;
+import app.adapters.out.H2.repositories.BookRepository;
+import app.benchmark.BenchmarkDataset;
+import app.domain.models.BookSuggestion;
+import app.domain.models.SuggestionType;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Search-as-you-type over {@code rows} generated books: a lookup in the {@link SuggestionTrie} the index engine keeps,
+ * against the prefix queries of {@link DatabaseBookSearchEngine}. The trie is loaded from the dataset the way
+ * {@link InvertedIndexBookSearchEngine#rebuild()} loads it, and the heap it retains (used heap after a full GC,
+ * with the loaded trie and once it is dropped) is printed once per trial. Give the fork room for the larger scales,
+ * e.g. {@code -jvmArgsAppend -Xmx4g} at 1M rows.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SuggestionBenchmark {
+    @Param({"1000000"})
+    public int rows;
+
+    @Param({"10"})
+    public int limit;
+
+    @Param({"r", "river sh", "author 12", "978-00001", "no-such-book"})
+    public String prefix;
+
+    private BenchmarkDataset dataset;
+    private DatabaseBookSearchEngine databaseEngine;
+    private SuggestionTrie trie;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        dataset = BenchmarkDataset.open(rows);
+        databaseEngine = new DatabaseBookSearchEngine(dataset.bean(BookRepository.class), dataset.bean(AuthorRepository.class), limit);
+
+        trie = load();
+        long loaded = usedHeap();
+        int entries = trie.size();
+        trie = null;
+        long retained = loaded - usedHeap();
+        System.out.printf("%nSuggestion trie: %d entries for %d books, %.1f MB retained, %d bytes per book%n",
+                entries, rows, retained / 1e6, retained / rows);
+        trie = load();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        dataset.close();
+    }
+
+    @Benchmark
+    public List<BookSuggestion> trie() {
+        return trie.suggest(prefix, limit);
+    }
+
+    @Benchmark
+    public List<BookSuggestion> database() {
+        return databaseEngine.suggest(prefix, limit);
+    }
+
+    // The way InvertedIndexBookSearchEngine#rebuild fills it, but straight from JDBC
+    private SuggestionTrie load() {
+        SuggestionTrie loading = new SuggestionTrie(limit);
+        loading.beginBulkLoad();
+        dataset.jdbc().query("SELECT book_id, title, isbn FROM books", row -> {
+            UUID bookId = UUID.fromString(row.getString("book_id"));
+            loading.add(SuggestionType.TITLE, row.getString("title"), bookId);
+            loading.add(SuggestionType.ISBN, row.getString("isbn"), bookId);
+        });
+        dataset.jdbc().query("SELECT ab.book_id, a.name FROM author_books ab JOIN authors a ON a.author_id = ab.author_id",
+                row -> {
+                    loading.add(SuggestionType.AUTHOR, row.getString("name"), UUID.fromString(row.getString("book_id")));
+                });
+        loading.endBulkLoad();
+        return loading;
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,207 @@
+package app.benchmark;
+
+import app.Application;
+import app.adapters.out.H2.CustomerSearchIndex;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Boots the application against a database holding {@code rows} books, generating it on first use.
+ * Authors, customers and (returned) loans scale with the book count.
+ * The storage is chosen with {@code -Dbenchmark.storage} (pass it to the forks with {@code -jvmArgsAppend}):
+ * {@code h2-file} (default, under target/jmh-data), {@code mysql} (database {@code library_bench_r<rev>_<rows>},
+ * needs the {@code mysql} Maven profile) or {@code mem}. Persistent databases are kept between runs, one per scale,
+ * so large scales are only generated once. {@link #openCustomers} boots against a separate dataset sized by customers.
+ */
+public final class BenchmarkDataset implements AutoCloseable {
+    static final String[] WORDS = {"river", "shadow", "garden", "winter", "empire", "letters", "ocean", "silent",
+            "machine", "forest", "glass", "northern", "kingdom", "paper", "storm", "harbor"};
+    static final String[] FIRST_NAMES = {"maria", "james", "anna", "david", "laura", "peter", "sofia", "thomas",
+            "elena", "michael", "julia", "daniel", "clara", "martin", "nina", "robert"};
+    static final String[] LAST_NAMES = {"olsen", "garcia", "novak", "smith", "weber", "rossi", "dubois", "kowalski",
+            "jensen", "silva", "fischer", "moreau", "horvat", "berg", "costa", "meyer", "lindqvist", "ivanov", "keller", "murphy"};
+    private static final int CUSTOMER_DATASET_BOOKS = 1_000;
+    private static final int CHUNK = 10_000;
+    // Part of the database file name; bump it when the schema changes so stale datasets are regenerated.
+    private static final int SCHEMA_REVISION = 4;
+
+    private final ConfigurableApplicationContext context;
+    private final JdbcTemplate jdbcTemplate;
+
+    private BenchmarkDataset(ConfigurableApplicationContext context) {
+        this.context = context;
+        this.jdbcTemplate = context.getBean(JdbcTemplate.class);
+    }
+
+    public static BenchmarkDataset open(int rows, String... properties) {
+        BenchmarkDataset dataset = new BenchmarkDataset(boot(String.valueOf(rows), properties));
+        dataset.populate(rows);
+        return dataset;
+    }
+
+    /**
+     * Boots against a database holding {@code customers} customers with {@code loansPerCustomer} returned loans each,
+     * spread over {@value #CUSTOMER_DATASET_BOOKS} books. Names are "first last" from small word lists, so a single
+     * name matches about 1/16 (first) or 1/20 (last) of the customers; e-mail addresses are first.last.i@example.org.
+     */
+    public static BenchmarkDataset openCustomers(int customers, int loansPerCustomer, String... properties) {
+        BenchmarkDataset dataset = new BenchmarkDataset(boot("c" + customers + "_" + loansPerCustomer, properties));
+        dataset.populateCustomers(customers, loansPerCustomer);
+        return dataset;
+    }
+
+    private static ConfigurableApplicationContext boot(String scale, String... properties) {
+        String storage = System.getProperty("benchmark.storage", "h2-file");
+        return new SpringApplicationBuilder(Application.class)
+                .profiles(storage.equals("mem") ? new String[0] : new String[]{storage})
+                .properties(
+                        "library.storage.h2.path=./target/jmh-data/library-r" + SCHEMA_REVISION + "-" + scale,
+                        "library.storage.mysql.database=library_bench_r" + SCHEMA_REVISION + "_" + scale,
+                        "spring.h2.console.enabled=false",
+                        "server.port=0",
+                        "library.seeder.enabled=false",
+                        "library.search.engine=database",
+                        "spring.main.banner-mode=off",
+                        "logging.level.root=WARN")
+                .properties(properties)
+                .run();
+    }
+
+    public <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    public ConfigurableApplicationContext context() {
+        return context;
+    }
+
+    public int port() {
+        return context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+    }
+
+    public JdbcTemplate jdbc() {
+        return jdbcTemplate;
+    }
+
+    public List<UUID> ids(String sql, int limit) {
+        return jdbcTemplate.query(sql + " LIMIT " + limit, (row, index) -> UUID.fromString(row.getString(1)));
+    }
+
+    public void clearCaches() {
+        CacheManager cacheManager = context.getBean(CacheManager.class);
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+
+    private void populate(int rows) {
+        Integer existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM books", Integer.class);
+        if (existing != null && existing == rows) {
+            return;
+        }
+        clear();
+
+        int authorCount = Math.max(1, rows / 10);
+        int customerCount = Math.max(1, rows / 100);
+        List<UUID> authorIds = insert(authorCount, "INSERT INTO authors (author_id, name, bio) VALUES (?, ?, ?)",
+                (id, i) -> new Object[]{id.toString(), "Author " + i + " " + WORDS[i % WORDS.length], "Generated author " + i});
+        List<UUID> customerIds = insert(customerCount, "INSERT INTO customers (customer_id, name, email, privileges) VALUES (?, ?, ?, ?)",
+                (id, i) -> new Object[]{id.toString(), "Customer " + i, "customer" + i + "@example.com", true});
+
+        LocalDate today = LocalDate.now();
+        List<UUID> bookIds = insert(rows,
+                "INSERT INTO books (book_id, title, isbn, publication_year, availability, total_copies, available_copies, created_at, version) " +
+                        "VALUES (?, ?, ?, ?, ?, 1, 1, ?, 0)",
+                (id, i) -> new Object[]{id.toString(), WORDS[i % WORDS.length] + " " + WORDS[(i / WORDS.length) % WORDS.length] + " " + i,
+                        String.format("978-%010d", i), 1900 + i % 125, true, Date.valueOf(today)});
+        batch(rows, "INSERT INTO author_books (author_id, book_id) VALUES (?, ?)",
+                i -> new Object[]{authorIds.get(i % authorCount).toString(), bookIds.get(i).toString()});
+        batch(rows / 2, "INSERT INTO transactions (transaction_id, borrow_date, due_date, return_date, customer_id, book_book_id) VALUES (?, ?, ?, ?, ?, ?)",
+                i -> new Object[]{UUID.randomUUID().toString(), Date.valueOf(today.minusDays(60)), Date.valueOf(today.minusDays(46)),
+                        Date.valueOf(today.minusDays(50)), customerIds.get(i % customerCount).toString(), bookIds.get(i * 2).toString()});
+        indexCustomers();
+    }
+
+    private void populateCustomers(int customers, int loansPerCustomer) {
+        Integer existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM customers", Integer.class);
+        Integer existingLoans = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM transactions", Integer.class);
+        if (existing != null && existing == customers && existingLoans != null && existingLoans == customers * loansPerCustomer) {
+            return;
+        }
+        clear();
+
+        LocalDate today = LocalDate.now();
+        List<UUID> bookIds = insert(CUSTOMER_DATASET_BOOKS,
+                "INSERT INTO books (book_id, title, isbn, publication_year, availability, total_copies, available_copies, created_at, version) " +
+                        "VALUES (?, ?, ?, 2000, ?, 1, 1, ?, 0)",
+                (id, i) -> new Object[]{id.toString(), WORDS[i % WORDS.length] + " " + i, String.format("978-%010d", i), true, Date.valueOf(today)});
+        List<UUID> customerIds = insert(customers,
+                "INSERT INTO customers (customer_id, name, email, privileges, total_loans) VALUES (?, ?, ?, ?, ?)",
+                (id, i) -> {
+                    String first = FIRST_NAMES[i % FIRST_NAMES.length];
+                    String last = LAST_NAMES[(i / FIRST_NAMES.length) % LAST_NAMES.length];
+                    return new Object[]{id.toString(), capitalize(first) + " " + capitalize(last),
+                            first + "." + last + "." + i + "@example.org", true, loansPerCustomer};
+                });
+        // Loans are generated chunk by chunk, so the 20M rows of the default scale are never held in memory at once
+        batch(customers * loansPerCustomer,
+                "INSERT INTO transactions (transaction_id, borrow_date, due_date, return_date, customer_id, book_book_id) VALUES (?, ?, ?, ?, ?, ?)",
+                i -> new Object[]{UUID.randomUUID().toString(), Date.valueOf(today.minusDays(60 + i % 300)), Date.valueOf(today.minusDays(46 + i % 300)),
+                        Date.valueOf(today.minusDays(50 + i % 300)), customerIds.get(i / loansPerCustomer).toString(),
+                        bookIds.get(i % CUSTOMER_DATASET_BOOKS).toString()});
+        indexCustomers();
+    }
+
+    private void clear() {
+        for (String table : List.of("transactions", "author_books", "books", "authors", "customer_search_tokens", "customers")) {
+            jdbcTemplate.update("DELETE FROM " + table);
+        }
+    }
+
+    // Customers are inserted behind the adapter's back, so their search words are written by the startup backfill's code path
+    private void indexCustomers() {
+        context.getBean(CustomerSearchIndex.class).backfill();
+    }
+
+    private static String capitalize(String word) {
+        return Character.toUpperCase(word.charAt(0)) + word.substring(1);
+    }
+
+    private List<UUID> insert(int count, String sql, RowWithId row) {
+        List<UUID> ids = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ids.add(UUID.randomUUID());
+        }
+        batch(count, sql, i -> row.values(ids.get(i), i));
+        return ids;
+    }
+
+    private void batch(int count, String sql, Row row) {
+        for (int from = 0; from < count; from += CHUNK) {
+            List<Object[]> args = new ArrayList<>(CHUNK);
+            for (int i = from; i < Math.min(count, from + CHUNK); i++) {
+                args.add(row.values(i));
+            }
+            jdbcTemplate.batchUpdate(sql, args);
+        }
+    }
+
+    private interface Row {
+        Object[] values(int index);
+    }
+
+    private interface RowWithId {
+        Object[] values(UUID id, int index);
+    }
+}
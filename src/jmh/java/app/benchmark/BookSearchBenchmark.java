@@ -0,0 +1,45 @@
+package app.benchmark;
+
+import app.adapters.out.H2.entity.BookEntity;
+import app.adapters.out.H2.repositories.BookRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * First page of {@link BookRepository#findBooksByQuery} (page query plus count) at the given dataset scale.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookSearchBenchmark {
+    @Param({"10000"})
+    public int rows;
+
+    @Param({"river", "1999", "no-such-book"})
+    public String query;
+
+    private BenchmarkDataset dataset;
+    private BookRepository bookRepository;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        dataset = BenchmarkDataset.open(rows);
+        bookRepository = dataset.bean(BookRepository.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        dataset.close();
+    }
+
+    @Benchmark
+    public Page<BookEntity> findBooksByQuery() {
+        return bookRepository.findBooksByQuery(query.toLowerCase(), PageRequest.of(0, 20));
+    }
+}
@@ -0,0 +1,61 @@
+package app.benchmark;
+
+import app.domain.models.Transaction;
+import app.domain.services.TransactionService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link TransactionService#borrowBook} for a different available book on every call.
+ * Loans made during an iteration are removed and the books released before the next one.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BorrowBenchmark {
+    @Param({"10000"})
+    public int rows;
+
+    private BenchmarkDataset dataset;
+    private TransactionService transactionService;
+    private List<UUID> bookIds;
+    private List<UUID> customerIds;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        dataset = BenchmarkDataset.open(rows);
+        transactionService = dataset.bean(TransactionService.class);
+        bookIds = dataset.ids("SELECT book_id FROM books ORDER BY book_id", rows);
+        customerIds = dataset.ids("SELECT customer_id FROM customers ORDER BY customer_id", 1000);
+    }
+
+    @Setup(Level.Iteration)
+    public void releaseBooks() {
+        dataset.jdbc().update("DELETE FROM transactions WHERE return_date IS NULL");
+        dataset.jdbc().update("UPDATE books SET availability = TRUE, available_copies = total_copies WHERE available_copies < total_copies");
+        dataset.clearCaches();
+        next = 0;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        releaseBooks();
+        dataset.close();
+    }
+
+    @Benchmark
+    public Transaction borrowBook() {
+        int i = next++;
+        if (i >= bookIds.size()) {
+            throw new IllegalStateException("Ran out of available books; use a larger -p rows or a shorter iteration");
+        }
+        return transactionService.borrowBook(customerIds.get(i % customerIds.size()), bookIds.get(i));
+    }
+}
@@ -0,0 +1,102 @@
+package app.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load test of the web tier: {@code connections} clients each open their own connection and request a page of
+ * books at the same time. Compares request handling on virtual threads with Tomcat's platform-thread pool.
+ * Each score is the time to serve one burst; throughput is {@code connections / score}.
+ * Bursts of 10000 need about 2 x 10000 file descriptors ({@code ulimit -n}), since client and server share the machine.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ConcurrentRequestsBenchmark {
+    @Param({"true", "false"})
+    public boolean virtualThreads;
+
+    @Param({"10000"})
+    public int connections;
+
+    @Param({"10000"})
+    public int rows;
+
+    private BenchmarkDataset dataset;
+    private ExecutorService clients;
+    private HttpClient client;
+    private URI uri;
+    private String token;
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Outcome {
+        public long succeeded;
+        public long failed;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        dataset = BenchmarkDataset.open(rows, "spring.threads.virtual.enabled=" + virtualThreads);
+        clients = Executors.newVirtualThreadPerTaskExecutor();
+        // HTTP/1.1 only reuses idle connections, so concurrent requests each open a connection of their own
+        client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(clients)
+                .connectTimeout(Duration.ofSeconds(30))
+                .build();
+        String base = "http://localhost:" + dataset.port();
+        HttpResponse<String> login = client.send(HttpRequest.newBuilder(URI.create(base + "/api/login"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString("{\"username\":\"user\",\"password\":\"user\"}"))
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+        token = login.headers().firstValue("Authorization").orElseThrow();
+        uri = URI.create(base + "/books/paginated?page=1&size=20&withCount=false");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        client.close();
+        clients.close();
+        dataset.close();
+    }
+
+    @Benchmark
+    public long burst(Outcome outcome) throws Exception {
+        List<Future<Integer>> responses = new ArrayList<>(connections);
+        for (int i = 0; i < connections; i++) {
+            responses.add(clients.submit(() -> {
+                try {
+                    return client.send(HttpRequest.newBuilder(uri).header("Authorization", token).build(),
+                            HttpResponse.BodyHandlers.discarding()).statusCode();
+                } catch (Exception e) {
+                    return -1;
+                }
+            }));
+        }
+        long succeeded = 0;
+        for (Future<Integer> response : responses) {
+            if (response.get() == 200) {
+                succeeded++;
+            }
+        }
+        outcome.succeeded += succeeded;
+        outcome.failed += connections - succeeded;
+        return succeeded;
+    }
+}
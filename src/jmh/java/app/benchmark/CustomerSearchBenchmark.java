@@ -0,0 +1,74 @@
+package app.benchmark;
+
+import app.domain.models.CustomerSummary;
+import app.domain.port.CustomerDao;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * First page of a customer search (page query plus count) over {@code customers} customers with
+ * {@code loansPerCustomer} loans each, against the LIKE scan it replaced. {@code customer-id} and
+ * {@code transaction-id} stand for an existing customer's and loan's id. The legacy scan reads every loan
+ * on every call; leave it out with {@code -e legacyLikeScan} when only the current search is of interest.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CustomerSearchBenchmark {
+    private static final String LEGACY_FROM = "FROM customers c LEFT JOIN transactions t ON t.customer_id = c.customer_id " +
+            "WHERE LOWER(c.name) LIKE ? OR LOWER(c.email) LIKE ? " +
+            "OR CAST(c.customer_id AS CHAR(36)) LIKE ? OR CAST(t.transaction_id AS CHAR(36)) LIKE ?";
+
+    @Param({"1000000"})
+    public int customers;
+
+    @Param({"20"})
+    public int loansPerCustomer;
+
+    @Param({"olsen", "maria olsen", "maria.olsen.424000", "customer-id", "transaction-id", "no-such-customer"})
+    public String query;
+
+    private BenchmarkDataset dataset;
+    private CustomerDao customerDao;
+    private String resolvedQuery;
+    private final PageRequest pageable = PageRequest.of(0, 20, Sort.by("name"));
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        dataset = BenchmarkDataset.openCustomers(customers, loansPerCustomer);
+        customerDao = dataset.bean(CustomerDao.class);
+        resolvedQuery = switch (query) {
+            case "customer-id" -> dataset.ids("SELECT customer_id FROM customers ORDER BY customer_id", 1).getFirst().toString();
+            case "transaction-id" -> dataset.ids("SELECT transaction_id FROM transactions ORDER BY transaction_id", 1).getFirst().toString();
+            default -> query;
+        };
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        dataset.close();
+    }
+
+    @Benchmark
+    public Page<CustomerSummary> search() {
+        return customerDao.searchCustomerSummaries(resolvedQuery, pageable);
+    }
+
+    // The removed CustomerRepository.searchByQuery: a join with every loan and UUIDs cast to text for LIKE
+    @Benchmark
+    public long legacyLikeScan() {
+        String pattern = "%" + resolvedQuery.toLowerCase() + "%";
+        List<String> page = dataset.jdbc().queryForList("SELECT c.customer_id " + LEGACY_FROM + " ORDER BY c.name LIMIT 20",
+                String.class, pattern, pattern, pattern, pattern);
+        Long total = dataset.jdbc().queryForObject("SELECT COUNT(*) " + LEGACY_FROM, Long.class, pattern, pattern, pattern, pattern);
+        return page.size() + total;
+    }
+}
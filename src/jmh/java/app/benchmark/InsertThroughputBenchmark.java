@@ -0,0 +1,78 @@
+package app.benchmark;
+
+import app.infrastructure.config.database.UuidV7;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loads {@code loans} returned loans into an emptied transactions table, {@code batchSize} rows per JDBC batch,
+ * keyed with random (v4) or time-ordered (v7) UUIDs. Random keys land all over the primary key index, so each insert
+ * touches a different page and the index keeps splitting; time-ordered keys append to its right edge.
+ * A batch size of 1 is the former one-row-per-statement path, 50 is hibernate.jdbc.batch_size.
+ * For the 10M-loan load: {@code -Djmh.args="InsertThroughput -p loans=10000000"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+public class InsertThroughputBenchmark {
+    @Param({"10000"})
+    public int rows;
+
+    @Param({"1000000"})
+    public int loans;
+
+    @Param({"random", "time-ordered"})
+    public String keys;
+
+    @Param({"1", "50"})
+    public int batchSize;
+
+    private BenchmarkDataset dataset;
+    private List<String> bookIds;
+    private List<String> customerIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        dataset = BenchmarkDataset.open(rows);
+        bookIds = dataset.ids("SELECT book_id FROM books ORDER BY book_id", rows).stream().map(UUID::toString).toList();
+        customerIds = dataset.ids("SELECT customer_id FROM customers ORDER BY customer_id", 1000).stream().map(UUID::toString).toList();
+    }
+
+    @Setup(Level.Iteration)
+    public void emptyTransactions() {
+        dataset.jdbc().update("TRUNCATE TABLE transactions");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        dataset.close();
+    }
+
+    @Benchmark
+    public int loadLoans() {
+        Date borrowed = Date.valueOf(LocalDate.now().minusDays(30));
+        Date due = Date.valueOf(LocalDate.now().minusDays(16));
+        Date returned = Date.valueOf(LocalDate.now().minusDays(20));
+        List<Object[]> batch = new ArrayList<>(batchSize);
+        for (int i = 0; i < loans; i++) {
+            UUID id = keys.equals("random") ? UUID.randomUUID() : UuidV7.next();
+            batch.add(new Object[]{id.toString(), borrowed, due, returned,
+                    customerIds.get(i % customerIds.size()), bookIds.get(i % bookIds.size())});
+            if (batch.size() == batchSize || i == loans - 1) {
+                dataset.jdbc().batchUpdate("INSERT INTO transactions (transaction_id, borrow_date, due_date, return_date, customer_id, book_book_id) " +
+                        "VALUES (?, ?, ?, ?, ?, ?)", batch);
+                batch.clear();
+            }
+        }
+        return loans;
+    }
+}
@@ -0,0 +1,79 @@
+package app.benchmark;
+
+import jakarta.servlet.Filter;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * {@code GET /books/{id}} for a set of hot books through the MVC stack (ETag filter, handler, message conversion),
+ * with the rendered-response cache on or off and with or without a matching If-None-Match. Authentication is left
+ * out, it costs the same either way.
+ * Run with {@code -prof gc}: {@code gc.alloc.rate.norm} is the bytes allocated per request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SingleResourceGetBenchmark {
+    private static final int HOT_BOOKS = 100;
+
+    @Param({"10000"})
+    public int rows;
+
+    @Param({"true", "false"})
+    public boolean renderedResponses;
+
+    @Param({"false", "true"})
+    public boolean conditional;
+
+    private BenchmarkDataset dataset;
+    private MockMvc mockMvc;
+    private List<UUID> bookIds;
+    private final Map<UUID, String> etags = new HashMap<>();
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        dataset = BenchmarkDataset.open(rows, "library.cache.responses.maximum-size=" + (renderedResponses ? 10000 : 0));
+        WebApplicationContext context = (WebApplicationContext) dataset.context();
+        mockMvc = MockMvcBuilders.webAppContextSetup(context)
+                .addFilters(context.getBean("shallowEtagFilter", Filter.class))
+                .build();
+        bookIds = dataset.ids("SELECT book_id FROM books ORDER BY book_id", HOT_BOOKS);
+        for (UUID bookId : bookIds) {
+            etags.put(bookId, request(bookId, null).getHeader("ETag"));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        dataset.close();
+    }
+
+    @Benchmark
+    public int getBookById() throws Exception {
+        UUID bookId = bookIds.get(next++ % bookIds.size());
+        return request(bookId, conditional ? etags.get(bookId) : null).getStatus();
+    }
+
+    private MockHttpServletResponse request(UUID bookId, String etag) throws Exception {
+        var request = get("/books/{id}", bookId);
+        if (etag != null) {
+            request.header("If-None-Match", etag);
+        }
+        return mockMvc.perform(request).andReturn().getResponse();
+    }
+}
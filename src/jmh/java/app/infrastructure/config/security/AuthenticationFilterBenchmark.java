@@ -0,0 +1,63 @@
+package app.infrastructure.config.security;
+
+import app.domain.services.JwtService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of {@link AuthenticationFilter} for clients reusing their bearer tokens, with the verified-token
+ * cache enabled ({@code cacheSize > 0}) and disabled. Runs on several threads to approximate a busy server;
+ * raise the thread count with {@code -t}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@Fork(1)
+public class AuthenticationFilterBenchmark {
+    @Param({"0", "10000"})
+    public long cacheSize;
+
+    @Param({"1000"})
+    public int clients;
+
+    private AuthenticationFilter filter;
+    private String[] headers;
+
+    @State(Scope.Thread)
+    public static class Client {
+        private final MockHttpServletResponse response = new MockHttpServletResponse();
+        private final FilterChain chain = (request, response) -> { };
+        private int next;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        JwtService jwtService = new JwtService(cacheSize);
+        filter = new AuthenticationFilter(jwtService);
+        headers = new String[clients];
+        for (int i = 0; i < clients; i++) {
+            headers[i] = "Bearer " + jwtService.getToken("user" + i);
+        }
+    }
+
+    @Benchmark
+    public Object filterRequest(Client client) throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/books");
+        request.addHeader(HttpHeaders.AUTHORIZATION, headers[client.next++ % headers.length]);
+        filter.doFilter(request, client.response, client.chain);
+        Object principal = SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        SecurityContextHolder.clearContext();
+        return principal;
+    }
+}
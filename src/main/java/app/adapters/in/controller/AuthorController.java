@@ -8,7 +8,9 @@ import jakarta.validation.constraints.NotNull;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.http.*;
 import org.springframework.web.bind.annotation.*;
 
@@ -21,6 +23,8 @@ import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 @RestController
 @RequestMapping("/authors")
 public class AuthorController {
+    // Keyset sort keys; an author's bio may be null
+    private static final Set<String> CURSOR_SORT_FIELDS = Set.of("authorId", "name");
     private final AuthorService authorService;
 
     @Autowired
@@ -126,27 +130,35 @@ public class AuthorController {
     public ResponseEntity<Map<String, Object>> getAllAuthors(
             @RequestParam Optional<Integer> page,
             @RequestParam Optional<Integer> size,
-            @RequestParam Optional<String> sortBy
+            @RequestParam Optional<String> sortBy,
+            @RequestParam(required = false) String cursor,
+            @RequestParam Optional<Boolean> withCount
     ) {
         int currentPage = page.orElse(0);
         int pageSize = size.orElse(3);
         String sortField = sortBy.orElse("name");
 
+        if (cursor != null) {
+            return scrollAuthors(cursor, pageSize, sortField);
+        }
+
         PageRequest pageable = PageRequest.of(currentPage, pageSize, Sort.Direction.ASC, sortField);
-        Page<Author> authors = authorService.getPaginatedAuthors(pageable);
+        Slice<Author> authors = withCount.orElse(true)
+                ? authorService.getPaginatedAuthors(pageable)
+                : authorService.getAuthorSlice(pageable);
 
         HttpHeaders headers = new HttpHeaders();
         headers.add("self", "<" + linkTo(methodOn(AuthorController.class)
-                .getAllAuthors(Optional.of(currentPage), Optional.of(pageSize), Optional.of(sortField))).toUri() + ">; rel=\"self\"");
+                .getAllAuthors(Optional.of(currentPage), Optional.of(pageSize), Optional.of(sortField), null, withCount)).toUri() + ">; rel=\"self\"");
 
         if (authors.hasNext()) {
             headers.add("next", "<" + linkTo(methodOn(AuthorController.class)
-                    .getAllAuthors(Optional.of(currentPage + 1), Optional.of(pageSize), Optional.of(sortField))).toUri() + ">; rel=\"next\"");
+                    .getAllAuthors(Optional.of(currentPage + 1), Optional.of(pageSize), Optional.of(sortField), null, withCount)).toUri() + ">; rel=\"next\"");
         }
 
         if (authors.hasPrevious()) {
             headers.add("prev", "<" + linkTo(methodOn(AuthorController.class)
-                    .getAllAuthors(Optional.of(currentPage - 1), Optional.of(pageSize), Optional.of(sortField))).toUri() + ">; rel=\"prev\"");
+                    .getAllAuthors(Optional.of(currentPage - 1), Optional.of(pageSize), Optional.of(sortField), null, withCount)).toUri() + ">; rel=\"prev\"");
         }
 
         if (authors.isEmpty()) {
@@ -161,9 +173,41 @@ public class AuthorController {
 
         Map<String, Object> response = new LinkedHashMap<>();
         response.put("data", authors.getContent());
-        response.put("totalPages", authors.getTotalPages());
         response.put("currentPage", authors.getNumber());
-        response.put("totalItems", authors.getTotalElements());
+        if (authors instanceof Page<Author> counted) {
+            response.put("totalPages", counted.getTotalPages());
+            response.put("totalItems", counted.getTotalElements());
+        }
+
+        return ResponseEntity.ok().headers(headers).body(response);
+    }
+
+    private ResponseEntity<Map<String, Object>> scrollAuthors(String cursor, int pageSize, String sortField) {
+        Window<Author> window;
+        try {
+            window = authorService.scrollAuthors(KeysetCursor.decode(cursor, sortField, CURSOR_SORT_FIELDS), Sort.by(Sort.Direction.ASC, sortField), pageSize);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("message", e.getMessage()));
+        }
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.add("self", "<" + linkTo(methodOn(AuthorController.class)
+                .getAllAuthors(Optional.empty(), Optional.of(pageSize), Optional.of(sortField), cursor, Optional.empty())).toUri() + ">; rel=\"self\"");
+
+        if (window.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).headers(headers)
+                    .body(Map.of("message", "There are no more authors."));
+        }
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("data", window.getContent());
+        response.put("pageSize", pageSize);
+        if (window.hasNext()) {
+            String nextCursor = KeysetCursor.encode(window.positionAt(window.size() - 1));
+            headers.add("next", "<" + linkTo(methodOn(AuthorController.class)
+                    .getAllAuthors(Optional.empty(), Optional.of(pageSize), Optional.of(sortField), nextCursor, Optional.empty())).toUri() + ">; rel=\"next\"");
+            response.put("nextCursor", nextCursor);
+        }
 
         return ResponseEntity.ok().headers(headers).body(response);
     }
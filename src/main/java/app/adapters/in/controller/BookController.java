@@ -2,32 +2,46 @@ package app.adapters.in.controller;
 
 import app.adapters.in.dto.CreateNewBook;
 import app.domain.models.Book;
+import app.domain.models.BookSuggestion;
+import app.domain.models.BookSummary;
 import app.domain.services.BookService;
+import app.infrastructure.config.cache.RenderedResponse;
+import app.infrastructure.config.cache.RenderedResponseCache;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.hateoas.EntityModel;
 import org.springframework.http.*;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.*;
 
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 
 @RestController
 @RequestMapping("/books")
 public class BookController {
+    // Keyset sort keys: non-null book columns only
+    private static final Set<String> CURSOR_SORT_FIELDS = Set.of("bookId", "title", "isbn", "publicationYear", "totalCopies", "availableCopies");
     private final BookService bookService;
+    private final RenderedResponseCache renderedResponses;
 
     @Autowired
-    public BookController(BookService bookService) {
+    public BookController(BookService bookService, RenderedResponseCache renderedResponses) {
         this.bookService = bookService;
+        this.renderedResponses = renderedResponses;
     }
 
     @PostMapping(produces = "application/single-book-response+json;version=1")
@@ -41,26 +55,34 @@ public class BookController {
     public ResponseEntity<Map<String, Object>> getAllBooks(
             @RequestParam Optional<Integer> page,
             @RequestParam Optional<Integer> size,
-            @RequestParam Optional<String> sortBy
+            @RequestParam Optional<String> sortBy,
+            @RequestParam(required = false) String cursor,
+            @RequestParam Optional<Boolean> withCount
     ) {
         int currentPage = page.orElse(0);
         int pageSize = size.orElse(3);
         String sortField = sortBy.orElse("title");
 
+        if (cursor != null) {
+            return scrollBooks(cursor, pageSize, sortField);
+        }
+
         PageRequest pageable = PageRequest.of(currentPage, pageSize, Sort.Direction.ASC, sortField);
-        Page<Book> books = bookService.getPaginatedBooks(pageable);
+        Slice<BookSummary> books = withCount.orElse(true)
+                ? bookService.getBookSummaries(pageable)
+                : bookService.getBookSummarySlice(pageable);
 
         HttpHeaders headers = new HttpHeaders();
         headers.add("self", "<" + linkTo(methodOn(BookController.class)
-                .getAllBooks(Optional.of(currentPage), Optional.of(pageSize), Optional.of(sortField))).toUri() + ">; rel=\"self\"");
+                .getAllBooks(Optional.of(currentPage), Optional.of(pageSize), Optional.of(sortField), null, withCount)).toUri() + ">; rel=\"self\"");
 
         if (books.hasPrevious()) {
             headers.add("prev", "<" + linkTo(methodOn(BookController.class)
-                    .getAllBooks(Optional.of(currentPage - 1), Optional.of(pageSize), Optional.of(sortField))).toUri() + ">; rel=\"prev\"");
+                    .getAllBooks(Optional.of(currentPage - 1), Optional.of(pageSize), Optional.of(sortField), null, withCount)).toUri() + ">; rel=\"prev\"");
         }
         if (books.hasNext()) {
             headers.add("next", "<" + linkTo(methodOn(BookController.class)
-                    .getAllBooks(Optional.of(currentPage + 1), Optional.of(pageSize), Optional.of(sortField))).toUri() + ">; rel=\"next\"");
+                    .getAllBooks(Optional.of(currentPage + 1), Optional.of(pageSize), Optional.of(sortField), null, withCount)).toUri() + ">; rel=\"next\"");
         }
 
         if (books.isEmpty()) {
@@ -74,13 +96,53 @@ public class BookController {
         }
         Map<String, Object> response = new LinkedHashMap<>();
         response.put("data", books.getContent());
-        response.put("totalPages", books.getTotalPages());
         response.put("currentPage", books.getNumber());
-        response.put("totalItems", books.getTotalElements());
+        if (books instanceof Page<BookSummary> counted) {
+            response.put("totalPages", counted.getTotalPages());
+            response.put("totalItems", counted.getTotalElements());
+        }
+
+        return ResponseEntity.ok().headers(headers).body(response);
+    }
+
+    private ResponseEntity<Map<String, Object>> scrollBooks(String cursor, int pageSize, String sortField) {
+        Window<BookSummary> window;
+        try {
+            window = bookService.scrollBookSummaries(KeysetCursor.decode(cursor, sortField, CURSOR_SORT_FIELDS), Sort.by(Sort.Direction.ASC, sortField), pageSize);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("message", e.getMessage()));
+        }
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.add("self", "<" + linkTo(methodOn(BookController.class)
+                .getAllBooks(Optional.empty(), Optional.of(pageSize), Optional.of(sortField), cursor, Optional.empty())).toUri() + ">; rel=\"self\"");
+
+        if (window.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).headers(headers)
+                    .body(Map.of("message", "There are no more books."));
+        }
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("data", window.getContent());
+        response.put("pageSize", pageSize);
+        if (window.hasNext()) {
+            String nextCursor = KeysetCursor.encode(window.positionAt(window.size() - 1));
+            headers.add("next", "<" + linkTo(methodOn(BookController.class)
+                    .getAllBooks(Optional.empty(), Optional.of(pageSize), Optional.of(sortField), nextCursor, Optional.empty())).toUri() + ">; rel=\"next\"");
+            response.put("nextCursor", nextCursor);
+        }
 
         return ResponseEntity.ok().headers(headers).body(response);
     }
 
+    @GetMapping(value = "/suggest", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<BookSuggestion>> suggestBooks(@RequestParam String prefix,
+                                                             @RequestParam Optional<Integer> limit) {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(10, TimeUnit.SECONDS).cachePrivate())
+                .body(bookService.suggestBooks(prefix, limit.orElse(10)));
+    }
+
     @PutMapping(value = "/{id}", produces = "application/single-book-response+json;version=1")
     public ResponseEntity<String> updateBook(@NotNull @PathVariable("id") UUID id, @NotNull @RequestBody Book book) {
         Optional<Book> existingBook = bookService.searchById(id);
@@ -91,22 +153,41 @@ public class BookController {
         bookService.updateBook(id, book);
         return new ResponseEntity<>("Book updated successfully", HttpStatus.OK);
     }
+    @PutMapping(value = "/{id}/copies", produces = "application/single-book-response+json;version=1")
+    public ResponseEntity<Map<String, Object>> updateTotalCopies(@PathVariable("id") UUID id, @RequestParam int total) {
+        try {
+            bookService.updateTotalCopies(id, total);
+            return ResponseEntity.ok(Map.of("message", "Copies updated successfully", "bookId", id, "totalCopies", total));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("message", e.getMessage()));
+        }
+    }
     @DeleteMapping("/{id}")
     public ResponseEntity<String> deleteBook(@NotNull @PathVariable("id") UUID bookID) {
         bookService.deleteBook(bookID);
         return new ResponseEntity<>("Book successfully deleted!!", HttpStatus.OK);
     }
     @GetMapping(value = "/{id}", produces = {"application/single-book-response+json;version=1", MediaType.APPLICATION_JSON_VALUE})
-    public ResponseEntity<Map<String, Object>> getBookById(@PathVariable UUID id) {
+    public ResponseEntity<?> getBookById(@PathVariable UUID id, HttpServletRequest request) {
+        RenderedResponse rendered = renderedResponses.get(RenderedResponseCache.BOOKS, id);
+        if (rendered == null) {
+            long generation = renderedResponses.generation(RenderedResponseCache.BOOKS, id);
+            Optional<Book> book = bookService.searchById(id);
 
-        Optional<Book> book = bookService.searchById(id);
+            if (book.isEmpty()) {
+                Map<String, Object> errorResponse = Map.of(
+                        "message", "Book not found",
+                        "bookId", id
+                );
+                return new ResponseEntity<>(errorResponse, HttpStatus.NOT_FOUND);
+            }
 
-        if (book.isEmpty()) {
-            Map<String, Object> errorResponse = Map.of(
-                    "message", "Book not found",
-                    "bookId", id
-            );
-            return new ResponseEntity<>(errorResponse, HttpStatus.NOT_FOUND);
+            rendered = renderedResponses.render(RenderedResponseCache.BOOKS, id, generation, Map.of(
+                    "message", "Book retrieved successfully",
+                    "data", book
+            ));
         }
 
         CacheControl cacheControl = CacheControl
@@ -114,15 +195,13 @@ public class BookController {
                 .cachePrivate()
                 .noTransform();
 
-        Map<String, Object> response = Map.of(
-                "message", "Book retrieved successfully",
-                "data", book
-        );
-
+        // The ETag is already known, so the filter need not buffer and hash the body; a matching If-None-Match gets a 304
+        ShallowEtagHeaderFilter.disableContentCaching(request);
         return ResponseEntity.ok()
                 .cacheControl(cacheControl)
                 .header("Vary", "Accept")
-                .body(response);
+                .eTag(rendered.etag())
+                .body(rendered.body());
     }
     @GetMapping(produces = "application/single-book-response+json;version=1")
     public ResponseEntity<?> getBook(
@@ -174,7 +253,12 @@ public class BookController {
             String sortField = sortBy.orElse("title");
 
             PageRequest pageable = PageRequest.of(currentPage, pageSize, Sort.Direction.ASC, sortField);
-            Page<Book> books = bookService.searchBooks(query, pageable);
+            Page<BookSummary> books;
+            try {
+                books = bookService.searchBookSummaries(query, pageable);
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("message", e.getMessage()));
+            }
 
             HttpHeaders headers = new HttpHeaders();
             headers.add("self", "<" + linkTo(methodOn(BookController.class)
@@ -0,0 +1,31 @@
+package app.adapters.in.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/events")
+public class CirculationEventController {
+    private final CirculationEventStream eventStream;
+
+    @Autowired
+    public CirculationEventController(CirculationEventStream eventStream) {
+        this.eventStream = eventStream;
+    }
+
+    /**
+     * Server-sent stream of borrow/return events. Reconnecting clients resume after their Last-Event-ID
+     * (or {@code ?after=}); without either the stream starts with the next event published.
+     */
+    @GetMapping(value = "/circulation", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamCirculationEvents(@RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId,
+                                              @RequestParam(required = false) Long after) {
+        return eventStream.subscribe(lastEventId != null ? lastEventId : after);
+    }
+}
@@ -0,0 +1,131 @@
+package app.adapters.in.controller;
+
+import app.domain.models.CirculationEvent;
+import app.domain.port.CirculationEventDao;
+import app.infrastructure.config.events.CirculationEventPublisher;
+import app.infrastructure.config.events.CirculationEventSubscriber;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Fans published circulation events out to the open {@code /events/circulation} streams.
+ * A client resuming from a Last-Event-ID is first replayed the outbox after that id, but only up to the last event
+ * the {@link CirculationEventPublisher} has published: ids are assigned on insert, not on commit, so past that point
+ * a slower transaction may still fill a gap, and only the publisher waits for it. Live batches that arrive during
+ * the replay are dropped for the client and the replay is extended over them instead.
+ */
+@Component
+public class CirculationEventStream implements CirculationEventSubscriber {
+    static final int REPLAY_PAGE_SIZE = 500;
+
+    private final CirculationEventDao eventDao;
+    private final ObjectProvider<CirculationEventPublisher> publisher;
+    private final Duration timeout;
+    private final Set<Subscription> subscriptions = ConcurrentHashMap.newKeySet();
+
+    public CirculationEventStream(CirculationEventDao eventDao, ObjectProvider<CirculationEventPublisher> publisher,
+                                  @Value("${library.events.sse.timeout:30m}") Duration timeout) {
+        this.eventDao = eventDao;
+        this.publisher = publisher;
+        this.timeout = timeout;
+    }
+
+    public SseEmitter subscribe(Long lastEventId) {
+        Subscription subscription = new Subscription(new SseEmitter(timeout.toMillis()), lastEventId);
+        subscription.emitter.onCompletion(() -> subscriptions.remove(subscription));
+        subscription.emitter.onTimeout(() -> subscriptions.remove(subscription));
+        subscription.emitter.onError(e -> subscriptions.remove(subscription));
+        subscriptions.add(subscription);
+        if (lastEventId != null) {
+            subscription.replay();
+        }
+        return subscription.emitter;
+    }
+
+    public int getSubscriberCount() {
+        return subscriptions.size();
+    }
+
+    @Override
+    public void onEvents(List<CirculationEvent> events) {
+        subscriptions.forEach(subscription -> subscription.send(events));
+    }
+
+    // Disconnected clients catch up through Last-Event-ID replay
+    @Override
+    public boolean isDurable() {
+        return false;
+    }
+
+    private final class Subscription {
+        private final SseEmitter emitter;
+        private long lastSent;
+        private boolean replaying;
+        // Highest id of the live batches dropped while replaying
+        private long missedUpTo = -1;
+
+        private Subscription(SseEmitter emitter, Long lastEventId) {
+            this.emitter = emitter;
+            this.lastSent = lastEventId != null ? lastEventId : -1;
+            this.replaying = lastEventId != null;
+        }
+
+        private void replay() {
+            while (true) {
+                synchronized (this) {
+                    long upTo = Math.max(publishedUpTo(), missedUpTo);
+                    List<CirculationEvent> page = eventDao.findAfter(lastSent, REPLAY_PAGE_SIZE).stream()
+                            .filter(event -> event.getEventId() <= upTo)
+                            .toList();
+                    if (!write(page) || page.size() < REPLAY_PAGE_SIZE) {
+                        replaying = false;
+                        return;
+                    }
+                }
+            }
+        }
+
+        private synchronized void send(List<CirculationEvent> events) {
+            if (!replaying) {
+                write(events);
+            } else if (!events.isEmpty()) {
+                missedUpTo = Math.max(missedUpTo, events.getLast().getEventId());
+            }
+        }
+
+        // Without a publisher nothing is streamed live, so the whole outbox is replayed
+        private long publishedUpTo() {
+            CirculationEventPublisher current = publisher.getIfAvailable();
+            return current != null ? current.getLastPublished() : Long.MAX_VALUE;
+        }
+
+        private boolean write(List<CirculationEvent> events) {
+            try {
+                for (CirculationEvent event : events) {
+                    if (event.getEventId() <= lastSent) {
+                        continue;
+                    }
+                    emitter.send(SseEmitter.event()
+                            .id(String.valueOf(event.getEventId()))
+                            .name(event.getType().name().toLowerCase())
+                            .data(event, MediaType.APPLICATION_JSON));
+                    lastSent = event.getEventId();
+                }
+                return true;
+            } catch (IOException | IllegalStateException e) {
+                subscriptions.remove(this);
+                emitter.completeWithError(e);
+                return false;
+            }
+        }
+    }
+}
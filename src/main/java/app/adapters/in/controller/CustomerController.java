@@ -2,19 +2,23 @@ package app.adapters.in.controller;
 
 import app.adapters.in.dto.CreateNewCustomer;
 import app.domain.models.Customer;
+import app.domain.models.CustomerSummary;
 import app.domain.services.CustomerService;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.http.*;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 
@@ -24,6 +28,8 @@ import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 @RestController
 @RequestMapping("/customers")
 public class CustomerController {
+    // Keyset sort keys; name and email can be null (a PUT does not require them), so they are not among them
+    private static final Set<String> CURSOR_SORT_FIELDS = Set.of("customerId", "activeLoans", "totalLoans", "overdueLoans");
     private final CustomerService customerService;
 
     @Autowired
@@ -89,7 +95,12 @@ public class CustomerController {
             String sortField = sortBy.orElse("name");
 
             PageRequest pageable = PageRequest.of(currentPage, pageSize, Sort.Direction.ASC, sortField);
-            Page<Customer> customers = customerService.searchCustomer(query, pageable);
+            Page<CustomerSummary> customers;
+            try {
+                customers = customerService.searchCustomerSummaries(query, pageable);
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("message", e.getMessage()));
+            }
 
             HttpHeaders headers = new HttpHeaders();
             headers.add("self", "<" + linkTo(methodOn(CustomerController.class)
@@ -128,26 +139,34 @@ public class CustomerController {
     public ResponseEntity<Map<String, Object>> getAllCustomers(
             @RequestParam Optional<Integer> page,
             @RequestParam Optional<Integer> size,
-            @RequestParam Optional<String> sortBy
+            @RequestParam Optional<String> sortBy,
+            @RequestParam(required = false) String cursor,
+            @RequestParam Optional<Boolean> withCount
     ) {
         int currentPage = page.orElse(0);
         int pageSize = size.orElse(5);
         String sortField = sortBy.orElse("name");
 
+        if (cursor != null) {
+            return scrollCustomers(cursor, pageSize, sortBy.orElse("customerId"));
+        }
+
         PageRequest pageable = PageRequest.of(currentPage, pageSize, Sort.Direction.ASC, sortField);
-        Page<Customer> customers = customerService.getPaginatedCustomers(pageable);
+        Slice<CustomerSummary> customers = withCount.orElse(true)
+                ? customerService.getCustomerSummaries(pageable)
+                : customerService.getCustomerSummarySlice(pageable);
 
         HttpHeaders headers = new HttpHeaders();
         headers.add("self", "<" + linkTo(methodOn(CustomerController.class)
-                .getAllCustomers(Optional.of(currentPage), Optional.of(pageSize), Optional.of(sortField))).toUri() + ">; rel=\"self\"");
+                .getAllCustomers(Optional.of(currentPage), Optional.of(pageSize), Optional.of(sortField), null, withCount)).toUri() + ">; rel=\"self\"");
 
         if (customers.hasPrevious()) {
             headers.add("prev", "<" + linkTo(methodOn(CustomerController.class)
-                    .getAllCustomers(Optional.of(currentPage - 1), Optional.of(pageSize), Optional.of(sortField))).toUri() + ">; rel=\"prev\"");
+                    .getAllCustomers(Optional.of(currentPage - 1), Optional.of(pageSize), Optional.of(sortField), null, withCount)).toUri() + ">; rel=\"prev\"");
         }
         if (customers.hasNext()) {
             headers.add("next", "<" + linkTo(methodOn(CustomerController.class)
-                    .getAllCustomers(Optional.of(currentPage + 1), Optional.of(pageSize), Optional.of(sortField))).toUri() + ">; rel=\"next\"");
+                    .getAllCustomers(Optional.of(currentPage + 1), Optional.of(pageSize), Optional.of(sortField), null, withCount)).toUri() + ">; rel=\"next\"");
         }
 
         if (customers.isEmpty()) {
@@ -162,9 +181,41 @@ public class CustomerController {
 
         Map<String, Object> response = new LinkedHashMap<>();
         response.put("data", customers.getContent());
-        response.put("totalPages", customers.getTotalPages());
         response.put("currentPage", customers.getNumber());
-        response.put("totalItems", customers.getTotalElements());
+        if (customers instanceof Page<CustomerSummary> counted) {
+            response.put("totalPages", counted.getTotalPages());
+            response.put("totalItems", counted.getTotalElements());
+        }
+
+        return ResponseEntity.ok().headers(headers).body(response);
+    }
+
+    private ResponseEntity<Map<String, Object>> scrollCustomers(String cursor, int pageSize, String sortField) {
+        Window<CustomerSummary> window;
+        try {
+            window = customerService.scrollCustomerSummaries(KeysetCursor.decode(cursor, sortField, CURSOR_SORT_FIELDS), Sort.by(Sort.Direction.ASC, sortField), pageSize);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("message", e.getMessage()));
+        }
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.add("self", "<" + linkTo(methodOn(CustomerController.class)
+                .getAllCustomers(Optional.empty(), Optional.of(pageSize), Optional.of(sortField), cursor, Optional.empty())).toUri() + ">; rel=\"self\"");
+
+        if (window.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).headers(headers)
+                    .body(Map.of("message", "There are no more customers."));
+        }
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("data", window.getContent());
+        response.put("pageSize", pageSize);
+        if (window.hasNext()) {
+            String nextCursor = KeysetCursor.encode(window.positionAt(window.size() - 1));
+            headers.add("next", "<" + linkTo(methodOn(CustomerController.class)
+                    .getAllCustomers(Optional.empty(), Optional.of(pageSize), Optional.of(sortField), nextCursor, Optional.empty())).toUri() + ">; rel=\"next\"");
+            response.put("nextCursor", nextCursor);
+        }
 
         return ResponseEntity.ok().headers(headers).body(response);
     }
@@ -0,0 +1,46 @@
+package app.adapters.in.controller;
+
+import app.adapters.in.dto.importData.ImportBookReader;
+import app.domain.models.ImportReport;
+import app.domain.services.CatalogImportService;
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/admin/import")
+public class ImportController {
+    private final CatalogImportService catalogImportService;
+    private final Gson gson;
+
+    public ImportController(CatalogImportService catalogImportService, Gson gson) {
+        this.catalogImportService = catalogImportService;
+        this.gson = gson;
+    }
+
+    // The body is read straight from the request stream instead of being bound, so dumps of any size fit in memory
+    @PostMapping(value = "/books", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<Map<String, Object>> importBooks(HttpServletRequest request) {
+        try (ImportBookReader books = new ImportBookReader(gson, new InputStreamReader(request.getInputStream(), StandardCharsets.UTF_8))) {
+            ImportReport report = catalogImportService.importBooks(books);
+            return ResponseEntity.ok(Map.of(
+                    "message", "Books imported successfully",
+                    "data", report
+            ));
+        } catch (JsonParseException | IOException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(Map.of("message", "Import stopped on malformed input: " + e.getMessage()));
+        }
+    }
+}
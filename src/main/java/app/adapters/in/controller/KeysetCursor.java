@@ -0,0 +1,88 @@
+package app.adapters.in.controller;
+
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.TreeSet;
+import java.util.UUID;
+
+/**
+ * Opaque continuation tokens for keyset pagination. A token carries the sort key values of the last row
+ * of a page (the sort field and the id), each tagged with its type so the next query binds them unchanged.
+ * An empty token starts at the first row. Only columns that are never null can be sorted by: a null key could not
+ * be encoded, and the keyset predicate would skip the rows holding it.
+ */
+final class KeysetCursor {
+    private KeysetCursor() {
+    }
+
+    static String encode(ScrollPosition position) {
+        StringJoiner keys = new StringJoiner("&");
+        ((KeysetScrollPosition) position).getKeys().forEach((name, value) ->
+                keys.add(name + "=" + typeOf(value) + ":" + URLEncoder.encode(String.valueOf(value), StandardCharsets.UTF_8)));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(keys.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException if {@code sortField} is not one of {@code sortFields}, or the token is
+     *                                  malformed or was not issued for {@code sortField}
+     */
+    static ScrollPosition decode(String token, String sortField, Set<String> sortFields) {
+        if (!sortFields.contains(sortField)) {
+            throw new IllegalArgumentException("Cursor pagination cannot sort by " + sortField + "; use one of " + new TreeSet<>(sortFields));
+        }
+        if (token.isEmpty()) {
+            return ScrollPosition.keyset();
+        }
+        Map<String, Object> keys = new LinkedHashMap<>();
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            for (String entry : decoded.split("&")) {
+                String name = entry.substring(0, entry.indexOf('='));
+                String type = entry.substring(name.length() + 1, name.length() + 2);
+                String value = URLDecoder.decode(entry.substring(name.length() + 3), StandardCharsets.UTF_8);
+                keys.put(name, parse(type, value));
+            }
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Malformed cursor", e);
+        }
+        if (!keys.containsKey(sortField)) {
+            throw new IllegalArgumentException("Cursor was not issued for sortBy=" + sortField);
+        }
+        return ScrollPosition.forward(keys);
+    }
+
+    private static String typeOf(Object value) {
+        return switch (value) {
+            case null -> throw new IllegalArgumentException("Keyset pagination needs a sort field without null values");
+            case String ignored -> "s";
+            case UUID ignored -> "u";
+            case Integer ignored -> "i";
+            case Long ignored -> "l";
+            case Boolean ignored -> "b";
+            case LocalDate ignored -> "d";
+            default -> throw new IllegalArgumentException("Unsupported keyset value " + value.getClass().getName());
+        };
+    }
+
+    private static Object parse(String type, String value) {
+        return switch (type) {
+            case "s" -> value;
+            case "u" -> UUID.fromString(value);
+            case "i" -> Integer.valueOf(value);
+            case "l" -> Long.valueOf(value);
+            case "b" -> Boolean.valueOf(value);
+            case "d" -> LocalDate.parse(value);
+            default -> throw new IllegalArgumentException("Unknown key type " + type);
+        };
+    }
+}
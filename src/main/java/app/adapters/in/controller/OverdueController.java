@@ -0,0 +1,33 @@
+package app.adapters.in.controller;
+
+import app.domain.models.OverdueScanReport;
+import app.domain.services.OverdueLoanService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/admin/overdue")
+public class OverdueController {
+    private final OverdueLoanService overdueLoanService;
+
+    public OverdueController(OverdueLoanService overdueLoanService) {
+        this.overdueLoanService = overdueLoanService;
+    }
+
+    // Runs the nightly scan on demand, optionally as of another day
+    @PostMapping("/scan")
+    public ResponseEntity<Map<String, Object>> scan(@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        OverdueScanReport report = overdueLoanService.scan(date != null ? date : LocalDate.now());
+        return ResponseEntity.ok(Map.of(
+                "message", "Overdue scan finished",
+                "data", report
+        ));
+    }
+}
@@ -1,21 +1,32 @@
 package app.adapters.in.controller;
 
+import app.adapters.in.dto.BatchBorrowRequest;
+import app.adapters.in.dto.BatchReturnRequest;
+import app.adapters.in.dto.BatchTransactionResponse;
 import app.adapters.in.dto.CreateNewTransaktion;
 import app.adapters.in.dto.TransactionResponse;
 import app.domain.models.Transaction;
 import app.domain.services.BookService;
 import app.domain.services.TransactionService;
+import app.infrastructure.config.cache.RenderedResponse;
+import app.infrastructure.config.cache.RenderedResponseCache;
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.http.*;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
 
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 
@@ -25,13 +36,17 @@ import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 @RestController
 @RequestMapping("/transactions")
 public class TransactionController {
+    // Keyset sort keys; every loan is written with both dates, but returnDate stays null while it is open
+    private static final Set<String> CURSOR_SORT_FIELDS = Set.of("transactionId", "borrowDate", "dueDate");
     private final TransactionService transactionService;
     private final BookService bookService;
+    private final RenderedResponseCache renderedResponses;
 
     @Autowired
-    public TransactionController(TransactionService transactionService, BookService bookService) {
+    public TransactionController(TransactionService transactionService, BookService bookService, RenderedResponseCache renderedResponses) {
         this.transactionService = transactionService;
         this.bookService = bookService;
+        this.renderedResponses = renderedResponses;
     }
 
     @PostMapping(produces = "application/single-transaction-response+json;version=1")
@@ -48,14 +63,15 @@ public class TransactionController {
     }
 
     @PostMapping(value = "/returnBook/{bookId}", produces = "application/transaction-response+json;version=1")
-    public ResponseEntity<TransactionResponse> returnBook(@PathVariable UUID bookId) {
+    public ResponseEntity<TransactionResponse> returnBook(@PathVariable UUID bookId, @RequestParam Optional<UUID> customerId) {
         try {
             if (bookService.searchById(bookId).isEmpty()) {
                 return ResponseEntity.status(HttpStatus.NOT_FOUND)
                         .body(new TransactionResponse("Book not found.", null));
             }
 
-            String transactionId = transactionService.returnBook(bookId);
+            String transactionId = customerId.map(id -> transactionService.returnBook(bookId, id))
+                    .orElseGet(() -> transactionService.returnBook(bookId));
             return ResponseEntity.ok(new TransactionResponse("Transaction successful.", UUID.fromString(transactionId)));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
@@ -76,31 +92,56 @@ public class TransactionController {
         }
     }
 
+    @PostMapping(value = "/batch/borrow", produces = "application/batch-transaction-response+json;version=1")
+    public ResponseEntity<BatchTransactionResponse> borrowBooks(@Valid @RequestBody BatchBorrowRequest request) {
+        try {
+            return ResponseEntity.ok(BatchTransactionResponse.of(
+                    transactionService.borrowBooks(request.getCustomerId(), request.getBookIds())));
+        } catch (EntityNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(null);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(null);
+        }
+    }
+
+    @PostMapping(value = "/batch/return", produces = "application/batch-transaction-response+json;version=1")
+    public ResponseEntity<BatchTransactionResponse> returnBooks(@Valid @RequestBody BatchReturnRequest request) {
+        return ResponseEntity.ok(BatchTransactionResponse.of(transactionService.returnBooks(request.getBookIds())));
+    }
+
     @GetMapping(value = "/history/{customerId}", produces = "application/paginated-transactions-response+json;version=1")
     public ResponseEntity<Map<String, Object>> viewBorrowingHistory(
             @PathVariable UUID customerId,
             @RequestParam Optional<Integer> page,
             @RequestParam Optional<Integer> size,
-            @RequestParam Optional<String> sortBy
+            @RequestParam Optional<String> sortBy,
+            @RequestParam(required = false) String cursor,
+            @RequestParam Optional<Boolean> withCount
     ) {
         int currentPage = page.orElse(0);
         int pageSize = size.orElse(5);
         String sortField = sortBy.orElse("borrowDate");
 
+        if (cursor != null) {
+            return scrollBorrowingHistory(customerId, cursor, pageSize, sortField);
+        }
+
         PageRequest pageable = PageRequest.of(currentPage, pageSize, Sort.Direction.ASC, sortField);
-        Page<Transaction> transactionsPage = transactionService.viewBorrowingHistory(customerId, pageable);
+        Slice<Transaction> transactionsPage = withCount.orElse(true)
+                ? transactionService.viewBorrowingHistory(customerId, pageable)
+                : transactionService.getBorrowingHistorySlice(customerId, pageable);
 
         HttpHeaders headers = new HttpHeaders();
         headers.add("self", "<" + linkTo(methodOn(TransactionController.class)
-                .viewBorrowingHistory(customerId, Optional.of(currentPage), Optional.of(pageSize), Optional.of(sortField))).toUri() + ">; rel=\"self\"");
+                .viewBorrowingHistory(customerId, Optional.of(currentPage), Optional.of(pageSize), Optional.of(sortField), null, withCount)).toUri() + ">; rel=\"self\"");
 
         if (transactionsPage.hasPrevious()) {
             headers.add("prev", "<" + linkTo(methodOn(TransactionController.class)
-                    .viewBorrowingHistory(customerId, Optional.of(currentPage - 1), Optional.of(pageSize), Optional.of(sortField))).toUri() + ">; rel=\"prev\"");
+                    .viewBorrowingHistory(customerId, Optional.of(currentPage - 1), Optional.of(pageSize), Optional.of(sortField), null, withCount)).toUri() + ">; rel=\"prev\"");
         }
         if (transactionsPage.hasNext()) {
             headers.add("next", "<" + linkTo(methodOn(TransactionController.class)
-                    .viewBorrowingHistory(customerId, Optional.of(currentPage + 1), Optional.of(pageSize), Optional.of(sortField))).toUri() + ">; rel=\"next\"");
+                    .viewBorrowingHistory(customerId, Optional.of(currentPage + 1), Optional.of(pageSize), Optional.of(sortField), null, withCount)).toUri() + ">; rel=\"next\"");
         }
 
         if (transactionsPage.isEmpty()) {
@@ -110,23 +151,64 @@ public class TransactionController {
 
         Map<String, Object> response = new LinkedHashMap<>();
         response.put("data", transactionsPage.getContent());
-        response.put("totalPages", transactionsPage.getTotalPages());
         response.put("currentPage", transactionsPage.getNumber());
-        response.put("totalItems", transactionsPage.getTotalElements());
+        if (transactionsPage instanceof Page<Transaction> counted) {
+            response.put("totalPages", counted.getTotalPages());
+            response.put("totalItems", counted.getTotalElements());
+        }
+
+        return ResponseEntity.ok().headers(headers).body(response);
+    }
+
+    private ResponseEntity<Map<String, Object>> scrollBorrowingHistory(UUID customerId, String cursor, int pageSize, String sortField) {
+        Window<Transaction> window;
+        try {
+            window = transactionService.scrollBorrowingHistory(customerId, KeysetCursor.decode(cursor, sortField, CURSOR_SORT_FIELDS), Sort.by(Sort.Direction.ASC, sortField), pageSize);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("message", e.getMessage()));
+        }
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.add("self", "<" + linkTo(methodOn(TransactionController.class)
+                .viewBorrowingHistory(customerId, Optional.empty(), Optional.of(pageSize), Optional.of(sortField), cursor, Optional.empty())).toUri() + ">; rel=\"self\"");
+
+        if (window.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).headers(headers)
+                    .body(Map.of("message", "No more transactions found for this customer"));
+        }
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("data", window.getContent());
+        response.put("pageSize", pageSize);
+        if (window.hasNext()) {
+            String nextCursor = KeysetCursor.encode(window.positionAt(window.size() - 1));
+            headers.add("next", "<" + linkTo(methodOn(TransactionController.class)
+                    .viewBorrowingHistory(customerId, Optional.empty(), Optional.of(pageSize), Optional.of(sortField), nextCursor, Optional.empty())).toUri() + ">; rel=\"next\"");
+            response.put("nextCursor", nextCursor);
+        }
 
         return ResponseEntity.ok().headers(headers).body(response);
     }
 
     @GetMapping(value = "/{id}", produces = {"application/single-transaction-response+json;version=1", MediaType.APPLICATION_JSON_VALUE})
-    public ResponseEntity<Map<String, Object>> getTransactionById(@PathVariable UUID id) {
-        Optional<Transaction> transactionOpt = transactionService.findById(id);
-
-        if (transactionOpt.isEmpty()) {
-            Map<String, Object> errorResponse = Map.of(
-                    "message", "Transaction not found",
-                    "transactionId", id
-            );
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
+    public ResponseEntity<?> getTransactionById(@PathVariable UUID id, HttpServletRequest request) {
+        RenderedResponse rendered = renderedResponses.get(RenderedResponseCache.TRANSACTIONS, id);
+        if (rendered == null) {
+            long generation = renderedResponses.generation(RenderedResponseCache.TRANSACTIONS, id);
+            Optional<Transaction> transactionOpt = transactionService.findById(id);
+
+            if (transactionOpt.isEmpty()) {
+                Map<String, Object> errorResponse = Map.of(
+                        "message", "Transaction not found",
+                        "transactionId", id
+                );
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
+            }
+
+            rendered = renderedResponses.render(RenderedResponseCache.TRANSACTIONS, id, generation, Map.of(
+                    "message", "Transaction retrieved successfully",
+                    "data", transactionOpt.get()
+            ));
         }
 
         CacheControl cacheControl = CacheControl
@@ -134,14 +216,11 @@ public class TransactionController {
                 .cachePrivate()
                 .noTransform();
 
-        Map<String, Object> response = Map.of(
-                "message", "Transaction retrieved successfully",
-                "data", transactionOpt.get()
-        );
-
+        ShallowEtagHeaderFilter.disableContentCaching(request);
         return ResponseEntity.ok()
                 .cacheControl(cacheControl)
                 .header("Vary", "Accept")
-                .body(response);
+                .eTag(rendered.etag())
+                .body(rendered.body());
     }
 }
@@ -0,0 +1,22 @@
+package app.adapters.in.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+import java.util.UUID;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class BatchReturnRequest {
+    @NotEmpty(message = "At least one book ID is required")
+    @Size(max = 200, message = "A batch may contain at most 200 books")
+    private List<@NotNull(message = "Book ID is required") UUID> bookIds;
+}
@@ -0,0 +1,24 @@
+package app.adapters.in.dto;
+
+import app.domain.models.BatchItemResult;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class BatchTransactionResponse {
+    private int processed;
+    private int succeeded;
+    private List<BatchItemResult> items;
+
+    public static BatchTransactionResponse of(List<BatchItemResult> items) {
+        int succeeded = (int) items.stream().filter(BatchItemResult::isSuccessful).count();
+        return new BatchTransactionResponse(items.size(), succeeded, items);
+    }
+}
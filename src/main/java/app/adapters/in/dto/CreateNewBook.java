@@ -28,4 +28,11 @@ public class CreateNewBook {
     @Size(min = 1, message = "At least one author is required")
     @Valid
     private List<CreateNewAuthor> authors;
+
+    @Min(value = 1, message = "At least one copy is required")
+    private Integer copies;
+
+    public CreateNewBook(String title, String isbn, int publicationYear, List<CreateNewAuthor> authors) {
+        this(title, isbn, publicationYear, authors, null);
+    }
 }
@@ -28,4 +28,7 @@ public class ImportBookDto {
     @Expose
     @NotNull(message = "Authors list is required")
     private List<ImportAuthorDto> authors;
+
+    @Expose
+    private Integer copies;
 }
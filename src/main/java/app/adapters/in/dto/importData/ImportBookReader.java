@@ -0,0 +1,55 @@
+package app.adapters.in.dto.importData;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Reads a JSON array of books one element at a time, so only the current element is held in memory.
+ */
+public class ImportBookReader implements Iterator<ImportBookDto>, Closeable {
+    private final Gson gson;
+    private final JsonReader reader;
+    private boolean started;
+
+    public ImportBookReader(Gson gson, Reader reader) {
+        this.gson = gson;
+        this.reader = new JsonReader(reader);
+    }
+
+    @Override
+    public boolean hasNext() {
+        try {
+            if (!started) {
+                if (reader.peek() == JsonToken.END_DOCUMENT) {
+                    return false;
+                }
+                reader.beginArray();
+                started = true;
+            }
+            return reader.hasNext();
+        } catch (IOException | IllegalStateException e) {
+            throw new JsonParseException("Expected a JSON array of books: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public ImportBookDto next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return gson.fromJson(reader, ImportBookDto.class);
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
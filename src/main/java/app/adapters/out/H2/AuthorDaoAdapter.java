@@ -2,27 +2,78 @@ package app.adapters.out.H2;
 
 import app.adapters.out.H2.entity.AuthorEntity;
 import app.adapters.out.H2.repositories.AuthorRepository;
+import app.adapters.out.search.BookSearchEngine;
 import app.domain.models.Author;
 import app.domain.models.Book;
 import app.domain.port.AuthorDao;
+import app.infrastructure.config.cache.CatalogCaches;
+import app.infrastructure.config.database.UuidV7;
 import app.infrastructure.exceptions.AuthorNotFoundException;
+import app.infrastructure.exceptions.DuplicateResourceException;
+import jakarta.transaction.Transactional;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
 @Component
+@Transactional
 public class AuthorDaoAdapter implements AuthorDao {
+    private static final int MAX_UPSERT_ATTEMPTS = 3;
+
     private final AuthorRepository authorRepository;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final BookSearchEngine bookSearchEngine;
+    private final CatalogCaches catalogCaches;
+    private final int warmUpSize;
 
-    public AuthorDaoAdapter(AuthorRepository authorRepository) {
+    public AuthorDaoAdapter(AuthorRepository authorRepository, NamedParameterJdbcTemplate jdbcTemplate, BookSearchEngine bookSearchEngine, CatalogCaches catalogCaches,
+                            @Value("${library.cache.author-ids.warm-up:10000}") int warmUpSize) {
         this.authorRepository = authorRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.bookSearchEngine = bookSearchEngine;
+        this.catalogCaches = catalogCaches;
+        this.warmUpSize = warmUpSize;
+    }
+
+    /**
+     * Loads up to {@code library.cache.author-ids.warm-up} author ids, so the first books added after a restart
+     * find their authors without a query.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
+    public void warmAuthorIds() {
+        if (warmUpSize <= 0) {
+            return;
+        }
+        jdbcTemplate.query("SELECT author_id, name FROM authors LIMIT :limit", Map.of("limit", warmUpSize), row -> {
+            catalogCaches.putAuthorId(row.getString("name"), UUID.fromString(row.getString("author_id")));
+        });
     }
     @Override
     public void addAuthor(Author author) {
@@ -31,7 +82,68 @@ public class AuthorDaoAdapter implements AuthorDao {
                 .name(author.getName())
                 .bio(author.getBio())
                 .build();
-        authorRepository.save(authorEntity);
+        try {
+            author.setAuthorId(authorRepository.saveAndFlush(authorEntity).getAuthorId());
+        } catch (DataIntegrityViolationException e) {
+            throw new DuplicateResourceException("Author with the same name already exists.");
+        }
+        catalogCaches.putAuthorId(author.getName(), author.getAuthorId());
+    }
+
+    /**
+     * An insert that loses a race against a concurrent one for the same name hits {@code uk_authors_name};
+     * the names are then read again, locking the rows so the winner's committed author is seen under MySQL's
+     * repeatable-read snapshot as well. New ids enter the cache once the transaction commits.
+     */
+    @Override
+    public Map<String, UUID> upsertAuthors(Collection<Author> authors) {
+        Map<String, Author> missing = new LinkedHashMap<>();
+        Map<String, UUID> authorIds = new HashMap<>();
+        for (Author author : authors) {
+            UUID cached = catalogCaches.authorId(author.getName());
+            if (cached != null) {
+                authorIds.put(author.getName(), cached);
+            } else {
+                missing.putIfAbsent(author.getName(), author);
+            }
+        }
+        String select = "SELECT author_id, name FROM authors WHERE name IN (:names)";
+        for (int attempt = 1; !missing.isEmpty(); attempt++) {
+            jdbcTemplate.query(select, Map.of("names", List.copyOf(missing.keySet())), row -> {
+                String name = row.getString("name");
+                UUID authorId = UUID.fromString(row.getString("author_id"));
+                authorIds.put(name, authorId);
+                missing.remove(name);
+                catalogCaches.putAuthorId(name, authorId);
+            });
+            if (missing.isEmpty()) {
+                break;
+            }
+            Map<String, UUID> inserted = new HashMap<>();
+            List<MapSqlParameterSource> authorRows = new ArrayList<>(missing.size());
+            for (Author author : missing.values()) {
+                UUID authorId = UuidV7.next();
+                inserted.put(author.getName(), authorId);
+                authorRows.add(new MapSqlParameterSource()
+                        .addValue("id", authorId.toString())
+                        .addValue("name", author.getName())
+                        .addValue("bio", author.getBio()));
+            }
+            try {
+                jdbcTemplate.batchUpdate("INSERT INTO authors (author_id, name, bio) VALUES (:id, :name, :bio)",
+                        authorRows.toArray(MapSqlParameterSource[]::new));
+            } catch (DuplicateKeyException e) {
+                if (attempt == MAX_UPSERT_ATTEMPTS) {
+                    throw e;
+                }
+                select = "SELECT author_id, name FROM authors WHERE name IN (:names) FOR UPDATE";
+                continue;
+            }
+            authorIds.putAll(inserted);
+            inserted.forEach(catalogCaches::putAuthorId);
+            missing.clear();
+        }
+        return authorIds;
     }
     @Override
     public Page<Author> getPaginatedAuthors(Pageable pageable) {
@@ -44,6 +156,16 @@ public class AuthorDaoAdapter implements AuthorDao {
         return new PageImpl<>(authors, pageable, authorEntities.getTotalElements());
     }
 
+    @Override
+    public Slice<Author> getAuthorSlice(Pageable pageable) {
+        return authorRepository.findSliceBy(pageable).map(this::mapToAuthor);
+    }
+
+    @Override
+    public Window<Author> scrollAuthors(ScrollPosition position, Sort sort, int limit) {
+        return authorRepository.findBy(position, sort, Limit.of(limit)).map(this::mapToAuthor);
+    }
+
     @Override
     public Page<Author> searchAuthors(String query,Pageable pageable) {
         String queryLowerCase = query.toLowerCase();
@@ -62,9 +184,33 @@ public class AuthorDaoAdapter implements AuthorDao {
         AuthorEntity authorEntity = authorRepository.findById(authorId)
                 .orElseThrow(() -> new AuthorNotFoundException("Author with ID " + authorId + " not found"));
 
+        evictCached(authorEntity);
+        catalogCaches.evictAuthorId(authorEntity.getName());
+        boolean renamed = !Objects.equals(authorEntity.getName(), newAuthor.getName());
         authorEntity.setName(newAuthor.getName());
         authorEntity.setBio(newAuthor.getBio());
-        authorRepository.save(authorEntity);
+        try {
+            authorRepository.saveAndFlush(authorEntity);
+        } catch (DataIntegrityViolationException e) {
+            throw new DuplicateResourceException("Author with the same name already exists.");
+        }
+        catalogCaches.putAuthorId(authorEntity.getName(), authorId);
+
+        if (renamed && authorEntity.getBooks() != null) {
+            authorEntity.getBooks().forEach(bookEntity -> bookSearchEngine.index(new Book(
+                    bookEntity.getBookId(),
+                    bookEntity.getTitle(),
+                    bookEntity.getIsbn(),
+                    bookEntity.getPublicationYear(),
+                    bookEntity.isAvailability(),
+                    bookEntity.getCreated_at(),
+                    bookEntity.getAuthors() != null
+                            ? bookEntity.getAuthors().stream()
+                            .map(author -> new Author(author.getAuthorId(), author.getName(), author.getBio()))
+                            .collect(Collectors.toSet())
+                            : new HashSet<>()
+            )));
+        }
     }
 
     @Override
@@ -73,12 +219,20 @@ public class AuthorDaoAdapter implements AuthorDao {
     }
 
     @Override
+    @Cacheable(cacheNames = CatalogCaches.AUTHORS_BY_NAME, unless = "#result == null")
     public Optional<Author> searchAuthorByName(String name) {
         return authorRepository.findByName(name).map(this::mapToAuthor);
     }
     @Override
     public Optional<Author> searchAuthorByID(UUID id) {
-        return authorRepository.findById(id).map(this::mapToAuthor);
+        return authorRepository.findAuthorByAuthorId(id).map(this::mapToAuthor);
+    }
+    // Cached books embed their authors, so renaming an author invalidates its books as well.
+    private void evictCached(AuthorEntity authorEntity) {
+        catalogCaches.evictAuthor(authorEntity.getName());
+        if (authorEntity.getBooks() != null) {
+            authorEntity.getBooks().forEach(book -> catalogCaches.evictBook(book.getBookId(), book.getTitle(), book.getIsbn()));
+        }
     }
     private Author mapToAuthor(AuthorEntity authorEntity) {
         return new Author(
@@ -87,15 +241,20 @@ public class AuthorDaoAdapter implements AuthorDao {
                 authorEntity.getBio(),
                 authorEntity.getBooks() != null
                         ? authorEntity.getBooks().stream()
-                        .map(bookEntity -> new Book(
-                                bookEntity.getBookId(),
-                                bookEntity.getTitle(),
-                                bookEntity.getIsbn(),
-                                bookEntity.getPublicationYear(),
-                                bookEntity.isAvailability(),
-                                bookEntity.getCreated_at(),
-                                new HashSet<>()
-                        ))
+                        .map(bookEntity -> {
+                            Book book = new Book(
+                                    bookEntity.getBookId(),
+                                    bookEntity.getTitle(),
+                                    bookEntity.getIsbn(),
+                                    bookEntity.getPublicationYear(),
+                                    bookEntity.isAvailability(),
+                                    bookEntity.getCreated_at(),
+                                    new HashSet<>()
+                            );
+                            book.setTotalCopies(bookEntity.getTotalCopies());
+                            book.setAvailableCopies(bookEntity.getAvailableCopies());
+                            return book;
+                        })
                         .collect(Collectors.toSet())
                         : new HashSet<>()
         );
@@ -0,0 +1,103 @@
+package app.adapters.out.H2;
+
+import app.domain.models.Author;
+import app.domain.models.Book;
+import app.domain.port.AuthorDao;
+import app.infrastructure.config.cache.CatalogCaches;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/**
+ * Links inserted books to their authors, creating the authors that do not exist yet, and sets the author ids.
+ * Authors are resolved through {@link AuthorDao#upsertAuthors}, which answers known names from the author id cache,
+ * and the author_books rows are inserted from the resolved ids in one batch. A cached id of an author deleted since
+ * fails the foreign key; the ids that no longer exist are then evicted and resolved again, the partly written links
+ * of the books removed, and the batch inserted once more.
+ */
+@Component
+class AuthorLinker {
+    private static final String LINK = "INSERT INTO author_books (author_id, book_id) VALUES (:authorId, :bookId)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final AuthorDao authorDao;
+    private final CatalogCaches catalogCaches;
+
+    AuthorLinker(NamedParameterJdbcTemplate jdbcTemplate, AuthorDao authorDao, CatalogCaches catalogCaches) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.authorDao = authorDao;
+        this.catalogCaches = catalogCaches;
+    }
+
+    /**
+     * @param knownAuthors ids resolved earlier by the caller, consulted before the author id cache and extended here
+     */
+    void link(List<Book> books, Map<String, UUID> knownAuthors) {
+        Map<String, Author> byName = new LinkedHashMap<>();
+        List<Link> links = new ArrayList<>();
+        for (Book book : books) {
+            Set<String> linked = new HashSet<>();
+            for (Author author : book.getAuthors()) {
+                if (linked.add(author.getName())) {
+                    links.add(new Link(book.getBookId(), author.getName()));
+                }
+                byName.putIfAbsent(author.getName(), author);
+            }
+        }
+        if (links.isEmpty()) {
+            return;
+        }
+        knownAuthors.putAll(authorDao.upsertAuthors(byName.values().stream()
+                .filter(author -> !knownAuthors.containsKey(author.getName()))
+                .toList()));
+
+        try {
+            insert(links, knownAuthors);
+        } catch (DataIntegrityViolationException e) {
+            Map<String, Author> stale = staleAuthors(byName, knownAuthors);
+            if (stale.isEmpty()) {
+                throw e;
+            }
+            stale.keySet().forEach(name -> {
+                catalogCaches.evictAuthorId(name);
+                knownAuthors.remove(name);
+            });
+            knownAuthors.putAll(authorDao.upsertAuthors(stale.values()));
+            jdbcTemplate.update("DELETE FROM author_books WHERE book_id IN (:bookIds)",
+                    Map.of("bookIds", books.stream().map(book -> book.getBookId().toString()).toList()));
+            insert(links, knownAuthors);
+        }
+
+        for (Book book : books) {
+            book.getAuthors().forEach(author -> author.setAuthorId(knownAuthors.get(author.getName())));
+        }
+        links.stream().map(Link::name).distinct().forEach(catalogCaches::evictAuthor);
+    }
+
+    private void insert(List<Link> links, Map<String, UUID> authorIds) {
+        jdbcTemplate.batchUpdate(LINK, links.stream()
+                .map(link -> new MapSqlParameterSource()
+                        .addValue("authorId", authorIds.get(link.name()).toString())
+                        .addValue("bookId", link.bookId().toString()))
+                .toArray(MapSqlParameterSource[]::new));
+    }
+
+    // Authors whose resolved id has no row any more
+    private Map<String, Author> staleAuthors(Map<String, Author> byName, Map<String, UUID> authorIds) {
+        Set<String> existing = new HashSet<>(jdbcTemplate.queryForList("SELECT author_id FROM authors WHERE author_id IN (:ids)",
+                Map.of("ids", byName.keySet().stream().map(name -> authorIds.get(name).toString()).toList()), String.class));
+        Map<String, Author> stale = new LinkedHashMap<>();
+        byName.forEach((name, author) -> {
+            if (!existing.contains(authorIds.get(name).toString())) {
+                stale.put(name, author);
+            }
+        });
+        return stale;
+    }
+
+    private record Link(UUID bookId, String name) {
+    }
+}
@@ -2,73 +2,105 @@ package app.adapters.out.H2;
 
 import app.adapters.out.H2.entity.AuthorEntity;
 import app.adapters.out.H2.entity.BookEntity;
-import app.adapters.out.H2.repositories.AuthorRepository;
+import app.adapters.out.H2.projection.BookAuthorRow;
+import app.adapters.out.H2.projection.BookListRow;
 import app.adapters.out.H2.repositories.BookRepository;
+import app.adapters.out.search.BookSearchEngine;
 import app.domain.models.Author;
+import app.domain.models.AuthorSummary;
+import app.domain.models.BookSuggestion;
+import app.domain.models.BookSummary;
 import app.domain.port.BookDao;
 import app.domain.models.Book;
+import app.infrastructure.config.cache.CatalogCaches;
+import app.infrastructure.config.database.UuidV7;
 import app.infrastructure.exceptions.BookNotFoundException;
+import app.infrastructure.exceptions.DuplicateResourceException;
+import jakarta.transaction.Transactional;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.stereotype.Component;
 
 import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Component
+@Transactional
 public class BookDaoAdapter implements BookDao {
     private final BookRepository bookRepository;
-    private final AuthorRepository authorRepository;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final AuthorLinker authorLinker;
+    private final BookSearchEngine bookSearchEngine;
+    private final CatalogCaches catalogCaches;
 
-    public BookDaoAdapter(BookRepository bookRepository, AuthorRepository authorRepository) {
+    public BookDaoAdapter(BookRepository bookRepository, NamedParameterJdbcTemplate jdbcTemplate, AuthorLinker authorLinker,
+                          BookSearchEngine bookSearchEngine, CatalogCaches catalogCaches) {
         this.bookRepository = bookRepository;
-        this.authorRepository = authorRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.authorLinker = authorLinker;
+        this.bookSearchEngine = bookSearchEngine;
+        this.catalogCaches = catalogCaches;
     }
 
+    /**
+     * Inserts the book first, so a clashing title or ISBN fails on its unique key before any author is touched,
+     * then links its authors through {@link AuthorLinker}.
+     */
     @Override
     public void addBook(Book book) {
-        Set<AuthorEntity> authorEntities = book.getAuthors().stream()
-                .map(author -> {
-                    Optional<AuthorEntity> existingAuthor = authorRepository.findByName(author.getName());
-                    return existingAuthor.orElseGet(() -> {
-                        AuthorEntity newAuthorEntity = new AuthorEntity(
-                                UUID.randomUUID(),
-                                author.getName(),
-                                author.getBio(),
-                                new HashSet<>()
-                        );
-                        return authorRepository.save(newAuthorEntity);
-                    });
-                })
-                .collect(Collectors.toSet());
-
-        BookEntity bookEntity = BookEntity.builder()
-                .title(book.getTitle())
-                .isbn(book.getIsbn())
-                .publicationYear(book.getPublicationYear())
-                .availability(book.isAvailable())
-                .created_at(book.getCreatedAt())
-                .build();
-
-        authorEntities.forEach(author -> {
-            if (author.getBooks() == null) {
-                author.setBooks(new HashSet<>());
-            }
-            author.getBooks().add(bookEntity);
-        });
-        BookEntity savedEntity = bookRepository.save(bookEntity);
-        book.setBookId(savedEntity.getBookId());
+        book.setBookId(UuidV7.next());
+        try {
+            jdbcTemplate.update("INSERT INTO books (book_id, title, isbn, publication_year, availability, total_copies, available_copies, created_at, version) " +
+                    "VALUES (:id, :title, :isbn, :year, :available, :totalCopies, :availableCopies, :createdAt, 0)", new MapSqlParameterSource()
+                    .addValue("id", book.getBookId().toString())
+                    .addValue("title", book.getTitle())
+                    .addValue("isbn", book.getIsbn())
+                    .addValue("year", book.getPublicationYear())
+                    .addValue("available", book.getAvailableCopies() > 0)
+                    .addValue("totalCopies", book.getTotalCopies())
+                    .addValue("availableCopies", book.getAvailableCopies())
+                    .addValue("createdAt", book.getCreatedAt()));
+        } catch (DataIntegrityViolationException e) {
+            book.setBookId(null);
+            throw duplicateBook(e);
+        }
+
+        authorLinker.link(List.of(book), new HashMap<>());
+        bookSearchEngine.index(book);
     }
 
     @Override
     public void updateBook(UUID bookID, Book newBook) {
         bookRepository.findById(bookID).ifPresent(entity -> {
+            evictCached(entity);
+            boolean reindex = !Objects.equals(entity.getTitle(), newBook.getTitle())
+                    || !Objects.equals(entity.getIsbn(), newBook.getIsbn())
+                    || entity.getPublicationYear() != newBook.getPublicationYear();
             entity.setTitle(newBook.getTitle());
             entity.setIsbn(newBook.getIsbn());
             entity.setPublicationYear(newBook.getPublicationYear());
-            entity.setAvailability(newBook.isAvailable());
+            // Copy counts are not part of an update: they change only with updateTotalCopies and borrows and returns,
+            // whose conditional updates would otherwise be overwritten with a count that ignores the copies on loan.
             entity.setCreated_at(newBook.getCreatedAt());
-            bookRepository.save(entity);
+            try {
+                bookRepository.saveAndFlush(entity);
+            } catch (DataIntegrityViolationException e) {
+                throw duplicateBook(e);
+            }
+            if (reindex) {
+                bookSearchEngine.index(mapToBook(entity));
+            }
         });
     }
 
@@ -87,17 +119,80 @@ public class BookDaoAdapter implements BookDao {
             bookRepository.save(book);
 
             bookRepository.deleteById(bookID);
+            bookSearchEngine.remove(bookID);
         } else {
             throw new BookNotFoundException("Book not found with ID: " + bookID);
         }
     }
 
+    @Override
+    public boolean markAsBorrowed(Book book) {
+        return availabilityChanged(book, bookRepository.markAsBorrowed(book.getBookId()));
+    }
+
+    @Override
+    public boolean markAsReturned(Book book) {
+        return availabilityChanged(book, bookRepository.markAsReturned(book.getBookId()));
+    }
+
+    @Override
+    public boolean updateTotalCopies(UUID bookId, int totalCopies) {
+        BookEntity entity = bookRepository.findById(bookId)
+                .orElseThrow(() -> new BookNotFoundException("Book not found with ID: " + bookId));
+        if (bookRepository.updateTotalCopies(bookId, totalCopies) == 0) {
+            return false;
+        }
+        evictCached(entity);
+        return true;
+    }
+
+    @Override
+    public List<Book> searchBooksForUpdate(Collection<UUID> bookIds) {
+        return bookRepository.findAllByIdForUpdate(bookIds).stream()
+                .map(this::mapToBook)
+                .toList();
+    }
+
+    @Override
+    public void markAllAsBorrowed(Collection<Book> books) {
+        if (!books.isEmpty()) {
+            bookRepository.markAllAsBorrowed(books.stream().map(Book::getBookId).toList());
+            books.forEach(this::evictCached);
+        }
+    }
+
+    @Override
+    public int markAllAsReturned(Collection<Book> books) {
+        if (books.isEmpty()) {
+            return 0;
+        }
+        int released = bookRepository.markAllAsReturned(books.stream().map(Book::getBookId).toList());
+        books.forEach(this::evictCached);
+        return released;
+    }
+
+    private boolean availabilityChanged(Book book, int updatedRows) {
+        if (updatedRows == 0) {
+            return false;
+        }
+        evictCached(book);
+        return true;
+    }
+
+    private void evictCached(Book book) {
+        catalogCaches.evictBook(book.getBookId(), book.getTitle(), book.getIsbn());
+        if (book.getAuthors() != null) {
+            book.getAuthors().forEach(author -> catalogCaches.evictAuthor(author.getName()));
+        }
+    }
+
     @Override
     public Page<Book> getPaginatedBooks(Pageable pageable) {
         return bookRepository.findAll(pageable).map(this::mapToBook);
     }
 
     @Override
+    @Cacheable(cacheNames = CatalogCaches.BOOKS_BY_TITLE, unless = "#result == null")
     public Optional<Book> searchBookByTitle(String title) {
         Optional<BookEntity> bookEntity = bookRepository.findBookByTitle(title);
         return bookEntity.map(this::mapToBook);
@@ -111,25 +206,116 @@ public class BookDaoAdapter implements BookDao {
     }
 
     @Override
+    @Cacheable(cacheNames = CatalogCaches.BOOKS_BY_ISBN, unless = "#result == null")
     public Optional<Book> searchByIsbn(String isbn) {
         Optional<BookEntity> bookEntity = bookRepository.findBooksByIsbn(isbn);
         return bookEntity.map(this::mapToBook);
     }
 
     @Override
+    @Cacheable(cacheNames = CatalogCaches.BOOKS_BY_ID, unless = "#result == null")
     public Optional<Book> searchBookById(UUID id) {
         Optional<BookEntity> bookEntity = bookRepository.findBookByBookId(id);
         return bookEntity.map(this::mapToBook);
     }
     @Override
     public Page<Book> searchBooks(String query, Pageable pageable) {
-        String lowerQuery = query.toLowerCase();
-        Page<BookEntity> bookEntities = bookRepository.findBooksByQuery(lowerQuery, pageable);
+        Page<UUID> bookIds = bookSearchEngine.search(query, pageable);
+        if (bookIds.isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, bookIds.getTotalElements());
+        }
+
+        Map<UUID, BookEntity> entitiesById = bookRepository.findAllById(bookIds.getContent()).stream()
+                .collect(Collectors.toMap(BookEntity::getBookId, Function.identity()));
+
+        List<Book> books = new ArrayList<>(bookIds.getNumberOfElements());
+        for (UUID bookId : bookIds) {
+            BookEntity entity = entitiesById.get(bookId);
+            if (entity == null) {
+                // Removed behind the adapter's back (e.g. a bulk delete); drop the stale entry.
+                bookSearchEngine.remove(bookId);
+            } else {
+                books.add(mapToBook(entity));
+            }
+        }
+        return new PageImpl<>(books, pageable, bookIds.getTotalElements());
+    }
+    @Override
+    public Page<BookSummary> getBookSummaries(Pageable pageable) {
+        Page<BookListRow> rows = bookRepository.findListRowsBy(pageable);
+        return rows.map(withAuthors(rows.getContent()));
+    }
+
+    @Override
+    public Slice<BookSummary> getBookSummarySlice(Pageable pageable) {
+        Slice<BookListRow> rows = bookRepository.findListRowSliceBy(pageable);
+        return rows.map(withAuthors(rows.getContent()));
+    }
+
+    @Override
+    public Window<BookSummary> scrollBookSummaries(ScrollPosition position, Sort sort, int limit) {
+        Window<BookListRow> rows = bookRepository.findListRowsBy(position, sort, Limit.of(limit));
+        return rows.map(withAuthors(rows.getContent()));
+    }
+
+    @Override
+    public Page<BookSummary> searchBookSummaries(String query, Pageable pageable) {
+        Page<UUID> bookIds = bookSearchEngine.search(query, pageable);
+        if (bookIds.isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, bookIds.getTotalElements());
+        }
+
+        List<BookListRow> found = bookRepository.findListRowsByBookIdIn(bookIds.getContent());
+        Map<UUID, BookListRow> rowsById = found.stream().collect(Collectors.toMap(BookListRow::getBookId, Function.identity()));
+        Function<BookListRow, BookSummary> toSummary = withAuthors(found);
+
+        List<BookSummary> books = new ArrayList<>(bookIds.getNumberOfElements());
+        for (UUID bookId : bookIds) {
+            BookListRow row = rowsById.get(bookId);
+            if (row == null) {
+                bookSearchEngine.remove(bookId);
+            } else {
+                books.add(toSummary.apply(row));
+            }
+        }
+        return new PageImpl<>(books, pageable, bookIds.getTotalElements());
+    }
+
+    @Override
+    public List<BookSuggestion> suggestBooks(String prefix, int limit) {
+        return bookSearchEngine.suggest(prefix, limit);
+    }
+
+    // One query for the authors of all rows on the page instead of initializing each book's author set.
+    private Function<BookListRow, BookSummary> withAuthors(List<BookListRow> rows) {
+        Map<UUID, List<AuthorSummary>> authors = rows.isEmpty() ? Map.of()
+                : bookRepository.findAuthorRows(rows.stream().map(BookListRow::getBookId).toList()).stream()
+                .collect(Collectors.groupingBy(BookAuthorRow::getBookId,
+                        Collectors.mapping(row -> new AuthorSummary(row.getAuthorId(), row.getName()), Collectors.toList())));
+        return row -> new BookSummary(row.getBookId(), row.getTitle(), row.getIsbn(), row.getPublicationYear(),
+                row.getTotalCopies(), row.getAvailableCopies(), authors.getOrDefault(row.getBookId(), List.of()));
+    }
+
+    private static RuntimeException duplicateBook(DataIntegrityViolationException e) {
+        String message = String.valueOf(e.getMostSpecificCause().getMessage()).toLowerCase(Locale.ROOT);
+        if (message.contains("uk_books_isbn")) {
+            return new DuplicateResourceException("Book with the same isbn already exists.");
+        }
+        if (message.contains("uk_books_title")) {
+            return new DuplicateResourceException("Book with the same title already exists.");
+        }
+        return e;
+    }
 
-        return bookEntities.map(this::mapToBook);
+    // Cached authors embed their books, so a changed book also invalidates its authors' entries.
+    private void evictCached(BookEntity entity) {
+        catalogCaches.evictBook(entity.getBookId(), entity.getTitle(), entity.getIsbn());
+        if (entity.getAuthors() != null) {
+            entity.getAuthors().forEach(author -> catalogCaches.evictAuthor(author.getName()));
+        }
     }
-    private Book mapToBook(BookEntity bookEntity) {
-        return new Book(
+    Book mapToBook(BookEntity bookEntity) {
+        Book book = new Book(
                 bookEntity.getBookId(),
                 bookEntity.getTitle(),
                 bookEntity.getIsbn(),
@@ -146,6 +332,9 @@ public class BookDaoAdapter implements BookDao {
                         .collect(Collectors.toSet())
                         : new HashSet<>()
         );
+        book.setTotalCopies(bookEntity.getTotalCopies());
+        book.setAvailableCopies(bookEntity.getAvailableCopies());
+        return book;
     }
 
 }
@@ -0,0 +1,76 @@
+package app.adapters.out.H2;
+
+import app.adapters.out.search.BookSearchEngine;
+import app.domain.models.Book;
+import app.domain.port.CatalogImportDao;
+import app.infrastructure.config.database.UuidV7;
+import jakarta.transaction.Transactional;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/**
+ * Bulk insert path for catalog imports. Bypasses JPA: per chunk it runs one query each for clashing titles
+ * and clashing ISBNs, inserts the books as a JDBC batch and links their authors through {@link AuthorLinker}.
+ * Ids are bound and read as strings, which both H2 (UUID columns) and MySQL (CHAR(36) columns) convert.
+ */
+@Component
+@Transactional
+public class CatalogImportDaoAdapter implements CatalogImportDao {
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final AuthorLinker authorLinker;
+    private final BookSearchEngine bookSearchEngine;
+
+    public CatalogImportDaoAdapter(NamedParameterJdbcTemplate jdbcTemplate, AuthorLinker authorLinker, BookSearchEngine bookSearchEngine) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.authorLinker = authorLinker;
+        this.bookSearchEngine = bookSearchEngine;
+    }
+
+    @Override
+    public List<Book> addBooks(List<Book> books, Map<String, UUID> knownAuthors) {
+        if (books.isEmpty()) {
+            return List.of();
+        }
+        Set<String> takenTitles = existing("SELECT title FROM books WHERE title IN (:values)", books.stream().map(Book::getTitle).toList());
+        Set<String> takenIsbns = existing("SELECT isbn FROM books WHERE isbn IN (:values)", books.stream().map(Book::getIsbn).toList());
+
+        List<Book> accepted = new ArrayList<>();
+        for (Book book : books) {
+            if (!takenTitles.contains(book.getTitle()) && !takenIsbns.contains(book.getIsbn())) {
+                takenTitles.add(book.getTitle());
+                takenIsbns.add(book.getIsbn());
+                accepted.add(book);
+            }
+        }
+        if (accepted.isEmpty()) {
+            return accepted;
+        }
+
+        List<MapSqlParameterSource> bookRows = new ArrayList<>(accepted.size());
+        for (Book book : accepted) {
+            book.setBookId(UuidV7.next());
+            bookRows.add(new MapSqlParameterSource()
+                    .addValue("id", book.getBookId().toString())
+                    .addValue("title", book.getTitle())
+                    .addValue("isbn", book.getIsbn())
+                    .addValue("year", book.getPublicationYear())
+                    .addValue("available", book.getAvailableCopies() > 0)
+                    .addValue("totalCopies", book.getTotalCopies())
+                    .addValue("availableCopies", book.getAvailableCopies())
+                    .addValue("createdAt", book.getCreatedAt()));
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO books (book_id, title, isbn, publication_year, availability, total_copies, available_copies, created_at, version) " +
+                "VALUES (:id, :title, :isbn, :year, :available, :totalCopies, :availableCopies, :createdAt, 0)", bookRows.toArray(MapSqlParameterSource[]::new));
+        authorLinker.link(accepted, knownAuthors);
+
+        accepted.forEach(bookSearchEngine::index);
+        return accepted;
+    }
+
+    private Set<String> existing(String sql, List<String> values) {
+        return new HashSet<>(jdbcTemplate.queryForList(sql, Map.of("values", values), String.class));
+    }
+}
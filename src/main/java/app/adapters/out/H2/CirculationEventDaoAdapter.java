@@ -0,0 +1,89 @@
+package app.adapters.out.H2;
+
+import app.domain.models.CirculationEvent;
+import app.domain.models.CirculationEventType;
+import app.domain.port.CirculationEventDao;
+import jakarta.transaction.Transactional;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * The circulation_events outbox. Appends join the caller's transaction, so an event is committed
+ * together with the loan change it describes, or not at all. The publisher's position in the log is kept
+ * in circulation_publisher_position.
+ */
+@Component
+@Transactional
+public class CirculationEventDaoAdapter implements CirculationEventDao {
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public CirculationEventDaoAdapter(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void append(Collection<CirculationEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO circulation_events (event_type, transaction_id, book_id, customer_id, event_date, recorded_at) " +
+                        "VALUES (:type, :transactionId, :bookId, :customerId, :date, :recordedAt)",
+                events.stream().map(event -> new MapSqlParameterSource()
+                        .addValue("type", event.getType().name())
+                        .addValue("transactionId", event.getTransactionId().toString())
+                        .addValue("bookId", event.getBookId() != null ? event.getBookId().toString() : null)
+                        .addValue("customerId", event.getCustomerId() != null ? event.getCustomerId().toString() : null)
+                        .addValue("date", event.getDate() != null ? Date.valueOf(event.getDate()) : null)
+                        .addValue("recordedAt", Timestamp.from(event.getRecordedAt())))
+                        .toArray(MapSqlParameterSource[]::new));
+    }
+
+    @Override
+    public List<CirculationEvent> findAfter(long eventId, int limit) {
+        return jdbcTemplate.query("SELECT event_id, event_type, transaction_id, book_id, customer_id, event_date, recorded_at " +
+                        "FROM circulation_events WHERE event_id > :after ORDER BY event_id LIMIT :limit",
+                Map.of("after", eventId, "limit", limit), (row, index) -> mapEvent(row));
+    }
+
+    @Override
+    public long lastEventId() {
+        Long last = jdbcTemplate.queryForObject("SELECT MAX(event_id) FROM circulation_events", Map.of(), Long.class);
+        return last != null ? last : 0;
+    }
+
+    @Override
+    public long lastPublishedId() {
+        return jdbcTemplate.queryForObject("SELECT last_event_id FROM circulation_publisher_position WHERE id = 1", Map.of(), Long.class);
+    }
+
+    @Override
+    public void markPublished(long eventId) {
+        jdbcTemplate.update("UPDATE circulation_publisher_position SET last_event_id = :eventId WHERE id = 1", Map.of("eventId", eventId));
+    }
+
+    private static CirculationEvent mapEvent(ResultSet row) throws SQLException {
+        Date date = row.getDate("event_date");
+        return new CirculationEvent(
+                row.getLong("event_id"),
+                CirculationEventType.valueOf(row.getString("event_type")),
+                uuid(row.getString("transaction_id")),
+                uuid(row.getString("book_id")),
+                uuid(row.getString("customer_id")),
+                date != null ? date.toLocalDate() : null,
+                row.getTimestamp("recorded_at").toInstant());
+    }
+
+    private static UUID uuid(String value) {
+        return value != null ? UUID.fromString(value) : null;
+    }
+}
@@ -1,24 +1,40 @@
 package app.adapters.out.H2;
 
 import app.adapters.out.H2.entity.CustomerEntity;
+import app.adapters.out.H2.projection.CustomerListRow;
 import app.adapters.out.H2.repositories.CustomerRepository;
-import app.domain.models.Transaction;
 import app.domain.port.CustomerDao;
 import app.domain.models.Customer;
+import app.domain.models.CustomerSummary;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.transaction.Transactional;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Component;
 
-import java.util.Optional;
-import java.util.UUID;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 @Component
+@Transactional
 public class CustomerDaoAdapter implements CustomerDao {
+    private static final Pattern UUID_PATTERN = Pattern.compile("[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}");
+
     private final CustomerRepository customerRepository;
+    private final CustomerSearchIndex customerSearchIndex;
 
-    public CustomerDaoAdapter(CustomerRepository customerRepository) {
+    public CustomerDaoAdapter(CustomerRepository customerRepository, CustomerSearchIndex customerSearchIndex) {
         this.customerRepository = customerRepository;
+        this.customerSearchIndex = customerSearchIndex;
     }
 
     @Override
@@ -29,33 +45,91 @@ public class CustomerDaoAdapter implements CustomerDao {
                 .privileges(customer.isPrivileges())
                 .build();
 
-        CustomerEntity savedEntity = customerRepository.save(customerEntity);
+        // Flushed so the search words can reference the new row
+        CustomerEntity savedEntity = customerRepository.saveAndFlush(customerEntity);
 
         customer.setCustomerId(savedEntity.getCustomerId());
-
+        customerSearchIndex.index(savedEntity.getCustomerId(), savedEntity.getName(), savedEntity.getEmail());
     }
     @Override
     public Page<Customer> getPaginatedCustomers(Pageable pageable) {
-        return customerRepository.findAll(pageable).map(customerEntity -> new Customer(
+        return customerRepository.findAll(pageable).map(this::mapToCustomerSummary);
+    }
+    private Customer mapToCustomerSummary(CustomerEntity customerEntity) {
+        return new Customer(
                 customerEntity.getCustomerId(),
                 customerEntity.getName(),
                 customerEntity.getEmail(),
                 customerEntity.isPrivileges()
-        ));
+        );
     }
     @Override
     public Page<Customer> searchCustomer(String query, Pageable pageable) {
-        String lowerQuery = query.toLowerCase();
+        Page<UUID> customerIds = searchCustomerIds(query, pageable);
+        Map<UUID, CustomerEntity> entitiesById = customerIds.isEmpty() ? Map.of()
+                : customerRepository.findAllById(customerIds.getContent()).stream()
+                .collect(Collectors.toMap(CustomerEntity::getCustomerId, Function.identity()));
+        return inIdOrder(customerIds, pageable, entitiesById, this::mapCustomerEntityToCustomer);
+    }
+
+    @Override
+    public Page<CustomerSummary> getCustomerSummaries(Pageable pageable) {
+        return customerRepository.findListRowsBy(pageable).map(this::mapToSummary);
+    }
+    @Override
+    public Slice<CustomerSummary> getCustomerSummarySlice(Pageable pageable) {
+        return customerRepository.findListRowSliceBy(pageable).map(this::mapToSummary);
+    }
+    @Override
+    public Window<CustomerSummary> scrollCustomerSummaries(ScrollPosition position, Sort sort, int limit) {
+        return customerRepository.findListRowsBy(position, sort, Limit.of(limit)).map(this::mapToSummary);
+    }
+    @Override
+    public Page<CustomerSummary> searchCustomerSummaries(String query, Pageable pageable) {
+        Page<UUID> customerIds = searchCustomerIds(query, pageable);
+        Map<UUID, CustomerListRow> rowsById = customerIds.isEmpty() ? Map.of()
+                : customerRepository.findListRowsByCustomerIdIn(customerIds.getContent()).stream()
+                .collect(Collectors.toMap(CustomerListRow::getCustomerId, Function.identity()));
+        return inIdOrder(customerIds, pageable, rowsById, this::mapToSummary);
+    }
 
-        Page<CustomerEntity> customerEntity =
-                customerRepository.searchByQuery(lowerQuery, pageable);
+    /**
+     * A customer or loan id is looked up by primary key and yields at most that customer (or the loan's);
+     * anything else is matched word by word against names and e-mail addresses by {@link CustomerSearchIndex}.
+     */
+    private Page<UUID> searchCustomerIds(String query, Pageable pageable) {
+        String trimmed = query.strip();
+        if (!UUID_PATTERN.matcher(trimmed).matches()) {
+            return customerSearchIndex.search(trimmed, pageable);
+        }
+        UUID id = UUID.fromString(trimmed);
+        Optional<UUID> customerId = customerRepository.existsById(id) ? Optional.of(id)
+                : customerRepository.findCustomerIdByTransactionId(id);
+        List<UUID> content = customerId.filter(found -> pageable.isUnpaged() || pageable.getOffset() == 0)
+                .map(List::of)
+                .orElse(List.of());
+        return new PageImpl<>(content, pageable, customerId.isPresent() ? 1 : 0);
+    }
 
-        return customerEntity.map(this::mapCustomerEntityToCustomer);
+    // Rows deleted between the id query and the row query are left out of the page
+    private static <R, T> Page<T> inIdOrder(Page<UUID> customerIds, Pageable pageable, Map<UUID, R> rowsById, Function<R, T> mapper) {
+        List<T> content = new ArrayList<>(customerIds.getNumberOfElements());
+        for (UUID customerId : customerIds) {
+            R row = rowsById.get(customerId);
+            if (row != null) {
+                content.add(mapper.apply(row));
+            }
+        }
+        return new PageImpl<>(content, pageable, customerIds.getTotalElements());
+    }
+    private CustomerSummary mapToSummary(CustomerListRow row) {
+        return new CustomerSummary(row.getCustomerId(), row.getName(), row.getEmail(), row.isPrivileges(),
+                row.getActiveLoans(), row.getTotalLoans(), row.getOverdueLoans());
     }
 
     @Override
     public Optional<Customer> getCustomer(UUID id) {
-        return customerRepository.findById(id)
+        return customerRepository.findCustomerByCustomerId(id)
                 .map(this::mapCustomerEntityToCustomer);
     }
     @Override
@@ -63,28 +137,17 @@ public class CustomerDaoAdapter implements CustomerDao {
         return customerRepository.findByName(name)
                 .map(this::mapCustomerEntityToCustomer);
     }
-    private Customer mapCustomerEntityToCustomer(CustomerEntity customerEntity) {
+    // The loan counters stand in for the borrowing history, which is paged through TransactionDao instead.
+    Customer mapCustomerEntityToCustomer(CustomerEntity customerEntity) {
         Customer customer = new Customer(
                 customerEntity.getCustomerId(),
                 customerEntity.getName(),
                 customerEntity.getEmail(),
                 customerEntity.isPrivileges()
         );
-
-        customerEntity.getTransactions().forEach(transactionEntity -> {
-            Transaction transaction = new Transaction(
-                    transactionEntity.getTransactionId(),
-                    transactionEntity.getBorrowDate(),
-                    transactionEntity.getReturnDate(),
-                    transactionEntity.getDueDate()
-            );
-
-            transaction.setCustomerId(customerEntity.getCustomerId());
-            transaction.setBookId(transactionEntity.getBook() != null ? transactionEntity.getBook().getBookId() : null);
-
-            customer.getTransactions().add(transaction);
-        });
-
+        customer.setActiveLoans(customerEntity.getActiveLoans());
+        customer.setTotalLoans(customerEntity.getTotalLoans());
+        customer.setOverdueLoans(customerEntity.getOverdueLoans());
         return customer;
     }
 
@@ -98,19 +161,45 @@ public class CustomerDaoAdapter implements CustomerDao {
                     throw new EntityNotFoundException("Customer with ID " + customer.getCustomerId() + " not found");
                 });
     }
+    // One UPDATE per batch; customers that already have the requested privileges are not counted
+    @Override
+    public int updatePrivileges(Collection<UUID> customerIds, boolean privileges) {
+        if (customerIds.isEmpty()) {
+            return 0;
+        }
+        return customerRepository.updatePrivileges(customerIds, privileges);
+    }
     @Override
     public void updateCustomer(Customer customer) {
         customerRepository.findById(customer.getCustomerId())
                 .ifPresentOrElse(customerEntity -> {
+                    boolean renamed = !Objects.equals(customerEntity.getName(), customer.getName())
+                            || !Objects.equals(customerEntity.getEmail(), customer.getEmail());
                     customerEntity.setName(customer.getName());
                     customerEntity.setEmail(customer.getEmail());
                     customerEntity.setPrivileges(customer.isPrivileges());
                     customerRepository.save(customerEntity);
+                    if (renamed) {
+                        customerSearchIndex.index(customerEntity.getCustomerId(), customer.getName(), customer.getEmail());
+                    }
                 }, () -> {
                     throw new EntityNotFoundException("Customer with ID " + customer.getCustomerId() + " not found");
                 });
     }
 
+    @Override
+    public boolean addLoans(UUID customerId, int loans, int maxActiveLoans) {
+        return customerRepository.addLoans(customerId, loans, maxActiveLoans) == 1;
+    }
+    @Override
+    public void closeLoans(UUID customerId, int loans, LocalDate today) {
+        customerRepository.closeLoans(customerId, loans, today);
+    }
+    @Override
+    public int recountOverdueLoans(LocalDate today) {
+        return customerRepository.recountOverdueLoans(today);
+    }
+
     @Override
     public void deleteCustomer(UUID id) {
         if (customerRepository.existsById(id)) {
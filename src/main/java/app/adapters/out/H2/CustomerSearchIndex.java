@@ -0,0 +1,174 @@
+package app.adapters.out.H2;
+
+import jakarta.transaction.Transactional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/**
+ * Word index over customer names and e-mail addresses, kept in {@code customer_search_tokens}.
+ * Both are split into lower-case words ("Mary-Jane Doe", "mj.doe@example.com" become mary, jane, doe, mj, example, com).
+ * A search finds the customers that have, for every word of the query, a word starting with it; each query word is
+ * a range seek on the (token, customer_id) primary key, so only matching index entries are read.
+ * Customers written through {@link CustomerDaoAdapter} are indexed in the same transaction; customers inserted
+ * behind its back (imports, generated datasets) are picked up by {@link #backfill()} at startup.
+ */
+@Component
+@Transactional
+public class CustomerSearchIndex {
+    private static final Logger log = LoggerFactory.getLogger(CustomerSearchIndex.class);
+    static final int MAX_TOKEN_LENGTH = 64;
+    private static final int BACKFILL_CHUNK = 1_000;
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+            "customerId", "c.customer_id",
+            "name", "c.name",
+            "email", "c.email",
+            "privileges", "c.privileges",
+            "activeLoans", "c.active_loans",
+            "totalLoans", "c.total_loans",
+            "overdueLoans", "c.overdue_loans");
+    private static final String INSERT = "INSERT INTO customer_search_tokens (token, customer_id) VALUES (:token, :customerId)";
+    private static final String UNINDEXED = "SELECT c.customer_id, c.name, c.email FROM customers c " +
+            "WHERE NOT EXISTS (SELECT 1 FROM customer_search_tokens t WHERE t.customer_id = c.customer_id)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public CustomerSearchIndex(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Replaces the customer's words; the customer row must already be written.
+     */
+    public void index(UUID customerId, String name, String email) {
+        jdbcTemplate.update("DELETE FROM customer_search_tokens WHERE customer_id = :customerId",
+                Map.of("customerId", customerId.toString()));
+        insert(Map.of(customerId, tokenize(name, email)));
+    }
+
+    /**
+     * Ids of the matching customers in the pageable's order (properties of {@code CustomerEntity}), then by id.
+     * The count query only runs when the page is full or not the first one.
+     */
+    public Page<UUID> search(String query, Pageable pageable) {
+        List<String> words = tokenize(query);
+        if (words.isEmpty()) {
+            return Page.empty(pageable);
+        }
+
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        StringBuilder where = new StringBuilder();
+        for (int i = 0; i < words.size(); i++) {
+            String word = words.get(i);
+            where.append(i == 0 ? " WHERE " : " AND ")
+                    .append("c.customer_id IN (SELECT t.customer_id FROM customer_search_tokens t ")
+                    .append("WHERE t.token >= :from").append(i).append(" AND t.token < :to").append(i).append(')');
+            params.addValue("from" + i, word).addValue("to" + i, upperBound(word));
+        }
+
+        String select = "SELECT c.customer_id FROM customers c" + where + orderBy(pageable.getSort());
+        if (pageable.isPaged()) {
+            select += " LIMIT :limit OFFSET :offset";
+            params.addValue("limit", pageable.getPageSize()).addValue("offset", pageable.getOffset());
+        }
+        List<UUID> ids = jdbcTemplate.query(select, params, (row, index) -> UUID.fromString(row.getString(1)));
+        return PageableExecutionUtils.getPage(ids, pageable,
+                () -> jdbcTemplate.queryForObject("SELECT COUNT(*) FROM customers c" + where, params, Long.class));
+    }
+
+    /**
+     * Indexes the customers that have no words yet, in chunks of {@value #BACKFILL_CHUNK}, each committed on its own.
+     * After the first run only customers without a name or e-mail address are read again.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
+    public void backfill() {
+        String after = null;
+        int indexed = 0;
+        while (true) {
+            MapSqlParameterSource params = new MapSqlParameterSource("limit", BACKFILL_CHUNK);
+            String select = UNINDEXED;
+            if (after != null) {
+                select += " AND c.customer_id > :after";
+                params.addValue("after", after);
+            }
+            LinkedHashMap<UUID, List<String>> chunk = new LinkedHashMap<>();
+            jdbcTemplate.query(select + " ORDER BY c.customer_id LIMIT :limit", params, row -> {
+                chunk.put(UUID.fromString(row.getString("customer_id")), tokenize(row.getString("name"), row.getString("email")));
+            });
+            if (chunk.isEmpty()) {
+                break;
+            }
+            insert(chunk);
+            indexed += chunk.size();
+            after = chunk.sequencedKeySet().getLast().toString();
+            if (chunk.size() < BACKFILL_CHUNK) {
+                break;
+            }
+        }
+        if (indexed > 0) {
+            log.info("Customer search index: indexed {} customers", indexed);
+        }
+    }
+
+    /**
+     * Lower-case words of the texts, each cut to {@value #MAX_TOKEN_LENGTH} characters, without repeats.
+     */
+    static List<String> tokenize(String... texts) {
+        Set<String> words = new LinkedHashSet<>();
+        for (String text : texts) {
+            if (text == null || text.isBlank()) {
+                continue;
+            }
+            for (String word : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+                if (!word.isEmpty()) {
+                    words.add(word.length() > MAX_TOKEN_LENGTH ? word.substring(0, MAX_TOKEN_LENGTH) : word);
+                }
+            }
+        }
+        return List.copyOf(words);
+    }
+
+    private void insert(Map<UUID, List<String>> tokensByCustomer) {
+        List<MapSqlParameterSource> rows = new ArrayList<>();
+        tokensByCustomer.forEach((customerId, tokens) -> tokens.forEach(token -> rows.add(new MapSqlParameterSource()
+                .addValue("token", token)
+                .addValue("customerId", customerId.toString()))));
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT, rows.toArray(MapSqlParameterSource[]::new));
+        }
+    }
+
+    // Words starting with the prefix sort at or after it and before the prefix with its last character incremented.
+    private static String upperBound(String prefix) {
+        char last = prefix.charAt(prefix.length() - 1);
+        return prefix.substring(0, prefix.length() - 1) + (char) (last + 1);
+    }
+
+    private static String orderBy(Sort sort) {
+        StringJoiner orderBy = new StringJoiner(", ", " ORDER BY ", "");
+        boolean byId = false;
+        for (Sort.Order order : sort) {
+            String column = SORT_COLUMNS.get(order.getProperty());
+            if (column == null) {
+                throw new IllegalArgumentException("Customers cannot be sorted by " + order.getProperty());
+            }
+            orderBy.add(column + (order.isDescending() ? " DESC" : ""));
+            byId |= order.getProperty().equals("customerId");
+        }
+        if (!byId) {
+            orderBy.add("c.customer_id");
+        }
+        return orderBy.toString();
+    }
+}
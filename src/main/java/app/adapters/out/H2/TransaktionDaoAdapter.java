@@ -3,36 +3,59 @@ package app.adapters.out.H2;
 import app.adapters.out.H2.entity.BookEntity;
 import app.adapters.out.H2.entity.CustomerEntity;
 import app.adapters.out.H2.entity.TransactionEntity;
+import app.adapters.out.H2.projection.OverdueLoanRow;
 import app.adapters.out.H2.repositories.BookRepository;
 import app.adapters.out.H2.repositories.CustomerRepository;
 import app.adapters.out.H2.repositories.TransactionRepository;
 import app.domain.models.Author;
+import app.domain.models.CirculationEvent;
+import app.domain.models.CirculationEventType;
+import app.domain.models.OverdueLoan;
+import app.domain.port.CirculationEventDao;
 import app.domain.port.TransactionDao;
+import app.infrastructure.config.cache.CatalogCaches;
 import app.domain.models.Book;
 import app.domain.models.Customer;
 import app.domain.models.Transaction;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.transaction.Transactional;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Component;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Component
+@Transactional
 public class TransaktionDaoAdapter implements TransactionDao {
 
     private final TransactionRepository transactionRepository;
     private final BookRepository bookRepository;
     private final CustomerRepository customerRepository;
+    // Borrows and returns are appended to the outbox in the same transaction as the loan change.
+    private final CirculationEventDao circulationEvents;
+    private final CatalogCaches catalogCaches;
 
-    public TransaktionDaoAdapter(TransactionRepository transactionRepository, BookRepository bookRepository, CustomerRepository customerRepository) {
+    public TransaktionDaoAdapter(TransactionRepository transactionRepository, BookRepository bookRepository, CustomerRepository customerRepository,
+                                 CirculationEventDao circulationEvents, CatalogCaches catalogCaches) {
         this.transactionRepository = transactionRepository;
         this.bookRepository = bookRepository;
         this.customerRepository = customerRepository;
+        this.circulationEvents = circulationEvents;
+        this.catalogCaches = catalogCaches;
     }
 
     @Override
@@ -41,7 +64,6 @@ public class TransaktionDaoAdapter implements TransactionDao {
         transactionEntity.setBorrowDate(transaction.getBorrowDate());
         transactionEntity.setReturnDate(transaction.getReturnDate());
         transactionEntity.setDueDate(transaction.getDueDate());
-        transactionEntity.setTransactionId(transaction.getTransactionId()); // Retain the UUID from Transaction
 
         Optional<CustomerEntity> customerEntity = customerRepository.findById(transaction.getCustomer().getCustomerId());
         Optional<BookEntity> bookEntity = bookRepository.findById(transaction.getBook().getBookId());
@@ -60,7 +82,7 @@ public class TransaktionDaoAdapter implements TransactionDao {
         TransactionEntity savedEntity = transactionRepository.save(transactionEntity);
 
         transaction.setTransactionId(savedEntity.getTransactionId());
-
+        circulationEvents.append(List.of(new CirculationEvent(CirculationEventType.BORROWED, transaction, transaction.getBorrowDate())));
     }
 
     @Override
@@ -74,24 +96,152 @@ public class TransaktionDaoAdapter implements TransactionDao {
     @Override
     public Page<Transaction> viewBorrowingHistory(UUID customerID, Pageable pageable) {
         return transactionRepository.findByCustomerCustomerId(customerID, pageable)
-                .map(this::mapToDomain);
+                .map(this::mapToHistoryEntry);
+    }
+
+    @Override
+    public Slice<Transaction> getBorrowingHistorySlice(UUID customerId, Pageable pageable) {
+        return transactionRepository.findSliceByCustomerCustomerId(customerId, pageable)
+                .map(this::mapToHistoryEntry);
+    }
+
+    @Override
+    public Window<Transaction> scrollBorrowingHistory(UUID customerId, ScrollPosition position, Sort sort, int limit) {
+        return transactionRepository.findByCustomerCustomerId(customerId, position, sort, Limit.of(limit))
+                .map(this::mapToHistoryEntry);
     }
 
     @Override
     public Optional<Transaction> findTransactionById(UUID transactionId) {
-        return transactionRepository.findById(transactionId)
+        return transactionRepository.findTransactionByTransactionId(transactionId)
                 .map(this::mapToDomain);
     }
     @Override
     public void updateTransaction(Transaction transaction) {
         TransactionEntity entity = transactionRepository.findById(transaction.getTransactionId())
                 .orElseThrow(() -> new EntityNotFoundException("Transaction not found"));
+        boolean returned = entity.getReturnDate() == null && transaction.getReturnDate() != null;
         entity.setReturnDate(transaction.getReturnDate());
         entity.setDueDate(transaction.getDueDate());
         transactionRepository.save(entity);
+        catalogCaches.evictTransaction(entity.getTransactionId());
+        if (returned) {
+            circulationEvents.append(List.of(new CirculationEvent(CirculationEventType.RETURNED, transaction, transaction.getReturnDate())));
+        }
+    }
+
+    // Customer and book are attached as references, so the whole cart is written as batched inserts without lookups.
+    @Override
+    public void addTransactions(List<Transaction> transactions) {
+        List<TransactionEntity> entities = transactions.stream()
+                .map(transaction -> {
+                    TransactionEntity entity = new TransactionEntity();
+                    entity.setBorrowDate(transaction.getBorrowDate());
+                    entity.setDueDate(transaction.getDueDate());
+                    entity.setReturnDate(transaction.getReturnDate());
+                    entity.setCustomer(customerRepository.getReferenceById(transaction.getCustomer().getCustomerId()));
+                    entity.setBook(bookRepository.getReferenceById(transaction.getBook().getBookId()));
+                    return entity;
+                })
+                .toList();
+        List<TransactionEntity> saved = transactionRepository.saveAll(entities);
+        for (int i = 0; i < transactions.size(); i++) {
+            transactions.get(i).setTransactionId(saved.get(i).getTransactionId());
+        }
+        circulationEvents.append(transactions.stream()
+                .map(transaction -> new CirculationEvent(CirculationEventType.BORROWED, transaction, transaction.getBorrowDate()))
+                .toList());
+    }
+
+    @Override
+    public List<Transaction> findOpenTransactionsForUpdate(Collection<UUID> bookIds) {
+        return transactionRepository.findOpenByBookIdsForUpdate(bookIds).stream()
+                .map(this::mapToDomain)
+                .toList();
+    }
+
+    @Override
+    public void closeTransactions(Collection<Transaction> transactions, LocalDate returnDate) {
+        if (!transactions.isEmpty()) {
+            transactionRepository.closeAll(transactions.stream().map(Transaction::getTransactionId).toList(), returnDate);
+            transactions.forEach(transaction -> {
+                transaction.setReturnDate(returnDate);
+                catalogCaches.evictTransaction(transaction.getTransactionId());
+            });
+            circulationEvents.append(transactions.stream()
+                    .map(transaction -> new CirculationEvent(CirculationEventType.RETURNED, transaction, returnDate))
+                    .toList());
+        }
+    }
+
+    @Override
+    public Optional<Transaction> closeOpenLoan(UUID bookId, LocalDate returnDate) {
+        return closeOldest(() -> transactionRepository.findFirstByBookBookIdAndReturnDateIsNullOrderByBorrowDateAsc(bookId), returnDate);
+    }
+
+    @Override
+    public Optional<Transaction> closeOpenLoan(UUID bookId, UUID customerId, LocalDate returnDate) {
+        return closeOldest(() -> transactionRepository
+                .findFirstByBookBookIdAndCustomerCustomerIdAndReturnDateIsNullOrderByBorrowDateAsc(bookId, customerId), returnDate);
+    }
+
+    // One locking lookup of the oldest open loan and one update. The row lock makes a concurrent return of the same
+    // loan wait and then read past it, so the update always closes the loan that was read.
+    private Optional<Transaction> closeOldest(Supplier<Optional<TransactionEntity>> oldestOpen, LocalDate returnDate) {
+        return oldestOpen.get().map(open -> {
+            transactionRepository.closeAll(List.of(open.getTransactionId()), returnDate);
+            Transaction transaction = mapToHistoryEntry(open);
+            transaction.setReturnDate(returnDate);
+            catalogCaches.evictTransaction(transaction.getTransactionId());
+            circulationEvents.append(List.of(new CirculationEvent(CirculationEventType.RETURNED, transaction, returnDate)));
+            return transaction;
+        });
+    }
+
+    @Override
+    public boolean hasLoans(UUID bookId) {
+        return transactionRepository.existsByBookBookId(bookId);
+    }
+
+    @Override
+    public List<OverdueLoan> findOverdueLoans(LocalDate today, OverdueLoan after, int limit) {
+        List<OverdueLoanRow> rows = after == null
+                ? transactionRepository.findOverdueRows(today, Limit.of(limit))
+                : transactionRepository.findOverdueRowsAfter(today, after.getDueDate(), after.getTransactionId(), Limit.of(limit));
+        return rows.stream()
+                .map(row -> new OverdueLoan(row.getTransactionId(), row.getCustomerId(), row.getBookId(), row.getDueDate()))
+                .toList();
     }
 
-    private Transaction mapToDomain(TransactionEntity entity) {
+    Transaction mapToDomain(TransactionEntity entity) {
+        return mapToDomain(entity, entity.getBook().getAuthors() != null
+                ? entity.getBook().getAuthors().stream()
+                .map(authorEntity -> new Author(
+                        authorEntity.getAuthorId(),
+                        authorEntity.getName(),
+                        authorEntity.getBio()
+                ))
+                .collect(Collectors.toSet())
+                : new HashSet<>());
+    }
+
+    // Borrowing history only shows the book itself, so the author collection is never initialized.
+    private Transaction mapToHistoryEntry(TransactionEntity entity) {
+        return mapToDomain(entity, new HashSet<>());
+    }
+
+    private Transaction mapToDomain(TransactionEntity entity, Set<Author> authors) {
+        Book book = new Book(
+                entity.getBook().getBookId(),
+                entity.getBook().getTitle(),
+                entity.getBook().getIsbn(),
+                entity.getBook().getPublicationYear(),
+                entity.getBook().isAvailability(),
+                entity.getBook().getCreated_at(),
+                authors
+        );
+        book.setTotalCopies(entity.getBook().getTotalCopies());
+        book.setAvailableCopies(entity.getBook().getAvailableCopies());
         return new Transaction(
                 entity.getTransactionId(),
                 entity.getBorrowDate(),
@@ -103,23 +253,7 @@ public class TransaktionDaoAdapter implements TransactionDao {
                         entity.getCustomer().getEmail(),
                         entity.getCustomer().isPrivileges()
                 ),
-                new Book(
-                        entity.getBook().getBookId(),
-                        entity.getBook().getTitle(),
-                        entity.getBook().getIsbn(),
-                        entity.getBook().getPublicationYear(),
-                        entity.getBook().isAvailability(),
-                        entity.getBook().getCreated_at(),
-                        entity.getBook().getAuthors() != null
-                                ? entity.getBook().getAuthors().stream()
-                                .map(authorEntity -> new Author(
-                                        authorEntity.getAuthorId(),
-                                        authorEntity.getName(),
-                                        authorEntity.getBio()
-                                ))
-                                .collect(Collectors.toSet())
-                                : new HashSet<>()
-                )
+                book
         );
     }
 }
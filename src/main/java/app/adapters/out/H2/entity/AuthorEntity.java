@@ -1,5 +1,7 @@
 package app.adapters.out.H2.entity;
 
+import app.infrastructure.config.cache.CatalogCacheEvictionListener;
+import app.infrastructure.config.database.TimeOrderedUuid;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -16,9 +18,11 @@ import java.util.UUID;
 @Getter
 @Setter
 @Table(name = "authors")
+@EntityListeners(CatalogCacheEvictionListener.class)
+@NamedEntityGraph(name = "Author.books", attributeNodes = @NamedAttributeNode("books"))
 public class AuthorEntity {
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @TimeOrderedUuid
     private UUID authorId;
 
     @Column(nullable = false, unique = true)
@@ -27,7 +31,7 @@ public class AuthorEntity {
     @Column(length = 500)
     private String bio;
 
-    @ManyToMany(fetch = FetchType.EAGER, cascade = CascadeType.ALL)
+    @ManyToMany(fetch = FetchType.LAZY, cascade = CascadeType.ALL)
     @JoinTable(
             name = "author_books", // Specify the join table name
             joinColumns = @JoinColumn(name = "author_id"), // Foreign key to authors
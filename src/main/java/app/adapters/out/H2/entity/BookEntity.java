@@ -1,5 +1,7 @@
 package app.adapters.out.H2.entity;
 
+import app.infrastructure.config.cache.CatalogCacheEvictionListener;
+import app.infrastructure.config.database.TimeOrderedUuid;
 import jakarta.persistence.*;
 import jakarta.persistence.Id;
 import lombok.*;
@@ -16,9 +18,11 @@ import java.util.UUID;
 @Getter
 @Setter
 @Table(name = "books")
+@EntityListeners(CatalogCacheEvictionListener.class)
+@NamedEntityGraph(name = "Book.authors", attributeNodes = @NamedAttributeNode("authors"))
 public class BookEntity {
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @TimeOrderedUuid
     @Column(name = "book_id", updatable = false, nullable = false, unique = true)
     private UUID bookId;
 
@@ -31,20 +35,44 @@ public class BookEntity {
     @Column(name = "publication_year", nullable = false)
     private int publicationYear;
 
+    // Kept equal to availableCopies > 0 by every update, so availability filters need no arithmetic.
     @Column(name = "availability", nullable = false)
     private boolean availability;
+
+    @Column(name = "total_copies", nullable = false)
+    private int totalCopies;
+
+    @Column(name = "available_copies", nullable = false)
+    private int availableCopies;
     @Column(name = "created_at", nullable = false)
     private LocalDate created_at;
 
 
-    @ManyToMany(mappedBy = "books", cascade = CascadeType.PERSIST, fetch = FetchType.EAGER)
+    @ManyToMany(mappedBy = "books", cascade = CascadeType.PERSIST, fetch = FetchType.LAZY)
     private Set<AuthorEntity> authors;
 
-    @OneToMany(mappedBy = "book", cascade = CascadeType.REMOVE, orphanRemoval = true, fetch = FetchType.EAGER)
+    @OneToMany(mappedBy = "book", cascade = CascadeType.REMOVE, orphanRemoval = true, fetch = FetchType.LAZY)
     private List<TransactionEntity> transactions = new ArrayList<>();
 
+    @Version
+    @Column(name = "version")
+    private Long version;
+
     public BookEntity() {
 
     }
 
+    public BookEntity(UUID bookId, String title, String isbn, int publicationYear, boolean availability, LocalDate created_at,
+                      Set<AuthorEntity> authors, List<TransactionEntity> transactions, Long version) {
+        this(bookId, title, isbn, publicationYear, availability, 1, availability ? 1 : 0, created_at, authors, transactions, version);
+    }
+
+    // author_books is owned by AuthorEntity, so the join rows have to go before the book row does.
+    @PreRemove
+    private void removeFromAuthors() {
+        if (authors != null) {
+            authors.forEach(author -> author.getBooks().remove(this));
+        }
+    }
+
 }
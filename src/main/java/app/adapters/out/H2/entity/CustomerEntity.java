@@ -1,5 +1,6 @@
 package app.adapters.out.H2.entity;
 
+import app.infrastructure.config.database.TimeOrderedUuid;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -18,16 +19,28 @@ import java.util.UUID;
 @Table(name = "customers")
 public class CustomerEntity {
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @TimeOrderedUuid
     private UUID customerId;
     private String name;
     private String email;
     private boolean privileges;
 
-    @OneToMany(mappedBy = "customer", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.EAGER)
+    // Written only by the conditional loan updates in CustomerRepository, so saving a customer never overwrites them.
+    @Column(name = "active_loans", insertable = false, updatable = false)
+    private int activeLoans;
+    @Column(name = "total_loans", insertable = false, updatable = false)
+    private int totalLoans;
+    @Column(name = "overdue_loans", insertable = false, updatable = false)
+    private int overdueLoans;
+
+    @OneToMany(mappedBy = "customer", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
     private List<TransactionEntity> transactions = new ArrayList<>();
 
     public CustomerEntity() {
 
     }
+
+    public CustomerEntity(UUID customerId, String name, String email, boolean privileges, List<TransactionEntity> transactions) {
+        this(customerId, name, email, privileges, 0, 0, 0, transactions);
+    }
 }
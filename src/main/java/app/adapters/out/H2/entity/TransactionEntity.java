@@ -1,5 +1,6 @@
 package app.adapters.out.H2.entity;
 
+import app.infrastructure.config.database.TimeOrderedUuid;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -15,19 +16,34 @@ import java.util.UUID;
 @Getter
 @Setter
 @Table(name = "transactions")
+@NamedEntityGraph(
+        name = "Transaction.details",
+        attributeNodes = {
+                @NamedAttributeNode("customer"),
+                @NamedAttributeNode(value = "book", subgraph = "book.authors")
+        },
+        subgraphs = @NamedSubgraph(name = "book.authors", attributeNodes = @NamedAttributeNode("authors"))
+)
+@NamedEntityGraph(
+        name = "Transaction.history",
+        attributeNodes = {
+                @NamedAttributeNode("customer"),
+                @NamedAttributeNode("book")
+        }
+)
 public class TransactionEntity {
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @TimeOrderedUuid
     private UUID transactionId;
     private LocalDate borrowDate;
     private LocalDate returnDate;
     private LocalDate dueDate;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "customer_id", nullable = false)
     private CustomerEntity customer;
 
-    @ManyToOne(fetch = FetchType.EAGER, cascade = {CascadeType.MERGE, CascadeType.PERSIST})
+    @ManyToOne(fetch = FetchType.LAZY, cascade = {CascadeType.MERGE, CascadeType.PERSIST})
     private BookEntity book;
 
     public TransactionEntity() {
@@ -1,5 +1,6 @@
 package app.adapters.out.H2.entity;
 
+import app.infrastructure.config.database.TimeOrderedUuid;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
@@ -11,7 +12,7 @@ import java.util.UUID;
 @Setter
 public class UserEntity {
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @TimeOrderedUuid
     @Column(nullable=false, updatable=false)
     private UUID id;
     @Column(nullable=false, unique=true)
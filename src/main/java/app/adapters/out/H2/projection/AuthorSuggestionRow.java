@@ -0,0 +1,6 @@
+package app.adapters.out.H2.projection;
+
+public interface AuthorSuggestionRow {
+    String getName();
+    int getBooks();
+}
@@ -0,0 +1,9 @@
+package app.adapters.out.H2.projection;
+
+import java.util.UUID;
+
+public interface BookAuthorRow {
+    UUID getBookId();
+    UUID getAuthorId();
+    String getName();
+}
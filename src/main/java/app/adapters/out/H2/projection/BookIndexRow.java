@@ -0,0 +1,11 @@
+package app.adapters.out.H2.projection;
+
+import java.util.UUID;
+
+public interface BookIndexRow {
+    UUID getBookId();
+    String getTitle();
+    String getIsbn();
+    int getPublicationYear();
+    String getAuthorName();
+}
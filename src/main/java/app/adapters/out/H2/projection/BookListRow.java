@@ -0,0 +1,12 @@
+package app.adapters.out.H2.projection;
+
+import java.util.UUID;
+
+public interface BookListRow {
+    UUID getBookId();
+    String getTitle();
+    String getIsbn();
+    int getPublicationYear();
+    int getTotalCopies();
+    int getAvailableCopies();
+}
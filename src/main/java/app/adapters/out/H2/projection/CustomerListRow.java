@@ -0,0 +1,13 @@
+package app.adapters.out.H2.projection;
+
+import java.util.UUID;
+
+public interface CustomerListRow {
+    UUID getCustomerId();
+    String getName();
+    String getEmail();
+    boolean isPrivileges();
+    int getActiveLoans();
+    int getTotalLoans();
+    int getOverdueLoans();
+}
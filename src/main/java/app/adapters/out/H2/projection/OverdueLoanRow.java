@@ -0,0 +1,11 @@
+package app.adapters.out.H2.projection;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+public interface OverdueLoanRow {
+    UUID getTransactionId();
+    UUID getCustomerId();
+    UUID getBookId();
+    LocalDate getDueDate();
+}
@@ -1,25 +1,38 @@
 package app.adapters.out.H2.repositories;
 
 import app.adapters.out.H2.entity.AuthorEntity;
+import app.adapters.out.H2.projection.AuthorSuggestionRow;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface AuthorRepository extends JpaRepository<AuthorEntity, UUID> {
+    @EntityGraph("Author.books")
     Optional<AuthorEntity> findByName(String name);
+    @EntityGraph("Author.books")
+    Optional<AuthorEntity> findAuthorByAuthorId(UUID authorId);
 
     @Query(
             value = "SELECT a FROM AuthorEntity a LEFT JOIN FETCH a.books",
             countQuery = "SELECT COUNT(a) FROM AuthorEntity a"
     )
     Page<AuthorEntity> findAllAuthorsWithBooks(Pageable pageable);
+    Window<AuthorEntity> findBy(ScrollPosition position, Sort sort, Limit limit);
+    Slice<AuthorEntity> findSliceBy(Pageable pageable);
 
     @Query("SELECT a FROM AuthorEntity a LEFT JOIN a.books b " +
             "WHERE LOWER(a.name) LIKE LOWER(CONCAT('%', :query, '%')) " +
@@ -28,4 +41,8 @@ public interface AuthorRepository extends JpaRepository<AuthorEntity, UUID> {
             "OR LOWER(b.isbn) LIKE LOWER(CONCAT('%', :query, '%'))")
     Page<AuthorEntity> searchAuthorsByQuery(@Param("query") String query, Pageable pageable);
 
+    @Query("SELECT a.name AS name, SIZE(a.books) AS books FROM AuthorEntity a " +
+            "WHERE LOWER(a.name) LIKE CONCAT(LOWER(:prefix), '%') ORDER BY SIZE(a.books) DESC, a.name")
+    List<AuthorSuggestionRow> findSuggestionRowsByNamePrefix(@Param("prefix") String prefix, Limit limit);
+
 }
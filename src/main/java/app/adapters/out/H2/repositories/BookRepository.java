@@ -1,28 +1,47 @@
 package app.adapters.out.H2.repositories;
 
 import app.adapters.out.H2.entity.BookEntity;
+import app.adapters.out.H2.projection.BookAuthorRow;
+import app.adapters.out.H2.projection.BookIndexRow;
+import app.adapters.out.H2.projection.BookListRow;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.EntityGraph;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface BookRepository extends JpaRepository<BookEntity, UUID> {
     @Query("SELECT b FROM BookEntity b LEFT JOIN FETCH b.authors WHERE b.title = :title")
     Optional<BookEntity> findBookByTitle(@Param("title") String title);
 
+    @EntityGraph("Book.authors")
     @Query("SELECT b FROM BookEntity b JOIN b.authors a WHERE a.name = :author AND b.availability = :isAvailable")
     List<BookEntity> findBooksByAuthor(@Param("author") String author, @Param("isAvailable") boolean isAvailable);
 
+    @EntityGraph("Book.authors")
     @Query("SELECT b FROM BookEntity b WHERE b.isbn = :isbn")
     Optional<BookEntity> findBooksByIsbn(@Param("isbn") String isbn);
+    @EntityGraph("Book.authors")
     Optional<BookEntity> findBookByBookId(@Param("id") UUID id);
+    @EntityGraph("Book.authors")
+    List<BookEntity> findAllById(Iterable<UUID> ids);
 
     @Query("SELECT b FROM BookEntity b LEFT JOIN b.authors a " +
             "WHERE LOWER(b.title) LIKE LOWER(CONCAT('%', :query, '%')) " +
@@ -30,4 +49,60 @@ public interface BookRepository extends JpaRepository<BookEntity, UUID> {
             "OR CAST(b.publicationYear AS string) LIKE CONCAT('%', :query, '%') " +
             "OR LOWER(a.name) LIKE LOWER(CONCAT('%', :query, '%'))")
     Page<BookEntity> findBooksByQuery(@Param("query") String query, Pageable pageable);
+
+    // List views select only the displayed columns; the authors of a page are read with one findAuthorRows query.
+    // Keyset pages seek past the last row's (sort field, id) instead of skipping an OFFSET, and run no COUNT
+    Page<BookListRow> findListRowsBy(Pageable pageable);
+    Slice<BookListRow> findListRowSliceBy(Pageable pageable);
+    Window<BookListRow> findListRowsBy(ScrollPosition position, Sort sort, Limit limit);
+    List<BookListRow> findListRowsByBookIdIn(Collection<UUID> ids);
+    List<BookListRow> findListRowsByTitleStartingWithIgnoreCaseOrderByTitle(String prefix, Limit limit);
+    List<BookListRow> findListRowsByIsbnStartingWithOrderByIsbn(String prefix, Limit limit);
+
+    @Query("SELECT b.bookId AS bookId, a.authorId AS authorId, a.name AS name FROM BookEntity b JOIN b.authors a WHERE b.bookId IN :ids")
+    List<BookAuthorRow> findAuthorRows(@Param("ids") Collection<UUID> ids);
+
+    @Query("SELECT b.bookId AS bookId, b.title AS title, b.isbn AS isbn, b.publicationYear AS publicationYear, a.name AS authorName " +
+            "FROM BookEntity b LEFT JOIN b.authors a ORDER BY b.bookId")
+    Stream<BookIndexRow> streamBookIndexRows();
+
+    // Copies are only ever counted by these conditional updates, so of two callers racing for the last copy exactly one sees 1.
+    // availability is assigned before the counter it is derived from, which keeps the result the same on databases
+    // that evaluate SET items left to right (MySQL) and on those that use the old row (H2, standard SQL).
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE BookEntity b SET b.availability = CASE WHEN b.availableCopies > 1 THEN true ELSE false END, " +
+            "b.availableCopies = b.availableCopies - 1, b.version = COALESCE(b.version, 0) + 1 " +
+            "WHERE b.bookId = :id AND b.availableCopies > 0")
+    int markAsBorrowed(@Param("id") UUID id);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE BookEntity b SET b.availability = true, " +
+            "b.availableCopies = b.availableCopies + 1, b.version = COALESCE(b.version, 0) + 1 " +
+            "WHERE b.bookId = :id AND b.availableCopies < b.totalCopies")
+    int markAsReturned(@Param("id") UUID id);
+
+    // Copies on loan (total - available) stay on loan, so the new total cannot be lower than their number.
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE BookEntity b SET b.availability = CASE WHEN b.availableCopies + :total - b.totalCopies > 0 THEN true ELSE false END, " +
+            "b.availableCopies = b.availableCopies + :total - b.totalCopies, b.totalCopies = :total, " +
+            "b.version = COALESCE(b.version, 0) + 1 " +
+            "WHERE b.bookId = :id AND b.totalCopies - b.availableCopies <= :total")
+    int updateTotalCopies(@Param("id") UUID id, @Param("total") int total);
+
+    // Rows are locked in key order so two overlapping carts cannot deadlock each other.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM BookEntity b WHERE b.bookId IN :ids ORDER BY b.bookId")
+    List<BookEntity> findAllByIdForUpdate(@Param("ids") Collection<UUID> ids);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE BookEntity b SET b.availability = CASE WHEN b.availableCopies > 1 THEN true ELSE false END, " +
+            "b.availableCopies = b.availableCopies - 1, b.version = COALESCE(b.version, 0) + 1 " +
+            "WHERE b.bookId IN :ids AND b.availableCopies > 0")
+    int markAllAsBorrowed(@Param("ids") Collection<UUID> ids);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE BookEntity b SET b.availability = true, " +
+            "b.availableCopies = b.availableCopies + 1, b.version = COALESCE(b.version, 0) + 1 " +
+            "WHERE b.bookId IN :ids AND b.availableCopies < b.totalCopies")
+    int markAllAsReturned(@Param("ids") Collection<UUID> ids);
 }
@@ -1,23 +1,64 @@
 package app.adapters.out.H2.repositories;
 
 import app.adapters.out.H2.entity.CustomerEntity;
+import app.adapters.out.H2.projection.CustomerListRow;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface CustomerRepository extends JpaRepository<CustomerEntity, UUID> {
     Optional<CustomerEntity> findByName(String name);
-    @Query("SELECT c FROM CustomerEntity c LEFT JOIN c.transactions t " +
-            "WHERE LOWER(c.name) LIKE LOWER(CONCAT('%', :query, '%')) " +
-            "OR LOWER(c.email) LIKE LOWER(CONCAT('%', :query, '%')) " +
-            "OR CAST(c.customerId AS string) LIKE CONCAT('%', :query, '%') " +
-            "OR CAST(t.transactionId AS string) LIKE CONCAT('%', :query, '%')")
-    Page<CustomerEntity> searchByQuery(@Param("query") String query, Pageable pageable);
+    Optional<CustomerEntity> findCustomerByCustomerId(UUID customerId);
+    // Customer of a loan id typed into the search box; a primary-key read of the transaction
+    @Query("SELECT t.customer.customerId FROM TransactionEntity t WHERE t.transactionId = :transactionId")
+    Optional<UUID> findCustomerIdByTransactionId(@Param("transactionId") UUID transactionId);
+
+    // List views select only the displayed columns, never the borrowing history
+    Page<CustomerListRow> findListRowsBy(Pageable pageable);
+    Slice<CustomerListRow> findListRowSliceBy(Pageable pageable);
+    Window<CustomerListRow> findListRowsBy(ScrollPosition position, Sort sort, Limit limit);
+    List<CustomerListRow> findListRowsByCustomerIdIn(Collection<UUID> ids);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE CustomerEntity c SET c.privileges = :privileges WHERE c.customerId IN :ids AND c.privileges <> :privileges")
+    int updatePrivileges(@Param("ids") Collection<UUID> ids, @Param("privileges") boolean privileges);
+
+    // Matches no row once the new loans would take the customer past the limit, so concurrent borrows cannot overshoot it
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE CustomerEntity c SET c.activeLoans = c.activeLoans + :loans, c.totalLoans = c.totalLoans + :loans " +
+            "WHERE c.customerId = :id AND c.activeLoans + :loans <= :maxActiveLoans")
+    int addLoans(@Param("id") UUID id, @Param("loans") int loans, @Param("maxActiveLoans") int maxActiveLoans);
+
+    // The overdue count is recounted like recountOverdueLoans does, for this customer only, so a loan that went
+    // overdue since the last scan is not subtracted from a count that never included it
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE CustomerEntity c SET " +
+            "c.activeLoans = CASE WHEN c.activeLoans > :loans THEN c.activeLoans - :loans ELSE 0 END, " +
+            "c.overdueLoans = (SELECT COUNT(t) FROM TransactionEntity t " +
+            "WHERE t.customer = c AND t.returnDate IS NULL AND t.dueDate < :today) " +
+            "WHERE c.customerId = :id")
+    int closeLoans(@Param("id") UUID id, @Param("loans") int loans, @Param("today") LocalDate today);
+
+    // Customers without open loans have no overdue ones either, so only rows that can change are rewritten
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE CustomerEntity c SET c.overdueLoans = (SELECT COUNT(t) FROM TransactionEntity t " +
+            "WHERE t.customer = c AND t.returnDate IS NULL AND t.dueDate < :today) " +
+            "WHERE c.activeLoans > 0 OR c.overdueLoans > 0")
+    int recountOverdueLoans(@Param("today") LocalDate today);
 }
@@ -1,16 +1,68 @@
 package app.adapters.out.H2.repositories;
 
 import app.adapters.out.H2.entity.TransactionEntity;
+import app.adapters.out.H2.projection.OverdueLoanRow;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 @Repository
 public interface TransactionRepository extends JpaRepository<TransactionEntity, UUID> {
+    @EntityGraph("Transaction.details")
     List<TransactionEntity> findByBookBookId(UUID bookId);
+    @EntityGraph("Transaction.history")
     Page<TransactionEntity> findByCustomerCustomerId(UUID customerId, Pageable pageable);
+    @EntityGraph("Transaction.history")
+    Window<TransactionEntity> findByCustomerCustomerId(UUID customerId, ScrollPosition position, Sort sort, Limit limit);
+    @EntityGraph("Transaction.history")
+    Slice<TransactionEntity> findSliceByCustomerCustomerId(UUID customerId, Pageable pageable);
+    @EntityGraph("Transaction.details")
+    Optional<TransactionEntity> findTransactionByTransactionId(UUID transactionId);
     long countByCustomer_CustomerId(UUID customerId);
+    boolean existsByBookBookId(UUID bookId);
+
+    // Locking reads: a concurrent return waits here and then sees the loan closed instead of a stale snapshot
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @EntityGraph("Transaction.history")
+    Optional<TransactionEntity> findFirstByBookBookIdAndReturnDateIsNullOrderByBorrowDateAsc(UUID bookId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @EntityGraph("Transaction.history")
+    Optional<TransactionEntity> findFirstByBookBookIdAndCustomerCustomerIdAndReturnDateIsNullOrderByBorrowDateAsc(UUID bookId, UUID customerId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM TransactionEntity t WHERE t.book.bookId IN :bookIds AND t.returnDate IS NULL ORDER BY t.transactionId")
+    List<TransactionEntity> findOpenByBookIdsForUpdate(@Param("bookIds") Collection<UUID> bookIds);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE TransactionEntity t SET t.returnDate = :returnDate WHERE t.transactionId IN :ids AND t.returnDate IS NULL")
+    int closeAll(@Param("ids") Collection<UUID> ids, @Param("returnDate") LocalDate returnDate);
+
+    // Overdue scan pages, keyset on (dueDate, transactionId) along idx_transactions_overdue
+    @Query("SELECT t.transactionId AS transactionId, t.customer.customerId AS customerId, t.book.bookId AS bookId, t.dueDate AS dueDate " +
+            "FROM TransactionEntity t WHERE t.returnDate IS NULL AND t.dueDate < :today ORDER BY t.dueDate, t.transactionId")
+    List<OverdueLoanRow> findOverdueRows(@Param("today") LocalDate today, Limit limit);
+    @Query("SELECT t.transactionId AS transactionId, t.customer.customerId AS customerId, t.book.bookId AS bookId, t.dueDate AS dueDate " +
+            "FROM TransactionEntity t WHERE t.returnDate IS NULL AND t.dueDate < :today " +
+            "AND (t.dueDate > :dueDate OR (t.dueDate = :dueDate AND t.transactionId > :transactionId)) " +
+            "ORDER BY t.dueDate, t.transactionId")
+    List<OverdueLoanRow> findOverdueRowsAfter(@Param("today") LocalDate today, @Param("dueDate") LocalDate dueDate,
+                                              @Param("transactionId") UUID transactionId, Limit limit);
 }
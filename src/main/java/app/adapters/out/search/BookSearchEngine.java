@@ -0,0 +1,23 @@
+package app.adapters.out.search;
+
+import app.domain.models.Book;
+import app.domain.models.BookSuggestion;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+public interface BookSearchEngine {
+    Set<String> SORT_PROPERTIES = Set.of("title", "isbn", "publicationYear");
+
+    void index(Book book);
+    void remove(UUID bookId);
+    /**
+     * Ids of the books matching the query. Results can be sorted by {@link #SORT_PROPERTIES}; any other property
+     * fails with an {@code IllegalArgumentException}, as customer search does.
+     */
+    Page<UUID> search(String query, Pageable pageable);
+    List<BookSuggestion> suggest(String prefix, int limit);
+}
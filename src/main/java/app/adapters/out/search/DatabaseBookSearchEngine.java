@@ -0,0 +1,85 @@
+package app.adapters.out.search;
+
+import app.adapters.out.H2.entity.BookEntity;
+import app.adapters.out.H2.projection.BookListRow;
+import app.adapters.out.H2.repositories.AuthorRepository;
+import app.adapters.out.H2.repositories.BookRepository;
+import app.domain.models.Book;
+import app.domain.models.BookSuggestion;
+import app.domain.models.SuggestionType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Fallback engine that keeps the original LIKE scan over title, ISBN, year and author names.
+ * Suggestions are three prefix LIKE queries. Only the ISBN prefix can use its unique index; titles and author names
+ * are matched case-insensitively on a case-converted column, which no index covers, so those two scan their tables.
+ * Enabled with {@code library.search.engine=database}.
+ */
+@Component
+@ConditionalOnProperty(name = "library.search.engine", havingValue = "database")
+public class DatabaseBookSearchEngine implements BookSearchEngine {
+    private final BookRepository bookRepository;
+    private final AuthorRepository authorRepository;
+    private final int maxSuggestions;
+
+    public DatabaseBookSearchEngine(BookRepository bookRepository, AuthorRepository authorRepository,
+                                    @Value("${library.search.suggestions.max-results:10}") int maxSuggestions) {
+        this.bookRepository = bookRepository;
+        this.authorRepository = authorRepository;
+        this.maxSuggestions = maxSuggestions;
+    }
+
+    @Override
+    public void index(Book book) {
+    }
+
+    @Override
+    public void remove(UUID bookId) {
+    }
+
+    @Override
+    public Page<UUID> search(String query, Pageable pageable) {
+        for (Sort.Order order : pageable.getSort()) {
+            if (!SORT_PROPERTIES.contains(order.getProperty())) {
+                throw new IllegalArgumentException("Books cannot be sorted by " + order.getProperty());
+            }
+        }
+        return bookRepository.findBooksByQuery(query.toLowerCase(), pageable)
+                .map(BookEntity::getBookId);
+    }
+
+    @Override
+    public List<BookSuggestion> suggest(String prefix, int limit) {
+        int max = Math.min(limit, maxSuggestions);
+        if (prefix == null || prefix.isBlank() || max <= 0) {
+            return List.of();
+        }
+        String trimmed = prefix.strip();
+        List<BookSuggestion> suggestions = new ArrayList<>();
+        authorRepository.findSuggestionRowsByNamePrefix(trimmed, Limit.of(max))
+                .forEach(row -> suggestions.add(new BookSuggestion(row.getName(), SuggestionType.AUTHOR, null, row.getBooks())));
+        for (BookListRow row : bookRepository.findListRowsByTitleStartingWithIgnoreCaseOrderByTitle(trimmed, Limit.of(max))) {
+            suggestions.add(new BookSuggestion(row.getTitle(), SuggestionType.TITLE, row.getBookId(), 1));
+        }
+        for (BookListRow row : bookRepository.findListRowsByIsbnStartingWithOrderByIsbn(trimmed, Limit.of(max))) {
+            suggestions.add(new BookSuggestion(row.getIsbn(), SuggestionType.ISBN, row.getBookId(), 1));
+        }
+        return suggestions.stream()
+                .sorted(Comparator.comparingInt(BookSuggestion::getBooks).reversed()
+                        .thenComparing(BookSuggestion::getType)
+                        .thenComparing(BookSuggestion::getText))
+                .limit(max)
+                .toList();
+    }
+}
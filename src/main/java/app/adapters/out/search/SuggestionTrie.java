@@ -0,0 +1,380 @@
+package app.adapters.out.search;
+
+import app.domain.models.BookSuggestion;
+import app.domain.models.SuggestionType;
+
+import java.util.*;
+
+/**
+ * Radix trie from normalized keys to suggestions, answering "best completions of this prefix".
+ * Edges carry whole key fragments, so a key costs about one leaf and at most one branch node.
+ * Every node whose subtree holds more than {@code maxSuggestions} entries keeps its best entries ranked,
+ * so a lookup walks the prefix and copies at most that many entries; smaller subtrees are ranked on the fly.
+ * Ranking is by number of books, then type, then text. Changes re-rank only the nodes on the key's path.
+ * Not thread-safe; {@link InvertedIndexBookSearchEngine} guards it with its index lock.
+ */
+final class SuggestionTrie {
+    private static final Node[] NO_CHILDREN = new Node[0];
+    private static final Entry[] NO_ENTRIES = new Entry[0];
+
+    private final int maxSuggestions;
+    private Node root = new Node("");
+    private boolean bulkLoading;
+
+    SuggestionTrie(int maxSuggestions) {
+        this.maxSuggestions = maxSuggestions;
+    }
+
+    /**
+     * Lower-cases the text and keeps only letters, digits and single spaces, so that "978-0-13" and "9780 13"
+     * as well as "Spider-Man" and "spiderman" meet on the same key.
+     */
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder key = new StringBuilder(text.length());
+        boolean space = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                if (space && !key.isEmpty()) {
+                    key.append(' ');
+                }
+                key.append(Character.toLowerCase(c));
+                space = false;
+            } else if (Character.isWhitespace(c)) {
+                space = true;
+            }
+        }
+        return key.toString();
+    }
+
+    void clear() {
+        root = new Node("");
+    }
+
+    /**
+     * Defers ranking until {@link #endBulkLoad()}, which ranks the whole trie once instead of once per key.
+     */
+    void beginBulkLoad() {
+        bulkLoading = true;
+    }
+
+    void endBulkLoad() {
+        bulkLoading = false;
+        rankAll(root);
+    }
+
+    /**
+     * Adds a suggestion of one book. Author names are shared: adding the same name again counts one more book.
+     */
+    void add(SuggestionType type, String text, UUID bookId) {
+        String key = normalize(text);
+        if (key.isEmpty()) {
+            return;
+        }
+        List<Node> path = new ArrayList<>();
+        Node node = root;
+        int i = 0;
+        while (true) {
+            path.add(node);
+            if (i == key.length()) {
+                break;
+            }
+            int index = childIndex(node, key.charAt(i));
+            if (index < 0) {
+                Node leaf = new Node(key.substring(i));
+                insertChild(node, -index - 1, leaf);
+                node = leaf;
+                path.add(node);
+                break;
+            }
+            Node child = node.children[index];
+            int common = commonPrefix(child.label, key, i);
+            if (common < child.label.length()) {
+                child = split(node, index, common);
+            }
+            node = child;
+            i += common;
+        }
+
+        Entry entry = find(node, type, text, bookId);
+        if (entry != null) {
+            if (type != SuggestionType.AUTHOR) {
+                return;
+            }
+            entry.books++;
+        } else {
+            Entry[] entries = Arrays.copyOf(node.entries, node.entries.length + 1);
+            entries[entries.length - 1] = new Entry(text, type, type == SuggestionType.AUTHOR ? null : bookId);
+            node.entries = entries;
+            path.forEach(onPath -> onPath.size++);
+        }
+        rerank(path);
+    }
+
+    /**
+     * Removes one book's suggestion; an author name disappears once none of its books is left.
+     */
+    void remove(SuggestionType type, String text, UUID bookId) {
+        String key = normalize(text);
+        if (key.isEmpty()) {
+            return;
+        }
+        List<Node> path = new ArrayList<>();
+        Node node = root;
+        int i = 0;
+        path.add(node);
+        while (i < key.length()) {
+            int index = childIndex(node, key.charAt(i));
+            if (index < 0) {
+                return;
+            }
+            Node child = node.children[index];
+            if (!key.startsWith(child.label, i)) {
+                return;
+            }
+            node = child;
+            i += child.label.length();
+            path.add(node);
+        }
+
+        Entry entry = find(node, type, text, bookId);
+        if (entry == null) {
+            return;
+        }
+        if (--entry.books == 0) {
+            Entry[] entries = new Entry[node.entries.length - 1];
+            int j = 0;
+            for (Entry existing : node.entries) {
+                if (existing != entry) {
+                    entries[j++] = existing;
+                }
+            }
+            node.entries = entries.length == 0 ? NO_ENTRIES : entries;
+            path.forEach(onPath -> onPath.size--);
+            prune(path);
+        }
+        rerank(path);
+    }
+
+    /**
+     * Best completions of the prefix, at most {@code min(limit, maxSuggestions)} of them.
+     */
+    List<BookSuggestion> suggest(String prefix, int limit) {
+        String key = normalize(prefix);
+        int max = Math.min(limit, maxSuggestions);
+        if (key.isEmpty() || max <= 0) {
+            return List.of();
+        }
+        Node node = root;
+        int i = 0;
+        while (i < key.length()) {
+            int index = childIndex(node, key.charAt(i));
+            if (index < 0) {
+                return List.of();
+            }
+            Node child = node.children[index];
+            int common = commonPrefix(child.label, key, i);
+            if (i + common < key.length() && common < child.label.length()) {
+                return List.of();
+            }
+            node = child;
+            i += common;
+        }
+
+        Entry[] ranked = node.top != null ? node.top : rank(collect(node, new ArrayList<>()).toArray(NO_ENTRIES));
+        List<BookSuggestion> suggestions = new ArrayList<>(Math.min(max, ranked.length));
+        for (int j = 0; j < ranked.length && j < max; j++) {
+            Entry entry = ranked[j];
+            suggestions.add(new BookSuggestion(entry.text, entry.type, entry.bookId, entry.books));
+        }
+        return suggestions;
+    }
+
+    int size() {
+        return root.size;
+    }
+
+    // Replaces the child at index by a branch node holding the first `length` characters of its label.
+    private Node split(Node parent, int index, int length) {
+        Node child = parent.children[index];
+        Node branch = new Node(child.label.substring(0, length));
+        child.label = child.label.substring(length);
+        branch.children = new Node[]{child};
+        branch.size = child.size;
+        branch.top = child.top;
+        parent.children[index] = branch;
+        return branch;
+    }
+
+    // Drops nodes left without entries or children and merges a branch left with a single child into it.
+    private void prune(List<Node> path) {
+        for (int level = path.size() - 1; level > 0; level--) {
+            Node node = path.get(level);
+            Node parent = path.get(level - 1);
+            if (node.entries.length == 0 && node.children.length == 0) {
+                removeChild(parent, node);
+                path.remove(level);
+            } else if (node.entries.length == 0 && node.children.length == 1) {
+                Node child = node.children[0];
+                child.label = node.label + child.label;
+                parent.children[childIndex(parent, child.label.charAt(0))] = child;
+                path.set(level, child);
+                return;
+            } else {
+                return;
+            }
+        }
+    }
+
+    private void rerank(List<Node> path) {
+        if (bulkLoading) {
+            return;
+        }
+        for (int level = path.size() - 1; level >= 0; level--) {
+            rankNode(path.get(level));
+        }
+    }
+
+    private void rankAll(Node node) {
+        for (Node child : node.children) {
+            rankAll(child);
+        }
+        rankNode(node);
+    }
+
+    // Candidates are the node's own entries and the best entries of each child, which is enough for the subtree's best.
+    private void rankNode(Node node) {
+        if (node.size <= maxSuggestions) {
+            node.top = null;
+            return;
+        }
+        Entry[] best = new Entry[maxSuggestions];
+        int count = offer(best, 0, node.entries);
+        for (Node child : node.children) {
+            count = offer(best, count, child.top != null ? child.top : collect(child, new ArrayList<>()).toArray(NO_ENTRIES));
+        }
+        node.top = best;
+    }
+
+    private Entry[] rank(Entry[] candidates) {
+        Entry[] best = new Entry[Math.min(maxSuggestions, candidates.length)];
+        offer(best, 0, candidates);
+        return best;
+    }
+
+    // Insertion into a bounded, ranked array: a candidate that does not beat the current last one costs one comparison.
+    private static int offer(Entry[] best, int count, Entry[] candidates) {
+        for (Entry candidate : candidates) {
+            if (count == best.length && compare(candidate, best[count - 1]) >= 0) {
+                continue;
+            }
+            int i = count == best.length ? count - 1 : count++;
+            while (i > 0 && compare(candidate, best[i - 1]) < 0) {
+                best[i] = best[i - 1];
+                i--;
+            }
+            best[i] = candidate;
+        }
+        return count;
+    }
+
+    // More books first, then titles before authors before ISBNs, then alphabetically.
+    private static int compare(Entry left, Entry right) {
+        if (left.books != right.books) {
+            return Integer.compare(right.books, left.books);
+        }
+        if (left.type != right.type) {
+            return left.type.compareTo(right.type);
+        }
+        return left.text.compareTo(right.text);
+    }
+
+    private static List<Entry> collect(Node node, List<Entry> into) {
+        into.addAll(Arrays.asList(node.entries));
+        for (Node child : node.children) {
+            collect(child, into);
+        }
+        return into;
+    }
+
+    private static Entry find(Node node, SuggestionType type, String text, UUID bookId) {
+        for (Entry entry : node.entries) {
+            if (entry.type == type && (type == SuggestionType.AUTHOR ? entry.text.equals(text) : entry.bookId.equals(bookId))) {
+                return entry;
+            }
+        }
+        return null;
+    }
+
+    // Children are kept sorted by the first character of their label; returns -(insertion point) - 1 when absent.
+    private static int childIndex(Node node, char first) {
+        int low = 0;
+        int high = node.children.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            char c = node.children[mid].label.charAt(0);
+            if (c < first) {
+                low = mid + 1;
+            } else if (c > first) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+
+    private static void insertChild(Node node, int index, Node child) {
+        Node[] children = new Node[node.children.length + 1];
+        System.arraycopy(node.children, 0, children, 0, index);
+        children[index] = child;
+        System.arraycopy(node.children, index, children, index + 1, node.children.length - index);
+        node.children = children;
+    }
+
+    private static void removeChild(Node node, Node child) {
+        int index = childIndex(node, child.label.charAt(0));
+        Node[] children = new Node[node.children.length - 1];
+        System.arraycopy(node.children, 0, children, 0, index);
+        System.arraycopy(node.children, index + 1, children, index, children.length - index);
+        node.children = children.length == 0 ? NO_CHILDREN : children;
+    }
+
+    private static int commonPrefix(String label, String key, int offset) {
+        int length = Math.min(label.length(), key.length() - offset);
+        int i = 0;
+        while (i < length && label.charAt(i) == key.charAt(offset + i)) {
+            i++;
+        }
+        return i;
+    }
+
+    private static final class Node {
+        private String label;
+        private Node[] children = NO_CHILDREN;
+        private Entry[] entries = NO_ENTRIES;
+        // Best entries of the subtree, kept only while the subtree holds more than maxSuggestions entries
+        private Entry[] top;
+        private int size;
+
+        private Node(String label) {
+            this.label = label;
+        }
+    }
+
+    private static final class Entry {
+        private final String text;
+        private final SuggestionType type;
+        private final UUID bookId;
+        private int books = 1;
+
+        private Entry(String text, SuggestionType type, UUID bookId) {
+            this.text = text;
+            this.type = type;
+            this.bookId = bookId;
+        }
+    }
+}
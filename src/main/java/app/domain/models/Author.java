@@ -3,13 +3,14 @@ package app.domain.models;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.io.Serializable;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.UUID;
 
 @Getter
 @Setter
-public class Author {
+public class Author implements Serializable {
     private UUID authorId;
     private String name;
     private String bio;
@@ -0,0 +1,13 @@
+package app.domain.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.UUID;
+
+@Getter
+@AllArgsConstructor
+public class AuthorSummary {
+    private UUID authorId;
+    private String name;
+}
@@ -0,0 +1,22 @@
+package app.domain.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.UUID;
+
+@Getter
+@AllArgsConstructor
+public class BatchItemResult {
+    private UUID bookId;
+    private BatchItemStatus status;
+    private UUID transactionId;
+
+    public BatchItemResult(UUID bookId, BatchItemStatus status) {
+        this(bookId, status, null);
+    }
+
+    public boolean isSuccessful() {
+        return status == BatchItemStatus.BORROWED || status == BatchItemStatus.RETURNED;
+    }
+}
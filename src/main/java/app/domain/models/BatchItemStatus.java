@@ -0,0 +1,11 @@
+package app.domain.models;
+
+public enum BatchItemStatus {
+    BORROWED,
+    RETURNED,
+    NOT_FOUND,
+    NOT_AVAILABLE,
+    NOT_BORROWED,
+    LOAN_LIMIT_REACHED,
+    DUPLICATE
+}
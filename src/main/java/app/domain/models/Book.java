@@ -4,18 +4,22 @@ import lombok.Getter;
 import lombok.Setter;
 
 import java.time.LocalDate;
+import java.io.Serializable;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.UUID;
 
 @Getter
 @Setter
-public class Book {
+public class Book implements Serializable {
     private UUID bookId;
     private String title;
     private String isbn;
     private int publicationYear;
     private boolean isAvailable;
+    // A book is a title; these count its physical copies and the ones on the shelf.
+    private int totalCopies = 1;
+    private int availableCopies = 1;
     private LocalDate createdAt;
     private Set<Author> authors = new HashSet<>();
 
@@ -29,6 +33,7 @@ public class Book {
         this.isbn = isbn;
         this.publicationYear = publicationYear;
         this.isAvailable = isAvailable;
+        this.availableCopies = isAvailable ? 1 : 0;
         this.createdAt = createdAt;
     }
     public Book(UUID bookId, String title, String isbn, int publicationYear, boolean availability, LocalDate createdAt, Set<Author> authors) {
@@ -37,10 +42,32 @@ public class Book {
         this.isbn = isbn;
         this.publicationYear = publicationYear;
         this.isAvailable = availability;
+        this.availableCopies = availability ? 1 : 0;
         this.createdAt = createdAt;
         this.authors = authors;
     }
 
+    /** @return copies left on the shelf */
+    public int lendCopy() {
+        availableCopies = Math.max(0, availableCopies - 1);
+        return availableCopies;
+    }
+
+    /** @return copies on the shelf after the return */
+    public int returnCopy() {
+        availableCopies = Math.min(totalCopies, availableCopies + 1);
+        return availableCopies;
+    }
+
     public Book() {
     }
+
+    /** @return a book with the same fields and its own author set; the authors themselves are shared */
+    public Book copy() {
+        Book copy = new Book(bookId, title, isbn, publicationYear, isAvailable, createdAt,
+                authors != null ? new HashSet<>(authors) : null);
+        copy.setTotalCopies(totalCopies);
+        copy.setAvailableCopies(availableCopies);
+        return copy;
+    }
 }
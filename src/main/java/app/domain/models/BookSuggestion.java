@@ -0,0 +1,19 @@
+package app.domain.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.UUID;
+
+/**
+ * A completion offered while a search is typed: a title or ISBN of one book, or an author name
+ * together with the number of books it stands for.
+ */
+@Getter
+@AllArgsConstructor
+public class BookSuggestion {
+    private String text;
+    private SuggestionType type;
+    private UUID bookId;
+    private int books;
+}
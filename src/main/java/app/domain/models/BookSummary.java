@@ -0,0 +1,26 @@
+package app.domain.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * A book as shown in lists and search results: its columns and its authors' names, without bios or loans.
+ */
+@Getter
+@AllArgsConstructor
+public class BookSummary {
+    private UUID bookId;
+    private String title;
+    private String isbn;
+    private int publicationYear;
+    private int totalCopies;
+    private int availableCopies;
+    private List<AuthorSummary> authors;
+
+    public boolean isAvailable() {
+        return availableCopies > 0;
+    }
+}
@@ -0,0 +1,28 @@
+package app.domain.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * A borrow or return as recorded in the outbox. {@code date} is the borrow or return date of the loan,
+ * {@code eventId} its position in the log (null until appended).
+ */
+@Getter
+@AllArgsConstructor
+public class CirculationEvent {
+    private Long eventId;
+    private CirculationEventType type;
+    private UUID transactionId;
+    private UUID bookId;
+    private UUID customerId;
+    private LocalDate date;
+    private Instant recordedAt;
+
+    public CirculationEvent(CirculationEventType type, Transaction transaction, LocalDate date) {
+        this(null, type, transaction.getTransactionId(), transaction.getBookId(), transaction.getCustomerId(), date, Instant.now());
+    }
+}
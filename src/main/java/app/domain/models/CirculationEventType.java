@@ -0,0 +1,6 @@
+package app.domain.models;
+
+public enum CirculationEventType {
+    BORROWED,
+    RETURNED
+}
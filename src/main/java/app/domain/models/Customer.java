@@ -3,9 +3,6 @@ package app.domain.models;
 import lombok.Getter;
 import lombok.Setter;
 
-import java.time.LocalDate;
-import java.util.LinkedList;
-import java.util.List;
 import java.util.UUID;
 
 
@@ -16,7 +13,9 @@ public class Customer {
     private String name;
     private String email;
     private boolean privileges;
-    private final List<Transaction> transactions = new LinkedList<>();
+    private int activeLoans;
+    private int totalLoans;
+    private int overdueLoans;
 
     public Customer(UUID customerId, String name, String email, boolean privileges) {
         this.customerId = customerId;
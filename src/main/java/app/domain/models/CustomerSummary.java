@@ -0,0 +1,21 @@
+package app.domain.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.UUID;
+
+/**
+ * A customer as shown in lists and search results, without the borrowing history.
+ */
+@Getter
+@AllArgsConstructor
+public class CustomerSummary {
+    private UUID customerId;
+    private String name;
+    private String email;
+    private boolean privileges;
+    private int activeLoans;
+    private int totalLoans;
+    private int overdueLoans;
+}
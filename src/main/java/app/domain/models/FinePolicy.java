@@ -0,0 +1,37 @@
+package app.domain.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Fines for overdue loans: {@code dailyFine} per day past the due date after {@code graceDays}, capped at
+ * {@code maximumFine}. A loan more than {@code suspendAfterDays} overdue suspends the customer's privileges.
+ */
+@Getter
+@AllArgsConstructor
+public class FinePolicy {
+    private BigDecimal dailyFine;
+    private int graceDays;
+    private BigDecimal maximumFine;
+    private int suspendAfterDays;
+
+    public long daysOverdue(LocalDate dueDate, LocalDate today) {
+        return Math.max(0, ChronoUnit.DAYS.between(dueDate, today));
+    }
+
+    public BigDecimal fineFor(LocalDate dueDate, LocalDate today) {
+        long chargedDays = daysOverdue(dueDate, today) - graceDays;
+        if (chargedDays <= 0) {
+            return BigDecimal.ZERO;
+        }
+        return dailyFine.multiply(BigDecimal.valueOf(chargedDays)).min(maximumFine);
+    }
+
+    public boolean suspends(LocalDate dueDate, LocalDate today) {
+        return daysOverdue(dueDate, today) > suspendAfterDays;
+    }
+}
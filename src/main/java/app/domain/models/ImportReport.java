@@ -0,0 +1,18 @@
+package app.domain.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class ImportReport {
+    private long read;
+    private long imported;
+    private long skipped;
+    private long authors;
+    private long elapsedMillis;
+
+    public long getRowsPerSecond() {
+        return elapsedMillis == 0 ? read : read * 1000 / elapsedMillis;
+    }
+}
@@ -0,0 +1,19 @@
+package app.domain.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * An open loan past its due date, as read by the overdue scan. Scans page by (dueDate, transactionId).
+ */
+@Getter
+@AllArgsConstructor
+public class OverdueLoan {
+    private UUID transactionId;
+    private UUID customerId;
+    private UUID bookId;
+    private LocalDate dueDate;
+}
@@ -0,0 +1,19 @@
+package app.domain.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+
+@Getter
+@AllArgsConstructor
+public class OverdueScanReport {
+    private long overdueLoans;
+    private BigDecimal totalFines;
+    private long customersSuspended;
+    private long elapsedMillis;
+
+    public long getLoansPerSecond() {
+        return elapsedMillis == 0 ? overdueLoans : overdueLoans * 1000 / elapsedMillis;
+    }
+}
@@ -0,0 +1,7 @@
+package app.domain.models;
+
+public enum SuggestionType {
+    TITLE,
+    AUTHOR,
+    ISBN
+}
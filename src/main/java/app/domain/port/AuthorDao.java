@@ -3,16 +3,32 @@ package app.domain.port;
 import app.domain.models.Author;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 
+import java.util.Collection;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
 public interface AuthorDao {
+    /**
+     * Inserts the author and sets its id; a name that is already taken fails with a {@code DuplicateResourceException}.
+     */
     void addAuthor(Author author);
+    /**
+     * Ids of the named authors, inserting the ones that do not exist yet; existing authors are left unchanged.
+     * Names are answered from the author id cache where possible and the rest with a single {@code IN} query.
+     */
+    Map<String, UUID> upsertAuthors(Collection<Author> authors);
     void updateAuthor(UUID authorId, Author author);
     void deleteAuthor(UUID id);
     Optional<Author> searchAuthorByName(String name);
     Optional<Author> searchAuthorByID(UUID id);
     Page<Author> getPaginatedAuthors(Pageable pageable);
+    Slice<Author> getAuthorSlice(Pageable pageable);
+    Window<Author> scrollAuthors(ScrollPosition position, Sort sort, int limit);
     Page<Author> searchAuthors(String query, Pageable pageable);
 }
@@ -1,13 +1,25 @@
 package app.domain.port;
 
 import app.domain.models.Book;
+import app.domain.models.BookSuggestion;
+import app.domain.models.BookSummary;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 public interface BookDao {
+    /**
+     * Inserts the book and links its authors by name, creating the ones that do not exist; sets the new ids.
+     * A title or ISBN that is already taken fails with a {@code DuplicateResourceException}.
+     */
     void addBook(Book book);
     void updateBook(UUID bookID, Book book);
     void deleteBook(UUID bookId);
@@ -17,5 +29,23 @@ public interface BookDao {
     Optional<Book> searchBookById(UUID id);
     Page<Book> searchBooks(String query, Pageable pageable);
     Page<Book> getPaginatedBooks(Pageable pageable);
+    Page<BookSummary> getBookSummaries(Pageable pageable);
+    Slice<BookSummary> getBookSummarySlice(Pageable pageable);
+    Window<BookSummary> scrollBookSummaries(ScrollPosition position, Sort sort, int limit);
+    Page<BookSummary> searchBookSummaries(String query, Pageable pageable);
+    /**
+     * Titles, author names and ISBNs that start with the prefix, best first; served from the search engine.
+     */
+    List<BookSuggestion> suggestBooks(String prefix, int limit);
+    boolean markAsBorrowed(Book book);
+    boolean markAsReturned(Book book);
+    boolean updateTotalCopies(UUID bookId, int totalCopies);
+    List<Book> searchBooksForUpdate(Collection<UUID> bookIds);
+    void markAllAsBorrowed(Collection<Book> books);
+    /**
+     * Releases one copy of each book; returns how many were released, which is less than the number of books
+     * when a book had no copy on loan.
+     */
+    int markAllAsReturned(Collection<Book> books);
 
 }
@@ -0,0 +1,18 @@
+package app.domain.port;
+
+import app.domain.models.Book;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+public interface CatalogImportDao {
+    /**
+     * Inserts the books that do not clash with an existing title or ISBN, creating missing authors,
+     * in one transaction. {@code knownAuthors} maps author names to ids across calls of the same import;
+     * it is consulted before the database and extended with every author resolved here.
+     *
+     * @return the inserted books, with their new ids
+     */
+    List<Book> addBooks(List<Book> books, Map<String, UUID> knownAuthors);
+}
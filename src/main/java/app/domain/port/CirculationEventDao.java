@@ -0,0 +1,14 @@
+package app.domain.port;
+
+import app.domain.models.CirculationEvent;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface CirculationEventDao {
+    void append(Collection<CirculationEvent> events);
+    List<CirculationEvent> findAfter(long eventId, int limit);
+    long lastEventId();
+    long lastPublishedId();
+    void markPublished(long eventId);
+}
@@ -1,8 +1,15 @@
 package app.domain.port;
 import app.domain.models.Customer;
+import app.domain.models.CustomerSummary;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -12,8 +19,30 @@ public interface CustomerDao {
     Optional<Customer> getCustomer(UUID id);
     Optional<Customer> getCustomerByName(String name);
     void updatePrivileges(Customer customer);
+    int updatePrivileges(Collection<UUID> customerIds, boolean privileges);
     void updateCustomer(Customer customer);
+    /**
+     * Counts new loans of the customer; returns false and changes nothing when they would take its active loans
+     * above {@code maxActiveLoans}.
+     */
+    boolean addLoans(UUID customerId, int loans, int maxActiveLoans);
+    /**
+     * Uncounts returned loans of the customer, whose loans must already be closed, and recounts its overdue loans as of {@code today}.
+     */
+    void closeLoans(UUID customerId, int loans, LocalDate today);
+    /**
+     * Recounts the open loans past their due date of every customer with open loans.
+     */
+    int recountOverdueLoans(LocalDate today);
     void deleteCustomer(UUID id);
     Page<Customer> getPaginatedCustomers(Pageable pageable);
+    /**
+     * A customer or loan id finds that customer; other queries match customers whose name or e-mail address
+     * has a word starting with each word of the query.
+     */
     Page<Customer> searchCustomer(String query, Pageable pageable);
+    Page<CustomerSummary> getCustomerSummaries(Pageable pageable);
+    Slice<CustomerSummary> getCustomerSummarySlice(Pageable pageable);
+    Window<CustomerSummary> scrollCustomerSummaries(ScrollPosition position, Sort sort, int limit);
+    Page<CustomerSummary> searchCustomerSummaries(String query, Pageable pageable);
 }
@@ -1,10 +1,17 @@
 package app.domain.port;
 
 import app.domain.models.Book;
+import app.domain.models.OverdueLoan;
 import app.domain.models.Transaction;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -13,6 +20,21 @@ public interface TransactionDao {
     void addTransaction(Transaction transaction);
     List<Transaction> getTransactionsForBook(Book book);
     Page<Transaction> viewBorrowingHistory(UUID customerId, Pageable pageable);
+    Slice<Transaction> getBorrowingHistorySlice(UUID customerId, Pageable pageable);
+    Window<Transaction> scrollBorrowingHistory(UUID customerId, ScrollPosition position, Sort sort, int limit);
     Optional<Transaction> findTransactionById(UUID transactionId);
     void updateTransaction(Transaction transaction);
+    void addTransactions(List<Transaction> transactions);
+    List<Transaction> findOpenTransactionsForUpdate(Collection<UUID> bookIds);
+    void closeTransactions(Collection<Transaction> transactions, LocalDate returnDate);
+    /**
+     * Closes the book's oldest open loan, whoever holds it.
+     */
+    Optional<Transaction> closeOpenLoan(UUID bookId, LocalDate returnDate);
+    /**
+     * Closes the customer's oldest open loan of the book.
+     */
+    Optional<Transaction> closeOpenLoan(UUID bookId, UUID customerId, LocalDate returnDate);
+    boolean hasLoans(UUID bookId);
+    List<OverdueLoan> findOverdueLoans(LocalDate today, OverdueLoan after, int limit);
 }
@@ -6,6 +6,10 @@ import app.domain.port.AuthorDao;
 import jakarta.transaction.Transactional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 
 import java.util.Optional;
@@ -19,13 +23,9 @@ public class AuthorService {
         this.authorDao = authorDao;
     }
     public Author createNewAuthor(CreateNewAuthor createNewAuthor) {
-        if (authorDao.searchAuthorByName(createNewAuthor.getName()).isPresent()) {
-            throw new IllegalArgumentException("Author with the same name already exists.");
-        }
         Author author = new Author(createNewAuthor.getName(), createNewAuthor.getBio());
         authorDao.addAuthor(author);
-        return authorDao.searchAuthorByName(createNewAuthor.getName())
-                .orElseThrow(() -> new IllegalStateException("Author was not properly saved"));
+        return author;
     }
     public void updateAuthor(UUID authorId, Author author) {
         authorDao.updateAuthor(authorId, author);
@@ -36,6 +36,12 @@ public class AuthorService {
     public Page<Author> getPaginatedAuthors(Pageable pageable) {
         return authorDao.getPaginatedAuthors(pageable);
     }
+    public Slice<Author> getAuthorSlice(Pageable pageable) {
+        return authorDao.getAuthorSlice(pageable);
+    }
+    public Window<Author> scrollAuthors(ScrollPosition position, Sort sort, int limit) {
+        return authorDao.scrollAuthors(position, sort, limit);
+    }
     public Page<Author> searchAuthors(String query, Pageable pageable) {
         return authorDao.searchAuthors(query, pageable);
     }
@@ -4,12 +4,19 @@ import app.domain.models.Author;
 import app.domain.port.BookDao;
 import app.adapters.in.dto.CreateNewBook;
 import app.domain.models.Book;
+import app.domain.models.BookSuggestion;
+import app.domain.models.BookSummary;
 import jakarta.transaction.Transactional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
@@ -21,24 +28,16 @@ import java.util.stream.Collectors;
 public class BookService {
 
     private final BookDao bookDao;
-    private final AuthorService authorService;
 
-    public BookService(BookDao bookDao, AuthorService authorService) {
+    public BookService(BookDao bookDao) {
         this.bookDao = bookDao;
-        this.authorService = authorService;
     }
 
+    // Clashing titles and ISBNs are rejected by the unique keys in addBook rather than looked up first,
+    // so two concurrent creates of the same book cannot both pass the check.
     public Book createNewBook(CreateNewBook bookToCreate) {
-        if (bookDao.searchBookByTitle(bookToCreate.getTitle()).isPresent()) {
-            throw new IllegalArgumentException("Book with the same title already exists.");
-        }
-        if(bookDao.searchByIsbn(bookToCreate.getIsbn()).isPresent()) {
-            throw new IllegalArgumentException("Book with the same isbn already exists.");
-        }
-
         Set<Author> authors = bookToCreate.getAuthors().stream()
-                .map(authorDto -> authorService.getAuthorByName(authorDto.getName())
-                        .orElseGet(() -> authorService.createNewAuthor(authorDto)))
+                .map(authorDto -> new Author(authorDto.getName(), authorDto.getBio()))
                 .collect(Collectors.toSet());
 
         Book book = new Book(
@@ -49,6 +48,10 @@ public class BookService {
                 LocalDate.now()
         );
         book.getAuthors().addAll(authors);
+        if (bookToCreate.getCopies() != null) {
+            book.setTotalCopies(bookToCreate.getCopies());
+            book.setAvailableCopies(bookToCreate.getCopies());
+        }
 
         bookDao.addBook(book);
         return book;
@@ -56,12 +59,32 @@ public class BookService {
     public void updateBook(UUID bookID, Book book) {
         bookDao.updateBook(bookID, book);
     }
+    public void updateTotalCopies(UUID bookId, int totalCopies) {
+        if (totalCopies < 1) {
+            throw new IllegalArgumentException("A book needs at least one copy.");
+        }
+        if (!bookDao.updateTotalCopies(bookId, totalCopies)) {
+            throw new IllegalStateException("More copies are on loan than the new total.");
+        }
+    }
     public void deleteBook(UUID bookId) {
         bookDao.deleteBook(bookId);
     }
     public Page<Book> getPaginatedBooks(Pageable pageable) {
         return bookDao.getPaginatedBooks(pageable);
     }
+    public Page<BookSummary> getBookSummaries(Pageable pageable) {
+        return bookDao.getBookSummaries(pageable);
+    }
+    public Slice<BookSummary> getBookSummarySlice(Pageable pageable) {
+        return bookDao.getBookSummarySlice(pageable);
+    }
+    public Window<BookSummary> scrollBookSummaries(ScrollPosition position, Sort sort, int limit) {
+        return bookDao.scrollBookSummaries(position, sort, limit);
+    }
+    public Page<BookSummary> searchBookSummaries(String query, Pageable pageable) {
+        return bookDao.searchBookSummaries(query, pageable);
+    }
     public Optional<Book> searchBookByTitle(String title) {
         return bookDao.searchBookByTitle(title);
     }
@@ -78,4 +101,9 @@ public class BookService {
     public Page<Book> searchBooks(String query, Pageable pageable) {
         return bookDao.searchBooks(query, pageable);
     }
+    // Called on every keystroke and answered from memory by the index engine, so no transaction is opened for it.
+    @Transactional(Transactional.TxType.SUPPORTS)
+    public List<BookSuggestion> suggestBooks(String prefix, int limit) {
+        return bookDao.suggestBooks(prefix, limit);
+    }
 }
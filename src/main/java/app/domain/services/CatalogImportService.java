@@ -0,0 +1,118 @@
+package app.domain.services;
+
+import app.adapters.in.dto.importData.ImportAuthorDto;
+import app.adapters.in.dto.importData.ImportBookDto;
+import app.domain.models.Author;
+import app.domain.models.Book;
+import app.domain.models.ImportReport;
+import app.domain.port.CatalogImportDao;
+import jakarta.transaction.Transactional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * Imports a catalog of any size in chunks. Each chunk is committed on its own, so memory stays bounded
+ * by the chunk size plus the author-name map, and a failure keeps the chunks committed before it.
+ * Chunks are written on the application task executor (virtual threads when enabled) while the caller
+ * parses the next one; at most one chunk is written at a time, so duplicate checks see all earlier chunks.
+ */
+@Service
+@Transactional(Transactional.TxType.NOT_SUPPORTED)
+public class CatalogImportService {
+    private static final Logger log = LoggerFactory.getLogger(CatalogImportService.class);
+    private static final long PROGRESS_INTERVAL_MILLIS = 5_000;
+
+    private final CatalogImportDao catalogImportDao;
+    private final Executor executor;
+    private final int chunkSize;
+
+    public CatalogImportService(CatalogImportDao catalogImportDao,
+                                @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME) Executor executor,
+                                @Value("${library.import.chunk-size:1000}") int chunkSize) {
+        this.catalogImportDao = catalogImportDao;
+        this.executor = executor;
+        this.chunkSize = chunkSize;
+    }
+
+    public ImportReport importBooks(Iterator<ImportBookDto> books) {
+        long started = System.currentTimeMillis();
+        long lastProgress = started;
+        long read = 0;
+        long imported = 0;
+        Map<String, UUID> knownAuthors = new HashMap<>();
+        List<Book> chunk = new ArrayList<>(chunkSize);
+        CompletableFuture<Integer> writing = CompletableFuture.completedFuture(0);
+
+        while (books.hasNext()) {
+            ImportBookDto dto = books.next();
+            read++;
+            Book book = toBook(dto);
+            if (book != null) {
+                chunk.add(book);
+            }
+            if (chunk.size() == chunkSize || !books.hasNext()) {
+                imported += awaitChunk(writing);
+                List<Book> toWrite = chunk;
+                writing = CompletableFuture.supplyAsync(() -> catalogImportDao.addBooks(toWrite, knownAuthors).size(), executor);
+                chunk = new ArrayList<>(chunkSize);
+
+                long now = System.currentTimeMillis();
+                if (now - lastProgress >= PROGRESS_INTERVAL_MILLIS) {
+                    log.info("Catalog import: {} read, {} imported, {} rows/s", read, imported, read * 1000 / (now - started));
+                    lastProgress = now;
+                }
+            }
+        }
+        imported += awaitChunk(writing);
+
+        ImportReport report = new ImportReport(read, imported, read - imported, knownAuthors.size(), System.currentTimeMillis() - started);
+        log.info("Catalog import finished: {} read, {} imported, {} skipped, {} authors in {} ms ({} rows/s)",
+                report.getRead(), report.getImported(), report.getSkipped(), report.getAuthors(),
+                report.getElapsedMillis(), report.getRowsPerSecond());
+        return report;
+    }
+
+    private static int awaitChunk(CompletableFuture<Integer> writing) {
+        try {
+            return writing.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private Book toBook(ImportBookDto dto) {
+        if (isBlank(dto.getTitle()) || isBlank(dto.getIsbn()) || dto.getPublicationYear() == null || dto.getAuthors() == null
+                || (dto.getCopies() != null && dto.getCopies() < 1)) {
+            return null;
+        }
+        Book book = new Book(dto.getTitle(), dto.getIsbn(), dto.getPublicationYear(), true, LocalDate.now());
+        if (dto.getCopies() != null) {
+            book.setTotalCopies(dto.getCopies());
+            book.setAvailableCopies(dto.getCopies());
+        }
+        for (ImportAuthorDto author : dto.getAuthors()) {
+            if (isBlank(author.getName())) {
+                return null;
+            }
+            book.getAuthors().add(new Author(author.getName(), author.getBio()));
+        }
+        return book;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+}
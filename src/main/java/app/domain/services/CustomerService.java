@@ -3,10 +3,15 @@ package app.domain.services;
 import app.domain.port.CustomerDao;
 import app.adapters.in.dto.CreateNewCustomer;
 import app.domain.models.Customer;
+import app.domain.models.CustomerSummary;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.transaction.Transactional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 
 import java.util.Optional;
@@ -38,6 +43,18 @@ public class CustomerService {
     public Page<Customer> searchCustomer(String query, Pageable pageable) {
         return customerDao.searchCustomer(query, pageable);
     }
+    public Page<CustomerSummary> getCustomerSummaries(Pageable pageable) {
+        return customerDao.getCustomerSummaries(pageable);
+    }
+    public Slice<CustomerSummary> getCustomerSummarySlice(Pageable pageable) {
+        return customerDao.getCustomerSummarySlice(pageable);
+    }
+    public Window<CustomerSummary> scrollCustomerSummaries(ScrollPosition position, Sort sort, int limit) {
+        return customerDao.scrollCustomerSummaries(position, sort, limit);
+    }
+    public Page<CustomerSummary> searchCustomerSummaries(String query, Pageable pageable) {
+        return customerDao.searchCustomerSummaries(query, pageable);
+    }
 
     public void updatePrivileges(UUID id, boolean privileges) {
         Customer customer = findCustomerById(id)
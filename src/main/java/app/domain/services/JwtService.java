@@ -1,22 +1,53 @@
 package app.domain.services;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
 import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpHeaders;
 import org.springframework.stereotype.Component;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Date;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Issues and verifies JWTs. Verified tokens are remembered by their SHA-256 digest until they expire,
+ * so a client reusing its token costs a digest and a map lookup instead of a signature check and claim parse.
+ */
 @Component
 public class JwtService {
+    private static final Logger log = LoggerFactory.getLogger(JwtService.class);
+
     static final long EXPIRATION_TIME = 86400000; // 1 day in ms
 
     static final String PREFIX = "Bearer ";
     static final Key key = Keys.secretKeyFor(SignatureAlgorithm.HS256);
 
+    private final JwtParser parser = Jwts.parser().setSigningKey(key).build();
+    private final Cache<ByteBuffer, VerifiedToken> verifiedTokens;
+
+    public JwtService(@Value("${library.security.jwt-cache.maximum-size:10000}") long cacheSize) {
+        this.verifiedTokens = cacheSize > 0
+                ? Caffeine.newBuilder()
+                        .maximumSize(cacheSize)
+                        .expireAfter(new UntilTokenExpiry())
+                        .build()
+                : null;
+    }
+
     public String getToken(String username) {
         return Jwts.builder()
                 .setSubject(username)
@@ -27,19 +58,62 @@ public class JwtService {
 
     public String getAuthUser(HttpServletRequest request) {
         String token = request.getHeader(HttpHeaders.AUTHORIZATION);
-        if (token != null && token.startsWith("Bearer ")) {
-            try {
-                return Jwts.parser()
-                        .setSigningKey(key)
-                        .build()
-                        .parseClaimsJws(token.replace(PREFIX, ""))
-                        .getBody()
-                        .getSubject();
-            } catch (Exception e) {
-                System.out.println("Invalid or expired JWT: " + e.getMessage());
-            }
+        if (token != null && token.startsWith(PREFIX)) {
+            return verify(token.substring(PREFIX.length()));
         }
         return null;
     }
 
+    private String verify(String token) {
+        if (verifiedTokens == null) {
+            return parse(token, null);
+        }
+        ByteBuffer digest = digest(token);
+        VerifiedToken verified = verifiedTokens.getIfPresent(digest);
+        if (verified != null && verified.expiresAt() > System.currentTimeMillis()) {
+            return verified.subject();
+        }
+        return parse(token, digest);
+    }
+
+    private String parse(String token, ByteBuffer digest) {
+        try {
+            Claims claims = parser.parseClaimsJws(token).getBody();
+            if (digest != null && claims.getExpiration() != null) {
+                verifiedTokens.put(digest, new VerifiedToken(claims.getSubject(), claims.getExpiration().getTime()));
+            }
+            return claims.getSubject();
+        } catch (Exception e) {
+            log.debug("Invalid or expired JWT: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private static ByteBuffer digest(String token) {
+        try {
+            return ByteBuffer.wrap(MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private record VerifiedToken(String subject, long expiresAt) {
+    }
+
+    private static final class UntilTokenExpiry implements Expiry<ByteBuffer, VerifiedToken> {
+        @Override
+        public long expireAfterCreate(ByteBuffer digest, VerifiedToken token, long currentTime) {
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, token.expiresAt() - System.currentTimeMillis()));
+        }
+
+        @Override
+        public long expireAfterUpdate(ByteBuffer digest, VerifiedToken token, long currentTime, long currentDuration) {
+            return expireAfterCreate(digest, token, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(ByteBuffer digest, VerifiedToken token, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
 }
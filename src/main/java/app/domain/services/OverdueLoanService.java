@@ -0,0 +1,151 @@
+package app.domain.services;
+
+import app.domain.models.FinePolicy;
+import app.domain.models.OverdueLoan;
+import app.domain.models.OverdueScanReport;
+import app.domain.port.CustomerDao;
+import app.domain.port.TransactionDao;
+import jakarta.transaction.Transactional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Finds open loans past their due date, computes their fines and suspends the privileges of customers
+ * with a loan more than {@code suspend-after-days} overdue. Loans are read a page at a time in due-date order;
+ * up to {@code parallelism} pages are processed on the application task executor while the next one is read,
+ * so memory stays bounded by {@code (parallelism + 1) * page-size} loans. Each page suspends its customers
+ * with one update, committed on its own. Once all pages are done the customers' overdue-loan counters are recounted.
+ */
+@Service
+@Transactional(Transactional.TxType.NOT_SUPPORTED)
+public class OverdueLoanService {
+    private static final Logger log = LoggerFactory.getLogger(OverdueLoanService.class);
+
+    private final TransactionDao transactionDao;
+    private final CustomerDao customerDao;
+    private final Executor executor;
+    private final FinePolicy finePolicy;
+    private final int pageSize;
+    private final int parallelism;
+
+    public OverdueLoanService(TransactionDao transactionDao, CustomerDao customerDao,
+                              @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME) Executor executor,
+                              @Value("${library.overdue.fine-per-day:0.25}") BigDecimal finePerDay,
+                              @Value("${library.overdue.grace-days:0}") int graceDays,
+                              @Value("${library.overdue.maximum-fine:10.00}") BigDecimal maximumFine,
+                              @Value("${library.overdue.suspend-after-days:30}") int suspendAfterDays,
+                              @Value("${library.overdue.page-size:1000}") int pageSize,
+                              @Value("${library.overdue.parallelism:4}") int parallelism) {
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("library.overdue.page-size must be at least 1, was " + pageSize);
+        }
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("library.overdue.parallelism must be at least 1, was " + parallelism);
+        }
+        this.transactionDao = transactionDao;
+        this.customerDao = customerDao;
+        this.executor = executor;
+        this.finePolicy = new FinePolicy(finePerDay, graceDays, maximumFine, suspendAfterDays);
+        this.pageSize = pageSize;
+        this.parallelism = parallelism;
+    }
+
+    public FinePolicy getFinePolicy() {
+        return finePolicy;
+    }
+
+    @Scheduled(cron = "${library.overdue.cron:0 0 2 * * *}")
+    public void scheduledScan() {
+        scan(LocalDate.now());
+    }
+
+    public synchronized OverdueScanReport scan(LocalDate today) {
+        long started = System.currentTimeMillis();
+        Totals totals = new Totals();
+        AtomicReference<RuntimeException> failure = new AtomicReference<>();
+        Semaphore inFlight = new Semaphore(parallelism);
+
+        OverdueLoan after = null;
+        while (failure.get() == null) {
+            List<OverdueLoan> page = transactionDao.findOverdueLoans(today, after, pageSize);
+            if (page.isEmpty()) {
+                break;
+            }
+            inFlight.acquireUninterruptibly();
+            try {
+                CompletableFuture.runAsync(() -> processPage(page, today, totals), executor)
+                        .whenComplete((ignored, e) -> {
+                            if (e != null) {
+                                failure.compareAndSet(null, e.getCause() instanceof RuntimeException cause ? cause : new IllegalStateException(e));
+                            }
+                            inFlight.release();
+                        });
+            } catch (RuntimeException e) {
+                // Rejected by the executor: the page never runs, so its permit is returned here
+                inFlight.release();
+                failure.compareAndSet(null, e);
+                break;
+            }
+            after = page.getLast();
+            if (page.size() < pageSize) {
+                break;
+            }
+        }
+        inFlight.acquireUninterruptibly(parallelism);
+        if (failure.get() != null) {
+            throw failure.get();
+        }
+        int recounted = customerDao.recountOverdueLoans(today);
+
+        OverdueScanReport report = totals.report(System.currentTimeMillis() - started);
+        log.info("Overdue scan for {} finished: {} overdue loans, {} in fines, {} customers suspended, {} overdue counters recounted in {} ms ({} loans/s)",
+                today, report.getOverdueLoans(), report.getTotalFines(), report.getCustomersSuspended(), recounted,
+                report.getElapsedMillis(), report.getLoansPerSecond());
+        return report;
+    }
+
+    private void processPage(List<OverdueLoan> page, LocalDate today, Totals totals) {
+        BigDecimal fines = BigDecimal.ZERO;
+        Set<UUID> toSuspend = new HashSet<>();
+        for (OverdueLoan loan : page) {
+            fines = fines.add(finePolicy.fineFor(loan.getDueDate(), today));
+            if (finePolicy.suspends(loan.getDueDate(), today)) {
+                toSuspend.add(loan.getCustomerId());
+            }
+        }
+        int suspended = customerDao.updatePrivileges(toSuspend, false);
+        totals.add(page.size(), fines, suspended);
+    }
+
+    private static final class Totals {
+        private long loans;
+        private BigDecimal fines = BigDecimal.ZERO;
+        private long suspended;
+
+        synchronized void add(int pageLoans, BigDecimal pageFines, int pageSuspended) {
+            loans += pageLoans;
+            fines = fines.add(pageFines);
+            suspended += pageSuspended;
+        }
+
+        synchronized OverdueScanReport report(long elapsedMillis) {
+            return new OverdueScanReport(loans, fines, suspended, elapsedMillis);
+        }
+    }
+}
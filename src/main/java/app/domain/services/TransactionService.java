@@ -1,5 +1,7 @@
 package app.domain.services;
 
+import app.domain.models.BatchItemResult;
+import app.domain.models.BatchItemStatus;
 import app.domain.models.Book;
 import app.domain.port.BookDao;
 import app.domain.port.CustomerDao;
@@ -9,26 +11,41 @@ import app.domain.models.Customer;
 import app.domain.models.Transaction;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.transaction.Transactional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
-import java.util.List;
-import java.util.Optional;
-import java.util.UUID;
+import java.util.*;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional
 public class TransactionService {
+    private static final Logger log = LoggerFactory.getLogger(TransactionService.class);
+    private static final Comparator<Transaction> OLDEST_FIRST = Comparator.comparing(Transaction::getBorrowDate)
+            .thenComparing(Transaction::getTransactionId);
+
     private final TransactionDao transactionDao;
     private final BookDao bookDao;
     private final CustomerDao customerDao;
+    private final int maxActiveLoans;
 
-    public TransactionService(TransactionDao transactionDao, BookDao bookDao, CustomerDao customerDao) {
+    public TransactionService(TransactionDao transactionDao, BookDao bookDao, CustomerDao customerDao,
+                              @Value("${library.loans.max-active:10}") int maxActiveLoans) {
         this.transactionDao = transactionDao;
         this.bookDao = bookDao;
         this.customerDao = customerDao;
+        this.maxActiveLoans = maxActiveLoans;
     }
     public Transaction createNewTransaction(CreateNewTransaktion newTransaktion) {
 
@@ -52,24 +69,36 @@ public class TransactionService {
                 book
         );
 
+        if (!bookDao.markAsBorrowed(book)) {
+            throw new IllegalArgumentException("Book is not available for borrowing.");
+        }
+        // Book row before customer row, as in borrowBook; hitting the limit rolls the claimed copy back.
+        if (!customerDao.addLoans(customer.getCustomerId(), 1, maxActiveLoans)) {
+            throw new IllegalArgumentException(loanLimitReached());
+        }
+        book.setAvailable(book.lendCopy() > 0);
         transactionDao.addTransaction(transaction);
         return transaction;
     }
 
+    /**
+     * Returns a copy without knowing who brings it back: the book's oldest open loan is closed, whoever holds it.
+     * A desk that knows the borrower should use {@link #returnBook(UUID, UUID)}.
+     */
     public String returnBook(UUID bookId) {
-        List<Transaction> transactions = transactionDao.getTransactionsForBook(new Book(bookId, null, null, 0, false, null));
-
-        if (transactions.isEmpty()) {
-            throw new EntityNotFoundException("No transaction found for the given book.");
-        }
-
-        Transaction transaction = transactions.getFirst();
-        transaction.setReturnDate(LocalDate.now());
-        transaction.getBook().setAvailable(true);
-
-        transactionDao.updateTransaction(transaction);
-        bookDao.updateBook(transaction.getBook().getBookId(), transaction.getBook());
+        Transaction transaction = transactionDao.closeOpenLoan(bookId, LocalDate.now())
+                .orElseThrow(() -> noOpenLoan(bookId, "Book is not currently borrowed."));
+        releaseCopy(transaction);
+        return transaction.getTransactionId().toString();
+    }
 
+    /**
+     * Returns the customer's copy of the book, closing the customer's oldest open loan of it.
+     */
+    public String returnBook(UUID bookId, UUID customerId) {
+        Transaction transaction = transactionDao.closeOpenLoan(bookId, customerId, LocalDate.now())
+                .orElseThrow(() -> noOpenLoan(bookId, "Book is not on loan to this customer."));
+        releaseCopy(transaction);
         return transaction.getTransactionId().toString();
     }
     public Transaction borrowBook(UUID customerId, UUID bookId) {
@@ -87,6 +116,16 @@ public class TransactionService {
             throw new RuntimeException("Customer does not have borrowing privileges.");
         }
 
+        // The availability check above may be stale; the conditional update is what decides who gets the copy.
+        if (!bookDao.markAsBorrowed(book)) {
+            throw new RuntimeException("Book is not available for borrowing.");
+        }
+        // Book row before customer row, as on the return path; hitting the limit rolls the claimed copy back.
+        if (!customerDao.addLoans(customerId, 1, maxActiveLoans)) {
+            throw new RuntimeException(loanLimitReached());
+        }
+        book.setAvailable(book.lendCopy() > 0);
+
         Transaction transaction = new Transaction();
         transaction.setTransactionId(UUID.randomUUID());
         transaction.setBorrowDate(LocalDate.now());
@@ -95,14 +134,115 @@ public class TransactionService {
         transaction.setBook(book);
 
         transactionDao.addTransaction(transaction);
-
-        book.setAvailable(false);
-        bookDao.updateBook(bookId, book);
         return transaction;
     }
+    /**
+     * Borrows a whole cart for one customer in a single unit of work. The cart's books are locked and read in one query,
+     * flipped with one set-based update and their loans are written as batched inserts; items that cannot be lent
+     * are reported per book instead of failing the cart. Books beyond the customer's remaining active-loan allowance
+     * are reported as {@link BatchItemStatus#LOAN_LIMIT_REACHED}.
+     */
+    public List<BatchItemResult> borrowBooks(UUID customerId, List<UUID> bookIds) {
+        Customer customer = customerDao.getCustomer(customerId)
+                .orElseThrow(() -> new EntityNotFoundException("Customer not found"));
+
+        if (!customer.isPrivileges()) {
+            throw new IllegalArgumentException("Customer does not have borrowing privileges.");
+        }
+
+        Map<UUID, Book> books = bookDao.searchBooksForUpdate(new LinkedHashSet<>(bookIds)).stream()
+                .collect(Collectors.toMap(Book::getBookId, Function.identity()));
+        int allowance = Math.max(0, maxActiveLoans - customer.getActiveLoans());
+        List<Book> lendable = bookIds.stream()
+                .distinct()
+                .map(books::get)
+                .filter(book -> book != null && book.isAvailable())
+                .limit(allowance)
+                .toList();
+        // The allowance was read without a lock; the conditional update rejects the cart if a concurrent borrow used it up.
+        if (!lendable.isEmpty() && !customerDao.addLoans(customerId, lendable.size(), maxActiveLoans)) {
+            throw new IllegalArgumentException(loanLimitReached());
+        }
+        bookDao.markAllAsBorrowed(lendable);
+
+        Map<UUID, Transaction> loans = new LinkedHashMap<>();
+        for (Book book : lendable) {
+            book.setAvailable(book.lendCopy() > 0);
+            Transaction transaction = new Transaction();
+            transaction.setBorrowDate(LocalDate.now());
+            transaction.setDueDate(LocalDate.now().plusWeeks(2));
+            transaction.setCustomer(customer);
+            transaction.setBook(book);
+            loans.put(book.getBookId(), transaction);
+        }
+        transactionDao.addTransactions(new ArrayList<>(loans.values()));
+
+        Set<UUID> seen = new HashSet<>();
+        return bookIds.stream()
+                .map(bookId -> {
+                    if (!seen.add(bookId)) {
+                        return new BatchItemResult(bookId, BatchItemStatus.DUPLICATE);
+                    }
+                    if (!books.containsKey(bookId)) {
+                        return new BatchItemResult(bookId, BatchItemStatus.NOT_FOUND);
+                    }
+                    Transaction loan = loans.get(bookId);
+                    if (loan != null) {
+                        return new BatchItemResult(bookId, BatchItemStatus.BORROWED, loan.getTransactionId());
+                    }
+                    return books.get(bookId).isAvailable()
+                            ? new BatchItemResult(bookId, BatchItemStatus.LOAN_LIMIT_REACHED)
+                            : new BatchItemResult(bookId, BatchItemStatus.NOT_AVAILABLE);
+                })
+                .toList();
+    }
+
+    /**
+     * Returns a whole cart in a single unit of work: the open loans are locked and read in one query,
+     * then closed and their books released with one set-based update each. Each title in the cart returns one copy,
+     * closing the book's oldest open loan as {@link #returnBook(UUID)} does.
+     */
+    public List<BatchItemResult> returnBooks(List<UUID> bookIds) {
+        Map<UUID, Transaction> openLoans = transactionDao.findOpenTransactionsForUpdate(new LinkedHashSet<>(bookIds)).stream()
+                .collect(Collectors.toMap(transaction -> transaction.getBook().getBookId(), Function.identity(),
+                        BinaryOperator.minBy(OLDEST_FIRST)));
+        List<Transaction> returned = new ArrayList<>(openLoans.values());
+        transactionDao.closeTransactions(returned, LocalDate.now());
+        closeLoans(returned);
+
+        List<Book> released = returned.stream()
+                .map(Transaction::getBook)
+                .toList();
+        if (bookDao.markAllAsReturned(released) != released.size()) {
+            throw new IllegalStateException("A returned book has no copy on loan.");
+        }
+        released.forEach(book -> book.setAvailable(book.returnCopy() > 0));
+
+        Set<UUID> seen = new HashSet<>();
+        return bookIds.stream()
+                .map(bookId -> {
+                    if (!seen.add(bookId)) {
+                        return new BatchItemResult(bookId, BatchItemStatus.DUPLICATE);
+                    }
+                    Transaction loan = openLoans.get(bookId);
+                    return loan != null
+                            ? new BatchItemResult(bookId, BatchItemStatus.RETURNED, loan.getTransactionId())
+                            : new BatchItemResult(bookId, BatchItemStatus.NOT_BORROWED);
+                })
+                .toList();
+    }
+
     public Page<Transaction> viewBorrowingHistory(UUID customerId, Pageable pageable) {
         return transactionDao.viewBorrowingHistory(customerId, pageable);
     }
+
+    public Slice<Transaction> getBorrowingHistorySlice(UUID customerId, Pageable pageable) {
+        return transactionDao.getBorrowingHistorySlice(customerId, pageable);
+    }
+
+    public Window<Transaction> scrollBorrowingHistory(UUID customerId, ScrollPosition position, Sort sort, int limit) {
+        return transactionDao.scrollBorrowingHistory(customerId, position, sort, limit);
+    }
     public Optional<Transaction> findById(UUID transactionId) {
         return transactionDao.findTransactionById(transactionId);
     }
@@ -125,25 +265,45 @@ public class TransactionService {
         transaction.setCustomer(customer);
         transaction.setBook(book);
 
-        book.setAvailable(false);
-        bookDao.updateBook(bookId, book);
+        if (!bookDao.markAsBorrowed(book)) {
+            throw new IllegalArgumentException("Book is already borrowed");
+        }
+        book.setAvailable(book.lendCopy() > 0);
+        // Historical loans are counted but not held to the active-loan limit.
+        customerDao.addLoans(customerId, 1, Integer.MAX_VALUE);
         transactionDao.addTransaction(transaction);
     }
     public void returnBookWithDates(UUID bookId, LocalDate returnDate) {
-        List<Transaction> transactions = transactionDao.getTransactionsForBook(new Book(bookId, null, null, 0, false, null));
+        Transaction transaction = transactionDao.closeOpenLoan(bookId, returnDate)
+                .orElseThrow(() -> new EntityNotFoundException("No open transaction found for the given book."));
+        releaseCopy(transaction);
+        log.debug("Returned book for transaction: {}", transaction.getTransactionId());
+    }
 
-        if (transactions.isEmpty()) {
-            throw new EntityNotFoundException("No transaction found for the given book.");
+    private void releaseCopy(Transaction returned) {
+        if (!bookDao.markAsReturned(returned.getBook())) {
+            throw new IllegalStateException("Book is not currently borrowed.");
         }
+        returned.getBook().setAvailable(returned.getBook().returnCopy() > 0);
+        closeLoans(List.of(returned));
+    }
+
+    // One counter update per customer, which also recounts the customer's overdue loans now that these are closed.
+    private void closeLoans(Collection<Transaction> closed) {
+        Map<UUID, Long> byCustomer = closed.stream()
+                .collect(Collectors.groupingBy(transaction -> transaction.getCustomer().getCustomerId(), Collectors.counting()));
+        LocalDate today = LocalDate.now();
+        byCustomer.forEach((customerId, loans) -> customerDao.closeLoans(customerId, loans.intValue(), today));
+    }
+
+    private String loanLimitReached() {
+        return "Customer has reached the limit of " + maxActiveLoans + " active loans.";
+    }
 
-        transactions.forEach(transaction -> {
-            if (transaction.getReturnDate() == null) {
-                transaction.setReturnDate(returnDate);
-                transaction.getBook().setAvailable(true);
-                transactionDao.updateTransaction(transaction);
-                bookDao.updateBook(transaction.getBook().getBookId(), transaction.getBook());
-                System.out.println("Returned book for transaction: " + transaction.getTransactionId());
-            }
-        });
+    // Only reached when nothing was returned, so telling the two failures apart costs nothing on the happy path.
+    private RuntimeException noOpenLoan(UUID bookId, String message) {
+        return transactionDao.hasLoans(bookId)
+                ? new IllegalStateException(message)
+                : new EntityNotFoundException("No transaction found for the given book.");
     }
 }
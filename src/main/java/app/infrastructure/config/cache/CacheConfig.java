@@ -1,14 +1,71 @@
 package app.infrastructure.config.cache;
 
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import jakarta.servlet.Filter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.web.filter.ShallowEtagHeaderFilter;
 
+import java.time.Duration;
+
 @Configuration
+@EnableCaching
 public class CacheConfig {
     @Bean
     public Filter shallowEtagFilter() {
         return new ShallowEtagHeaderFilter();
     }
+
+    @Bean
+    @Primary
+    public TwoLevelCacheManager cacheManager(@Value("${library.cache.local.maximum-size:10000}") long maximumSize,
+                                             @Value("${library.cache.local.expire-after-write:10m}") Duration expireAfterWrite,
+                                             @Qualifier("remoteCacheManager") ObjectProvider<CacheManager> remoteCacheManager) {
+        return new TwoLevelCacheManager(CatalogCaches.NAMES, maximumSize, expireAfterWrite, remoteCacheManager.getIfAvailable(),
+                CatalogCaches::copyOf);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "library.cache.redis.enabled", havingValue = "true")
+    public RedisCacheManager remoteCacheManager(RedisConnectionFactory connectionFactory,
+                                                @Value("${library.cache.redis.time-to-live:30m}") Duration timeToLive) {
+        return RedisCacheManager.builder(connectionFactory)
+                .cacheDefaults(RedisCacheConfiguration.defaultCacheConfig()
+                        .entryTtl(timeToLive)
+                        .disableCachingNullValues()
+                        .prefixCacheNameWith("library:"))
+                .build();
+    }
+
+    /**
+     * Publishes cache.gets/puts/evictions/size for the local tier and cache.gets for the shared tier, tagged by tier.
+     */
+    @Bean
+    public MeterBinder catalogCacheMetrics(TwoLevelCacheManager cacheManager) {
+        return registry -> cacheManager.getCaches().forEach(cache -> {
+            CaffeineCacheMetrics.monitor(registry, cache.getLocal().getNativeCache(), cache.getName(), Tags.of("tier", "local"));
+            if (cache.hasRemote()) {
+                Tags tags = Tags.of("cache", cache.getName(), "tier", "remote");
+                FunctionCounter.builder("cache.gets", cache, TwoLevelCache::getRemoteHits)
+                        .tags(tags).tag("result", "hit").register(registry);
+                FunctionCounter.builder("cache.gets", cache, TwoLevelCache::getRemoteMisses)
+                        .tags(tags).tag("result", "miss").register(registry);
+                FunctionCounter.builder("cache.errors", cache, TwoLevelCache::getRemoteErrors)
+                        .tags(tags).register(registry);
+            }
+        });
+    }
 }
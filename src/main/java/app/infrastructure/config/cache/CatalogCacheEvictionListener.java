@@ -0,0 +1,32 @@
+package app.infrastructure.config.cache;
+
+import app.adapters.out.H2.entity.AuthorEntity;
+import app.adapters.out.H2.entity.BookEntity;
+import jakarta.persistence.PreRemove;
+import org.springframework.stereotype.Component;
+
+/**
+ * Evicts cached lookups for books and authors on every removal, including repository bulk deletes
+ * and cascades that bypass the adapters. Updates are evicted by the adapters, which still know the previous keys.
+ */
+@Component
+public class CatalogCacheEvictionListener {
+    private final CatalogCaches catalogCaches;
+
+    public CatalogCacheEvictionListener(CatalogCaches catalogCaches) {
+        this.catalogCaches = catalogCaches;
+    }
+
+    @PreRemove
+    public void beforeRemove(Object entity) {
+        if (entity instanceof BookEntity book) {
+            catalogCaches.evictBook(book.getBookId(), book.getTitle(), book.getIsbn());
+            if (book.getAuthors() != null) {
+                book.getAuthors().forEach(author -> catalogCaches.evictAuthor(author.getName()));
+            }
+        } else if (entity instanceof AuthorEntity author) {
+            catalogCaches.evictAuthor(author.getName());
+            catalogCaches.evictAuthorId(author.getName());
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package app.infrastructure.config.cache;
+
+import app.domain.models.Book;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Names of the catalog lookup caches and their invalidation, together with the rendered book and loan responses
+ * and the author name to id mapping used when books are linked to their authors.
+ * Entries are evicted immediately and again after the surrounding transaction commits,
+ * so a concurrent reader cannot re-populate a cache with the pre-commit row.
+ */
+@Component
+public class CatalogCaches {
+    public static final String BOOKS_BY_ID = "booksById";
+    public static final String BOOKS_BY_ISBN = "booksByIsbn";
+    public static final String BOOKS_BY_TITLE = "booksByTitle";
+    public static final String AUTHORS_BY_NAME = "authorsByName";
+    public static final String AUTHOR_IDS_BY_NAME = "authorIdsByName";
+    public static final List<String> NAMES = List.of(BOOKS_BY_ID, BOOKS_BY_ISBN, BOOKS_BY_TITLE, AUTHORS_BY_NAME, AUTHOR_IDS_BY_NAME);
+
+    private final CacheManager cacheManager;
+    private final RenderedResponseCache renderedResponses;
+
+    public CatalogCaches(CacheManager cacheManager, RenderedResponseCache renderedResponses) {
+        this.cacheManager = cacheManager;
+        this.renderedResponses = renderedResponses;
+    }
+
+    /**
+     * Books are mutable and lent copies are counted on them, so every reader gets its own; other values are shared.
+     */
+    public static Object copyOf(Object value) {
+        return value instanceof Book book ? book.copy() : value;
+    }
+
+    public void evictBook(UUID bookId, String title, String isbn) {
+        evict(BOOKS_BY_ID, bookId);
+        evict(BOOKS_BY_TITLE, title);
+        evict(BOOKS_BY_ISBN, isbn);
+        if (bookId != null) {
+            evictNowAndAfterCompletion(() -> renderedResponses.evict(RenderedResponseCache.BOOKS, bookId));
+        }
+    }
+
+    public void evictTransaction(UUID transactionId) {
+        evictNowAndAfterCompletion(() -> renderedResponses.evict(RenderedResponseCache.TRANSACTIONS, transactionId));
+    }
+
+    public void evictAuthor(String name) {
+        evict(AUTHORS_BY_NAME, name);
+    }
+
+    public UUID authorId(String name) {
+        Cache cache = cacheManager.getCache(AUTHOR_IDS_BY_NAME);
+        return cache != null ? cache.get(name, UUID.class) : null;
+    }
+
+    /**
+     * Remembers the id of an author, once the surrounding transaction has committed the row.
+     */
+    public void putAuthorId(String name, UUID authorId) {
+        Cache cache = cacheManager.getCache(AUTHOR_IDS_BY_NAME);
+        if (cache == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.put(name, authorId);
+                }
+            });
+        } else {
+            cache.put(name, authorId);
+        }
+    }
+
+    public void evictAuthorId(String name) {
+        evict(AUTHOR_IDS_BY_NAME, name);
+    }
+
+    private void evict(String cacheName, Object key) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache == null || key == null) {
+            return;
+        }
+        evictNowAndAfterCompletion(() -> cache.evict(key));
+    }
+
+    private static void evictNowAndAfterCompletion(Runnable eviction) {
+        eviction.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    eviction.run();
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package app.infrastructure.config.cache;
+
+/**
+ * A response body serialized once, with the strong ETag of exactly these bytes.
+ */
+public record RenderedResponse(byte[] body, String etag) {
+}
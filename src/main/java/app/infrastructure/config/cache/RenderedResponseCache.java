@@ -0,0 +1,89 @@
+package app.infrastructure.config.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Pre-rendered JSON of single-resource GETs, keyed by resource kind and id, so a repeated or conditional GET
+ * is answered without a lookup or serialization. The ETag is computed when the bytes are rendered, in the
+ * format {@code ShallowEtagHeaderFilter} produces, so clients keep their validators.
+ * Books are evicted with the catalog caches ({@link CatalogCaches#evictBook}) and loans when they change;
+ * entries are also dropped after {@code expire-after-write}, which bounds how long a loan can show a stale
+ * embedded book or customer. A {@code maximum-size} of 0 renders every response afresh.
+ * A render that read its body before an eviction of the same entry is not cached, see {@link #generation}.
+ */
+@Component
+public class RenderedResponseCache {
+    public static final String BOOKS = "books";
+    public static final String TRANSACTIONS = "transactions";
+    // Evictions per stripe of keys; a collision only costs a skipped put
+    private static final int GENERATION_STRIPES = 4096;
+
+    private final ObjectMapper objectMapper;
+    private final Cache<Key, RenderedResponse> cache;
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+
+    public RenderedResponseCache(ObjectMapper objectMapper,
+                                 @Value("${library.cache.responses.maximum-size:10000}") long maximumSize,
+                                 @Value("${library.cache.responses.expire-after-write:30s}") Duration expireAfterWrite) {
+        this.objectMapper = objectMapper;
+        this.cache = maximumSize > 0
+                ? Caffeine.newBuilder().maximumSize(maximumSize).expireAfterWrite(expireAfterWrite).build()
+                : null;
+    }
+
+    public RenderedResponse get(String kind, UUID id) {
+        return cache != null ? cache.getIfPresent(new Key(kind, id)) : null;
+    }
+
+    /**
+     * Taken before the body is read: {@link #render} caches the body only if the entry was not evicted since,
+     * so a body read before a change committed cannot outlive the eviction that follows the commit.
+     */
+    public long generation(String kind, UUID id) {
+        return generations.get(stripe(new Key(kind, id)));
+    }
+
+    public RenderedResponse render(String kind, UUID id, long generation, Object body) {
+        byte[] bytes;
+        try {
+            bytes = objectMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not render " + kind + " " + id, e);
+        }
+        RenderedResponse rendered = new RenderedResponse(bytes, "\"0" + DigestUtils.md5DigestAsHex(bytes) + "\"");
+        if (cache != null) {
+            Key key = new Key(kind, id);
+            cache.put(key, rendered);
+            // Checked after the put, so an eviction running concurrently either sees the entry or is seen here
+            if (generations.get(stripe(key)) != generation) {
+                cache.asMap().remove(key, rendered);
+            }
+        }
+        return rendered;
+    }
+
+    public void evict(String kind, UUID id) {
+        if (cache != null) {
+            Key key = new Key(kind, id);
+            generations.incrementAndGet(stripe(key));
+            cache.invalidate(key);
+        }
+    }
+
+    private static int stripe(Key key) {
+        return (key.hashCode() & Integer.MAX_VALUE) % GENERATION_STRIPES;
+    }
+
+    private record Key(String kind, UUID id) {
+    }
+}
@@ -0,0 +1,160 @@
+package app.infrastructure.config.cache;
+
+import app.infrastructure.config.metrics.RequestStatistics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.UnaryOperator;
+
+/**
+ * Read-through cache made of a bounded in-process tier and an optional shared tier (Redis in production).
+ * Reads try the local tier first and promote shared-tier hits into it; writes and evictions go to both.
+ * A failing shared tier is logged and skipped so lookups fall back to the database instead of failing.
+ * Values pass through {@code copier} on the way in and out, so callers that change a value they got from
+ * (or handed to) the cache do not change the cached entry.
+ */
+public class TwoLevelCache extends AbstractValueAdaptingCache {
+    private static final Logger log = LoggerFactory.getLogger(TwoLevelCache.class);
+
+    private final CaffeineCache local;
+    private final Cache remote;
+    private final UnaryOperator<Object> copier;
+    private final LongAdder remoteHits = new LongAdder();
+    private final LongAdder remoteMisses = new LongAdder();
+    private final LongAdder remoteErrors = new LongAdder();
+
+    public TwoLevelCache(CaffeineCache local, Cache remote) {
+        this(local, remote, UnaryOperator.identity());
+    }
+
+    public TwoLevelCache(CaffeineCache local, Cache remote, UnaryOperator<Object> copier) {
+        super(true);
+        this.local = local;
+        this.remote = remote;
+        this.copier = copier;
+    }
+
+    @Override
+    public String getName() {
+        return local.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return local.getNativeCache();
+    }
+
+    public CaffeineCache getLocal() {
+        return local;
+    }
+
+    public boolean hasRemote() {
+        return remote != null;
+    }
+
+    public long getRemoteHits() {
+        return remoteHits.sum();
+    }
+
+    public long getRemoteMisses() {
+        return remoteMisses.sum();
+    }
+
+    public long getRemoteErrors() {
+        return remoteErrors.sum();
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        ValueWrapper cached = local.get(key);
+        if (cached != null) {
+            RequestStatistics.cacheHit();
+            return toStoreValue(copy(cached.get()));
+        }
+        if (remote == null) {
+            return null;
+        }
+        try {
+            ValueWrapper shared = remote.get(key);
+            if (shared == null) {
+                remoteMisses.increment();
+                return null;
+            }
+            remoteHits.increment();
+            RequestStatistics.cacheHit();
+            local.put(key, shared.get());
+            return toStoreValue(copy(shared.get()));
+        } catch (RuntimeException e) {
+            remoteErrors.increment();
+            log.warn("Shared cache '{}' unavailable on read: {}", getName(), e.getMessage());
+            return null;
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper cached = get(key);
+        if (cached != null) {
+            return (T) cached.get();
+        }
+        return (T) copy(local.get(key, () -> {
+            T value = valueLoader.call();
+            putRemote(key, value);
+            return copy(value);
+        }));
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        local.put(key, copy(value));
+        putRemote(key, value);
+    }
+
+    @Override
+    public void evict(Object key) {
+        local.evict(key);
+        if (remote != null) {
+            try {
+                remote.evict(key);
+            } catch (RuntimeException e) {
+                remoteErrors.increment();
+                log.warn("Shared cache '{}' unavailable on evict: {}", getName(), e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public void clear() {
+        local.clear();
+        if (remote != null) {
+            try {
+                remote.clear();
+            } catch (RuntimeException e) {
+                remoteErrors.increment();
+                log.warn("Shared cache '{}' unavailable on clear: {}", getName(), e.getMessage());
+            }
+        }
+    }
+
+    private Object copy(Object value) {
+        return value != null ? copier.apply(value) : null;
+    }
+
+    private void putRemote(Object key, Object value) {
+        if (remote == null) {
+            return;
+        }
+        try {
+            remote.put(key, value);
+        } catch (RuntimeException e) {
+            remoteErrors.increment();
+            log.warn("Shared cache '{}' unavailable on write: {}", getName(), e.getMessage());
+        }
+    }
+}
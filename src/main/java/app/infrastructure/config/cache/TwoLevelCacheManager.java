@@ -0,0 +1,49 @@
+package app.infrastructure.config.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+
+/**
+ * Fixed set of {@link TwoLevelCache}s. Each local tier is a Caffeine cache (W-TinyLFU eviction)
+ * bounded by entry count and write age; the shared tier comes from {@code remoteCacheManager} when one is configured.
+ * Cached values are copied with {@code copier} (see {@link TwoLevelCache}).
+ */
+public class TwoLevelCacheManager implements CacheManager {
+    private final Map<String, TwoLevelCache> caches = new LinkedHashMap<>();
+
+    public TwoLevelCacheManager(Collection<String> cacheNames, long maximumSize, Duration expireAfterWrite, CacheManager remoteCacheManager,
+                                UnaryOperator<Object> copier) {
+        for (String name : cacheNames) {
+            CaffeineCache local = new CaffeineCache(name, Caffeine.newBuilder()
+                    .maximumSize(maximumSize)
+                    .expireAfterWrite(expireAfterWrite)
+                    .recordStats()
+                    .build());
+            Cache remote = remoteCacheManager != null ? remoteCacheManager.getCache(name) : null;
+            caches.put(name, new TwoLevelCache(local, remote, copier));
+        }
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        return caches.get(name);
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return Collections.unmodifiableSet(caches.keySet());
+    }
+
+    public Collection<TwoLevelCache> getCaches() {
+        return Collections.unmodifiableCollection(caches.values());
+    }
+}
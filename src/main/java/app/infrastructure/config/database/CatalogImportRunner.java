@@ -0,0 +1,53 @@
+package app.infrastructure.config.database;
+
+import app.adapters.in.dto.importData.ImportBookReader;
+import app.domain.services.CatalogImportService;
+import com.google.gson.Gson;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * CLI mode of the catalog import:
+ * {@code java -jar LibraryMS.jar --library.import.books-file=catalog.json --spring.main.web-application-type=none}.
+ * The application exits once the file is imported unless {@code library.import.exit} is false.
+ * {@link DatabaseSeeder} does not seed the demo data while a books file is set.
+ */
+@Component
+@ConditionalOnProperty(name = "library.import.books-file")
+public class CatalogImportRunner implements CommandLineRunner {
+    private final CatalogImportService catalogImportService;
+    private final Gson gson;
+    private final ApplicationContext context;
+    private final Path booksFile;
+    private final boolean exit;
+
+    public CatalogImportRunner(CatalogImportService catalogImportService, Gson gson, ApplicationContext context,
+                               @Value("${library.import.books-file}") Path booksFile,
+                               @Value("${library.import.exit:true}") boolean exit) {
+        this.catalogImportService = catalogImportService;
+        this.gson = gson;
+        this.context = context;
+        this.booksFile = booksFile;
+        this.exit = exit;
+    }
+
+    @Override
+    public void run(String... args) throws Exception {
+        try (Reader reader = Files.newBufferedReader(booksFile, StandardCharsets.UTF_8);
+             ImportBookReader books = new ImportBookReader(gson, reader)) {
+            catalogImportService.importBooks(books);
+        }
+        if (exit) {
+            System.exit(SpringApplication.exit(context, () -> 0));
+        }
+    }
+}
@@ -2,6 +2,7 @@ package app.infrastructure.config.database;
 
 import app.adapters.out.H2.entity.UserEntity;
 import app.adapters.out.H2.repositories.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.context.annotation.Bean;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -11,7 +12,8 @@ import org.springframework.stereotype.Component;
 public class DataInitializer {
 
     @Bean
-    public CommandLineRunner initDatabase(UserRepository repository, PasswordEncoder passwordEncoder) {
+    public CommandLineRunner initDatabase(UserRepository repository, PasswordEncoder passwordEncoder,
+                                          @Value("${library.admin.password:}") String adminPassword) {
         return args -> {
             if (repository.findByUsername("user").isEmpty()) {
                 String hashedPassword = passwordEncoder.encode("user");
@@ -19,6 +21,13 @@ public class DataInitializer {
                 repository.save(user);
                 System.out.println("Default user created: username='user', password='user'");
             }
+            // The ADMIN role guards /admin/**, so there is no default password: the account exists only when one is configured
+            if (!adminPassword.isBlank() && repository.findByUsername("admin").isEmpty()) {
+                String hashedPassword = passwordEncoder.encode(adminPassword);
+                UserEntity admin = new UserEntity("admin", hashedPassword, "ADMIN");
+                repository.save(admin);
+                System.out.println("Admin user created: username='admin'");
+            }
         };
     }
 }
@@ -1,50 +1,71 @@
 package app.infrastructure.config.database;
 
-import app.adapters.in.dto.CreateNewBook;
 import app.adapters.in.dto.CreateNewCustomer;
-import app.adapters.in.dto.importData.ImportBookDto;
+import app.adapters.in.dto.importData.ImportBookReader;
 import app.adapters.in.dto.importData.ImportCustomerDto;
+import app.adapters.out.H2.entity.BookEntity;
 import app.adapters.out.H2.repositories.BookRepository;
 import app.adapters.out.H2.repositories.CustomerRepository;
-import app.domain.services.BookService;
+import app.domain.models.ImportReport;
+import app.domain.services.CatalogImportService;
 import app.domain.services.CustomerService;
 import app.domain.services.TransactionService;
 import com.google.gson.Gson;
 import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Component;
 
+import java.io.InputStreamReader;
+import java.io.Reader;
 import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
-import java.nio.file.Path;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
 @Component
+@ConditionalOnProperty(name = "library.seeder.enabled", havingValue = "true", matchIfMissing = true)
 public class DatabaseSeeder implements CommandLineRunner {
-    private final BookService bookService;
+    private final CatalogImportService catalogImportService;
     private final CustomerService customerService;
     private final TransactionService transactionService;
     private final BookRepository bookRepository;
     private final CustomerRepository customerRepository;
     private final Gson gson;
     private final ModelMapper mapper;
+    private final boolean skipWhenPopulated;
+    private final String importFile;
 
-    public DatabaseSeeder(BookService bookService, CustomerService customerService, TransactionService transactionService, BookRepository bookRepository, CustomerRepository customerRepository, Gson gson, ModelMapper mapper) {
-        this.bookService = bookService;
+    public DatabaseSeeder(CatalogImportService catalogImportService, CustomerService customerService, TransactionService transactionService, BookRepository bookRepository, CustomerRepository customerRepository, Gson gson, ModelMapper mapper,
+                          @Value("${library.seeder.skip-when-populated:false}") boolean skipWhenPopulated,
+                          @Value("${library.import.books-file:}") String importFile) {
+        this.catalogImportService = catalogImportService;
         this.customerService = customerService;
         this.transactionService = transactionService;
         this.bookRepository = bookRepository;
         this.customerRepository = customerRepository;
         this.gson = gson;
         this.mapper = mapper;
+        this.skipWhenPopulated = skipWhenPopulated;
+        this.importFile = importFile;
     }
 
     @Override
     public void run(String... args){
+        // A CLI catalog import (CatalogImportRunner) loads the catalog itself, without the demo books, customers and loans
+        if (!importFile.isBlank()) {
+            System.out.println("Catalog import requested, skipping seed data.");
+            return;
+        }
+        // Set by the persistent storage profiles (h2-file, mysql), whose catalog survives restarts
+        if (skipWhenPopulated && bookRepository.count() > 0) {
+            System.out.println("Catalog already populated, skipping seed data.");
+            return;
+        }
         List<UUID> customerIds;
         List<UUID> bookIds;
 
@@ -69,42 +90,20 @@ public class DatabaseSeeder implements CommandLineRunner {
     }
 
     private List<UUID> importBooksFromJson(){
-        List<UUID> bookIds = new ArrayList<>();
-        try {
-            Path path = new ClassPathResource("files/json/books.json").getFile().toPath();
-            List<String> lines = Files.readAllLines(path, StandardCharsets.UTF_8);
-            String json = String.join("", lines);
-
-            ImportBookDto[] importBooks = gson.fromJson(json, ImportBookDto[].class);
-            if (importBooks != null) {
-                for (ImportBookDto ib : importBooks) {
-                    CreateNewBook create = mapper.map(ib, CreateNewBook.class);
-                    try {
-                        bookService.createNewBook(create);
-                        UUID bookId = bookRepository.findBooksByIsbn(create.getIsbn())
-                                .orElseThrow(() -> new IllegalStateException("Book not found"))
-                                .getBookId();
-                        bookIds.add(bookId);
-                        System.out.println("Seeded book: " + create.getTitle());
-                    } catch (IllegalArgumentException e) {
-                        System.out.println("Skipping book: " + create.getTitle() + " - " + e.getMessage());
-                    }
-                }
-            }
+        try (Reader reader = new InputStreamReader(new ClassPathResource("files/json/books.json").getInputStream(), StandardCharsets.UTF_8);
+             ImportBookReader books = new ImportBookReader(gson, reader)) {
+            ImportReport report = catalogImportService.importBooks(books);
+            System.out.println("Seeded " + report.getImported() + " books, skipped " + report.getSkipped());
         } catch (Exception e) {
-            System.out.println("Failed to read books JSON via readAllLines: " + e.getMessage());
+            System.out.println("Failed to import books JSON: " + e.getMessage());
         }
-        return bookIds;
+        return bookRepository.findAll(PageRequest.of(0, 3)).map(BookEntity::getBookId).getContent();
     }
 
     private List<UUID> importCustomersFromJson() {
         List<UUID> customerIds = new ArrayList<>();
-        try {
-            Path path = new ClassPathResource("files/json/customers.json").getFile().toPath();
-            List<String> lines = Files.readAllLines(path, StandardCharsets.UTF_8);
-            String json = String.join("", lines);
-
-            ImportCustomerDto[] importCustomers = gson.fromJson(json, ImportCustomerDto[].class);
+        try (Reader reader = new InputStreamReader(new ClassPathResource("files/json/customers.json").getInputStream(), StandardCharsets.UTF_8)) {
+            ImportCustomerDto[] importCustomers = gson.fromJson(reader, ImportCustomerDto[].class);
             if (importCustomers != null) {
                 for (ImportCustomerDto ic : importCustomers) {
                     CreateNewCustomer dto = mapper.map(ic, CreateNewCustomer.class);
@@ -121,18 +120,14 @@ public class DatabaseSeeder implements CommandLineRunner {
                 }
             }
         } catch (Exception e) {
-            System.out.println("Failed to read customers JSON via readAllLines: " + e.getMessage());
+            System.out.println("Failed to read customers JSON: " + e.getMessage());
         }
         return customerIds;
     }
 
     private boolean importTransactionsFromJson() {
-        try {
-            Path path = new ClassPathResource("files/json/transactions.json").getFile().toPath();
-            List<String> lines = Files.readAllLines(path, StandardCharsets.UTF_8);
-            String json = String.join("", lines);
-
-            app.adapters.in.dto.importData.ImportTransactionDto[] txs = gson.fromJson(json, app.adapters.in.dto.importData.ImportTransactionDto[].class);
+        try (Reader reader = new InputStreamReader(new ClassPathResource("files/json/transactions.json").getInputStream(), StandardCharsets.UTF_8)) {
+            app.adapters.in.dto.importData.ImportTransactionDto[] txs = gson.fromJson(reader, app.adapters.in.dto.importData.ImportTransactionDto[].class);
             if (txs == null || txs.length == 0) {
                 System.out.println("No transactions to import.");
                 return true;
@@ -0,0 +1,46 @@
+package app.infrastructure.config.database;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+/**
+ * Sizes the connection pool when {@code spring.datasource.hikari.maximum-pool-size} is not set, using
+ * HikariCP's guideline of {@code cores * 2 + 1} connections, kept at a fixed size (minimum-idle = maximum).
+ * Request threads are no longer the limit once they are virtual, so a bounded pool is what keeps
+ * thousands of concurrent requests from all reaching the database at once; the rest wait up to
+ * {@code connection-timeout} for a connection.
+ * Runs first, before other post-processors wrap the pool.
+ */
+@Component
+public class HikariPoolSizing implements BeanPostProcessor, Ordered {
+    static final int MINIMUM_POOL_SIZE = 10;
+
+    private final Environment environment;
+
+    public HikariPoolSizing(Environment environment) {
+        this.environment = environment;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof HikariDataSource dataSource
+                && !environment.containsProperty("spring.datasource.hikari.maximum-pool-size")) {
+            int size = poolSize(Runtime.getRuntime().availableProcessors());
+            dataSource.setMaximumPoolSize(size);
+            dataSource.setMinimumIdle(size);
+        }
+        return bean;
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    static int poolSize(int cores) {
+        return Math.max(MINIMUM_POOL_SIZE, cores * 2 + 1);
+    }
+}
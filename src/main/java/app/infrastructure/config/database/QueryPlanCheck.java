@@ -0,0 +1,86 @@
+package app.infrastructure.config.database;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Runs EXPLAIN for the lookups on the request path before anything else at startup, and refuses to start
+ * when one of them would scan a whole table, i.e. when an index the migrations are meant to provide is missing.
+ * Understands H2 and MySQL plans; on other databases the check is skipped.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(name = "library.database.verify-query-plans", havingValue = "true", matchIfMissing = true)
+public class QueryPlanCheck implements ApplicationRunner {
+    private static final Logger log = LoggerFactory.getLogger(QueryPlanCheck.class);
+    private static final String ANY_ID = new UUID(0, 0).toString();
+
+    static final List<HotQuery> HOT_QUERIES = List.of(
+            new HotQuery("open loan of a book", "SELECT * FROM transactions WHERE book_book_id = ? AND return_date IS NULL", ANY_ID),
+            new HotQuery("borrowing history", "SELECT * FROM transactions WHERE customer_id = ? ORDER BY borrow_date", ANY_ID),
+            new HotQuery("book by ISBN", "SELECT * FROM books WHERE isbn = ?", "-"),
+            new HotQuery("book by title", "SELECT * FROM books WHERE title = ?", "-"),
+            new HotQuery("authors of a book", "SELECT * FROM author_books WHERE book_id = ?", ANY_ID),
+            new HotQuery("books of an author", "SELECT * FROM author_books WHERE author_id = ?", ANY_ID),
+            new HotQuery("author by name", "SELECT * FROM authors WHERE name = ?", "-"),
+            new HotQuery("customer by name", "SELECT * FROM customers WHERE name = ?", "-"),
+            new HotQuery("customers by search word", "SELECT customer_id FROM customer_search_tokens WHERE token >= ? AND token < ?", "a", "b"),
+            new HotQuery("overdue loans", "SELECT * FROM transactions WHERE return_date IS NULL AND due_date < ? ORDER BY due_date, transaction_id", "2000-01-01"));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public QueryPlanCheck(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        List<String> scans = fullScans(HOT_QUERIES);
+        if (!scans.isEmpty()) {
+            throw new IllegalStateException("Hot queries scan whole tables, check the indexes in db/migration: " + String.join("; ", scans));
+        }
+    }
+
+    /**
+     * @return the queries whose plan reads every row of a table, each as {@code name (sql)}
+     */
+    List<String> fullScans(List<HotQuery> queries) {
+        String database = jdbcTemplate.execute((ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        if (!"H2".equals(database) && !"MySQL".equals(database)) {
+            log.info("Query plan check skipped: plans of {} are not understood", database);
+            return List.of();
+        }
+        List<String> scans = queries.stream()
+                .filter(query -> scansTable(database, jdbcTemplate.queryForList("EXPLAIN " + query.sql(), query.parameters())))
+                .map(query -> query.name() + " (" + query.sql() + ")")
+                .toList();
+        log.info("Query plan check: {} of {} hot queries scan a whole table", scans.size(), queries.size());
+        return scans;
+    }
+
+    // H2 names the access path in a comment ("/* PUBLIC.BOOKS.tableScan */"), MySQL reports access type ALL.
+    private static boolean scansTable(String database, List<Map<String, Object>> plan) {
+        if ("H2".equals(database)) {
+            return plan.stream()
+                    .flatMap(row -> row.values().stream())
+                    .anyMatch(value -> Objects.toString(value).contains(".tableScan"));
+        }
+        return plan.stream().anyMatch(row -> "ALL".equals(row.get("type")));
+    }
+
+    record HotQuery(String name, String sql, Object... parameters) {
+    }
+}
@@ -0,0 +1,50 @@
+package app.infrastructure.config.events;
+
+import app.domain.models.CirculationEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Appends published circulation events to {@code library.events.file-sink.path}, one JSON object per line,
+ * one write and flush per batch.
+ */
+@Component
+@ConditionalOnProperty(name = "library.events.file-sink.path")
+public class CirculationEventFileSink implements CirculationEventSubscriber {
+    private final Path path;
+    private final ObjectMapper objectMapper;
+
+    public CirculationEventFileSink(@Value("${library.events.file-sink.path}") Path path, ObjectMapper objectMapper) {
+        this.path = path;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void onEvents(List<CirculationEvent> events) {
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                for (CirculationEvent event : events) {
+                    writer.write(objectMapper.writeValueAsString(event));
+                    writer.newLine();
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not append circulation events to " + path, e);
+        }
+    }
+}
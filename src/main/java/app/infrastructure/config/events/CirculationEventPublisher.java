@@ -0,0 +1,124 @@
+package app.infrastructure.config.events;
+
+import app.domain.models.CirculationEvent;
+import app.domain.port.CirculationEventDao;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Relays the circulation_events outbox to the {@link CirculationEventSubscriber}s: polls for the events after
+ * the last one published and hands them over in id order, in batches of up to {@code batch-size}.
+ * The id of the last event published is stored after every batch and publishing resumes after it on startup.
+ * A batch a durable subscriber fails to take is not passed; it is offered again, to every subscriber, on the
+ * next poll, so delivery is at least once.
+ * Event ids are assigned on insert, not on commit, so a slower transaction can still fill a hole behind ids
+ * already visible. Publishing stops at such a gap until it is filled or older than {@code gap-timeout}
+ * (ids lost to a rollback are never filled).
+ */
+@Component
+@ConditionalOnProperty(name = "library.events.enabled", havingValue = "true", matchIfMissing = true)
+public class CirculationEventPublisher {
+    private static final Logger log = LoggerFactory.getLogger(CirculationEventPublisher.class);
+
+    private final CirculationEventDao eventDao;
+    private final ObjectProvider<CirculationEventSubscriber> subscribers;
+    private final int batchSize;
+    private final Duration gapTimeout;
+    private final Clock clock;
+    private long lastPublished;
+    private long gapAt;
+    private Instant gapSince;
+
+    @Autowired
+    public CirculationEventPublisher(CirculationEventDao eventDao,
+                                     ObjectProvider<CirculationEventSubscriber> subscribers,
+                                     @Value("${library.events.batch-size:500}") int batchSize,
+                                     @Value("${library.events.gap-timeout:5s}") Duration gapTimeout) {
+        this(eventDao, subscribers, batchSize, gapTimeout, Clock.systemUTC());
+    }
+
+    CirculationEventPublisher(CirculationEventDao eventDao, ObjectProvider<CirculationEventSubscriber> subscribers,
+                              int batchSize, Duration gapTimeout, Clock clock) {
+        this.eventDao = eventDao;
+        this.subscribers = subscribers;
+        this.batchSize = batchSize;
+        this.gapTimeout = gapTimeout;
+        this.clock = clock;
+        this.lastPublished = eventDao.lastPublishedId();
+    }
+
+    public synchronized long getLastPublished() {
+        return lastPublished;
+    }
+
+    @Scheduled(fixedDelayString = "${library.events.poll-interval:500}")
+    public synchronized void publishPending() {
+        while (true) {
+            List<CirculationEvent> pending = eventDao.findAfter(lastPublished, batchSize);
+            List<CirculationEvent> ready = contiguousPrefix(pending);
+            if (ready.isEmpty()) {
+                return;
+            }
+            if (!dispatch(ready)) {
+                return;
+            }
+            lastPublished = ready.getLast().getEventId();
+            eventDao.markPublished(lastPublished);
+            if (ready.size() < pending.size() || pending.size() < batchSize) {
+                return;
+            }
+        }
+    }
+
+    private List<CirculationEvent> contiguousPrefix(List<CirculationEvent> pending) {
+        long expected = lastPublished + 1;
+        int ready = 0;
+        for (CirculationEvent event : pending) {
+            if (event.getEventId() != expected) {
+                if (!gapExpired(expected)) {
+                    break;
+                }
+                log.warn("Skipping circulation event ids {}..{}, still missing after {}", expected, event.getEventId() - 1, gapTimeout);
+                gapSince = null;
+            }
+            ready++;
+            expected = event.getEventId() + 1;
+        }
+        return pending.subList(0, ready);
+    }
+
+    private boolean gapExpired(long missingId) {
+        Instant now = clock.instant();
+        if (gapSince == null || gapAt != missingId) {
+            gapAt = missingId;
+            gapSince = now;
+        }
+        return !now.isBefore(gapSince.plus(gapTimeout));
+    }
+
+    // False when a durable subscriber failed, so the batch is kept for the next poll
+    private boolean dispatch(List<CirculationEvent> events) {
+        boolean delivered = true;
+        for (CirculationEventSubscriber subscriber : subscribers.orderedStream().toList()) {
+            try {
+                subscriber.onEvents(events);
+            } catch (RuntimeException e) {
+                log.warn("Circulation event subscriber {} failed on events {}..{}: {}", subscriber.getClass().getSimpleName(),
+                        events.getFirst().getEventId(), events.getLast().getEventId(), e.getMessage());
+                delivered &= !subscriber.isDurable();
+            }
+        }
+        return delivered;
+    }
+}
@@ -0,0 +1,22 @@
+package app.infrastructure.config.events;
+
+import app.domain.models.CirculationEvent;
+
+import java.util.List;
+
+/**
+ * Receives committed circulation events from the {@link CirculationEventPublisher}, in event id order.
+ * Called on the publisher's thread; a subscriber that needs more time should hand the batch off.
+ * A batch can be offered again after a failure, so subscribers must tolerate events they have already seen.
+ */
+public interface CirculationEventSubscriber {
+    void onEvents(List<CirculationEvent> events);
+
+    /**
+     * Whether a failure of this subscriber holds the batch back for a retry. Subscribers that keep no
+     * record of their own, such as live streams, return false so they cannot stall publishing.
+     */
+    default boolean isDurable() {
+        return true;
+    }
+}
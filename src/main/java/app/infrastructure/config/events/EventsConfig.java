@@ -0,0 +1,9 @@
+package app.infrastructure.config.events;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration
+@EnableScheduling
+public class EventsConfig {
+}
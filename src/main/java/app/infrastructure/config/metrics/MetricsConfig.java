@@ -0,0 +1,32 @@
+package app.infrastructure.config.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.function.SingletonSupplier;
+
+import javax.sql.DataSource;
+
+@Configuration
+public class MetricsConfig {
+    @Bean
+    public SqlStatementCounter sqlStatementCounter(MeterRegistry registry) {
+        return new SqlStatementCounter(registry);
+    }
+
+    // The counter is resolved on first use: the meter registry is not yet available when the data source is created.
+    @Bean
+    public static BeanPostProcessor sqlStatementCounting(ObjectProvider<SqlStatementCounter> sqlStatementCounter) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof StatementCountingDataSource)) {
+                    return new StatementCountingDataSource(dataSource, SingletonSupplier.of(sqlStatementCounter::getObject));
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,87 @@
+package app.infrastructure.config.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * Times every call into an {@code app.domain.port} interface ({@code library.port.calls}, tagged by port, method
+ * and outcome) and records how many rows it returned ({@code library.port.rows}).
+ * Runs outside the caching and transaction advice, so cache hits are timed as well.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class PortMetricsAspect {
+    private static final String PORT_PACKAGE = "app.domain.port";
+
+    private final MeterRegistry registry;
+
+    public PortMetricsAspect(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Around("execution(* app.domain.port.*.*(..))")
+    public Object measure(ProceedingJoinPoint joinPoint) throws Throwable {
+        String port = portName(joinPoint);
+        String method = joinPoint.getSignature().getName();
+        Timer.Sample sample = Timer.start(registry);
+        String outcome = "error";
+        try {
+            Object result = joinPoint.proceed();
+            outcome = "success";
+            long rows = rows(result);
+            if (rows >= 0) {
+                DistributionSummary.builder("library.port.rows")
+                        .description("Rows returned by a port call")
+                        .tags("port", port, "method", method)
+                        .register(registry)
+                        .record(rows);
+                RequestStatistics.rowsReturned(rows);
+            }
+            return result;
+        } finally {
+            sample.stop(Timer.builder("library.port.calls")
+                    .description("Latency of port calls")
+                    .tags("port", port, "method", method, "outcome", outcome)
+                    .register(registry));
+        }
+    }
+
+    private static String portName(ProceedingJoinPoint joinPoint) {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        Class<?> target = AopUtils.getTargetClass(joinPoint.getTarget());
+        for (Class<?> type : ClassUtils.getAllInterfacesForClassAsSet(target)) {
+            if (type.getPackageName().equals(PORT_PACKAGE)
+                    && ClassUtils.hasMethod(type, method.getName(), method.getParameterTypes())) {
+                return type.getSimpleName();
+            }
+        }
+        return target.getSimpleName();
+    }
+
+    static long rows(Object result) {
+        return switch (result) {
+            case Collection<?> collection -> collection.size();
+            case Slice<?> slice -> slice.getNumberOfElements();
+            case Window<?> window -> window.size();
+            case Optional<?> optional -> optional.isPresent() ? 1 : 0;
+            case null, default -> -1;
+        };
+    }
+}
@@ -0,0 +1,53 @@
+package app.infrastructure.config.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Records, per handler (method and URI template), how many SQL statements, port rows and cache hits
+ * a request cost: {@code library.http.sql.statements}, {@code library.http.port.rows}, {@code library.http.cache.hits}.
+ * Latency per handler comes from Spring's own {@code http.server.requests} timer.
+ */
+@Component
+public class RequestMetricsFilter extends OncePerRequestFilter {
+    private final MeterRegistry registry;
+
+    public RequestMetricsFilter(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull FilterChain filterChain)
+            throws ServletException, IOException {
+        RequestStatistics statistics = RequestStatistics.begin();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestStatistics.end();
+            Object uri = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            if (uri != null) {
+                record("library.http.sql.statements", "SQL statements prepared while handling a request", request, uri, statistics.getStatements());
+                record("library.http.port.rows", "Rows returned by port calls while handling a request", request, uri, statistics.getRows());
+                record("library.http.cache.hits", "Catalog cache hits while handling a request", request, uri, statistics.getCacheHits());
+            }
+        }
+    }
+
+    private void record(String name, String description, HttpServletRequest request, Object uri, long amount) {
+        DistributionSummary.builder(name)
+                .description(description)
+                .tags("method", request.getMethod(), "uri", uri.toString())
+                .register(registry)
+                .record(amount);
+    }
+}
@@ -0,0 +1,57 @@
+package app.infrastructure.config.metrics;
+
+/**
+ * Tallies of the work done for the current request: SQL statements, rows returned by ports and cache hits.
+ * Bound to the thread that handles the request; work done outside a request (startup, imports on other
+ * threads) is not attributed to any request.
+ */
+public final class RequestStatistics {
+    private static final ThreadLocal<RequestStatistics> CURRENT = new ThreadLocal<>();
+
+    private long statements;
+    private long rows;
+    private long cacheHits;
+
+    static RequestStatistics begin() {
+        RequestStatistics statistics = new RequestStatistics();
+        CURRENT.set(statistics);
+        return statistics;
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    static void statementPrepared() {
+        RequestStatistics statistics = CURRENT.get();
+        if (statistics != null) {
+            statistics.statements++;
+        }
+    }
+
+    static void rowsReturned(long rows) {
+        RequestStatistics statistics = CURRENT.get();
+        if (statistics != null) {
+            statistics.rows += rows;
+        }
+    }
+
+    public static void cacheHit() {
+        RequestStatistics statistics = CURRENT.get();
+        if (statistics != null) {
+            statistics.cacheHits++;
+        }
+    }
+
+    long getStatements() {
+        return statements;
+    }
+
+    long getRows() {
+        return rows;
+    }
+
+    long getCacheHits() {
+        return cacheHits;
+    }
+}
@@ -0,0 +1,47 @@
+package app.infrastructure.config.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.Locale;
+
+/**
+ * Counts SQL statements by kind ({@code library.sql.statements}) and adds them to the current request's
+ * {@link RequestStatistics}. Fed by {@link StatementCountingDataSource}, so Hibernate and JdbcTemplate
+ * statements are counted alike.
+ */
+public class SqlStatementCounter {
+    private final Counter selects;
+    private final Counter inserts;
+    private final Counter updates;
+    private final Counter deletes;
+    private final Counter others;
+
+    public SqlStatementCounter(MeterRegistry registry) {
+        this.selects = counter(registry, "select");
+        this.inserts = counter(registry, "insert");
+        this.updates = counter(registry, "update");
+        this.deletes = counter(registry, "delete");
+        this.others = counter(registry, "other");
+    }
+
+    private static Counter counter(MeterRegistry registry, String kind) {
+        return Counter.builder("library.sql.statements")
+                .description("SQL statements prepared or executed over JDBC")
+                .tag("kind", kind)
+                .register(registry);
+    }
+
+    public void count(String sql) {
+        String head = sql.stripLeading();
+        String keyword = head.substring(0, Math.min(6, head.length())).toLowerCase(Locale.ROOT);
+        switch (keyword) {
+            case "select" -> selects.increment();
+            case "insert" -> inserts.increment();
+            case "update" -> updates.increment();
+            case "delete" -> deletes.increment();
+            default -> others.increment();
+        }
+        RequestStatistics.statementPrepared();
+    }
+}
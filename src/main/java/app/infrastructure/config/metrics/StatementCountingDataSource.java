@@ -0,0 +1,78 @@
+package app.infrastructure.config.metrics;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Hands out connections that report every statement to the {@link SqlStatementCounter}: each
+ * {@code prepareStatement}/{@code prepareCall}, and each SQL string run on a plain {@link Statement}.
+ * A batch counts once per prepared statement, however many rows it carries.
+ */
+public class StatementCountingDataSource extends DelegatingDataSource {
+    private static final Set<String> PREPARING = Set.of("prepareStatement", "prepareCall");
+    private static final Set<String> EXECUTING = Set.of("execute", "executeQuery", "executeUpdate", "executeLargeUpdate", "addBatch");
+
+    private final Supplier<SqlStatementCounter> counter;
+
+    public StatementCountingDataSource(DataSource target, Supplier<SqlStatementCounter> counter) {
+        super(target);
+        this.counter = counter;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return counting(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return counting(super.getConnection(username, password));
+    }
+
+    private Connection counting(Connection connection) {
+        return proxy(Connection.class, connection, (method, args) -> {
+            if (PREPARING.contains(method.getName()) && args != null && args[0] instanceof String sql) {
+                counter.get().count(sql);
+            }
+        });
+    }
+
+    private Statement counting(Statement statement) {
+        return proxy(Statement.class, statement, (method, args) -> {
+            if (EXECUTING.contains(method.getName()) && args != null && args[0] instanceof String sql) {
+                counter.get().count(sql);
+            }
+        });
+    }
+
+    private <T> T proxy(Class<T> type, T target, BiConsumer<Method, Object[]> beforeCall) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "equals" -> {
+                    return proxy == args[0];
+                }
+                case "hashCode" -> {
+                    return System.identityHashCode(proxy);
+                }
+                default -> beforeCall.accept(method, args);
+            }
+            Object result;
+            try {
+                result = method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+            return method.getName().equals("createStatement") ? counting((Statement) result) : result;
+        }));
+    }
+}
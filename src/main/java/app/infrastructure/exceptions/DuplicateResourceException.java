@@ -0,0 +1,10 @@
+package app.infrastructure.exceptions;
+
+/**
+ * A create or update clashed with a unique key (book title or ISBN, author name).
+ */
+public class DuplicateResourceException extends IllegalArgumentException {
+    public DuplicateResourceException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,17 @@
+-- Indexes behind the lookups checked by QueryPlanCheck at startup.
+
+-- Open loan of a book (return_date IS NULL) and a book's history: closeOpenLoan, findByBookBookId
+CREATE INDEX idx_transactions_book_return ON transactions (book_book_id, return_date);
+-- Borrowing history of a customer, in borrow order: findByCustomerCustomerId
+CREATE INDEX idx_transactions_customer_borrow ON transactions (customer_id, borrow_date);
+
+-- findBooksByIsbn, findBookByTitle
+CREATE INDEX idx_books_isbn ON books (isbn);
+CREATE INDEX idx_books_title ON books (title);
+
+-- Books to authors; the primary key (author_id, book_id) already serves authors to books
+CREATE INDEX idx_author_books_book ON author_books (book_id, author_id);
+
+-- Customer lookups by name and e-mail
+CREATE INDEX idx_customers_name ON customers (name);
+CREATE INDEX idx_customers_email ON customers (email);
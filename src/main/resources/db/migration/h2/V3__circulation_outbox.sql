@@ -0,0 +1,12 @@
+-- Append-only log of borrows and returns, written in the transaction that changes the loan.
+-- event_id orders the log; consumers resume after the last id they have seen.
+CREATE TABLE circulation_events (
+    event_id       BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    event_type     VARCHAR(16) NOT NULL,
+    transaction_id UUID NOT NULL,
+    book_id        UUID,
+    customer_id    UUID,
+    event_date     DATE,
+    recorded_at    TIMESTAMP NOT NULL,
+    CONSTRAINT pk_circulation_events PRIMARY KEY (event_id)
+);
@@ -0,0 +1,6 @@
+-- Titles and ISBNs are unique, so book creation relies on the constraints instead of looking for clashes first.
+-- The unique indexes replace the plain ones from V2 for findBookByTitle and findBooksByIsbn.
+DROP INDEX idx_books_isbn;
+DROP INDEX idx_books_title;
+ALTER TABLE books ADD CONSTRAINT uk_books_isbn UNIQUE (isbn);
+ALTER TABLE books ADD CONSTRAINT uk_books_title UNIQUE (title);
@@ -0,0 +1,11 @@
+-- Loan counters kept on the customer row by the borrow and return paths, so showing a customer or checking
+-- the active-loan limit needs no scan of its borrowing history. overdue_loans is recounted by every overdue scan.
+ALTER TABLE customers ADD COLUMN active_loans INT DEFAULT 0 NOT NULL;
+ALTER TABLE customers ADD COLUMN total_loans INT DEFAULT 0 NOT NULL;
+ALTER TABLE customers ADD COLUMN overdue_loans INT DEFAULT 0 NOT NULL;
+
+UPDATE customers c SET
+    active_loans = (SELECT COUNT(*) FROM transactions t WHERE t.customer_id = c.customer_id AND t.return_date IS NULL),
+    total_loans = (SELECT COUNT(*) FROM transactions t WHERE t.customer_id = c.customer_id),
+    overdue_loans = (SELECT COUNT(*) FROM transactions t
+                     WHERE t.customer_id = c.customer_id AND t.return_date IS NULL AND t.due_date < CURRENT_DATE);
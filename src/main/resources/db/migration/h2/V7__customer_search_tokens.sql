@@ -0,0 +1,11 @@
+-- Lower-case words of each customer's name and e-mail address, written by CustomerSearchIndex.
+-- Customer search seeks each query word as a prefix range on the primary key instead of scanning
+-- customers and their loans with LIKE '%...%'. Existing customers are indexed at startup.
+CREATE TABLE customer_search_tokens (
+    token       VARCHAR(64) NOT NULL,
+    customer_id UUID NOT NULL,
+    CONSTRAINT pk_customer_search_tokens PRIMARY KEY (token, customer_id),
+    CONSTRAINT fk_customer_search_tokens_customer FOREIGN KEY (customer_id) REFERENCES customers (customer_id) ON DELETE CASCADE
+);
+-- Re-indexing a renamed customer and finding customers without words
+CREATE INDEX idx_customer_search_tokens_customer ON customer_search_tokens (customer_id);
@@ -0,0 +1,9 @@
+-- Id of the last circulation event the publisher handed to its subscribers; one row, updated after each
+-- delivered batch, so a restart resumes where publishing stopped. Events already in the log count as published.
+CREATE TABLE circulation_publisher_position (
+    id            INT NOT NULL,
+    last_event_id BIGINT NOT NULL,
+    CONSTRAINT pk_circulation_publisher_position PRIMARY KEY (id)
+);
+INSERT INTO circulation_publisher_position (id, last_event_id)
+SELECT 1, COALESCE(MAX(event_id), 0) FROM circulation_events;
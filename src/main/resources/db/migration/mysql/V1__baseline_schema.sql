@@ -0,0 +1,59 @@
+-- MySQL counterpart of db/migration/h2/V1. UUIDs are CHAR(36) (hibernate.type.preferred_uuid_jdbc_type=CHAR).
+
+CREATE TABLE authors (
+    author_id CHAR(36) NOT NULL,
+    name      VARCHAR(255) NOT NULL,
+    bio       VARCHAR(500),
+    CONSTRAINT pk_authors PRIMARY KEY (author_id),
+    CONSTRAINT uk_authors_name UNIQUE (name)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+CREATE TABLE books (
+    book_id          CHAR(36) NOT NULL,
+    title            VARCHAR(255) NOT NULL,
+    isbn             VARCHAR(255) NOT NULL,
+    publication_year INTEGER NOT NULL,
+    availability     BIT(1) NOT NULL,
+    total_copies     INTEGER NOT NULL,
+    available_copies INTEGER NOT NULL,
+    created_at       DATE NOT NULL,
+    version          BIGINT,
+    CONSTRAINT pk_books PRIMARY KEY (book_id)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+CREATE TABLE author_books (
+    author_id CHAR(36) NOT NULL,
+    book_id   CHAR(36) NOT NULL,
+    CONSTRAINT pk_author_books PRIMARY KEY (author_id, book_id),
+    CONSTRAINT fk_author_books_author FOREIGN KEY (author_id) REFERENCES authors (author_id),
+    CONSTRAINT fk_author_books_book FOREIGN KEY (book_id) REFERENCES books (book_id)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+CREATE TABLE customers (
+    customer_id CHAR(36) NOT NULL,
+    name        VARCHAR(255),
+    email       VARCHAR(255),
+    privileges  BIT(1) NOT NULL,
+    CONSTRAINT pk_customers PRIMARY KEY (customer_id)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+CREATE TABLE transactions (
+    transaction_id CHAR(36) NOT NULL,
+    borrow_date    DATE,
+    due_date       DATE,
+    return_date    DATE,
+    book_book_id   CHAR(36),
+    customer_id    CHAR(36) NOT NULL,
+    CONSTRAINT pk_transactions PRIMARY KEY (transaction_id),
+    CONSTRAINT fk_transactions_book FOREIGN KEY (book_book_id) REFERENCES books (book_id),
+    CONSTRAINT fk_transactions_customer FOREIGN KEY (customer_id) REFERENCES customers (customer_id)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+CREATE TABLE user_entity (
+    id       CHAR(36) NOT NULL,
+    username VARCHAR(255) NOT NULL,
+    password VARCHAR(255) NOT NULL,
+    role     VARCHAR(255) NOT NULL,
+    CONSTRAINT pk_user_entity PRIMARY KEY (id),
+    CONSTRAINT uk_user_entity_username UNIQUE (username)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
@@ -0,0 +1,11 @@
+-- MySQL counterpart of db/migration/h2/V3: append-only log of borrows and returns, ordered by event_id.
+CREATE TABLE circulation_events (
+    event_id       BIGINT NOT NULL AUTO_INCREMENT,
+    event_type     VARCHAR(16) NOT NULL,
+    transaction_id CHAR(36) NOT NULL,
+    book_id        CHAR(36),
+    customer_id    CHAR(36),
+    event_date     DATE,
+    recorded_at    TIMESTAMP(3) NOT NULL,
+    CONSTRAINT pk_circulation_events PRIMARY KEY (event_id)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
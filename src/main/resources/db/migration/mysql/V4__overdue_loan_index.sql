@@ -0,0 +1,3 @@
+-- Open loans (return_date IS NULL) in due-date order, so the overdue scan reads only loans past their due date
+-- and pages through them by (due_date, transaction_id) without sorting.
+CREATE INDEX idx_transactions_overdue ON transactions (return_date, due_date, transaction_id);
@@ -0,0 +1,7 @@
+-- MySQL counterpart of db/migration/h2/V5: titles and ISBNs are unique, replacing the plain indexes from V2.
+-- Fails on a database that already holds duplicate titles or ISBNs; those have to be merged first.
+ALTER TABLE books
+    DROP INDEX idx_books_isbn,
+    DROP INDEX idx_books_title,
+    ADD CONSTRAINT uk_books_isbn UNIQUE (isbn),
+    ADD CONSTRAINT uk_books_title UNIQUE (title);
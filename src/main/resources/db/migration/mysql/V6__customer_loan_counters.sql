@@ -0,0 +1,11 @@
+-- MySQL counterpart of db/migration/h2/V6: loan counters on the customer row, filled from the existing loans.
+ALTER TABLE customers
+    ADD COLUMN active_loans INT NOT NULL DEFAULT 0,
+    ADD COLUMN total_loans INT NOT NULL DEFAULT 0,
+    ADD COLUMN overdue_loans INT NOT NULL DEFAULT 0;
+
+UPDATE customers c SET
+    active_loans = (SELECT COUNT(*) FROM transactions t WHERE t.customer_id = c.customer_id AND t.return_date IS NULL),
+    total_loans = (SELECT COUNT(*) FROM transactions t WHERE t.customer_id = c.customer_id),
+    overdue_loans = (SELECT COUNT(*) FROM transactions t
+                     WHERE t.customer_id = c.customer_id AND t.return_date IS NULL AND t.due_date < CURRENT_DATE);
@@ -0,0 +1,10 @@
+-- MySQL counterpart of db/migration/h2/V7: lower-case words of each customer's name and e-mail address.
+-- Tokens compare in binary order, matching the prefix ranges CustomerSearchIndex seeks.
+CREATE TABLE customer_search_tokens (
+    token       VARCHAR(64) CHARACTER SET utf8mb4 COLLATE utf8mb4_bin NOT NULL,
+    customer_id CHAR(36) NOT NULL,
+    CONSTRAINT pk_customer_search_tokens PRIMARY KEY (token, customer_id),
+    CONSTRAINT fk_customer_search_tokens_customer FOREIGN KEY (customer_id) REFERENCES customers (customer_id) ON DELETE CASCADE
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+-- Re-indexing a renamed customer and finding customers without words
+CREATE INDEX idx_customer_search_tokens_customer ON customer_search_tokens (customer_id);
@@ -0,0 +1,8 @@
+-- MySQL counterpart of db/migration/h2/V8: the one-row publish position of the circulation outbox.
+CREATE TABLE circulation_publisher_position (
+    id            INT NOT NULL,
+    last_event_id BIGINT NOT NULL,
+    CONSTRAINT pk_circulation_publisher_position PRIMARY KEY (id)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+INSERT INTO circulation_publisher_position (id, last_event_id)
+SELECT 1, COALESCE(MAX(event_id), 0) FROM circulation_events;
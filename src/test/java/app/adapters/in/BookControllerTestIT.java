@@ -1,12 +1,14 @@
 package app.adapters.in;
 
 import app.adapters.in.dto.CreateNewAuthor;
+import app.adapters.out.H2.entity.BookEntity;
 import app.adapters.out.H2.repositories.AuthorRepository;
 import app.adapters.out.H2.repositories.BookRepository;
 import app.domain.models.Author;
 import app.domain.models.Book;
 import app.domain.services.BookService;
 import app.adapters.in.dto.CreateNewBook;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.hamcrest.Matchers;
 import org.junit.jupiter.api.AfterEach;
@@ -19,8 +21,10 @@ import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
@@ -70,6 +74,54 @@ public class BookControllerTestIT {
         assertEquals("Test Author", newBook.getAuthors().getFirst().getName());
     }
 
+    @Test
+    public void testCreateNewBook_duplicateIsbn_isConflict() throws Exception {
+        CreateNewBook original = new CreateNewBook("Original Edition", "DUPLICATE-1",
+                2021, List.of(new CreateNewAuthor("Duplicate Author", "test")));
+        CreateNewBook clash = new CreateNewBook("Pirated Edition", "DUPLICATE-1",
+                2022, List.of(new CreateNewAuthor("Pirate Author", "test")));
+
+        mockMvc.perform(post("/books")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(original)))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/books")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(clash)))
+                .andExpect(status().isConflict())
+                .andExpect(content().string("Book with the same isbn already exists."));
+
+        assertTrue(bookRepository.findBookByTitle("Pirated Edition").isEmpty());
+        assertTrue(authorRepository.findByName("Pirate Author").isEmpty());
+    }
+
+    @Test
+    public void testCreateNewBook_withCopies_andResizeHolding() throws Exception {
+        CreateNewBook newBook = new CreateNewBook("Copied Book", "COPIED-1",
+                2021, List.of(new CreateNewAuthor("Copy Author", "test")), 3);
+
+        MvcResult created = mockMvc.perform(post("/books")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(newBook)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalCopies").value(3))
+                .andExpect(jsonPath("$.availableCopies").value(3))
+                .andReturn();
+        UUID bookId = UUID.fromString(objectMapper.readTree(created.getResponse().getContentAsString()).get("bookId").asText());
+
+        mockMvc.perform(put("/books/" + bookId + "/copies").param("total", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalCopies").value(5));
+        BookEntity stored = bookRepository.findById(bookId).orElseThrow();
+        assertEquals(5, stored.getTotalCopies());
+        assertEquals(5, stored.getAvailableCopies());
+
+        mockMvc.perform(put("/books/" + bookId + "/copies").param("total", "0"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(put("/books/" + UUID.randomUUID() + "/copies").param("total", "2"))
+                .andExpect(status().isNotFound());
+    }
+
     @Test
     public void testGetAllBooks() throws Exception {
         mockMvc.perform(get("/books/paginated")
@@ -105,6 +157,56 @@ public class BookControllerTestIT {
                 .andExpect(jsonPath("$.data[4].title").value("War and Peace"));
     }
     @Test
+    public void testGetAllBooks_WithCursor_WalksTheCatalogInSortOrder() throws Exception {
+        List<String> titles = new ArrayList<>();
+        String cursor = "";
+        while (cursor != null) {
+            MvcResult result = mockMvc.perform(get("/books/paginated")
+                            .param("size", "3")
+                            .param("sortBy", "title")
+                            .param("cursor", cursor))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.totalItems").doesNotExist())
+                    .andReturn();
+            JsonNode body = objectMapper.readTree(result.getResponse().getContentAsString());
+            body.get("data").forEach(book -> titles.add(book.get("title").asText()));
+
+            String next = result.getResponse().getHeader("next");
+            cursor = body.has("nextCursor") ? body.get("nextCursor").asText() : null;
+            assertEquals(cursor != null, next != null);
+            if (next != null) {
+                assertTrue(next.contains("cursor=" + cursor));
+            }
+        }
+
+        List<String> expected = bookRepository.findAll().stream().map(BookEntity::getTitle).sorted().toList();
+        assertEquals(expected, titles);
+    }
+
+    @Test
+    public void testGetAllBooks_WithMalformedCursor_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(get("/books/paginated")
+                        .param("sortBy", "title")
+                        .param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void testGetAllBooks_WithoutCount_OmitsTotals() throws Exception {
+        mockMvc.perform(get("/books/paginated")
+                        .param("page", "0")
+                        .param("size", "5")
+                        .param("sortBy", "title")
+                        .param("withCount", "false"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(5))
+                .andExpect(jsonPath("$.data[0].title").value("1984"))
+                .andExpect(jsonPath("$.currentPage").value(0))
+                .andExpect(jsonPath("$.totalItems").doesNotExist())
+                .andExpect(jsonPath("$.totalPages").doesNotExist())
+                .andExpect(header().string("next", Matchers.containsString("page=1")));
+    }
+    @Test
     public void testUpdateBook() throws Exception {
         Book createdBook = bookService.createNewBook(
                 new CreateNewBook("Test Book", "1234567890",
@@ -196,6 +298,51 @@ public class BookControllerTestIT {
                 .andExpect(jsonPath("$.data.bookId").value(book.getBookId().toString()));
     }
 
+    @Test
+    void testGetBookById_ConditionalGet_ReturnsNotModified() throws Exception {
+        Book book = bookService.createNewBook(
+                new CreateNewBook("Test Book", "1234567890",
+                        2021, List.of(
+                        new CreateNewAuthor("Test Author", "test"))));
+
+        String etag = mockMvc.perform(get("/books/{id}", book.getBookId()))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", Matchers.startsWith("\"0")))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/books/{id}", book.getBookId()).header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void testGetBookById_UpdateChangesEtag() throws Exception {
+        Book createdBook = bookService.createNewBook(
+                new CreateNewBook("Test Book", "1234567890",
+                        2021, List.of(
+                        new CreateNewAuthor("Test Author", "test"))));
+        String etag = mockMvc.perform(get("/books/{id}", createdBook.getBookId()))
+                .andReturn().getResponse().getHeader("ETag");
+
+        Book bookToUpdate = new Book();
+        bookToUpdate.setTitle("Updated Title");
+        bookToUpdate.setIsbn("1234567890");
+        bookToUpdate.setPublicationYear(2021);
+        bookToUpdate.setAvailable(true);
+        bookToUpdate.setCreatedAt(LocalDate.now());
+        bookToUpdate.setAuthors(Set.of(new Author("Updated Author", "updated")));
+        mockMvc.perform(put("/books/" + createdBook.getBookId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(bookToUpdate)))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/books/{id}", createdBook.getBookId()).header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", Matchers.not(etag)))
+                .andExpect(jsonPath("$.data.title").value("Updated Title"));
+    }
+
     @Test
     void testGetBookById_NotFound_Method() throws Exception {
         UUID nonExistentId = UUID.randomUUID();
@@ -323,6 +470,15 @@ public class BookControllerTestIT {
                 .andExpect(jsonPath("$[0].title").value("The Odyssey"));
     }
 
+    @Test
+    public void testGetBookByQuery_unknownSortProperty() throws Exception {
+        mockMvc.perform(get("/books")
+                        .param("query", "The")
+                        .param("sortBy", "availability"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Books cannot be sorted by availability"));
+    }
+
     @Test
     public void testGetBookByQuery_NotFound() throws Exception {
         mockMvc.perform(get("/books")
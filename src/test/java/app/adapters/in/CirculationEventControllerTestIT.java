@@ -0,0 +1,187 @@
+package app.adapters.in;
+
+import app.adapters.in.dto.CreateNewAuthor;
+import app.adapters.in.dto.CreateNewBook;
+import app.adapters.in.dto.CreateNewCustomer;
+import app.adapters.out.H2.repositories.AuthorRepository;
+import app.adapters.out.H2.repositories.BookRepository;
+import app.adapters.out.H2.repositories.CustomerRepository;
+import app.adapters.out.H2.repositories.TransactionRepository;
+import app.domain.models.Book;
+import app.domain.models.CirculationEvent;
+import app.domain.models.CirculationEventType;
+import app.domain.models.Customer;
+import app.domain.models.Transaction;
+import app.domain.port.CirculationEventDao;
+import app.domain.services.BookService;
+import app.domain.services.CustomerService;
+import app.domain.services.TransactionService;
+import app.infrastructure.config.events.CirculationEventPublisher;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+@SpringBootTest(properties = "library.events.poll-interval=3600000")
+@AutoConfigureMockMvc
+@WithMockUser(username = "user")
+@Tag("integration")
+class CirculationEventControllerTestIT {
+    private static Path sinkFile;
+
+    @DynamicPropertySource
+    static void fileSink(DynamicPropertyRegistry registry) throws IOException {
+        sinkFile = Files.createTempDirectory("circulation-events").resolve("events.jsonl");
+        registry.add("library.events.file-sink.path", sinkFile::toString);
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private CirculationEventDao circulationEventDao;
+    @Autowired
+    private CirculationEventPublisher publisher;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private TransactionService transactionService;
+    @Autowired
+    private BookService bookService;
+    @Autowired
+    private CustomerService customerService;
+    @Autowired
+    private TransactionRepository transactionRepository;
+    @Autowired
+    private BookRepository bookRepository;
+    @Autowired
+    private CustomerRepository customerRepository;
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    private Customer customer;
+    private Book book;
+    private long before;
+
+    @BeforeEach
+    public void setUp() {
+        customer = customerService.createNewCustomer(
+                new CreateNewCustomer("Test Customer Events", "test_events@example.com", true));
+        book = bookService.createNewBook(new CreateNewBook("Test Book Events", "1234567899",
+                2021, List.of(new CreateNewAuthor("Test Author Events", "test"))));
+        before = circulationEventDao.lastEventId();
+    }
+
+    @Test
+    void borrowAndReturn_areRecordedInTheOutboxInOrder() {
+        Transaction loan = transactionService.borrowBook(customer.getCustomerId(), book.getBookId());
+        transactionService.returnBook(book.getBookId());
+
+        List<CirculationEvent> events = circulationEventDao.findAfter(before, 10);
+
+        assertEquals(List.of(CirculationEventType.BORROWED, CirculationEventType.RETURNED),
+                events.stream().map(CirculationEvent::getType).toList());
+        assertTrue(events.stream().allMatch(event -> event.getTransactionId().equals(loan.getTransactionId())));
+        assertTrue(events.get(0).getEventId() < events.get(1).getEventId());
+        assertEquals(book.getBookId(), events.get(0).getBookId());
+        assertEquals(customer.getCustomerId(), events.get(0).getCustomerId());
+    }
+
+    @Test
+    void publishPending_appendsEventsToTheFileSink() throws IOException {
+        Transaction loan = transactionService.borrowBook(customer.getCustomerId(), book.getBookId());
+
+        publisher.publishPending();
+
+        assertEquals(circulationEventDao.lastEventId(), publisher.getLastPublished());
+        List<String> lines = Files.readAllLines(sinkFile);
+        assertTrue(lines.stream().anyMatch(line -> line.contains(loan.getTransactionId().toString())
+                && line.contains("\"type\":\"BORROWED\"")));
+    }
+
+    @Test
+    void streamCirculationEvents_replaysEventsAfterLastEventId() throws Exception {
+        Transaction loan = transactionService.borrowBook(customer.getCustomerId(), book.getBookId());
+        long borrowed = circulationEventDao.lastEventId();
+        publisher.publishPending();
+
+        MvcResult result = mockMvc.perform(get("/events/circulation").header("Last-Event-ID", before))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = result.getResponse().getContentAsString();
+        assertTrue(body.contains("id:" + borrowed));
+        assertTrue(body.contains("event:borrowed"));
+        assertTrue(body.contains(loan.getTransactionId().toString()));
+    }
+
+    @Test
+    void streamCirculationEvents_replayStopsAtAGapAndStreamsTheEventThatFillsIt() throws Exception {
+        CountDownLatch slowInserted = new CountDownLatch(1);
+        CountDownLatch commitSlow = new CountDownLatch(1);
+        UUID slowTransactionId = UUID.randomUUID();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Future<?> slow = executor.submit(() -> new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            circulationEventDao.append(List.of(new CirculationEvent(null, CirculationEventType.RETURNED, slowTransactionId,
+                    book.getBookId(), customer.getCustomerId(), LocalDate.now(), Instant.now())));
+            slowInserted.countDown();
+            try {
+                commitSlow.await(1, TimeUnit.MINUTES);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        assertTrue(slowInserted.await(1, TimeUnit.MINUTES));
+        Transaction loan = transactionService.borrowBook(customer.getCustomerId(), book.getBookId());
+        publisher.publishPending();
+
+        MvcResult result = mockMvc.perform(get("/events/circulation").header("Last-Event-ID", before))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        assertFalse(result.getResponse().getContentAsString().contains(loan.getTransactionId().toString()));
+
+        commitSlow.countDown();
+        slow.get(1, TimeUnit.MINUTES);
+        executor.shutdown();
+        publisher.publishPending();
+
+        String body = result.getResponse().getContentAsString();
+        assertTrue(body.contains(slowTransactionId.toString()));
+        assertTrue(body.contains(loan.getTransactionId().toString()));
+        assertTrue(body.indexOf(slowTransactionId.toString()) < body.indexOf(loan.getTransactionId().toString()));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        transactionRepository.deleteAll();
+        customerRepository.deleteAll();
+        bookRepository.deleteAll();
+        authorRepository.deleteAll();
+    }
+}
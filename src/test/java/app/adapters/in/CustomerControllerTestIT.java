@@ -225,6 +225,14 @@ class CustomerControllerTestIT {
                 .andExpect(jsonPath("message").value("Customer with the given name not found"));
     }
     @Test
+    void testSearchCustomerByQuery_unknownSortProperty() throws Exception {
+        mockMvc.perform(get("/customers/search")
+                        .param("query", "nonexistent")
+                        .param("sortBy", "password"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Customers cannot be sorted by password"));
+    }
+    @Test
     void testSearchCustomerByQuery_NoResults() throws Exception {
         mockMvc.perform(get("/customers/search")
                         .param("query", "nonexistent"))
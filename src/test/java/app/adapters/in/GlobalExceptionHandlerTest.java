@@ -1,9 +1,11 @@
 package app.adapters.in;
 
 import app.infrastructure.exceptions.BookNotFoundException;
+import app.infrastructure.exceptions.DuplicateResourceException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
@@ -34,4 +36,22 @@ class GlobalExceptionHandlerTest {
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR);
         assertThat(response.getBody()).contains("An unexpected error occurred: Something went wrong");
     }
-}
\ No newline at end of file
+
+    @Test
+    void testHandleOptimisticLockingFailure() {
+        OptimisticLockingFailureException exception = new OptimisticLockingFailureException("Row was updated by another transaction");
+        ResponseEntity<String> response = globalExceptionHandler.handleOptimisticLockingFailure(exception);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+        assertThat(response.getBody()).contains("retry");
+    }
+
+    @Test
+    void testHandleDuplicateResource() {
+        DuplicateResourceException exception = new DuplicateResourceException("Book with the same isbn already exists.");
+        ResponseEntity<String> response = globalExceptionHandler.handleDuplicateResource(exception);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+        assertThat(response.getBody()).isEqualTo("Book with the same isbn already exists.");
+    }
+}
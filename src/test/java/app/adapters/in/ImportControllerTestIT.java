@@ -0,0 +1,119 @@
+package app.adapters.in;
+
+import app.adapters.out.H2.entity.BookEntity;
+import app.adapters.out.H2.repositories.AuthorRepository;
+import app.adapters.out.H2.repositories.BookRepository;
+import app.domain.models.Book;
+import app.domain.services.BookService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = "library.import.chunk-size=2")
+@AutoConfigureMockMvc
+@WithMockUser(username = "admin", roles = "ADMIN")
+@Tag("integration")
+class ImportControllerTestIT {
+    private static final String CATALOG = """
+            [
+              {"title": "Import IT Alpha", "isbn": "IMPORT-IT-1", "publicationYear": 2001,
+               "authors": [{"name": "Import IT Author", "bio": "Shared"}]},
+              {"title": "Import IT Beta", "isbn": "IMPORT-IT-2", "publicationYear": 2002,
+               "authors": [{"name": "Import IT Author", "bio": "Shared"}, {"name": "Import IT Second"}]},
+              {"title": "Import IT Gamma", "isbn": "IMPORT-IT-1", "publicationYear": 2003,
+               "authors": [{"name": "Import IT Author"}]},
+              {"title": "Import IT Delta", "publicationYear": 2004, "authors": []}
+            ]
+            """;
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private BookRepository bookRepository;
+    @Autowired
+    private AuthorRepository authorRepository;
+    @Autowired
+    private BookService bookService;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @AfterEach
+    void tearDown() {
+        bookRepository.deleteAll(importedBooks());
+        authorRepository.findByName("Import IT Author").ifPresent(authorRepository::delete);
+        authorRepository.findByName("Import IT Second").ifPresent(authorRepository::delete);
+    }
+
+    private List<BookEntity> importedBooks() {
+        return bookRepository.findAll().stream()
+                .filter(book -> book.getTitle().startsWith("Import IT"))
+                .toList();
+    }
+
+    @Test
+    void importBooks_InsertsNewBooksAndReusesAuthors() throws Exception {
+        mockMvc.perform(post("/admin/import/books")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(CATALOG))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.read").value(4))
+                .andExpect(jsonPath("$.data.imported").value(2))
+                .andExpect(jsonPath("$.data.skipped").value(2))
+                .andExpect(jsonPath("$.data.authors").value(2));
+
+        assertEquals(2, importedBooks().size());
+        int linkedBooks = transactionTemplate.execute(status ->
+                authorRepository.findByName("Import IT Author").orElseThrow().getBooks().size());
+        assertEquals(2, linkedBooks);
+
+        List<Book> found = bookService.searchBooks("Import IT Beta", PageRequest.of(0, 10)).getContent();
+        assertEquals(1, found.size());
+        assertEquals(2, found.getFirst().getAuthors().size());
+    }
+
+    @Test
+    void importBooks_SkipsBooksAlreadyInTheCatalog() throws Exception {
+        mockMvc.perform(post("/admin/import/books").contentType(MediaType.APPLICATION_JSON).content(CATALOG))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(post("/admin/import/books").contentType(MediaType.APPLICATION_JSON).content(CATALOG))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.imported").value(0))
+                .andExpect(jsonPath("$.data.skipped").value(4));
+
+        assertEquals(2, importedBooks().size());
+    }
+
+    @Test
+    void importBooks_MalformedJson_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(post("/admin/import/books")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\": \"Import IT Alpha\"}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser(username = "user")
+    void importBooks_WithoutAdminRole_IsForbidden() throws Exception {
+        mockMvc.perform(post("/admin/import/books")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(CATALOG))
+                .andExpect(status().isForbidden());
+
+        assertTrue(importedBooks().isEmpty());
+    }
+}
@@ -1,5 +1,7 @@
 package app.adapters.in;
 
+import app.adapters.in.dto.BatchBorrowRequest;
+import app.adapters.in.dto.BatchReturnRequest;
 import app.adapters.in.dto.CreateNewAuthor;
 import app.adapters.in.dto.CreateNewBook;
 import app.adapters.in.dto.CreateNewCustomer;
@@ -15,6 +17,7 @@ import app.domain.services.BookService;
 import app.domain.services.CustomerService;
 import app.domain.services.TransactionService;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.hamcrest.Matchers;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Tag;
@@ -145,6 +148,30 @@ class TransactionControllerTestIT {
                 .andExpect(jsonPath("$.message").value("Transaction successful."));
     }
     @Test
+    void testReturnBook_ofCustomer_closesThatCustomersLoan() throws Exception {
+        Customer other = customerService.createNewCustomer(
+                new CreateNewCustomer("Other Customer Transaction", "other_transaction@example.com", true));
+        bookService.updateTotalCopies(book.getBookId(), 2);
+        transactionService.borrowBook(customer.getCustomerId(), book.getBookId());
+        Transaction othersLoan = transactionService.borrowBook(other.getCustomerId(), book.getBookId());
+
+        mockMvc.perform(post("/transactions/returnBook/{bookId}", book.getBookId())
+                        .param("customerId", other.getCustomerId().toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.transactionId").value(othersLoan.getTransactionId().toString()));
+    }
+    @Test
+    void testReturnBook_notOnLoanToCustomer() throws Exception {
+        Customer other = customerService.createNewCustomer(
+                new CreateNewCustomer("Other Customer Transaction", "other_transaction@example.com", true));
+        transactionService.borrowBook(customer.getCustomerId(), book.getBookId());
+
+        mockMvc.perform(post("/transactions/returnBook/{bookId}", book.getBookId())
+                        .param("customerId", other.getCustomerId().toString()))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Failed to return book: Book is not on loan to this customer."));
+    }
+    @Test
     void testReturnBook_noTransactionFound() throws Exception {
         UUID bookId = book.getBookId();
 
@@ -161,6 +188,60 @@ class TransactionControllerTestIT {
                 .andExpect(jsonPath("$.message").value("Book not found."));
     }
     @Test
+    void testBatchBorrow_reportsPerItemResults() throws Exception {
+        UUID unknownBookId = UUID.randomUUID();
+        BatchBorrowRequest request = new BatchBorrowRequest(customer.getCustomerId(),
+                List.of(book.getBookId(), unknownBookId, book.getBookId()));
+
+        mockMvc.perform(post("/transactions/batch/borrow")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.processed").value(3))
+                .andExpect(jsonPath("$.succeeded").value(1))
+                .andExpect(jsonPath("$.items[0].status").value("BORROWED"))
+                .andExpect(jsonPath("$.items[0].transactionId").exists())
+                .andExpect(jsonPath("$.items[1].status").value("NOT_FOUND"))
+                .andExpect(jsonPath("$.items[2].status").value("DUPLICATE"));
+
+        assertEquals(1, transactionRepository.countByCustomer_CustomerId(customer.getCustomerId()));
+        assertFalse(bookRepository.findById(book.getBookId()).orElseThrow().isAvailability());
+    }
+    @Test
+    void testBatchBorrow_customerNotFound() throws Exception {
+        BatchBorrowRequest request = new BatchBorrowRequest(UUID.randomUUID(), List.of(book.getBookId()));
+
+        mockMvc.perform(post("/transactions/batch/borrow")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isNotFound());
+    }
+    @Test
+    void testBatchBorrow_emptyCart() throws Exception {
+        BatchBorrowRequest request = new BatchBorrowRequest(customer.getCustomerId(), List.of());
+
+        mockMvc.perform(post("/transactions/batch/borrow")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+    }
+    @Test
+    void testBatchReturn() throws Exception {
+        transactionService.borrowBook(customer.getCustomerId(), book.getBookId());
+        BatchReturnRequest request = new BatchReturnRequest(List.of(book.getBookId(), UUID.randomUUID()));
+
+        mockMvc.perform(post("/transactions/batch/return")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.succeeded").value(1))
+                .andExpect(jsonPath("$.items[0].status").value("RETURNED"))
+                .andExpect(jsonPath("$.items[1].status").value("NOT_BORROWED"));
+
+        assertTrue(bookRepository.findById(book.getBookId()).orElseThrow().isAvailability());
+        assertNotNull(transactionRepository.findByBookBookId(book.getBookId()).getFirst().getReturnDate());
+    }
+    @Test
     void testGetTransactionID() throws Exception {
         UUID customerId = customer.getCustomerId();
         UUID bookId = book.getBookId();
@@ -181,6 +262,23 @@ class TransactionControllerTestIT {
                 .andExpect(jsonPath("$.data.book.bookId").value(bookId.toString()));
     }
     @Test
+    void testGetTransactionById_ConditionalGet_UntilTheBookIsReturned() throws Exception {
+        Transaction transaction = transactionService.borrowBook(customer.getCustomerId(), book.getBookId());
+        UUID transactionId = transaction.getTransactionId();
+
+        String etag = mockMvc.perform(get("/transactions/{id}", transactionId))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+        mockMvc.perform(get("/transactions/{id}", transactionId).header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+
+        transactionService.returnBook(book.getBookId());
+
+        mockMvc.perform(get("/transactions/{id}", transactionId).header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.returnDate").value(LocalDate.now().toString()));
+    }
+    @Test
     void testGetTransactionById_NotFound() throws Exception {
         UUID invalidTransactionId = UUID.randomUUID();
 
@@ -217,6 +315,47 @@ class TransactionControllerTestIT {
                 .andExpect(jsonPath("$.data[0].book.bookId").value(bookId.toString()));
     }
     @Test
+    void testViewBorrowingHistory_WithCursor() throws Exception {
+        UUID customerId = customer.getCustomerId();
+        UUID bookId = book.getBookId();
+        LocalDate start = LocalDate.now().minusDays(30);
+        for (int i = 0; i < 3; i++) {
+            transactionService.borrowBookWithDates(customerId, bookId, start.plusDays(i * 5L));
+            transactionService.returnBookWithDates(bookId, start.plusDays(i * 5L + 2));
+        }
+
+        String body = mockMvc.perform(get("/transactions/history/{customerId}", customerId)
+                        .param("size", "2")
+                        .param("cursor", ""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(2))
+                .andExpect(jsonPath("$.data[0].borrowDate").value(start.toString()))
+                .andExpect(jsonPath("$.data[1].borrowDate").value(start.plusDays(5).toString()))
+                .andExpect(header().exists("next"))
+                .andReturn().getResponse().getContentAsString();
+        String nextCursor = objectMapper.readTree(body).get("nextCursor").asText();
+
+        mockMvc.perform(get("/transactions/history/{customerId}", customerId)
+                        .param("size", "2")
+                        .param("cursor", nextCursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(1))
+                .andExpect(jsonPath("$.data[0].borrowDate").value(start.plusDays(10).toString()))
+                .andExpect(header().doesNotExist("next"))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+    @Test
+    void testViewBorrowingHistory_WithCursorOnNullableSortField_ReturnsBadRequest() throws Exception {
+        UUID customerId = customer.getCustomerId();
+        transactionService.borrowBook(customerId, book.getBookId());
+
+        mockMvc.perform(get("/transactions/history/{customerId}", customerId)
+                        .param("sortBy", "returnDate")
+                        .param("cursor", ""))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value(Matchers.containsString("returnDate")));
+    }
+    @Test
     void testViewBorrowingHistory_noTransactionsFound() throws Exception {
         UUID customerId = customer.getCustomerId();
 
@@ -0,0 +1,56 @@
+package app.adapters.in.controller;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("unit")
+class KeysetCursorTest {
+    private static final Set<String> SORT_FIELDS = Set.of("title", "name");
+
+    @Test
+    void encodeDecode_KeepsKeyTypes() {
+        Map<String, Object> keys = new LinkedHashMap<>();
+        keys.put("title", "War & Peace = 1869");
+        keys.put("publicationYear", 1869);
+        keys.put("borrowDate", LocalDate.of(2024, 5, 1));
+        keys.put("bookId", UUID.randomUUID());
+
+        String token = KeysetCursor.encode(ScrollPosition.forward(keys));
+        KeysetScrollPosition decoded = (KeysetScrollPosition) KeysetCursor.decode(token, "title", SORT_FIELDS);
+
+        assertEquals(keys, decoded.getKeys());
+        assertTrue(token.matches("[A-Za-z0-9_-]+"));
+    }
+
+    @Test
+    void decode_EmptyTokenStartsAtTheBeginning() {
+        assertTrue(KeysetCursor.decode("", "title", SORT_FIELDS).isInitial());
+    }
+
+    @Test
+    void decode_RejectsTokenForAnotherSortField() {
+        String token = KeysetCursor.encode(ScrollPosition.forward(Map.of("name", "Orwell", "authorId", UUID.randomUUID())));
+
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursor.decode(token, "title", SORT_FIELDS));
+    }
+
+    @Test
+    void decode_RejectsGarbage() {
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursor.decode("not-a-cursor", "title", SORT_FIELDS));
+    }
+
+    @Test
+    void decode_RejectsSortFieldOutsideTheAllowedOnes() {
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursor.decode("", "returnDate", SORT_FIELDS));
+    }
+}
@@ -3,25 +3,38 @@ package app.adapters.out.H2;
 import app.adapters.out.H2.entity.AuthorEntity;
 import app.adapters.out.H2.entity.BookEntity;
 import app.adapters.out.H2.repositories.AuthorRepository;
+import app.adapters.out.search.BookSearchEngine;
 import app.domain.models.Author;
+import app.infrastructure.config.cache.CatalogCaches;
 import app.infrastructure.exceptions.AuthorNotFoundException;
+import app.infrastructure.exceptions.DuplicateResourceException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
 
+import java.sql.ResultSet;
 import java.time.LocalDate;
 import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -30,27 +43,110 @@ class AuthorDaoAdapterTest {
 
     @Mock
     private AuthorRepository authorRepository;
+    @Mock
+    private BookSearchEngine bookSearchEngine;
+    @Mock
+    private CatalogCaches catalogCaches;
+    @Mock
+    private NamedParameterJdbcTemplate jdbcTemplate;
 
-    @InjectMocks
     private AuthorDaoAdapter authorDaoAdapter;
 
     private Author testAuthor;
 
     @BeforeEach
     void setUp() {
+        authorDaoAdapter = new AuthorDaoAdapter(authorRepository, jdbcTemplate, bookSearchEngine, catalogCaches, 100);
         testAuthor = new Author(UUID.randomUUID(), "Author Name", "Bio", new HashSet<>());
     }
 
     @Test
     void test_addAuthor() {
+        when(authorRepository.saveAndFlush(any(AuthorEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
         authorDaoAdapter.addAuthor(testAuthor);
         ArgumentCaptor<AuthorEntity> captor = ArgumentCaptor.forClass(AuthorEntity.class);
-        verify(authorRepository).save(captor.capture());
+        verify(authorRepository).saveAndFlush(captor.capture());
         AuthorEntity savedAuthorEntity = captor.getValue();
         assertEquals(testAuthor.getName(), savedAuthorEntity.getName());
         assertEquals(testAuthor.getBio(), savedAuthorEntity.getBio());
     }
 
+    @Test
+    void test_addAuthor_nameTaken() {
+        when(authorRepository.saveAndFlush(any(AuthorEntity.class))).thenThrow(new DataIntegrityViolationException("uk_authors_name"));
+
+        assertThrows(DuplicateResourceException.class, () -> authorDaoAdapter.addAuthor(testAuthor));
+        verify(catalogCaches, never()).putAuthorId(any(), any());
+    }
+
+    @Test
+    void test_upsertAuthors_queriesOnlyUncachedNamesAndInsertsTheMissingOnes() {
+        UUID cachedId = UUID.randomUUID();
+        UUID storedId = UUID.randomUUID();
+        when(catalogCaches.authorId("Cached")).thenReturn(cachedId);
+        doAnswer(invocation -> {
+            ResultSet row = mock(ResultSet.class);
+            when(row.getString("name")).thenReturn("Stored");
+            when(row.getString("author_id")).thenReturn(storedId.toString());
+            invocation.<RowCallbackHandler>getArgument(2).processRow(row);
+            return null;
+        }).when(jdbcTemplate).query(startsWith("SELECT author_id, name FROM authors WHERE name IN"), anyMap(), any(RowCallbackHandler.class));
+
+        Map<String, UUID> ids = authorDaoAdapter.upsertAuthors(List.of(
+                new Author("Cached", "bio"), new Author("Stored", "bio"), new Author("New", "bio"), new Author("New", "bio")));
+
+        assertEquals(cachedId, ids.get("Cached"));
+        assertEquals(storedId, ids.get("Stored"));
+        assertNotNull(ids.get("New"));
+        verify(jdbcTemplate).query(anyString(), eq(Map.of("names", List.of("Stored", "New"))), any(RowCallbackHandler.class));
+        verify(jdbcTemplate).batchUpdate(startsWith("INSERT INTO authors"), argThat((SqlParameterSource[] rows) ->
+                rows.length == 1 && "New".equals(rows[0].getValue("name"))));
+        verify(catalogCaches).putAuthorId("Stored", storedId);
+        verify(catalogCaches).putAuthorId("New", ids.get("New"));
+    }
+
+    @Test
+    void test_upsertAuthors_allCached_runsNoQuery() {
+        when(catalogCaches.authorId("Cached")).thenReturn(UUID.randomUUID());
+
+        authorDaoAdapter.upsertAuthors(List.of(new Author("Cached", "bio")));
+
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void test_upsertAuthors_lostInsertRace_readsTheWinnersRow() {
+        UUID winnerId = UUID.randomUUID();
+        when(jdbcTemplate.batchUpdate(startsWith("INSERT INTO authors"), any(SqlParameterSource[].class)))
+                .thenThrow(new DuplicateKeyException("uk_authors_name"));
+        doAnswer(invocation -> {
+            if (invocation.<String>getArgument(0).endsWith("FOR UPDATE")) {
+                ResultSet row = mock(ResultSet.class);
+                when(row.getString("name")).thenReturn("Racer");
+                when(row.getString("author_id")).thenReturn(winnerId.toString());
+                invocation.<RowCallbackHandler>getArgument(2).processRow(row);
+            }
+            return null;
+        }).when(jdbcTemplate).query(anyString(), anyMap(), any(RowCallbackHandler.class));
+
+        Map<String, UUID> ids = authorDaoAdapter.upsertAuthors(List.of(new Author("Racer", "bio")));
+
+        assertEquals(winnerId, ids.get("Racer"));
+        verify(jdbcTemplate, times(1)).batchUpdate(anyString(), any(SqlParameterSource[].class));
+    }
+
+    @Test
+    void test_updateAuthor_remapsCachedId() {
+        UUID authorId = UUID.randomUUID();
+        AuthorEntity entity = new AuthorEntity(authorId, "Old Name", "Bio", new HashSet<>());
+        when(authorRepository.findById(authorId)).thenReturn(Optional.of(entity));
+
+        authorDaoAdapter.updateAuthor(authorId, new Author("New Name", "Bio"));
+
+        verify(catalogCaches).evictAuthorId("Old Name");
+        verify(catalogCaches).putAuthorId("New Name", authorId);
+    }
+
     @Test
     void test_getPaginatedAuthors() {
         PageRequest pageable = PageRequest.of(0, 10);
@@ -92,7 +188,8 @@ class AuthorDaoAdapterTest {
 
         assertEquals("Updated Name", existingAuthorEntity.getName());
         assertEquals("Updated Bio", existingAuthorEntity.getBio());
-        verify(authorRepository).save(existingAuthorEntity);
+        verify(authorRepository).saveAndFlush(existingAuthorEntity);
+        verify(catalogCaches).evictAuthor("Old Name");
     }
 
     @Test
@@ -118,8 +215,8 @@ class AuthorDaoAdapterTest {
     void test_searchAuthorByName() {
         String authorName = "Author Name";
         Set<BookEntity> bookEntities = new HashSet<>();
-        bookEntities.add(new BookEntity(UUID.randomUUID(), "Book Title 1", "1234567890", 2022, true, LocalDate.now(), new HashSet<>(), new ArrayList<>()));
-        bookEntities.add(new BookEntity(UUID.randomUUID(), "Book Title 2", "0987654321", 2023, false, LocalDate.now(), new HashSet<>(), new ArrayList<>()));
+        bookEntities.add(new BookEntity(UUID.randomUUID(), "Book Title 1", "1234567890", 2022, true, LocalDate.now(), new HashSet<>(), new ArrayList<>(), null));
+        bookEntities.add(new BookEntity(UUID.randomUUID(), "Book Title 2", "0987654321", 2023, false, LocalDate.now(), new HashSet<>(), new ArrayList<>(), null));
 
         AuthorEntity authorEntity = new AuthorEntity(
                 UUID.randomUUID(),
@@ -150,7 +247,7 @@ class AuthorDaoAdapterTest {
     void test_searchAuthorByID() {
         UUID authorId = UUID.randomUUID();
         AuthorEntity authorEntity = new AuthorEntity(authorId, "Author Name", "Bio", new HashSet<>());
-        when(authorRepository.findById(authorId)).thenReturn(Optional.of(authorEntity));
+        when(authorRepository.findAuthorByAuthorId(authorId)).thenReturn(Optional.of(authorEntity));
 
         Optional<Author> result = authorDaoAdapter.searchAuthorByID(authorId);
 
@@ -161,7 +258,7 @@ class AuthorDaoAdapterTest {
     @Test
     void test_searchAuthorByID_notFound() {
         UUID authorId = UUID.randomUUID();
-        when(authorRepository.findById(authorId)).thenReturn(Optional.empty());
+        when(authorRepository.findAuthorByAuthorId(authorId)).thenReturn(Optional.empty());
 
         Optional<Author> result = authorDaoAdapter.searchAuthorByID(authorId);
 
@@ -0,0 +1,116 @@
+package app.adapters.out.H2;
+
+import app.domain.models.Author;
+import app.domain.models.Book;
+import app.domain.port.AuthorDao;
+import app.infrastructure.config.cache.CatalogCaches;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@Tag("unit")
+class AuthorLinkerTest {
+    @Mock
+    private NamedParameterJdbcTemplate jdbcTemplate;
+    @Mock
+    private AuthorDao authorDao;
+    @Mock
+    private CatalogCaches catalogCaches;
+
+    private AuthorLinker linker;
+
+    @BeforeEach
+    void setUp() {
+        linker = new AuthorLinker(jdbcTemplate, authorDao, catalogCaches);
+    }
+
+    private static Book book(String title, String... authors) {
+        Book book = new Book(UUID.randomUUID(), title, title, 2020, true, LocalDate.now());
+        Arrays.stream(authors).forEach(name -> book.getAuthors().add(new Author(name, "bio")));
+        return book;
+    }
+
+    @Test
+    void link_resolvesOnlyUnknownNamesAndSetsAuthorIds() {
+        UUID knownId = UUID.randomUUID();
+        UUID resolvedId = UUID.randomUUID();
+        Book first = book("First", "Known", "Resolved");
+        Book second = book("Second", "Resolved");
+        Map<String, UUID> knownAuthors = new HashMap<>(Map.of("Known", knownId));
+        when(authorDao.upsertAuthors(argThat(authors -> authors.size() == 1 && authors.iterator().next().getName().equals("Resolved"))))
+                .thenReturn(Map.of("Resolved", resolvedId));
+        when(jdbcTemplate.batchUpdate(anyString(), any(SqlParameterSource[].class))).thenReturn(new int[]{1, 1, 1});
+
+        linker.link(List.of(first, second), knownAuthors);
+
+        assertEquals(Set.of(knownId, resolvedId), first.getAuthors().stream().map(Author::getAuthorId).collect(Collectors.toSet()));
+        assertEquals(resolvedId, second.getAuthors().iterator().next().getAuthorId());
+        assertEquals(resolvedId, knownAuthors.get("Resolved"));
+        verify(jdbcTemplate, times(1)).batchUpdate(anyString(), argThat((SqlParameterSource[] rows) -> rows.length == 3
+                && Arrays.stream(rows).allMatch(row -> Set.of(knownId.toString(), resolvedId.toString()).contains(row.getValue("authorId")))));
+        verify(catalogCaches).evictAuthor("Known");
+        verify(catalogCaches).evictAuthor("Resolved");
+    }
+
+    @Test
+    void link_staleCachedId_isEvictedResolvedAgainAndLinked() {
+        UUID staleId = UUID.randomUUID();
+        UUID freshId = UUID.randomUUID();
+        Book book = book("Stale", "Deleted Meanwhile");
+        when(authorDao.upsertAuthors(any())).thenReturn(Map.of("Deleted Meanwhile", staleId), Map.of("Deleted Meanwhile", freshId));
+        when(jdbcTemplate.batchUpdate(anyString(), any(SqlParameterSource[].class)))
+                .thenThrow(new DataIntegrityViolationException("fk_author_books_author"))
+                .thenReturn(new int[]{1});
+        when(jdbcTemplate.queryForList(anyString(), anyMap(), eq(String.class))).thenReturn(List.of());
+
+        linker.link(List.of(book), new HashMap<>());
+
+        verify(catalogCaches).evictAuthorId("Deleted Meanwhile");
+        verify(authorDao, times(2)).upsertAuthors(any());
+        verify(jdbcTemplate).update(startsWith("DELETE FROM author_books"), anyMap());
+        verify(jdbcTemplate).batchUpdate(anyString(), argThat((SqlParameterSource[] rows) ->
+                rows.length == 1 && freshId.toString().equals(rows[0].getValue("authorId"))));
+        assertEquals(freshId, book.getAuthors().iterator().next().getAuthorId());
+    }
+
+    @Test
+    void link_integrityViolationWithoutStaleIds_isRethrown() {
+        UUID authorId = UUID.randomUUID();
+        Book book = book("Linked", "Existing");
+        when(authorDao.upsertAuthors(any())).thenReturn(Map.of("Existing", authorId));
+        when(jdbcTemplate.batchUpdate(anyString(), any(SqlParameterSource[].class)))
+                .thenThrow(new DataIntegrityViolationException("fk_author_books_book"));
+        when(jdbcTemplate.queryForList(anyString(), anyMap(), eq(String.class))).thenReturn(List.of(authorId.toString()));
+
+        assertThrows(DataIntegrityViolationException.class, () -> linker.link(List.of(book), new HashMap<>()));
+        verify(catalogCaches, never()).evictAuthorId(anyString());
+        verify(authorDao, times(1)).upsertAuthors(any());
+    }
+
+    @Test
+    void link_bookWithoutAuthors_touchesNothing() {
+        linker.link(List.of(book("Anonymous")), new HashMap<>());
+
+        verifyNoInteractions(jdbcTemplate, authorDao, catalogCaches);
+    }
+}
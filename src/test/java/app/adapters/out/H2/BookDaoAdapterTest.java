@@ -9,24 +9,37 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
 
 import java.time.LocalDate;
 import java.util.*;
 
 import app.adapters.out.H2.entity.AuthorEntity;
 import app.adapters.out.H2.entity.BookEntity;
-import app.adapters.out.H2.repositories.AuthorRepository;
+import app.adapters.out.H2.projection.BookAuthorRow;
+import app.adapters.out.H2.projection.BookListRow;
 import app.adapters.out.H2.repositories.BookRepository;
+import app.adapters.out.search.BookSearchEngine;
 
 import app.domain.models.Book;
+import app.domain.models.BookSummary;
+import app.infrastructure.config.cache.CatalogCaches;
 import app.infrastructure.exceptions.BookNotFoundException;
+import app.infrastructure.exceptions.DuplicateResourceException;
 
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -36,53 +49,71 @@ public class BookDaoAdapterTest {
     @Mock
     private BookRepository bookRepository;
     @Mock
-    private AuthorRepository authorRepository;
+    private NamedParameterJdbcTemplate jdbcTemplate;
+    @Mock
+    private AuthorLinker authorLinker;
+    @Mock
+    private BookSearchEngine bookSearchEngine;
+    @Mock
+    private CatalogCaches catalogCaches;
     @InjectMocks
     BookDaoAdapter dao;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        dao = new BookDaoAdapter(bookRepository, authorRepository);
+        dao = new BookDaoAdapter(bookRepository, jdbcTemplate, authorLinker, bookSearchEngine, catalogCaches);
     }
     @Test
     void test_addBook_Success() {
-        Book book = new Book(UUID.randomUUID(), "Book Test", "9876543210", 2022, true, LocalDate.now());
+        Book book = new Book(null, "Book Test", "9876543210", 2022, true, LocalDate.now());
         book.setAuthors(new HashSet<>(Arrays.asList(
                 new Author("New Author 1", "Bio 1"),
                 new Author("New Author 2", "Bio 2")
         )));
 
-        AuthorEntity author1 = new AuthorEntity(UUID.randomUUID(), "New Author 1", "Bio 1", new HashSet<>());
-        AuthorEntity author2 = new AuthorEntity(UUID.randomUUID(), "New Author 2", "Bio 2", new HashSet<>());
+        dao.addBook(book);
 
-        when(authorRepository.findByName("New Author 1")).thenReturn(Optional.empty());
-        when(authorRepository.findByName("New Author 2")).thenReturn(Optional.empty());
-        when(authorRepository.save(any(AuthorEntity.class))).thenReturn(author1, author2);
-        when(bookRepository.save(any(BookEntity.class))).thenReturn(new BookEntity());
+        assertNotNull(book.getBookId());
+        verify(jdbcTemplate).update(startsWith("INSERT INTO books"), any(SqlParameterSource.class));
+        verify(authorLinker).link(eq(List.of(book)), anyMap());
+        verify(bookSearchEngine).index(book);
+    }
 
-        dao.addBook(book);
+    @Test
+    void test_addBook_isbnTaken() {
+        Book book = new Book(null, "Book Test", "9876543210", 2022, true, LocalDate.now());
+        when(jdbcTemplate.update(startsWith("INSERT INTO books"), any(SqlParameterSource.class)))
+                .thenThrow(new DuplicateKeyException("Unique index or primary key violation: \"PUBLIC.UK_BOOKS_ISBN_INDEX_3 ON PUBLIC.BOOKS(ISBN)\""));
 
-        verify(authorRepository, times(2)).save(any(AuthorEntity.class));
-        verify(bookRepository).save(any(BookEntity.class));
+        DuplicateResourceException thrown = assertThrows(DuplicateResourceException.class, () -> dao.addBook(book));
+
+        assertEquals("Book with the same isbn already exists.", thrown.getMessage());
+        verifyNoInteractions(authorLinker, bookSearchEngine);
     }
+
     @Test
     public void testUpdateBook_updatesExistingBook() {
         UUID bookId = UUID.randomUUID();
         Book updatedBook = new Book("Updated Title", "9876543210", 2024, false, LocalDate.now());
         BookEntity existingBookEntity = new BookEntity();
         existingBookEntity.setBookId(bookId);
+        existingBookEntity.setAvailability(true);
+        existingBookEntity.setTotalCopies(3);
+        existingBookEntity.setAvailableCopies(2);
         when(bookRepository.findById(bookId)).thenReturn(Optional.of(existingBookEntity));
 
-        BookDaoAdapter dao = new BookDaoAdapter(bookRepository, authorRepository);
+        BookDaoAdapter dao = new BookDaoAdapter(bookRepository, jdbcTemplate, authorLinker, bookSearchEngine, catalogCaches);
         dao.updateBook(bookId, updatedBook);
 
         verify(bookRepository).findById(bookId);
-        verify(bookRepository).save(existingBookEntity);
+        verify(bookRepository).saveAndFlush(existingBookEntity);
         assertEquals(existingBookEntity.getTitle(), updatedBook.getTitle());
         assertEquals(existingBookEntity.getIsbn(), updatedBook.getIsbn());
         assertEquals(existingBookEntity.getPublicationYear(), updatedBook.getPublicationYear());
-        assertEquals(existingBookEntity.isAvailability(), updatedBook.isAvailable());
+        assertTrue(existingBookEntity.isAvailability());
+        assertEquals(3, existingBookEntity.getTotalCopies());
+        assertEquals(2, existingBookEntity.getAvailableCopies());
     }
 
     @Test
@@ -91,11 +122,11 @@ public class BookDaoAdapterTest {
         Book updatedBook = new Book("Updated Title", "9876543210", 2024, false, LocalDate.now());
         when(bookRepository.findById(bookId)).thenReturn(Optional.empty());
 
-        BookDaoAdapter dao = new BookDaoAdapter(bookRepository, authorRepository);
+        BookDaoAdapter dao = new BookDaoAdapter(bookRepository, jdbcTemplate, authorLinker, bookSearchEngine, catalogCaches);
         dao.updateBook(bookId, updatedBook);
 
         verify(bookRepository).findById(bookId);
-        verify(bookRepository, never()).save(any(BookEntity.class));
+        verify(bookRepository, never()).saveAndFlush(any(BookEntity.class));
     }
 
     @Test
@@ -108,7 +139,7 @@ public class BookDaoAdapterTest {
         existingBookEntity.setAuthors(Set.of(authorEntity));
         when(bookRepository.findById(bookId)).thenReturn(Optional.of(existingBookEntity));
 
-        BookDaoAdapter dao = new BookDaoAdapter(bookRepository, authorRepository);
+        BookDaoAdapter dao = new BookDaoAdapter(bookRepository, jdbcTemplate, authorLinker, bookSearchEngine, catalogCaches);
         dao.deleteBook(bookId);
 
         verify(bookRepository).findById(bookId);
@@ -121,14 +152,14 @@ public class BookDaoAdapterTest {
         UUID bookId = UUID.randomUUID();
         when(bookRepository.findById(bookId)).thenReturn(Optional.empty());
 
-        BookDaoAdapter dao = new BookDaoAdapter(bookRepository, authorRepository);
+        BookDaoAdapter dao = new BookDaoAdapter(bookRepository, jdbcTemplate, authorLinker, bookSearchEngine, catalogCaches);
         assertThrows(BookNotFoundException.class, () -> dao.deleteBook(bookId));
     }
 
     @Test
     void test_getPaginatedBooks() {
         Pageable pageable = PageRequest.of(0, 10);
-        BookEntity bookEntity = new BookEntity(UUID.randomUUID(), "Book 1", "1234567890", 2022, true, LocalDate.now(), new HashSet<>(), new ArrayList<>());
+        BookEntity bookEntity = new BookEntity(UUID.randomUUID(), "Book 1", "1234567890", 2022, true, LocalDate.now(), new HashSet<>(), new ArrayList<>(), null);
         Page<BookEntity> page = new PageImpl<>(Collections.singletonList(bookEntity));
 
         when(bookRepository.findAll(pageable)).thenReturn(page);
@@ -142,7 +173,7 @@ public class BookDaoAdapterTest {
     @Test
     void test_searchBookByTitle() {
         String title = "Book Test";
-        BookEntity bookEntity = new BookEntity(UUID.randomUUID(), title, "9876543210", 2022, true, LocalDate.now(), new HashSet<>(), new ArrayList<>());
+        BookEntity bookEntity = new BookEntity(UUID.randomUUID(), title, "9876543210", 2022, true, LocalDate.now(), new HashSet<>(), new ArrayList<>(), null);
         when(bookRepository.findBookByTitle(title)).thenReturn(Optional.of(bookEntity));
 
         Optional<Book> result = dao.searchBookByTitle(title);
@@ -159,7 +190,7 @@ public class BookDaoAdapterTest {
         Set<AuthorEntity> authors = new HashSet<>();
         authors.add(authorEntity);
 
-        BookEntity bookEntity = new BookEntity(UUID.randomUUID(), "Book Test", "9876543210", 2022, isAvailable, LocalDate.now(), authors, new ArrayList<>());
+        BookEntity bookEntity = new BookEntity(UUID.randomUUID(), "Book Test", "9876543210", 2022, isAvailable, LocalDate.now(), authors, new ArrayList<>(), null);
 
         when(bookRepository.findBooksByAuthor(authorName, isAvailable)).thenReturn(Collections.singletonList(bookEntity));
 
@@ -171,7 +202,7 @@ public class BookDaoAdapterTest {
     @Test
     void test_searchByIsbn() {
         String isbn = "9876543210";
-        BookEntity bookEntity = new BookEntity(UUID.randomUUID(), "Book Test", isbn, 2022, true, LocalDate.now(), new HashSet<>(), new ArrayList<>());
+        BookEntity bookEntity = new BookEntity(UUID.randomUUID(), "Book Test", isbn, 2022, true, LocalDate.now(), new HashSet<>(), new ArrayList<>(), null);
         when(bookRepository.findBooksByIsbn(isbn)).thenReturn(Optional.of(bookEntity));
 
         Optional<Book> result = dao.searchByIsbn(isbn);
@@ -182,7 +213,7 @@ public class BookDaoAdapterTest {
     @Test
     void test_searchBookById() {
         UUID bookId = UUID.randomUUID();
-        BookEntity bookEntity = new BookEntity(bookId, "Book Test", "9876543210", 2022, true, LocalDate.now(), new HashSet<>(), new ArrayList<>());
+        BookEntity bookEntity = new BookEntity(bookId, "Book Test", "9876543210", 2022, true, LocalDate.now(), new HashSet<>(), new ArrayList<>(), null);
         when(bookRepository.findBookByBookId(bookId)).thenReturn(Optional.of(bookEntity));
 
         Optional<Book> result = dao.searchBookById(bookId);
@@ -194,10 +225,10 @@ public class BookDaoAdapterTest {
     void test_searchBooks() {
         String query = "Test";
         Pageable pageable = PageRequest.of(0, 10);
-        BookEntity bookEntity = new BookEntity(UUID.randomUUID(), "Book Test", "9876543210", 2022, true, LocalDate.now(), new HashSet<>(), new ArrayList<>());
-        Page<BookEntity> page = new PageImpl<>(Collections.singletonList(bookEntity));
+        BookEntity bookEntity = new BookEntity(UUID.randomUUID(), "Book Test", "9876543210", 2022, true, LocalDate.now(), new HashSet<>(), new ArrayList<>(), null);
 
-        when(bookRepository.findBooksByQuery(query.toLowerCase(), pageable)).thenReturn(page);
+        when(bookSearchEngine.search(query, pageable)).thenReturn(new PageImpl<>(List.of(bookEntity.getBookId()), pageable, 1));
+        when(bookRepository.findAllById(List.of(bookEntity.getBookId()))).thenReturn(List.of(bookEntity));
 
         Page<Book> result = dao.searchBooks(query, pageable);
 
@@ -205,9 +236,128 @@ public class BookDaoAdapterTest {
         assertEquals(1, result.getTotalElements());
         assertEquals("Book Test", result.getContent().getFirst().getTitle());
     }
+    @Test
+    void test_searchBooks_dropsStaleIndexEntries() {
+        Pageable pageable = PageRequest.of(0, 10);
+        UUID staleId = UUID.randomUUID();
+        when(bookSearchEngine.search("gone", pageable)).thenReturn(new PageImpl<>(List.of(staleId), pageable, 1));
+        when(bookRepository.findAllById(List.of(staleId))).thenReturn(List.of());
+
+        Page<Book> result = dao.searchBooks("gone", pageable);
+
+        assertTrue(result.getContent().isEmpty());
+        verify(bookSearchEngine).remove(staleId);
+    }
+    @Test
+    void test_searchBookSummaries_keepsSearchOrderAndReadsAuthorsOnce() {
+        Pageable pageable = PageRequest.of(0, 10);
+        UUID firstId = UUID.randomUUID();
+        UUID secondId = UUID.randomUUID();
+        UUID staleId = UUID.randomUUID();
+        BookListRow first = listRow(firstId, "First");
+        BookListRow second = listRow(secondId, "Second");
+        BookAuthorRow author = mock(BookAuthorRow.class);
+        when(author.getBookId()).thenReturn(secondId);
+        when(author.getAuthorId()).thenReturn(UUID.randomUUID());
+        when(author.getName()).thenReturn("Author");
+        List<UUID> ids = List.of(secondId, staleId, firstId);
+        when(bookSearchEngine.search("query", pageable)).thenReturn(new PageImpl<>(ids, pageable, 3));
+        when(bookRepository.findListRowsByBookIdIn(ids)).thenReturn(List.of(first, second));
+        when(bookRepository.findAuthorRows(List.of(firstId, secondId))).thenReturn(List.of(author));
+
+        Page<BookSummary> result = dao.searchBookSummaries("query", pageable);
+
+        assertEquals(List.of("Second", "First"), result.getContent().stream().map(BookSummary::getTitle).toList());
+        assertEquals("Author", result.getContent().getFirst().getAuthors().getFirst().getName());
+        assertTrue(result.getContent().get(1).getAuthors().isEmpty());
+        verify(bookSearchEngine).remove(staleId);
+        verify(bookRepository, never()).findAllById(any());
+    }
+
+    private static BookListRow listRow(UUID bookId, String title) {
+        BookListRow row = mock(BookListRow.class);
+        when(row.getBookId()).thenReturn(bookId);
+        when(row.getTitle()).thenReturn(title);
+        return row;
+    }
+    @Test
+    void test_addBook_indexesBook() {
+        Book book = new Book("Indexed", "111", 2020, true, LocalDate.now());
+
+        dao.addBook(book);
+
+        verify(bookSearchEngine).index(argThat(indexed -> indexed == book && book.getBookId() != null));
+    }
+    @Test
+    void test_updateBook_evictsCachedLookupsUnderPreviousKeys() {
+        UUID bookId = UUID.randomUUID();
+        AuthorEntity author = new AuthorEntity(UUID.randomUUID(), "Author", "Bio", new HashSet<>());
+        BookEntity existing = new BookEntity(bookId, "Old Title", "111", 2020, true, LocalDate.now(), Set.of(author), new ArrayList<>(), null);
+        when(bookRepository.findById(bookId)).thenReturn(Optional.of(existing));
+
+        dao.updateBook(bookId, new Book("New Title", "222", 2020, false, LocalDate.now()));
+
+        verify(catalogCaches).evictBook(bookId, "Old Title", "111");
+        verify(catalogCaches).evictAuthor("Author");
+    }
+
+    @Test
+    void test_markAsBorrowed_claimsCopyAndEvictsCache() {
+        Book book = new Book(UUID.randomUUID(), "Claimed", "333", 2021, true, LocalDate.now());
+        when(bookRepository.markAsBorrowed(book.getBookId())).thenReturn(1);
+
+        assertTrue(dao.markAsBorrowed(book));
+        verify(catalogCaches).evictBook(book.getBookId(), "Claimed", "333");
+    }
 
+    @Test
+    void test_markAsBorrowed_returnsFalseWhenAlreadyBorrowed() {
+        Book book = new Book(UUID.randomUUID(), "Taken", "444", 2021, true, LocalDate.now());
+        when(bookRepository.markAsBorrowed(book.getBookId())).thenReturn(0);
 
+        assertFalse(dao.markAsBorrowed(book));
+        verifyNoInteractions(catalogCaches);
+    }
 
+    @Test
+    void test_updateTotalCopies_evictsCacheWhenApplied() {
+        UUID bookId = UUID.randomUUID();
+        BookEntity existing = new BookEntity(bookId, "Shelved", "555", 2021, true, LocalDate.now(), new HashSet<>(), new ArrayList<>(), null);
+        when(bookRepository.findById(bookId)).thenReturn(Optional.of(existing));
+        when(bookRepository.updateTotalCopies(bookId, 4)).thenReturn(1);
 
+        assertTrue(dao.updateTotalCopies(bookId, 4));
+        verify(catalogCaches).evictBook(bookId, "Shelved", "555");
+    }
 
-}
\ No newline at end of file
+    @Test
+    void test_updateTotalCopies_returnsFalseWhenCopiesAreOnLoan() {
+        UUID bookId = UUID.randomUUID();
+        BookEntity existing = new BookEntity(bookId, "Lent Out", "666", 2021, false, LocalDate.now(), new HashSet<>(), new ArrayList<>(), null);
+        when(bookRepository.findById(bookId)).thenReturn(Optional.of(existing));
+        when(bookRepository.updateTotalCopies(bookId, 1)).thenReturn(0);
+
+        assertFalse(dao.updateTotalCopies(bookId, 1));
+        verifyNoInteractions(catalogCaches);
+    }
+
+    @Test
+    void test_updateTotalCopies_throwsWhenBookMissing() {
+        UUID bookId = UUID.randomUUID();
+        when(bookRepository.findById(bookId)).thenReturn(Optional.empty());
+
+        assertThrows(BookNotFoundException.class, () -> dao.updateTotalCopies(bookId, 2));
+    }
+
+    @Test
+    void test_mapToBook_carriesCopyCounters() {
+        BookEntity entity = new BookEntity(UUID.randomUUID(), "Counted", "777", 2021, true, LocalDate.now(), new HashSet<>(), new ArrayList<>(), null);
+        entity.setTotalCopies(5);
+        entity.setAvailableCopies(3);
+
+        Book book = dao.mapToBook(entity);
+
+        assertEquals(5, book.getTotalCopies());
+        assertEquals(3, book.getAvailableCopies());
+    }
+}
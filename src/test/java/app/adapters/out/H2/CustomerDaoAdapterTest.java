@@ -1,10 +1,10 @@
 package app.adapters.out.H2;
 
 import app.adapters.out.H2.entity.CustomerEntity;
-import app.adapters.out.H2.entity.TransactionEntity;
+import app.adapters.out.H2.projection.CustomerListRow;
 import app.adapters.out.H2.repositories.CustomerRepository;
 import app.domain.models.Customer;
-import app.domain.models.Transaction;
+import app.domain.models.CustomerSummary;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Tag;
@@ -19,7 +19,6 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 
-import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
@@ -32,12 +31,14 @@ public class CustomerDaoAdapterTest {
 
     @Mock
     private CustomerRepository customerRepository;
+    @Mock
+    private CustomerSearchIndex customerSearchIndex;
     @InjectMocks
     private CustomerDaoAdapter customerDaoAdapter;
 
     @BeforeEach
     public void setUp() {
-        customerDaoAdapter = new CustomerDaoAdapter(customerRepository);
+        customerDaoAdapter = new CustomerDaoAdapter(customerRepository, customerSearchIndex);
     }
 
     @Test
@@ -51,12 +52,13 @@ public class CustomerDaoAdapterTest {
         customerEntity.setEmail(customer.getEmail());
         customerEntity.setPrivileges(customer.isPrivileges());
 
-        Mockito.when(customerRepository.save(Mockito.any(CustomerEntity.class))).thenReturn(customerEntity);
+        Mockito.when(customerRepository.saveAndFlush(Mockito.any(CustomerEntity.class))).thenReturn(customerEntity);
 
         customerDaoAdapter.addCustomer(customer);
 
         ArgumentCaptor<CustomerEntity> captor = ArgumentCaptor.forClass(CustomerEntity.class);
-        Mockito.verify(customerRepository).save(captor.capture());
+        Mockito.verify(customerRepository).saveAndFlush(captor.capture());
+        Mockito.verify(customerSearchIndex).index(customerId, "John Doe", "john.doe@example.com");
 
         CustomerEntity capturedEntity = captor.getValue();
         assertNotNull(capturedEntity, "Captured CustomerEntity should not be null");
@@ -94,16 +96,85 @@ public class CustomerDaoAdapterTest {
         List<CustomerEntity> customerEntities = new ArrayList<>();
         customerEntities.add(new CustomerEntity(UUID.randomUUID(), "John Doe", "john.doe@example.com", true, new ArrayList<>()));
 
-        Page<CustomerEntity> customerEntityPage = new PageImpl<>(customerEntities, pageable, 1);
+        UUID customerId = customerEntities.getFirst().getCustomerId();
 
-        Mockito.when(customerRepository.searchByQuery(query.toLowerCase(), pageable)).thenReturn(customerEntityPage);
+        Mockito.when(customerSearchIndex.search(query, pageable)).thenReturn(new PageImpl<>(List.of(customerId), pageable, 1));
+        Mockito.when(customerRepository.findAllById(List.of(customerId))).thenReturn(customerEntities);
 
         Page<Customer> customers = customerDaoAdapter.searchCustomer(query, pageable);
 
         assertEquals(1, customers.getTotalElements());
         assertEquals("John Doe", customers.getContent().getFirst().getName());
 
-        Mockito.verify(customerRepository).searchByQuery(query.toLowerCase(), pageable);
+        Mockito.verify(customerSearchIndex).search(query, pageable);
+    }
+
+    @Test
+    public void testSearchCustomer_ByCustomerId() {
+        Pageable pageable = Pageable.ofSize(10);
+        UUID customerId = UUID.randomUUID();
+        CustomerEntity customerEntity = new CustomerEntity(customerId, "John Doe", "john.doe@example.com", true, new ArrayList<>());
+        Mockito.when(customerRepository.existsById(customerId)).thenReturn(true);
+        Mockito.when(customerRepository.findAllById(List.of(customerId))).thenReturn(List.of(customerEntity));
+
+        Page<Customer> customers = customerDaoAdapter.searchCustomer(" " + customerId + " ", pageable);
+
+        assertEquals(List.of(customerId), customers.getContent().stream().map(Customer::getCustomerId).toList());
+        Mockito.verifyNoInteractions(customerSearchIndex);
+        Mockito.verify(customerRepository, Mockito.never()).findCustomerIdByTransactionId(Mockito.any());
+    }
+
+    @Test
+    public void testSearchCustomer_ByTransactionId() {
+        Pageable pageable = Pageable.ofSize(10);
+        UUID transactionId = UUID.randomUUID();
+        UUID customerId = UUID.randomUUID();
+        CustomerEntity customerEntity = new CustomerEntity(customerId, "John Doe", "john.doe@example.com", true, new ArrayList<>());
+        Mockito.when(customerRepository.existsById(transactionId)).thenReturn(false);
+        Mockito.when(customerRepository.findCustomerIdByTransactionId(transactionId)).thenReturn(Optional.of(customerId));
+        Mockito.when(customerRepository.findAllById(List.of(customerId))).thenReturn(List.of(customerEntity));
+
+        Page<Customer> customers = customerDaoAdapter.searchCustomer(transactionId.toString().toUpperCase(), pageable);
+
+        assertEquals(1, customers.getTotalElements());
+        assertEquals(customerId, customers.getContent().getFirst().getCustomerId());
+        Mockito.verifyNoInteractions(customerSearchIndex);
+    }
+
+    @Test
+    public void testSearchCustomer_UnknownId() {
+        Pageable pageable = Pageable.ofSize(10);
+        UUID id = UUID.randomUUID();
+        Mockito.when(customerRepository.existsById(id)).thenReturn(false);
+        Mockito.when(customerRepository.findCustomerIdByTransactionId(id)).thenReturn(Optional.empty());
+
+        Page<Customer> customers = customerDaoAdapter.searchCustomer(id.toString(), pageable);
+
+        assertTrue(customers.isEmpty());
+        assertEquals(0, customers.getTotalElements());
+        Mockito.verify(customerRepository, Mockito.never()).findAllById(Mockito.any());
+    }
+
+    @Test
+    public void testSearchCustomerSummaries() {
+        Pageable pageable = Pageable.ofSize(10);
+        CustomerListRow row = Mockito.mock(CustomerListRow.class);
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        CustomerListRow secondRow = Mockito.mock(CustomerListRow.class);
+        Mockito.when(row.getCustomerId()).thenReturn(first);
+        Mockito.when(row.getName()).thenReturn("John Doe");
+        Mockito.when(row.isPrivileges()).thenReturn(true);
+        Mockito.when(secondRow.getCustomerId()).thenReturn(second);
+        Mockito.when(secondRow.getName()).thenReturn("John Smith");
+        Mockito.when(customerSearchIndex.search("John", pageable)).thenReturn(new PageImpl<>(List.of(first, second), pageable, 2));
+        Mockito.when(customerRepository.findListRowsByCustomerIdIn(List.of(first, second))).thenReturn(List.of(secondRow, row));
+
+        Page<CustomerSummary> customers = customerDaoAdapter.searchCustomerSummaries("John", pageable);
+
+        assertEquals(List.of("John Doe", "John Smith"), customers.getContent().stream().map(CustomerSummary::getName).toList());
+        assertTrue(customers.getContent().getFirst().isPrivileges());
+        Mockito.verify(customerRepository, Mockito.never()).findAllById(Mockito.any());
     }
 
     @Test
@@ -111,7 +182,7 @@ public class CustomerDaoAdapterTest {
         UUID customerId = UUID.randomUUID();
         CustomerEntity customerEntity = new CustomerEntity(customerId, "John Doe", "john.doe@example.com", true, new ArrayList<>());
 
-        Mockito.when(customerRepository.findById(customerId)).thenReturn(Optional.of(customerEntity));
+        Mockito.when(customerRepository.findCustomerByCustomerId(customerId)).thenReturn(Optional.of(customerEntity));
 
         Optional<Customer> customer = customerDaoAdapter.getCustomer(customerId);
 
@@ -119,31 +190,27 @@ public class CustomerDaoAdapterTest {
         assertEquals(customerId, customer.get().getCustomerId());
         assertEquals("John Doe", customer.get().getName());
 
-        Mockito.verify(customerRepository).findById(customerId);
+        Mockito.verify(customerRepository).findCustomerByCustomerId(customerId);
     }
 
     @Test
     public void testGetCustomerById_NotFound() {
         UUID customerId = UUID.randomUUID();
 
-        Mockito.when(customerRepository.findById(customerId)).thenReturn(Optional.empty());
+        Mockito.when(customerRepository.findCustomerByCustomerId(customerId)).thenReturn(Optional.empty());
 
         Optional<Customer> customer = customerDaoAdapter.getCustomer(customerId);
 
         assertFalse(customer.isPresent());
 
-        Mockito.verify(customerRepository).findById(customerId);
+        Mockito.verify(customerRepository).findCustomerByCustomerId(customerId);
     }
 
     @Test
     public void testGetCustomerByName_Found() {
         String name = "John Doe";
-        UUID transactionId = UUID.randomUUID();
-        TransactionEntity transaction = new TransactionEntity(transactionId, LocalDate.now(), LocalDate.now(), LocalDate.ofYearDay(2025,1), null, null);
-
         CustomerEntity customerEntity = new CustomerEntity(
-                UUID.randomUUID(), name, "john.doe@example.com", true, new ArrayList<>());
-        customerEntity.getTransactions().add(transaction);
+                UUID.randomUUID(), name, "john.doe@example.com", true, 2, 7, 1, new ArrayList<>());
 
         Mockito.when(customerRepository.findByName(name)).thenReturn(Optional.of(customerEntity));
 
@@ -152,9 +219,9 @@ public class CustomerDaoAdapterTest {
         assertTrue(customer.isPresent());
         assertEquals(name, customer.get().getName());
 
-        List<Transaction> transactions = customer.get().getTransactions();
-        assertEquals(1, transactions.size());
-        assertEquals(transactionId, transactions.getFirst().getTransactionId());
+        assertEquals(2, customer.get().getActiveLoans());
+        assertEquals(7, customer.get().getTotalLoans());
+        assertEquals(1, customer.get().getOverdueLoans());
 
         Mockito.verify(customerRepository).findByName(name);
     }
@@ -211,6 +278,7 @@ public class CustomerDaoAdapterTest {
 
         Mockito.verify(customerRepository).findById(customerId);
         Mockito.verify(customerRepository).save(customerEntity);
+        Mockito.verify(customerSearchIndex).index(customerId, "Updated Name", "updated@example.com");
         assertEquals("Updated Name", customerEntity.getName());
         assertEquals("updated@example.com", customerEntity.getEmail());
         assertTrue(customerEntity.isPrivileges());
@@ -9,13 +9,18 @@ import app.adapters.out.H2.repositories.CustomerRepository;
 import app.adapters.out.H2.repositories.TransactionRepository;
 import app.domain.models.Author;
 import app.domain.models.Book;
+import app.domain.models.CirculationEvent;
+import app.domain.models.CirculationEventType;
 import app.domain.models.Customer;
 import app.domain.models.Transaction;
+import app.domain.port.CirculationEventDao;
+import app.infrastructure.config.cache.CatalogCaches;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -41,11 +46,17 @@ public class TransaktionDaoAdapterTest {
     @Mock
     private CustomerRepository customerRepository;
 
+    @Mock
+    private CirculationEventDao circulationEvents;
+
+    @Mock
+    private CatalogCaches catalogCaches;
+
     private TransaktionDaoAdapter transactionDaoAdapter;
 
     @BeforeEach
     public void setUp() {
-        transactionDaoAdapter = new TransaktionDaoAdapter(transactionRepository, bookRepository, customerRepository);
+        transactionDaoAdapter = new TransaktionDaoAdapter(transactionRepository, bookRepository, customerRepository, circulationEvents, catalogCaches);
     }
 
     @Test
@@ -207,7 +218,7 @@ public class TransaktionDaoAdapterTest {
         transactionEntity.setCustomer(customerEntity);
         transactionEntity.setBook(bookEntity);
 
-        Mockito.when(transactionRepository.findById(transactionId)).thenReturn(Optional.of(transactionEntity));
+        Mockito.when(transactionRepository.findTransactionByTransactionId(transactionId)).thenReturn(Optional.of(transactionEntity));
 
         Optional<Transaction> transaction = transactionDaoAdapter.findTransactionById(transactionId);
 
@@ -221,7 +232,7 @@ public class TransaktionDaoAdapterTest {
         assertTrue(mappedAuthors.stream().anyMatch(author -> author.getAuthorId().equals(authorEntity1.getAuthorId())));
         assertTrue(mappedAuthors.stream().anyMatch(author -> author.getAuthorId().equals(authorEntity2.getAuthorId())));
 
-        Mockito.verify(transactionRepository).findById(transactionId);
+        Mockito.verify(transactionRepository).findTransactionByTransactionId(transactionId);
     }
 
 
@@ -231,12 +242,12 @@ public class TransaktionDaoAdapterTest {
     public void testFindTransactionById_NotFound() {
         UUID transactionId = UUID.randomUUID();
 
-        Mockito.when(transactionRepository.findById(transactionId)).thenReturn(Optional.empty());
+        Mockito.when(transactionRepository.findTransactionByTransactionId(transactionId)).thenReturn(Optional.empty());
 
         Optional<Transaction> transaction = transactionDaoAdapter.findTransactionById(transactionId);
 
         assertFalse(transaction.isPresent());
-        Mockito.verify(transactionRepository).findById(transactionId);
+        Mockito.verify(transactionRepository).findTransactionByTransactionId(transactionId);
     }
 
     @Test
@@ -266,4 +277,92 @@ public class TransaktionDaoAdapterTest {
         assertThrows(EntityNotFoundException.class, () -> transactionDaoAdapter.updateTransaction(transaction), "Expected EntityNotFoundException to be thrown");
     }
 
-}
\ No newline at end of file
+
+    private static TransactionEntity openLoan(UUID bookId) {
+        CustomerEntity customer = new CustomerEntity();
+        customer.setCustomerId(UUID.randomUUID());
+        BookEntity book = new BookEntity(bookId, "Clean Code", "9780132350884", 2008, false, LocalDate.now(), new HashSet<>(), new ArrayList<>(), null);
+        TransactionEntity entity = new TransactionEntity();
+        entity.setTransactionId(UUID.randomUUID());
+        entity.setBorrowDate(LocalDate.now().minusDays(3));
+        entity.setDueDate(LocalDate.now().plusDays(11));
+        entity.setCustomer(customer);
+        entity.setBook(book);
+        return entity;
+    }
+
+    @Test
+    public void testCloseOpenLoan_closesTheOpenLoanWithOneUpdate() {
+        UUID bookId = UUID.randomUUID();
+        TransactionEntity open = openLoan(bookId);
+        LocalDate returnDate = LocalDate.now();
+        Mockito.when(transactionRepository.findFirstByBookBookIdAndReturnDateIsNullOrderByBorrowDateAsc(bookId)).thenReturn(Optional.of(open));
+        Mockito.when(transactionRepository.closeAll(List.of(open.getTransactionId()), returnDate)).thenReturn(1);
+
+        Optional<Transaction> closed = transactionDaoAdapter.closeOpenLoan(bookId, returnDate);
+
+        assertTrue(closed.isPresent());
+        assertEquals(open.getTransactionId(), closed.get().getTransactionId());
+        assertEquals(returnDate, closed.get().getReturnDate());
+        Mockito.verify(transactionRepository, Mockito.never()).findByBookBookId(Mockito.any());
+    }
+
+    @Test
+    public void testCloseOpenLoan_closesTheLockedLoanWithoutRereading() {
+        UUID bookId = UUID.randomUUID();
+        TransactionEntity open = openLoan(bookId);
+        LocalDate returnDate = LocalDate.now();
+        Mockito.when(transactionRepository.findFirstByBookBookIdAndReturnDateIsNullOrderByBorrowDateAsc(bookId)).thenReturn(Optional.of(open));
+
+        Optional<Transaction> closed = transactionDaoAdapter.closeOpenLoan(bookId, returnDate);
+
+        assertEquals(open.getTransactionId(), closed.orElseThrow().getTransactionId());
+        Mockito.verify(transactionRepository).findFirstByBookBookIdAndReturnDateIsNullOrderByBorrowDateAsc(bookId);
+        Mockito.verify(transactionRepository).closeAll(List.of(open.getTransactionId()), returnDate);
+    }
+
+    @Test
+    public void testCloseOpenLoan_appendsReturnedEventForTheClosedLoan() {
+        UUID bookId = UUID.randomUUID();
+        TransactionEntity open = openLoan(bookId);
+        UUID transactionId = open.getTransactionId();
+        LocalDate returnDate = LocalDate.now();
+        Mockito.when(transactionRepository.findFirstByBookBookIdAndReturnDateIsNullOrderByBorrowDateAsc(bookId)).thenReturn(Optional.of(open));
+        Mockito.when(transactionRepository.closeAll(List.of(transactionId), returnDate)).thenReturn(1);
+
+        transactionDaoAdapter.closeOpenLoan(bookId, returnDate);
+
+        ArgumentCaptor<Collection<CirculationEvent>> appended = ArgumentCaptor.captor();
+        Mockito.verify(circulationEvents).append(appended.capture());
+        CirculationEvent event = appended.getValue().iterator().next();
+        assertEquals(CirculationEventType.RETURNED, event.getType());
+        assertEquals(transactionId, event.getTransactionId());
+        assertEquals(bookId, event.getBookId());
+        assertEquals(returnDate, event.getDate());
+    }
+
+    @Test
+    public void testCloseOpenLoan_ofCustomer_closesOnlyThatCustomersLoan() {
+        UUID bookId = UUID.randomUUID();
+        TransactionEntity open = openLoan(bookId);
+        UUID customerId = open.getCustomer().getCustomerId();
+        LocalDate returnDate = LocalDate.now();
+        Mockito.when(transactionRepository.findFirstByBookBookIdAndCustomerCustomerIdAndReturnDateIsNullOrderByBorrowDateAsc(bookId, customerId))
+                .thenReturn(Optional.of(open));
+        Mockito.when(transactionRepository.closeAll(List.of(open.getTransactionId()), returnDate)).thenReturn(1);
+
+        Optional<Transaction> closed = transactionDaoAdapter.closeOpenLoan(bookId, customerId, returnDate);
+
+        assertEquals(open.getTransactionId(), closed.orElseThrow().getTransactionId());
+        Mockito.verify(transactionRepository, Mockito.never()).findFirstByBookBookIdAndReturnDateIsNullOrderByBorrowDateAsc(Mockito.any());
+    }
+
+    @Test
+    public void testCloseOpenLoan_emptyWhenNothingIsOnLoan() {
+        UUID bookId = UUID.randomUUID();
+        Mockito.when(transactionRepository.findFirstByBookBookIdAndReturnDateIsNullOrderByBorrowDateAsc(bookId)).thenReturn(Optional.empty());
+
+        assertTrue(transactionDaoAdapter.closeOpenLoan(bookId, LocalDate.now()).isEmpty());
+        Mockito.verify(transactionRepository, Mockito.never()).closeAll(Mockito.any(), Mockito.any());
+    }
+}
@@ -0,0 +1,149 @@
+package app.adapters.out.search;
+
+import app.adapters.out.H2.repositories.BookRepository;
+import app.domain.models.Author;
+import app.domain.models.Book;
+import app.domain.models.BookSuggestion;
+import app.domain.models.SuggestionType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+@Tag("unit")
+class InvertedIndexBookSearchEngineTest {
+
+    @Mock
+    private BookRepository bookRepository;
+
+    private InvertedIndexBookSearchEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        engine = new InvertedIndexBookSearchEngine(bookRepository, 10);
+    }
+
+    private Book book(String title, String isbn, int year, String author) {
+        Book book = new Book(UUID.randomUUID(), title, isbn, year, true, LocalDate.now());
+        book.setAuthors(Set.of(new Author(author, "bio")));
+        engine.index(book);
+        return book;
+    }
+
+    @Test
+    void test_search_matchesTermPrefixesAcrossFields() {
+        Book hobbit = book("The Hobbit", "9780261102217", 1937, "J.R.R. Tolkien");
+        Book odyssey = book("The Odyssey", "9780140268867", -800, "Homer");
+
+        assertEquals(List.of(hobbit.getBookId()), engine.search("hob", PageRequest.of(0, 10)).getContent());
+        assertEquals(List.of(hobbit.getBookId()), engine.search("tolk", PageRequest.of(0, 10)).getContent());
+        assertEquals(List.of(odyssey.getBookId()), engine.search("978014", PageRequest.of(0, 10)).getContent());
+        assertEquals(List.of(hobbit.getBookId()), engine.search("1937", PageRequest.of(0, 10)).getContent());
+    }
+
+    @Test
+    void test_search_requiresAllTokens() {
+        Book hobbit = book("The Hobbit", "1", 1937, "J.R.R. Tolkien");
+        book("The Odyssey", "2", -800, "Homer");
+
+        Page<UUID> result = engine.search("the tolkien", PageRequest.of(0, 10));
+
+        assertEquals(List.of(hobbit.getBookId()), result.getContent());
+        assertTrue(engine.search("test book", PageRequest.of(0, 10)).isEmpty());
+    }
+
+    @Test
+    void test_search_ranksTitleMatchesFirstWhenUnsorted() {
+        Book byAuthor = book("Collected Essays", "1", 2001, "Orwell");
+        Book byTitle = book("Orwell and Politics", "2", 2002, "Someone Else");
+
+        List<UUID> result = engine.search("orwell", PageRequest.of(0, 10)).getContent();
+
+        assertEquals(List.of(byTitle.getBookId(), byAuthor.getBookId()), result);
+    }
+
+    @Test
+    void test_search_honoursSortAndPaging() {
+        book("The Odyssey", "1", -800, "Homer");
+        Book catcher = book("The Catcher in the Rye", "2", 1951, "J.D. Salinger");
+        Book divine = book("The Divine Comedy", "3", 1320, "Dante Alighieri");
+
+        Page<UUID> firstPage = engine.search("the", PageRequest.of(0, 2, Sort.Direction.ASC, "title"));
+
+        assertEquals(3, firstPage.getTotalElements());
+        assertEquals(List.of(catcher.getBookId(), divine.getBookId()), firstPage.getContent());
+        assertTrue(firstPage.hasNext());
+    }
+
+    @Test
+    void test_search_rejectsUnknownSortProperty() {
+        book("The Odyssey", "1", -800, "Homer");
+
+        assertThrows(IllegalArgumentException.class,
+                () -> engine.search("the", PageRequest.of(0, 2, Sort.Direction.ASC, "availability")));
+        assertThrows(IllegalArgumentException.class,
+                () -> engine.search("nothing matches", PageRequest.of(0, 2, Sort.Direction.ASC, "availability")));
+    }
+
+    @Test
+    void test_reindexAndRemove() {
+        Book book = book("Old Title", "1", 2000, "Author");
+        book.setTitle("New Title");
+        engine.index(book);
+
+        assertTrue(engine.search("old", PageRequest.of(0, 10)).isEmpty());
+        assertEquals(1, engine.search("new", PageRequest.of(0, 10)).getTotalElements());
+
+        engine.remove(book.getBookId());
+
+        assertTrue(engine.search("new", PageRequest.of(0, 10)).isEmpty());
+    }
+
+    @Test
+    void test_suggest_completesTitlesAuthorsAndIsbns() {
+        Book hobbit = book("The Hobbit", "978-0-261-10221-7", 1937, "J.R.R. Tolkien");
+        book("The Silmarillion", "978-0-261-10273-6", 1977, "J.R.R. Tolkien");
+
+        List<BookSuggestion> authors = engine.suggest("j.r.r", 10);
+        assertEquals(1, authors.size());
+        assertEquals("J.R.R. Tolkien", authors.get(0).getText());
+        assertEquals(SuggestionType.AUTHOR, authors.get(0).getType());
+        assertEquals(2, authors.get(0).getBooks());
+
+        List<BookSuggestion> titles = engine.suggest("the h", 10);
+        assertEquals(List.of("The Hobbit"), titles.stream().map(BookSuggestion::getText).toList());
+        assertEquals(hobbit.getBookId(), titles.get(0).getBookId());
+
+        assertEquals(2, engine.suggest("97802611", 10).size());
+        assertEquals(List.of("978-0-261-10221-7"), engine.suggest("978026110221", 10).stream().map(BookSuggestion::getText).toList());
+        assertTrue(engine.suggest("hobbit", 10).isEmpty());
+    }
+
+    @Test
+    void test_suggest_followsReindexAndRemove() {
+        Book book = book("Old Title", "1", 2000, "Author");
+        book.setTitle("New Title");
+        engine.index(book);
+
+        assertTrue(engine.suggest("old", 10).isEmpty());
+        assertEquals(1, engine.suggest("new", 10).size());
+
+        engine.remove(book.getBookId());
+
+        assertTrue(engine.suggest("new", 10).isEmpty());
+        assertTrue(engine.suggest("auth", 10).isEmpty());
+    }
+}
@@ -0,0 +1,100 @@
+package app.adapters.out.search;
+
+import app.domain.models.BookSuggestion;
+import app.domain.models.SuggestionType;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("unit")
+class SuggestionTrieTest {
+
+    @Test
+    void test_normalize_ignoresCasePunctuationAndRepeatedSpaces() {
+        assertEquals("spiderman returns", SuggestionTrie.normalize("  Spider-Man   Returns! "));
+        assertEquals("9780131103627", SuggestionTrie.normalize("978-0-13-110362-7"));
+        assertEquals("", SuggestionTrie.normalize(null));
+    }
+
+    @Test
+    void test_suggest_ranksByBooksThenTypeThenText() {
+        SuggestionTrie trie = new SuggestionTrie(3);
+        trie.add(SuggestionType.TITLE, "Dune", UUID.randomUUID());
+        trie.add(SuggestionType.TITLE, "Dune Messiah", UUID.randomUUID());
+        trie.add(SuggestionType.AUTHOR, "Dumas", UUID.randomUUID());
+        trie.add(SuggestionType.AUTHOR, "Dumas", UUID.randomUUID());
+        trie.add(SuggestionType.TITLE, "Dubliners", UUID.randomUUID());
+
+        List<BookSuggestion> suggestions = trie.suggest("du", 10);
+
+        assertEquals(List.of("Dumas", "Dubliners", "Dune"), suggestions.stream().map(BookSuggestion::getText).toList());
+        assertEquals(2, suggestions.get(0).getBooks());
+        assertEquals(List.of("Dune", "Dune Messiah"), trie.suggest("dune", 10).stream().map(BookSuggestion::getText).toList());
+        assertEquals(1, trie.suggest("du", 1).size());
+    }
+
+    @Test
+    void test_remove_dropsAuthorsWithTheirLastBookAndRestoresRanking() {
+        SuggestionTrie trie = new SuggestionTrie(2);
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        trie.add(SuggestionType.AUTHOR, "Austen", first);
+        trie.add(SuggestionType.AUTHOR, "Austen", second);
+        trie.add(SuggestionType.TITLE, "Atonement", UUID.randomUUID());
+        trie.add(SuggestionType.TITLE, "Aurora", UUID.randomUUID());
+
+        trie.remove(SuggestionType.AUTHOR, "Austen", first);
+        assertEquals(List.of("Austen"), trie.suggest("aus", 10).stream().map(BookSuggestion::getText).toList());
+        assertEquals(1, trie.suggest("aus", 10).get(0).getBooks());
+
+        trie.remove(SuggestionType.AUTHOR, "Austen", second);
+        assertTrue(trie.suggest("aus", 10).isEmpty());
+        assertEquals(List.of("Atonement", "Aurora"), trie.suggest("a", 10).stream().map(BookSuggestion::getText).toList());
+        assertEquals(2, trie.size());
+    }
+
+    @Test
+    void test_suggest_matchesBruteForceAfterRandomChanges() {
+        Random random = new Random(7);
+        SuggestionTrie trie = new SuggestionTrie(5);
+        Map<UUID, String> titles = new HashMap<>();
+        trie.beginBulkLoad();
+        for (int i = 0; i < 300; i++) {
+            UUID bookId = UUID.randomUUID();
+            String title = randomTitle(random);
+            titles.put(bookId, title);
+            trie.add(SuggestionType.TITLE, title, bookId);
+        }
+        trie.endBulkLoad();
+        List<UUID> ids = new ArrayList<>(titles.keySet());
+        for (int i = 0; i < 200; i++) {
+            UUID bookId = ids.get(random.nextInt(ids.size()));
+            trie.remove(SuggestionType.TITLE, titles.get(bookId), bookId);
+            String title = randomTitle(random);
+            titles.put(bookId, title);
+            trie.add(SuggestionType.TITLE, title, bookId);
+        }
+
+        for (String prefix : List.of("a", "b", "ab", "ba c", "cab", "ca")) {
+            List<String> expected = titles.values().stream()
+                    .filter(title -> SuggestionTrie.normalize(title).startsWith(prefix))
+                    .sorted()
+                    .limit(5)
+                    .toList();
+            assertEquals(expected, trie.suggest(prefix, 10).stream().map(BookSuggestion::getText).toList(), prefix);
+        }
+        assertEquals(titles.size(), trie.size());
+    }
+
+    private static String randomTitle(Random random) {
+        StringBuilder title = new StringBuilder();
+        int length = 2 + random.nextInt(6);
+        for (int i = 0; i < length; i++) {
+            title.append(random.nextInt(5) == 0 ? ' ' : (char) ('a' + random.nextInt(3)));
+        }
+        return title.toString().strip() + random.nextInt(10);
+    }
+}
@@ -0,0 +1,115 @@
+package app.domain.services.integrationTests;
+
+import app.adapters.out.H2.repositories.AuthorRepository;
+import app.adapters.out.H2.repositories.BookRepository;
+import app.adapters.out.H2.repositories.CustomerRepository;
+import app.adapters.out.H2.repositories.TransactionRepository;
+import app.domain.models.BatchItemResult;
+import app.domain.models.BatchItemStatus;
+import app.domain.models.Book;
+import app.domain.models.Customer;
+import app.domain.port.BookDao;
+import app.domain.port.CustomerDao;
+import app.domain.services.TransactionService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that the number of statements a cart costs does not grow with the cart size.
+ */
+@SpringBootTest(properties = {"spring.jpa.properties.hibernate.generate_statistics=true", "library.loans.max-active=100"})
+@Tag("integration")
+public class BatchCirculationIT {
+
+    @Autowired
+    private TransactionService transactionService;
+    @Autowired
+    private BookDao bookDao;
+    @Autowired
+    private CustomerDao customerDao;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private TransactionRepository transactionRepository;
+    @Autowired
+    private BookRepository bookRepository;
+    @Autowired
+    private AuthorRepository authorRepository;
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @AfterEach
+    void tearDown() {
+        transactionRepository.deleteAll();
+        bookRepository.deleteAll();
+        authorRepository.deleteAll();
+        customerRepository.deleteAll();
+    }
+
+    private List<UUID> addBooks(String prefix, int count) {
+        List<UUID> bookIds = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Book book = new Book(prefix + " " + i, prefix + "-" + i, 2020, true, LocalDate.now());
+            bookDao.addBook(book);
+            bookIds.add(book.getBookId());
+        }
+        return bookIds;
+    }
+
+    private long statementsFor(Runnable cart) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        cart.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    @Test
+    void cartCostsTheSameNumberOfStatementsRegardlessOfSize() {
+        Customer customer = new Customer("Kiosk Customer", "kiosk@example.com", true);
+        customerDao.addCustomer(customer);
+        List<UUID> smallCart = addBooks("Small", 5);
+        List<UUID> largeCart = addBooks("Large", 40);
+
+        long smallBorrow = statementsFor(() -> transactionService.borrowBooks(customer.getCustomerId(), smallCart));
+        long largeBorrow = statementsFor(() -> transactionService.borrowBooks(customer.getCustomerId(), largeCart));
+        long smallReturn = statementsFor(() -> transactionService.returnBooks(smallCart));
+        long largeReturn = statementsFor(() -> transactionService.returnBooks(largeCart));
+        System.out.printf("[BatchCirculation] borrow 5=%d 40=%d statements, return 5=%d 40=%d statements%n",
+                smallBorrow, largeBorrow, smallReturn, largeReturn);
+
+        assertThat(largeBorrow).isEqualTo(smallBorrow);
+        assertThat(largeReturn).isEqualTo(smallReturn);
+        assertThat(transactionRepository.findAll()).filteredOn(loan -> largeCart.contains(loan.getBook().getBookId()))
+                .hasSize(40)
+                .allSatisfy(loan -> assertThat(loan.getReturnDate()).isEqualTo(LocalDate.now()));
+    }
+
+    @Test
+    void cartSkipsBooksThatAreAlreadyLent() {
+        Customer first = new Customer("First Kiosk Customer", "first.kiosk@example.com", true);
+        Customer second = new Customer("Second Kiosk Customer", "second.kiosk@example.com", true);
+        customerDao.addCustomer(first);
+        customerDao.addCustomer(second);
+        List<UUID> bookIds = addBooks("Shared", 4);
+        transactionService.borrowBook(first.getCustomerId(), bookIds.get(1));
+
+        List<BatchItemResult> results = transactionService.borrowBooks(second.getCustomerId(), bookIds);
+
+        assertThat(results).extracting(BatchItemResult::getStatus).containsExactly(
+                BatchItemStatus.BORROWED, BatchItemStatus.NOT_AVAILABLE, BatchItemStatus.BORROWED, BatchItemStatus.BORROWED);
+        assertThat(bookDao.searchBookById(bookIds.get(0))).get().extracting(Book::isAvailable).isEqualTo(false);
+    }
+}
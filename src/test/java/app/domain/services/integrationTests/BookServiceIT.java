@@ -7,6 +7,7 @@ import app.adapters.out.H2.repositories.BookRepository;
 import app.domain.models.Book;
 import app.domain.port.BookDao;
 import app.domain.services.BookService;
+import app.infrastructure.exceptions.DuplicateResourceException;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
@@ -18,9 +19,18 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -53,6 +63,63 @@ public class BookServiceIT {
         assertEquals("Spring Boot in Action", createdBook.getTitle());
         assertTrue(realBookDao.searchBookByTitle("Spring Boot in Action").isPresent());
     }
+    @Test
+    void createNewBook_concurrentCreatesOfTheSameIsbn_IntegrationTest() throws Exception {
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Book>> attempts = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            CreateNewBook newBook = new CreateNewBook("Racing Edition " + i, "RACE-1", 2024,
+                    List.of(new CreateNewAuthor("Shared Racer", "bio"), new CreateNewAuthor("Racer " + i, "bio")));
+            attempts.add(executor.submit(() -> {
+                start.await();
+                return realBookService.createNewBook(newBook);
+            }));
+        }
+        start.countDown();
+
+        int created = 0;
+        for (Future<Book> attempt : attempts) {
+            try {
+                attempt.get(30, TimeUnit.SECONDS);
+                created++;
+            } catch (ExecutionException e) {
+                assertInstanceOf(DuplicateResourceException.class, e.getCause());
+            }
+        }
+        executor.shutdown();
+
+        assertEquals(1, created);
+        assertTrue(realBookDao.searchByIsbn("RACE-1").isPresent());
+    }
+
+    @Test
+    void createNewBook_concurrentBooksOfANewAuthor_IntegrationTest() throws Exception {
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Book>> attempts = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            CreateNewBook newBook = new CreateNewBook("Prolific Volume " + i, "PROLIFIC-" + i, 2024,
+                    List.of(new CreateNewAuthor("Prolific Author", "bio")));
+            attempts.add(executor.submit(() -> {
+                start.await();
+                return realBookService.createNewBook(newBook);
+            }));
+        }
+        start.countDown();
+
+        Set<UUID> authorIds = new HashSet<>();
+        for (Future<Book> attempt : attempts) {
+            authorIds.add(attempt.get(30, TimeUnit.SECONDS).getAuthors().iterator().next().getAuthorId());
+        }
+        executor.shutdown();
+
+        assertEquals(1, authorIds.size());
+        assertEquals(authorIds.iterator().next(), authorRepository.findByName("Prolific Author").orElseThrow().getAuthorId());
+    }
+
     @Test
     void updateBook_IntegrationTest() {
         Book originalBook = new Book(
@@ -70,7 +137,8 @@ public class BookServiceIT {
         assertTrue(result.isPresent());
         assertEquals("Updated Title", result.get().getTitle());
         assertEquals(2022, result.get().getPublicationYear());
-        assertFalse(result.get().isAvailable());
+        assertTrue(result.get().isAvailable());
+        assertEquals(1, result.get().getAvailableCopies());
     }
     @Test
     void deleteBook_IntegrationTest() {
@@ -139,6 +207,7 @@ public class BookServiceIT {
     @Test
     void getPaginatedBooks_IntegrationTest() {
         Pageable pageable = PageRequest.of(0, 10);
+        long existing = bookRepository.count();
         Book book1 = new Book("Title1", "ISBN1", 2021, true, LocalDate.now());
         Book book2 = new Book("Title2", "ISBN2", 2020, false, LocalDate.now());
 
@@ -147,7 +216,7 @@ public class BookServiceIT {
 
         Page<Book> result = realBookService.getPaginatedBooks(pageable);
 
-        assertEquals(12, result.getTotalElements());
+        assertEquals(existing + 2, result.getTotalElements());
     }
     @AfterEach
     void tearDown() {
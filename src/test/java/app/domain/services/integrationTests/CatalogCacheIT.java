@@ -0,0 +1,158 @@
+package app.domain.services.integrationTests;
+
+import app.adapters.out.H2.repositories.AuthorRepository;
+import app.adapters.out.H2.repositories.BookRepository;
+import app.adapters.out.H2.repositories.CustomerRepository;
+import app.adapters.out.H2.repositories.TransactionRepository;
+import app.domain.models.Author;
+import app.domain.models.Book;
+import app.domain.models.Customer;
+import app.domain.port.AuthorDao;
+import app.domain.port.BookDao;
+import app.domain.port.CustomerDao;
+import app.domain.services.TransactionService;
+import app.infrastructure.config.cache.CatalogCaches;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.Bean;
+
+import java.time.LocalDate;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the catalog caches with an in-memory map standing in for the Redis tier.
+ */
+@SpringBootTest
+@Tag("integration")
+public class CatalogCacheIT {
+
+    @TestConfiguration
+    static class SharedTierStandIn {
+        @Bean
+        CacheManager remoteCacheManager() {
+            return new ConcurrentMapCacheManager();
+        }
+    }
+
+    @Autowired
+    private BookDao bookDao;
+    @Autowired
+    private AuthorDao authorDao;
+    @Autowired
+    private CustomerDao customerDao;
+    @Autowired
+    private TransactionService transactionService;
+    @Autowired
+    private CacheManager cacheManager;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private TransactionRepository transactionRepository;
+    @Autowired
+    private BookRepository bookRepository;
+    @Autowired
+    private AuthorRepository authorRepository;
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @AfterEach
+    void tearDown() {
+        transactionRepository.deleteAll();
+        bookRepository.deleteAll();
+        authorRepository.deleteAll();
+        customerRepository.deleteAll();
+    }
+
+    private Book addBook(String title, String isbn) {
+        Book book = new Book(title, isbn, 2020, true, LocalDate.now());
+        book.setAuthors(Set.of(new Author("Cache Author", "bio")));
+        bookDao.addBook(book);
+        return book;
+    }
+
+    private double localHits() {
+        return meterRegistry.get("cache.gets")
+                .tags("cache", CatalogCaches.BOOKS_BY_ID, "tier", "local", "result", "hit")
+                .functionCounter().count();
+    }
+
+    @Test
+    void repeatedLookupsAreServedFromTheCache() {
+        Book book = addBook("Cached Title", "CACHE-1");
+        double hitsBefore = localHits();
+
+        bookDao.searchBookById(book.getBookId());
+        bookDao.searchBookById(book.getBookId());
+
+        assertThat(localHits()).isEqualTo(hitsBefore + 1);
+        assertThat(cacheManager.getCache(CatalogCaches.BOOKS_BY_ID).get(book.getBookId())).isNotNull();
+    }
+
+    @Test
+    void borrowAndReturnInvalidateTheCachedBook() {
+        Book book = addBook("Borrowed Title", "CACHE-2");
+        Customer customer = new Customer("Cache Reader", "cache.reader@example.com", true);
+        customerDao.addCustomer(customer);
+        assertThat(bookDao.searchByIsbn("CACHE-2")).get().extracting(Book::isAvailable).isEqualTo(true);
+        assertThat(authorDao.searchAuthorByName("Cache Author")).isPresent();
+
+        transactionService.borrowBook(customer.getCustomerId(), book.getBookId());
+
+        assertThat(bookDao.searchByIsbn("CACHE-2")).get().extracting(Book::isAvailable).isEqualTo(false);
+        assertThat(bookDao.searchBookById(book.getBookId())).get().extracting(Book::isAvailable).isEqualTo(false);
+        assertThat(authorDao.searchAuthorByName("Cache Author").get().getBooks())
+                .extracting(Book::isAvailable).containsExactly(false);
+
+        transactionService.returnBook(book.getBookId());
+
+        assertThat(bookDao.searchBookById(book.getBookId())).get().extracting(Book::isAvailable).isEqualTo(true);
+    }
+
+    @Test
+    void readersCannotChangeTheCachedBook() {
+        Book book = addBook("Copied Title", "CACHE-4");
+        Book first = bookDao.searchBookById(book.getBookId()).orElseThrow();
+
+        first.setAvailable(first.lendCopy() > 0);
+
+        Book second = bookDao.searchBookById(book.getBookId()).orElseThrow();
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.isAvailable()).isTrue();
+        assertThat(second.getAvailableCopies()).isEqualTo(1);
+    }
+
+    @Test
+    void deletedBookIsNoLongerServedByTitle() {
+        Book book = addBook("Deleted Title", "CACHE-3");
+        assertThat(bookDao.searchBookByTitle("Deleted Title")).isPresent();
+
+        bookDao.deleteBook(book.getBookId());
+
+        assertThat(bookDao.searchBookByTitle("Deleted Title")).isEmpty();
+        assertThat(bookDao.searchBookById(book.getBookId())).isEmpty();
+    }
+
+    @Test
+    void cachedIdOfARemovedAuthorIsResolvedAgainOnTheNextImport() {
+        UUID staleId = addBook("First Edition", "CACHE-5").getAuthors().iterator().next().getAuthorId();
+        bookRepository.deleteAll();
+        authorRepository.deleteAll();
+
+        Book book = addBook("Second Edition", "CACHE-6");
+
+        UUID freshId = book.getAuthors().iterator().next().getAuthorId();
+        assertThat(freshId).isNotEqualTo(staleId);
+        assertThat(authorDao.searchAuthorByName("Cache Author").get().getBooks())
+                .extracting(Book::getTitle).containsExactly("Second Edition");
+    }
+}
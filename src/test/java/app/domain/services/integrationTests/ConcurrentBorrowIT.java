@@ -0,0 +1,191 @@
+package app.domain.services.integrationTests;
+
+import app.adapters.out.H2.repositories.AuthorRepository;
+import app.adapters.out.H2.repositories.BookRepository;
+import app.adapters.out.H2.repositories.CustomerRepository;
+import app.adapters.out.H2.repositories.TransactionRepository;
+import app.domain.models.Book;
+import app.domain.models.Customer;
+import app.domain.port.BookDao;
+import app.domain.port.CustomerDao;
+import app.domain.services.TransactionService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Hammers the borrow/return path from many threads and checks that no copy is ever lent twice.
+ */
+@SpringBootTest
+@Tag("integration")
+public class ConcurrentBorrowIT {
+    private static final int BOOKS = 20;
+    private static final int CUSTOMERS = 50;
+    private static final int THREADS = 32;
+    private static final int ATTEMPTS = 4000;
+
+    @Autowired
+    private TransactionService transactionService;
+    @Autowired
+    private BookDao bookDao;
+    @Autowired
+    private CustomerDao customerDao;
+    @Autowired
+    private TransactionRepository transactionRepository;
+    @Autowired
+    private BookRepository bookRepository;
+    @Autowired
+    private AuthorRepository authorRepository;
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @AfterEach
+    void tearDown() {
+        transactionRepository.deleteAll();
+        bookRepository.deleteAll();
+        authorRepository.deleteAll();
+        customerRepository.deleteAll();
+    }
+
+    @Test
+    void concurrentBorrowsNeverLendTheSameCopyTwice() throws Exception {
+        List<UUID> bookIds = new ArrayList<>();
+        for (int i = 0; i < BOOKS; i++) {
+            Book book = new Book("Contended " + i, "CONTENDED-" + i, 2020, true, LocalDate.now());
+            bookDao.addBook(book);
+            bookIds.add(book.getBookId());
+        }
+        List<UUID> customerIds = new ArrayList<>();
+        for (int i = 0; i < CUSTOMERS; i++) {
+            Customer customer = new Customer("Borrower " + i, "borrower" + i + "@example.com", true);
+            customerDao.addCustomer(customer);
+            customerIds.add(customer.getCustomerId());
+        }
+
+        AtomicInteger borrowed = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < ATTEMPTS; i++) {
+            UUID bookId = bookIds.get(i % BOOKS);
+            UUID customerId = customerIds.get(i % CUSTOMERS);
+            futures.add(executor.submit(() -> {
+                start.await();
+                try {
+                    transactionService.borrowBook(customerId, bookId);
+                    borrowed.incrementAndGet();
+                } catch (RuntimeException e) {
+                    rejected.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+        long startedAt = System.nanoTime();
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(2, TimeUnit.MINUTES);
+        }
+        double seconds = (System.nanoTime() - startedAt) / 1e9;
+        executor.shutdown();
+        System.out.printf("[ConcurrentBorrow] %d attempts in %.2fs (%.0f/s), %d borrowed, %d rejected%n",
+                ATTEMPTS, seconds, ATTEMPTS / seconds, borrowed.get(), rejected.get());
+
+        assertThat(borrowed.get()).isEqualTo(BOOKS);
+        assertThat(rejected.get()).isEqualTo(ATTEMPTS - BOOKS);
+        bookIds.forEach(bookId -> {
+            assertThat(transactionRepository.findByBookBookId(bookId)).hasSize(1);
+            assertThat(bookRepository.findById(bookId)).get().extracting(b -> b.isAvailability()).isEqualTo(false);
+        });
+    }
+
+    @Test
+    void concurrentReturnsCloseTheLoanOnce() throws Exception {
+        Book book = new Book("Returned Once", "RETURNED-ONCE", 2020, true, LocalDate.now());
+        bookDao.addBook(book);
+        Customer customer = new Customer("Returner", "returner@example.com", true);
+        customerDao.addCustomer(customer);
+        transactionService.borrowBook(customer.getCustomerId(), book.getBookId());
+
+        AtomicInteger returned = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                try {
+                    transactionService.returnBook(book.getBookId());
+                    returned.incrementAndGet();
+                } catch (RuntimeException ignored) {
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(1, TimeUnit.MINUTES);
+        }
+        executor.shutdown();
+
+        assertThat(returned.get()).isEqualTo(1);
+        assertThat(bookRepository.findById(book.getBookId())).get().extracting(b -> b.isAvailability()).isEqualTo(true);
+    }
+
+    @Test
+    void concurrentReturnsOfSeveralCopiesEachCloseOneLoan() throws Exception {
+        int copies = 4;
+        Book book = new Book("Returned In Parallel", "RETURNED-PARALLEL", 2020, true, LocalDate.now());
+        book.setTotalCopies(copies);
+        book.setAvailableCopies(copies);
+        bookDao.addBook(book);
+        for (int i = 0; i < copies; i++) {
+            Customer customer = new Customer("Parallel Returner " + i, "parallel.returner" + i + "@example.com", true);
+            customerDao.addCustomer(customer);
+            transactionService.borrowBook(customer.getCustomerId(), book.getBookId());
+        }
+
+        AtomicInteger returned = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                try {
+                    transactionService.returnBook(book.getBookId());
+                    returned.incrementAndGet();
+                } catch (RuntimeException ignored) {
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        // A return that re-reads a loan closed under it would never finish
+        for (Future<?> future : futures) {
+            future.get(1, TimeUnit.MINUTES);
+        }
+        executor.shutdown();
+
+        assertThat(returned.get()).isEqualTo(copies);
+        assertThat(transactionRepository.findByBookBookId(book.getBookId()))
+                .hasSize(copies)
+                .allSatisfy(loan -> assertThat(loan.getReturnDate()).isNotNull());
+        assertThat(bookRepository.findById(book.getBookId())).get().extracting(b -> b.getAvailableCopies()).isEqualTo(copies);
+    }
+}
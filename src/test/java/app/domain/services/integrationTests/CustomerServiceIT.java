@@ -14,6 +14,7 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 
 import java.util.Optional;
 
@@ -102,6 +103,41 @@ public class CustomerServiceIT {
             assertThat(actualPage.getContent()).anyMatch(c -> c.getName().equals("John Smith"));
         }
 
+        @Test
+        void testSearchCustomer_MatchesEveryWordAsPrefixOfNameOrEmail() {
+            Pageable pageable = PageRequest.of(0, 10, Sort.by("name"));
+            customerDao.addCustomer(new Customer(null, "Mary-Jane Watson", "mj.watson@example.com", true));
+            customerDao.addCustomer(new Customer(null, "Mary Parker", "may.parker@example.org", true));
+            customerDao.addCustomer(new Customer(null, "Peter Parker", "peter@dailybugle.com", true));
+
+            assertThat(customerService.searchCustomer("MARY", pageable).getContent())
+                    .extracting(Customer::getName).containsExactly("Mary Parker", "Mary-Jane Watson");
+            assertThat(customerService.searchCustomer("mar park", pageable).getContent())
+                    .extracting(Customer::getName).containsExactly("Mary Parker");
+            assertThat(customerService.searchCustomer("example.org", pageable).getContent())
+                    .extracting(Customer::getName).containsExactly("Mary Parker");
+            assertThat(customerService.searchCustomer("bugle", pageable)).isEmpty();
+        }
+
+        @Test
+        void testSearchCustomer_ByIdAndAfterRename() {
+            Pageable pageable = PageRequest.of(0, 10);
+            Customer customer = new Customer(null, "John Doe", "john.doe@example.com", true);
+            customerDao.addCustomer(customer);
+
+            Page<Customer> byId = customerService.searchCustomer(customer.getCustomerId().toString(), pageable);
+            assertThat(byId.getContent()).extracting(Customer::getCustomerId).containsExactly(customer.getCustomerId());
+
+            customer.setName("Johanna Smith");
+            customer.setEmail("johanna@example.com");
+            customerService.updateCustomer(customer);
+
+            assertThat(customerService.searchCustomer("doe", pageable)).isEmpty();
+            assertThat(customerService.searchCustomer("smith", pageable).getContent())
+                    .extracting(Customer::getName).containsExactly("Johanna Smith");
+            assertThat(customerService.searchCustomerSummaries("johanna", pageable).getTotalElements()).isEqualTo(1);
+        }
+
         @Test
         void testUpdatePrivileges_FromDatabase() {
             Customer customer = new Customer(null, "John Doe", "john.doe@example.com", false);
@@ -0,0 +1,156 @@
+package app.domain.services.integrationTests;
+
+import app.adapters.out.H2.repositories.AuthorRepository;
+import app.domain.models.Author;
+import app.domain.models.Book;
+import app.domain.models.Customer;
+import app.domain.models.Transaction;
+import app.domain.port.BookDao;
+import app.domain.port.CustomerDao;
+import app.domain.port.TransactionDao;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDate;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Reports how many rows each fetch plan loads for a book with a long borrowing history.
+ * With the former eager mappings a single book lookup pulled in every transaction and its customer.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@Tag("integration")
+public class FetchPlanStatisticsIT {
+    private static final int HISTORY_SIZE = 20;
+
+    @Autowired
+    private BookDao bookDao;
+    @Autowired
+    private CustomerDao customerDao;
+    @Autowired
+    private TransactionDao transactionDao;
+    @Autowired
+    private AuthorRepository authorRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Book book;
+    private Customer customer;
+    private Customer borrower;
+
+    @BeforeAll
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        customer = new Customer("Fetch Plan Reader", "fetch.plan@example.com", true);
+        customerDao.addCustomer(customer);
+
+        book = new Book("Fetch Plan Book", "FETCH-PLAN-1", 2024, true, LocalDate.now());
+        book.setAuthors(Set.of(new Author("Fetch Plan Author", "bio")));
+        bookDao.addBook(book);
+
+        for (int i = 0; i < HISTORY_SIZE; i++) {
+            Transaction transaction = new Transaction(LocalDate.now().minusDays(60 - i), LocalDate.now().minusDays(46 - i), customer, book);
+            transaction.setReturnDate(LocalDate.now().minusDays(50 - i));
+            transactionDao.addTransaction(transaction);
+        }
+
+        // Holds the book's only open loan; kept apart from customer so its history stays HISTORY_SIZE long.
+        borrower = new Customer("Fetch Plan Borrower", "fetch.plan.borrower@example.com", true);
+        customerDao.addCustomer(borrower);
+    }
+
+    @AfterAll
+    void tearDown() {
+        customerDao.deleteCustomer(customer.getCustomerId());
+        customerDao.deleteCustomer(borrower.getCustomerId());
+        bookDao.deleteBook(book.getBookId());
+        authorRepository.findByName("Fetch Plan Author").ifPresent(authorRepository::delete);
+    }
+
+    private long entitiesLoadedBy(String useCase, Runnable call) {
+        statistics.clear();
+        call.run();
+        System.out.printf("[FetchPlan] %-22s entities=%d collections=%d statements=%d%n", useCase,
+                statistics.getEntityLoadCount(), statistics.getCollectionLoadCount(), statistics.getPrepareStatementCount());
+        return statistics.getEntityLoadCount();
+    }
+
+    @Test
+    void searchBookById_loadsBookAndAuthorsOnly() {
+        long loaded = entitiesLoadedBy("searchBookById", () -> bookDao.searchBookById(book.getBookId()));
+
+        assertThat(loaded).isEqualTo(2);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void viewBorrowingHistory_loadsPageWithBookAndCustomer() {
+        long loaded = entitiesLoadedBy("viewBorrowingHistory",
+                () -> transactionDao.viewBorrowingHistory(customer.getCustomerId(), PageRequest.of(0, 5)));
+
+        assertThat(loaded).isEqualTo(5 + 1 + 1);
+        assertThat(statistics.getCollectionLoadCount()).isZero();
+    }
+
+    @Test
+    void findTransactionById_loadsSingleTransactionGraph() {
+        UUID transactionId = transactionDao.viewBorrowingHistory(customer.getCustomerId(), PageRequest.of(0, 1))
+                .getContent().getFirst().getTransactionId();
+
+        long loaded = entitiesLoadedBy("findTransactionById", () -> transactionDao.findTransactionById(transactionId));
+
+        assertThat(loaded).isEqualTo(4);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void getCustomer_readsTheCustomerRowWithoutItsTransactions() {
+        long loaded = entitiesLoadedBy("getCustomer", () -> customerDao.getCustomer(customer.getCustomerId()));
+
+        assertThat(loaded).isEqualTo(1);
+        assertThat(statistics.getCollectionLoadCount()).isZero();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void getBookSummaries_selectsColumnsWithoutLoadingEntities() {
+        long loaded = entitiesLoadedBy("getBookSummaries", () -> bookDao.getBookSummarySlice(PageRequest.of(0, 5, Sort.by("title"))));
+
+        assertThat(loaded).isZero();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void getCustomerSummaries_doesNotReadTransactions() {
+        long loaded = entitiesLoadedBy("getCustomerSummaries", () -> customerDao.getCustomerSummarySlice(PageRequest.of(0, 5, Sort.by("name"))));
+
+        assertThat(loaded).isZero();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void closeOpenLoan_readsOnlyTheOpenLoanNotTheHistory() {
+        transactionDao.addTransaction(new Transaction(LocalDate.now(), LocalDate.now().plusWeeks(2), borrower, book));
+
+        long loaded = entitiesLoadedBy("closeOpenLoan", () -> transactionDao.closeOpenLoan(book.getBookId(), LocalDate.now()));
+
+        assertThat(loaded).isEqualTo(1 + 1 + 1);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,114 @@
+package app.domain.services.integrationTests;
+
+import app.adapters.out.H2.repositories.AuthorRepository;
+import app.adapters.out.H2.repositories.BookRepository;
+import app.adapters.out.H2.repositories.CustomerRepository;
+import app.adapters.out.H2.repositories.TransactionRepository;
+import app.domain.models.Book;
+import app.domain.models.Customer;
+import app.domain.models.OverdueLoan;
+import app.domain.models.OverdueScanReport;
+import app.domain.models.Transaction;
+import app.domain.port.BookDao;
+import app.domain.port.CustomerDao;
+import app.domain.port.TransactionDao;
+import app.domain.services.OverdueLoanService;
+import app.domain.services.TransactionService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {"library.overdue.page-size=3", "library.overdue.suspend-after-days=30"})
+@Tag("integration")
+public class OverdueLoanServiceIT {
+
+    @Autowired
+    private OverdueLoanService overdueLoanService;
+    @Autowired
+    private TransactionService transactionService;
+    @Autowired
+    private TransactionDao transactionDao;
+    @Autowired
+    private BookDao bookDao;
+    @Autowired
+    private CustomerDao customerDao;
+    @Autowired
+    private TransactionRepository transactionRepository;
+    @Autowired
+    private BookRepository bookRepository;
+    @Autowired
+    private AuthorRepository authorRepository;
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    // The seeded loans would be overdue too, so every test starts from an empty circulation
+    @BeforeEach
+    @AfterEach
+    void clean() {
+        transactionRepository.deleteAll();
+        bookRepository.deleteAll();
+        authorRepository.deleteAll();
+        customerRepository.deleteAll();
+    }
+
+    @Test
+    void findOverdueLoans_pagesOpenLoansPastTheirDueDate() {
+        Customer customer = new Customer("Overdue Reader", "overdue.reader@example.com", true);
+        customerDao.addCustomer(customer);
+        List<UUID> bookIds = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Book book = new Book("Overdue " + i, "OVERDUE-" + i, 2020, true, LocalDate.now());
+            bookDao.addBook(book);
+            bookIds.add(book.getBookId());
+        }
+        transactionService.borrowBooks(customer.getCustomerId(), bookIds);
+        Book returnedBook = new Book("Returned", "RETURNED-0", 2020, true, LocalDate.now());
+        bookDao.addBook(returnedBook);
+        Transaction returned = transactionService.borrowBook(customer.getCustomerId(), returnedBook.getBookId());
+        transactionService.returnBook(returned.getBookId());
+        LocalDate later = LocalDate.now().plusDays(60);
+
+        List<OverdueLoan> first = transactionDao.findOverdueLoans(later, null, 3);
+        List<OverdueLoan> second = transactionDao.findOverdueLoans(later, first.getLast(), 3);
+
+        assertThat(first).hasSize(3);
+        assertThat(second).hasSize(2);
+        assertThat(first).extracting(OverdueLoan::getBookId).doesNotContainAnyElementsOf(second.stream().map(OverdueLoan::getBookId).toList());
+        assertThat(second).extracting(OverdueLoan::getBookId).doesNotContain(returned.getBookId());
+        assertThat(transactionDao.findOverdueLoans(LocalDate.now(), null, 3)).isEmpty();
+    }
+
+    @Test
+    void scan_finesOverdueLoansAndSuspendsLongOverdueCustomers() {
+        Customer late = new Customer("Late Reader", "late.reader@example.com", true);
+        Customer punctual = new Customer("Punctual Reader", "punctual.reader@example.com", true);
+        customerDao.addCustomer(late);
+        customerDao.addCustomer(punctual);
+        for (int i = 0; i < 4; i++) {
+            Book book = new Book("Late " + i, "LATE-" + i, 2020, true, LocalDate.now());
+            bookDao.addBook(book);
+            transactionService.borrowBook(late.getCustomerId(), book.getBookId());
+        }
+
+        OverdueScanReport report = overdueLoanService.scan(LocalDate.now().plusDays(60));
+
+        assertThat(report.getOverdueLoans()).isEqualTo(4);
+        assertThat(report.getCustomersSuspended()).isEqualTo(1);
+        assertThat(report.getTotalFines()).isPositive();
+        assertThat(customerDao.getCustomer(late.getCustomerId()).orElseThrow().isPrivileges()).isFalse();
+        assertThat(customerDao.getCustomer(punctual.getCustomerId()).orElseThrow().isPrivileges()).isTrue();
+
+        OverdueScanReport rescan = overdueLoanService.scan(LocalDate.now().plusDays(60));
+        assertThat(rescan.getCustomersSuspended()).isZero();
+    }
+}
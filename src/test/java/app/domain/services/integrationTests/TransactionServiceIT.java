@@ -26,6 +26,7 @@ import java.util.Optional;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 @SpringBootTest
 @TestInstance(TestInstance.Lifecycle.PER_CLASS)
@@ -74,6 +75,8 @@ public class TransactionServiceIT {
         assertThat(transaction.getBorrowDate()).isEqualTo(createNewTransaction.getBorrowDate());
         assertThat(transaction.getDueDate()).isEqualTo(createNewTransaction.getDueDate());
         assertThat(transaction.getTransactionId()).isNotNull();
+        assertThat(bookDao.searchBookById(book.getBookId()).get().getAvailableCopies()).isZero();
+        assertThrows(IllegalArgumentException.class, () -> transactionService.createNewTransaction(createNewTransaction));
     }
 
     @Test
@@ -108,6 +111,46 @@ public class TransactionServiceIT {
         assertThat(bookDao.searchBookById(book.getBookId()).get().isAvailable()).isFalse();
     }
 
+    @Test
+    void testBorrowAndReturn_MaintainLoanCounters() {
+        Customer customer = new Customer(null, "Counted Reader", "counted.reader@example.com", true);
+        customerDao.addCustomer(customer);
+        Book first = new Book("Counted Book One", "COUNTED-1", 2020, true, LocalDate.now());
+        Book second = new Book("Counted Book Two", "COUNTED-2", 2020, true, LocalDate.now());
+        bookDao.addBook(first);
+        bookDao.addBook(second);
+
+        transactionService.borrowBook(customer.getCustomerId(), first.getBookId());
+        transactionService.borrowBook(customer.getCustomerId(), second.getBookId());
+        transactionService.returnBook(first.getBookId());
+
+        Customer counted = customerDao.getCustomer(customer.getCustomerId()).orElseThrow();
+        assertThat(counted.getActiveLoans()).isEqualTo(1);
+        assertThat(counted.getTotalLoans()).isEqualTo(2);
+        assertThat(counted.getOverdueLoans()).isZero();
+    }
+
+    @Test
+    void testReturn_RecountsOverdueLoansNotYetScanned() {
+        Customer customer = new Customer(null, "Late Reader", "late.reader@example.com", true);
+        customerDao.addCustomer(customer);
+        Book first = new Book("Late Book One", "LATE-1", 2020, true, LocalDate.now());
+        Book second = new Book("Late Book Two", "LATE-2", 2020, true, LocalDate.now());
+        bookDao.addBook(first);
+        bookDao.addBook(second);
+        // Due two weeks after borrowing, so both are overdue, but no scan has counted them yet
+        transactionService.borrowBookWithDates(customer.getCustomerId(), first.getBookId(), LocalDate.now().minusDays(30));
+        transactionService.borrowBookWithDates(customer.getCustomerId(), second.getBookId(), LocalDate.now().minusDays(30));
+
+        transactionService.returnBook(first.getBookId());
+
+        assertThat(customerDao.getCustomer(customer.getCustomerId()).orElseThrow().getOverdueLoans()).isEqualTo(1);
+
+        transactionService.returnBook(second.getBookId());
+
+        assertThat(customerDao.getCustomer(customer.getCustomerId()).orElseThrow().getOverdueLoans()).isZero();
+    }
+
     @Test
     void testViewBorrowingHistory_Integration() {
         Customer customer = new Customer(UUID.randomUUID(), "John Doe", "john.doe@example.com", true);
@@ -155,6 +198,41 @@ public class TransactionServiceIT {
         assertThat(actual.getBook().getAuthors()).isEqualTo(transaction.getBook().getAuthors());
         assertThat(actual.getBook().getPublicationYear()).isEqualTo(transaction.getBook().getPublicationYear());
     }
+    @Test
+    void testBorrowAndReturn_countCopiesOfATitle() {
+        Book book = new Book("Many Copies", "MANY-COPIES", 2020, true, LocalDate.now());
+        book.setTotalCopies(2);
+        book.setAvailableCopies(2);
+        bookDao.addBook(book);
+        Customer first = new Customer("First Reader", "first.reader@example.com", true);
+        Customer second = new Customer("Second Reader", "second.reader@example.com", true);
+        customerDao.addCustomer(first);
+        customerDao.addCustomer(second);
+
+        transactionService.borrowBook(first.getCustomerId(), book.getBookId());
+        assertThat(bookDao.searchBookById(book.getBookId())).get()
+                .satisfies(loaded -> {
+                    assertThat(loaded.getAvailableCopies()).isEqualTo(1);
+                    assertThat(loaded.isAvailable()).isTrue();
+                });
+
+        transactionService.borrowBook(second.getCustomerId(), book.getBookId());
+        assertThat(bookDao.searchBookById(book.getBookId())).get()
+                .satisfies(loaded -> {
+                    assertThat(loaded.getAvailableCopies()).isZero();
+                    assertThat(loaded.isAvailable()).isFalse();
+                });
+        assertThat(bookDao.updateTotalCopies(book.getBookId(), 1)).isFalse();
+
+        transactionService.returnBook(book.getBookId());
+        assertThat(bookDao.updateTotalCopies(book.getBookId(), 3)).isTrue();
+        assertThat(bookDao.searchBookById(book.getBookId())).get()
+                .satisfies(loaded -> {
+                    assertThat(loaded.getTotalCopies()).isEqualTo(3);
+                    assertThat(loaded.getAvailableCopies()).isEqualTo(2);
+                    assertThat(loaded.isAvailable()).isTrue();
+                });
+    }
     @AfterEach
     void tearDown() {
         transactionRepository.deleteAll();
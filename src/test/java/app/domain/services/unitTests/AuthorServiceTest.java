@@ -4,6 +4,7 @@ import app.adapters.in.dto.CreateNewAuthor;
 import app.domain.models.Author;
 import app.domain.port.AuthorDao;
 import app.domain.services.AuthorService;
+import app.infrastructure.exceptions.DuplicateResourceException;
 import org.junit.jupiter.api.*;
 import org.mockito.*;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
@@ -41,26 +42,28 @@ class AuthorServiceTest {
             AuthorService authorService = new AuthorService(mockedAuthorDao);
             CreateNewAuthor newAuthor = new CreateNewAuthor("John Doe", "Author bio");
 
-            when(mockedAuthorDao.searchAuthorByName("John Doe")).thenReturn(Optional.empty());
+            UUID authorId = UUID.randomUUID();
             doAnswer(invocation -> {
-                Author savedAuthor = invocation.getArgument(0);
-                when(mockedAuthorDao.searchAuthorByName(savedAuthor.getName())).thenReturn(Optional.of(savedAuthor));
+                invocation.<Author>getArgument(0).setAuthorId(authorId);
                 return null;
             }).when(mockedAuthorDao).addAuthor(any(Author.class));
 
-            authorService.createNewAuthor(newAuthor);
+            Author created = authorService.createNewAuthor(newAuthor);
 
             ArgumentCaptor<Author> captor = ArgumentCaptor.forClass(Author.class);
             verify(mockedAuthorDao).addAuthor(captor.capture());
             assertEquals("John Doe", captor.getValue().getName());
             assertEquals("Author bio", captor.getValue().getBio());
+            assertEquals(authorId, created.getAuthorId());
+            verify(mockedAuthorDao, never()).searchAuthorByName(any());
         }
         @Test
         void createNewAuthor_ThrowsException_WhenNameExists() {
-            AuthorService authorService = new AuthorService(mockedAuthorDao);
+            AuthorDao authorDao = mock(AuthorDao.class);
+            AuthorService authorService = new AuthorService(authorDao);
             CreateNewAuthor newAuthor = new CreateNewAuthor("John Doe", "Author bio");
 
-            when(mockedAuthorDao.searchAuthorByName("John Doe")).thenReturn(Optional.of(new Author()));
+            doThrow(new DuplicateResourceException("Author with the same name already exists.")).when(authorDao).addAuthor(any(Author.class));
 
             assertThrows(IllegalArgumentException.class, () -> authorService.createNewAuthor(newAuthor));
         }
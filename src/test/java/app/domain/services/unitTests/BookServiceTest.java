@@ -2,11 +2,10 @@ package app.domain.services.unitTests;
 
 import app.adapters.in.dto.CreateNewAuthor;
 import app.adapters.in.dto.CreateNewBook;
-import app.domain.models.Author;
 import app.domain.models.Book;
 import app.domain.port.BookDao;
-import app.domain.services.AuthorService;
 import app.domain.services.BookService;
+import app.infrastructure.exceptions.DuplicateResourceException;
 import org.junit.jupiter.api.*;
 import org.mockito.ArgumentCaptor;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
@@ -26,15 +25,13 @@ import static org.mockito.Mockito.*;
 @Tag("unit")
 class BookServiceTest {
     private BookDao mockedBookDao;
-    private AuthorService mockedAuthorService;
 
     private BookService bookService;
 
     @BeforeAll
     void setup() {
         mockedBookDao = mock(BookDao.class);
-        mockedAuthorService = mock(AuthorService.class);
-        bookService = new BookService(mockedBookDao, mockedAuthorService);
+        bookService = new BookService(mockedBookDao);
     }
 
         @Test
@@ -46,11 +43,6 @@ class BookServiceTest {
                     List.of(new CreateNewAuthor("Joshua Bloch", "example"))
             );
 
-            when(mockedBookDao.searchBookByTitle("Effective Java")).thenReturn(Optional.empty());
-            when(mockedBookDao.searchByIsbn("123456789")).thenReturn(Optional.empty());
-            when(mockedAuthorService.getAuthorByName("Joshua Bloch")).thenReturn(Optional.empty());
-            when(mockedAuthorService.createNewAuthor(any())).thenReturn(new Author("Joshua Bloch", "example"));
-
             bookService.createNewBook(newBook);
 
             ArgumentCaptor<Book> captor = ArgumentCaptor.forClass(Book.class);
@@ -62,6 +54,9 @@ class BookServiceTest {
             assertEquals(2018, createdBook.getPublicationYear());
             assertTrue(createdBook.isAvailable());
             assertEquals(1, createdBook.getAuthors().size());
+            assertEquals("Joshua Bloch", createdBook.getAuthors().iterator().next().getName());
+            verify(mockedBookDao, never()).searchBookByTitle("Effective Java");
+            verify(mockedBookDao, never()).searchByIsbn("123456789");
         }
 
         @Test
@@ -73,9 +68,10 @@ class BookServiceTest {
                     List.of(new CreateNewAuthor("Joshua Bloch", "example"))
             );
 
-            when(mockedBookDao.searchBookByTitle("Effective Java")).thenReturn(Optional.of(new Book()));
+            BookDao bookDao = mock(BookDao.class);
+            doThrow(new DuplicateResourceException("Book with the same title already exists.")).when(bookDao).addBook(any(Book.class));
 
-            assertThrows(IllegalArgumentException.class, () -> bookService.createNewBook(newBook));
+            assertThrows(IllegalArgumentException.class, () -> new BookService(bookDao).createNewBook(newBook));
         }
 
         @Test
@@ -87,10 +83,10 @@ class BookServiceTest {
                     List.of(new CreateNewAuthor("Joshua Bloch", "example"))
             );
 
-            when(mockedBookDao.searchBookByTitle("Effective Java")).thenReturn(Optional.empty());
-            when(mockedBookDao.searchByIsbn("123456789")).thenReturn(Optional.of(new Book()));
+            BookDao bookDao = mock(BookDao.class);
+            doThrow(new DuplicateResourceException("Book with the same isbn already exists.")).when(bookDao).addBook(any(Book.class));
 
-            assertThrows(IllegalArgumentException.class, () -> bookService.createNewBook(newBook));
+            assertThrows(IllegalArgumentException.class, () -> new BookService(bookDao).createNewBook(newBook));
         }
 
         @Test
@@ -0,0 +1,106 @@
+package app.domain.services.unitTests;
+
+import app.adapters.in.dto.importData.ImportAuthorDto;
+import app.adapters.in.dto.importData.ImportBookDto;
+import app.domain.models.Book;
+import app.domain.models.ImportReport;
+import app.domain.port.CatalogImportDao;
+import app.domain.services.CatalogImportService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@Tag("unit")
+class CatalogImportServiceTest {
+    private CatalogImportDao mockedCatalogImportDao;
+    private CatalogImportService catalogImportService;
+
+    @BeforeEach
+    void setup() {
+        mockedCatalogImportDao = mock(CatalogImportDao.class);
+        when(mockedCatalogImportDao.addBooks(anyList(), any())).thenAnswer(invocation -> new ArrayList<>(invocation.<List<Book>>getArgument(0)));
+        catalogImportService = new CatalogImportService(mockedCatalogImportDao, Runnable::run, 2);
+    }
+
+    private static ImportBookDto book(String title, String isbn, Integer year, String... authors) {
+        ImportBookDto dto = new ImportBookDto();
+        dto.setTitle(title);
+        dto.setIsbn(isbn);
+        dto.setPublicationYear(year);
+        List<ImportAuthorDto> authorDtos = new ArrayList<>();
+        for (String name : authors) {
+            ImportAuthorDto author = new ImportAuthorDto();
+            author.setName(name);
+            authorDtos.add(author);
+        }
+        dto.setAuthors(authorDtos);
+        return dto;
+    }
+
+    @Test
+    void importBooks_WritesOneChunkPerChunkSize() {
+        List<ImportBookDto> books = List.of(
+                book("A", "1", 2000, "Author"),
+                book("B", "2", 2001, "Author"),
+                book("C", "3", 2002, "Author"),
+                book("D", "4", 2003, "Author"),
+                book("E", "5", 2004, "Author"));
+
+        ImportReport report = catalogImportService.importBooks(books.iterator());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Book>> chunks = ArgumentCaptor.forClass(List.class);
+        verify(mockedCatalogImportDao, times(3)).addBooks(chunks.capture(), any());
+        assertEquals(List.of(2, 2, 1), chunks.getAllValues().stream().map(List::size).toList());
+        assertEquals(5, report.getRead());
+        assertEquals(5, report.getImported());
+        assertEquals(0, report.getSkipped());
+    }
+
+    @Test
+    void importBooks_SharesAuthorMapAcrossChunks() {
+        catalogImportService.importBooks(List.of(
+                book("A", "1", 2000, "Author"),
+                book("B", "2", 2001, "Author"),
+                book("C", "3", 2002, "Author")).iterator());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Map<String, java.util.UUID>> authorMaps = ArgumentCaptor.forClass(Map.class);
+        verify(mockedCatalogImportDao, times(2)).addBooks(anyList(), authorMaps.capture());
+        assertSame(authorMaps.getAllValues().get(0), authorMaps.getAllValues().get(1));
+    }
+
+    @Test
+    void importBooks_SkipsInvalidRows() {
+        ImportReport report = catalogImportService.importBooks(List.of(
+                book(null, "1", 2000, "Author"),
+                book("B", " ", 2001, "Author"),
+                book("C", "3", null, "Author"),
+                book("D", "4", 2003, ""),
+                book("E", "5", 2004, "Author")).iterator());
+
+        assertEquals(5, report.getRead());
+        assertEquals(1, report.getImported());
+        assertEquals(4, report.getSkipped());
+    }
+
+    @Test
+    void importBooks_CountsRowsRejectedByTheDatabaseAsSkipped() {
+        when(mockedCatalogImportDao.addBooks(anyList(), any())).thenReturn(List.of());
+
+        ImportReport report = catalogImportService.importBooks(List.of(book("A", "1", 2000, "Author")).iterator());
+
+        assertEquals(0, report.getImported());
+        assertEquals(1, report.getSkipped());
+    }
+}
@@ -0,0 +1,67 @@
+package app.domain.services.unitTests;
+
+import app.domain.services.JwtService;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("unit")
+class JwtServiceTest {
+    private final JwtService jwtService = new JwtService(100);
+
+    private static MockHttpServletRequest withAuthorization(String value) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.AUTHORIZATION, value);
+        return request;
+    }
+
+    @Test
+    void getAuthUser_returnsSubjectOnFirstAndRepeatedUse() {
+        String token = jwtService.getToken("alice");
+
+        assertEquals("alice", jwtService.getAuthUser(withAuthorization("Bearer " + token)));
+        assertEquals("alice", jwtService.getAuthUser(withAuthorization("Bearer " + token)));
+    }
+
+    @Test
+    void getAuthUser_withoutCache_returnsSubject() {
+        JwtService uncached = new JwtService(0);
+        String token = uncached.getToken("bob");
+
+        assertEquals("bob", uncached.getAuthUser(withAuthorization("Bearer " + token)));
+    }
+
+    @Test
+    void getAuthUser_rejectsTamperedToken() {
+        String token = jwtService.getToken("alice");
+        jwtService.getAuthUser(withAuthorization("Bearer " + token));
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+        assertNull(jwtService.getAuthUser(withAuthorization("Bearer " + tampered)));
+    }
+
+    @Test
+    void getAuthUser_rejectsTokenSignedWithAnotherKey() {
+        String foreign = Jwts.builder()
+                .setSubject("mallory")
+                .setExpiration(new Date(System.currentTimeMillis() + 60000))
+                .signWith(Keys.secretKeyFor(SignatureAlgorithm.HS256))
+                .compact();
+
+        assertNull(jwtService.getAuthUser(withAuthorization("Bearer " + foreign)));
+    }
+
+    @Test
+    void getAuthUser_ignoresOtherSchemes() {
+        assertNull(jwtService.getAuthUser(withAuthorization("Basic YWRtaW46YWRtaW4=")));
+        assertNull(jwtService.getAuthUser(new MockHttpServletRequest()));
+    }
+}
@@ -0,0 +1,163 @@
+package app.domain.services.unitTests;
+
+import app.domain.models.FinePolicy;
+import app.domain.models.OverdueLoan;
+import app.domain.models.OverdueScanReport;
+import app.domain.port.CustomerDao;
+import app.domain.port.TransactionDao;
+import app.domain.services.OverdueLoanService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@Tag("unit")
+class OverdueLoanServiceTest {
+    private static final LocalDate TODAY = LocalDate.of(2026, 3, 1);
+
+    private TransactionDao mockedTransactionDao;
+    private CustomerDao mockedCustomerDao;
+    private OverdueLoanService overdueLoanService;
+
+    @BeforeEach
+    void setup() {
+        mockedTransactionDao = mock(TransactionDao.class);
+        mockedCustomerDao = mock(CustomerDao.class);
+        when(mockedCustomerDao.updatePrivileges(anyCollection(), anyBoolean()))
+                .thenAnswer(invocation -> invocation.<Collection<UUID>>getArgument(0).size());
+        overdueLoanService = service(Runnable::run, 2);
+    }
+
+    private OverdueLoanService service(Executor executor, int parallelism) {
+        return new OverdueLoanService(mockedTransactionDao, mockedCustomerDao, executor,
+                new BigDecimal("0.25"), 2, new BigDecimal("10.00"), 30, 2, parallelism);
+    }
+
+    private static OverdueLoan loan(UUID customerId, int daysOverdue) {
+        return new OverdueLoan(UUID.randomUUID(), customerId, UUID.randomUUID(), TODAY.minusDays(daysOverdue));
+    }
+
+    @Test
+    void finePolicy_chargesPerDayAfterGraceDaysUpToTheMaximum() {
+        FinePolicy policy = overdueLoanService.getFinePolicy();
+
+        assertEquals(BigDecimal.ZERO, policy.fineFor(TODAY.minusDays(2), TODAY));
+        assertEquals(new BigDecimal("0.75"), policy.fineFor(TODAY.minusDays(5), TODAY));
+        assertEquals(new BigDecimal("10.00"), policy.fineFor(TODAY.minusDays(365), TODAY));
+        assertFalse(policy.suspends(TODAY.minusDays(30), TODAY));
+        assertTrue(policy.suspends(TODAY.minusDays(31), TODAY));
+    }
+
+    @Test
+    void scan_pagesThroughOverdueLoansByKeyset() {
+        UUID customer = UUID.randomUUID();
+        OverdueLoan first = loan(customer, 5);
+        OverdueLoan second = loan(customer, 4);
+        OverdueLoan third = loan(customer, 3);
+        when(mockedTransactionDao.findOverdueLoans(TODAY, null, 2)).thenReturn(List.of(first, second));
+        when(mockedTransactionDao.findOverdueLoans(TODAY, second, 2)).thenReturn(List.of(third));
+
+        OverdueScanReport report = overdueLoanService.scan(TODAY);
+
+        assertEquals(3, report.getOverdueLoans());
+        assertEquals(new BigDecimal("1.50"), report.getTotalFines());
+        verify(mockedTransactionDao, times(2)).findOverdueLoans(eq(TODAY), any(), eq(2));
+    }
+
+    @Test
+    void scan_suspendsOnlyCustomersPastTheThresholdOncePerPage() {
+        UUID longOverdue = UUID.randomUUID();
+        UUID recentlyOverdue = UUID.randomUUID();
+        OverdueLoan first = loan(longOverdue, 40);
+        OverdueLoan second = loan(longOverdue, 35);
+        OverdueLoan third = loan(recentlyOverdue, 3);
+        when(mockedTransactionDao.findOverdueLoans(TODAY, null, 2)).thenReturn(List.of(first, second));
+        when(mockedTransactionDao.findOverdueLoans(TODAY, second, 2)).thenReturn(List.of(third));
+
+        OverdueScanReport report = overdueLoanService.scan(TODAY);
+
+        assertEquals(1, report.getCustomersSuspended());
+        verify(mockedCustomerDao).updatePrivileges(Set.of(longOverdue), false);
+        verify(mockedCustomerDao, never()).updatePrivileges(argThat((Collection<UUID> ids) -> ids.contains(recentlyOverdue)), anyBoolean());
+        verify(mockedCustomerDao).recountOverdueLoans(TODAY);
+    }
+
+    @Test
+    void scan_processesPagesInParallelAndWaitsForAllOfThem() {
+        OverdueLoan previous = null;
+        for (int page = 0; page < 10; page++) {
+            OverdueLoan a = loan(UUID.randomUUID(), 60 + page);
+            OverdueLoan b = loan(UUID.randomUUID(), 60 + page);
+            when(mockedTransactionDao.findOverdueLoans(TODAY, previous, 2)).thenReturn(List.of(a, b));
+            previous = b;
+        }
+        when(mockedTransactionDao.findOverdueLoans(TODAY, previous, 2)).thenReturn(List.of());
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            OverdueScanReport report = service(executor, 4).scan(TODAY);
+
+            assertEquals(20, report.getOverdueLoans());
+            assertEquals(20, report.getCustomersSuspended());
+            assertEquals(new BigDecimal("200.00"), report.getTotalFines());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void scan_rethrowsAFailedSuspension() {
+        OverdueLoan loan = loan(UUID.randomUUID(), 40);
+        when(mockedTransactionDao.findOverdueLoans(TODAY, null, 2)).thenReturn(List.of(loan));
+        when(mockedCustomerDao.updatePrivileges(anyCollection(), anyBoolean())).thenThrow(new IllegalStateException("lock timeout"));
+
+        IllegalStateException e = assertThrows(IllegalStateException.class, () -> overdueLoanService.scan(TODAY));
+        assertEquals("lock timeout", e.getMessage());
+    }
+
+    @Test
+    void scan_rejectedPage_releasesItsPermitAndRethrows() {
+        when(mockedTransactionDao.findOverdueLoans(TODAY, null, 2)).thenReturn(List.of(loan(UUID.randomUUID(), 40)));
+        OverdueLoanService rejecting = service(task -> {
+            throw new RejectedExecutionException("queue full");
+        }, 1);
+
+        RejectedExecutionException e = assertTimeoutPreemptively(Duration.ofSeconds(5),
+                () -> assertThrows(RejectedExecutionException.class, () -> rejecting.scan(TODAY)));
+        assertEquals("queue full", e.getMessage());
+        verify(mockedCustomerDao, never()).recountOverdueLoans(any());
+    }
+
+    @Test
+    void constructor_rejectsPageSizeOrParallelismBelowOne() {
+        assertThrows(IllegalArgumentException.class, () -> service(Runnable::run, 0));
+        assertThrows(IllegalArgumentException.class, () -> new OverdueLoanService(mockedTransactionDao, mockedCustomerDao,
+                Runnable::run, new BigDecimal("0.25"), 2, new BigDecimal("10.00"), 30, 0, 2));
+    }
+
+    @Test
+    void scan_withoutOverdueLoans_reportsNothing() {
+        when(mockedTransactionDao.findOverdueLoans(TODAY, null, 2)).thenReturn(List.of());
+
+        OverdueScanReport report = overdueLoanService.scan(TODAY);
+
+        assertEquals(0, report.getOverdueLoans());
+        assertEquals(BigDecimal.ZERO, report.getTotalFines());
+        verify(mockedCustomerDao).recountOverdueLoans(TODAY);
+        verifyNoMoreInteractions(mockedCustomerDao);
+    }
+}
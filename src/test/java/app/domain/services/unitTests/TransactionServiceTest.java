@@ -1,5 +1,7 @@
 package app.domain.services.unitTests;
 
+import app.domain.models.BatchItemResult;
+import app.domain.models.BatchItemStatus;
 import app.domain.models.Book;
 import app.domain.models.Customer;
 import app.domain.models.Transaction;
@@ -15,7 +17,6 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInstance;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
@@ -36,18 +37,19 @@ import static org.mockito.Mockito.*;
 @TestInstance(TestInstance.Lifecycle.PER_CLASS)
 @Tag("unit")
 class TransactionServiceTest {
+        private static final int MAX_ACTIVE_LOANS = 2;
+
         @Mock
         private TransactionDao transactionDao;
         @Mock
         private BookDao bookDao;
         @Mock
         private CustomerDao customerDao;
-        @InjectMocks
         private TransactionService transactionService;
 
         @BeforeEach
         void setUp() {
-            transactionService = new TransactionService(transactionDao, bookDao, customerDao);
+            transactionService = new TransactionService(transactionDao, bookDao, customerDao, MAX_ACTIVE_LOANS);
         }
 
         @Test
@@ -64,12 +66,34 @@ class TransactionServiceTest {
 
             when(customerDao.getCustomer(createNewTransaktion.getCustomerId())).thenReturn(Optional.of(expectedCustomer));
             when(bookDao.searchBookById(createNewTransaktion.getBookId())).thenReturn(Optional.of(expectedBook));
+            when(bookDao.markAsBorrowed(expectedBook)).thenReturn(true);
+            when(customerDao.addLoans(expectedCustomer.getCustomerId(), 1, MAX_ACTIVE_LOANS)).thenReturn(true);
 
             Transaction transaction = transactionService.createNewTransaction(createNewTransaktion);
 
             verify(transactionDao).addTransaction(transaction);
             assertThat(transaction.getCustomer()).isEqualTo(expectedCustomer);
             assertThat(transaction.getBook()).isEqualTo(expectedBook);
+            assertThat(expectedBook.isAvailable()).isFalse();
+        }
+
+        @Test
+        void testCreateNewTransaction_NoCopyLeft_ThrowsException() {
+            CreateNewTransaktion createNewTransaktion = new CreateNewTransaktion(
+                    LocalDate.now().plusDays(1),
+                    LocalDate.now().plusDays(10),
+                    UUID.randomUUID(),
+                    UUID.randomUUID()
+            );
+            Customer customer = new Customer(UUID.randomUUID(), "John Doe", "john.doe@example.com", true);
+            Book book = new Book(UUID.randomUUID(), "Clean Code", "Robert C. Martin", 2008, false, null);
+            when(customerDao.getCustomer(createNewTransaktion.getCustomerId())).thenReturn(Optional.of(customer));
+            when(bookDao.searchBookById(createNewTransaktion.getBookId())).thenReturn(Optional.of(book));
+            when(bookDao.markAsBorrowed(book)).thenReturn(false);
+
+            assertThrows(IllegalArgumentException.class, () -> transactionService.createNewTransaction(createNewTransaktion));
+            verify(customerDao, never()).addLoans(any(), anyInt(), anyInt());
+            verifyNoInteractions(transactionDao);
         }
 
         @Test
@@ -131,8 +155,8 @@ class TransactionServiceTest {
         void testReturnBook_NoTransactionFound_ThrowsException() {
             Book book = new Book(UUID.randomUUID(), null, null, 0, false, null);
 
-            when(transactionDao.getTransactionsForBook(argThat(b ->
-                    b.getBookId().equals(book.getBookId())))).thenReturn(Collections.emptyList());
+            when(transactionDao.closeOpenLoan(eq(book.getBookId()), any(LocalDate.class))).thenReturn(Optional.empty());
+            when(transactionDao.hasLoans(book.getBookId())).thenReturn(false);
 
             assertThrows(EntityNotFoundException.class, () -> transactionService.returnBook(book.getBookId()));
 
@@ -146,15 +170,71 @@ class TransactionServiceTest {
             Customer customer = new Customer(UUID.randomUUID(), "John Doe", "john.doe@example.com", true);
             Book book = new Book(bookId, "Clean Code", "Robert C. Martin", 2008, false, null); // Book is already borrowed
             Transaction transaction = new Transaction(LocalDate.now().minusDays(5), LocalDate.now().plusDays(5), customer, book);
-            when(transactionDao.getTransactionsForBook(any(Book.class))).thenReturn(List.of(transaction));
+            transaction.setReturnDate(LocalDate.now());
+            when(transactionDao.closeOpenLoan(bookId, LocalDate.now())).thenReturn(Optional.of(transaction));
+            when(bookDao.markAsReturned(book)).thenReturn(true);
 
             String transactionId = transactionService.returnBook(bookId);
 
             assertThat(transactionId).isEqualTo(transaction.getTransactionId().toString());
             assertThat(transaction.getReturnDate()).isEqualTo(LocalDate.now());
+            verify(customerDao).closeLoans(customer.getCustomerId(), 1, LocalDate.now());
             assertThat(transaction.getBook().isAvailable()).isTrue();
-            verify(transactionDao).updateTransaction(transaction);
-            verify(bookDao).updateBook(bookId, transaction.getBook());
+            verify(transactionDao).closeOpenLoan(bookId, LocalDate.now());
+            verify(transactionDao, never()).getTransactionsForBook(any());
+            verify(bookDao).markAsReturned(book);
+            verify(bookDao, never()).updateBook(any(), any());
+        }
+
+        @Test
+        void testReturnBook_BookAlreadyReturnedConcurrently_ThrowsException() {
+            UUID bookId = UUID.randomUUID();
+            Customer customer = new Customer(UUID.randomUUID(), "John Doe", "john.doe@example.com", true);
+            Book book = new Book(bookId, "Clean Code", "Robert C. Martin", 2008, false, null);
+            Transaction transaction = new Transaction(LocalDate.now().minusDays(5), LocalDate.now().plusDays(5), customer, book);
+            when(transactionDao.closeOpenLoan(eq(bookId), any(LocalDate.class))).thenReturn(Optional.of(transaction));
+            when(bookDao.markAsReturned(book)).thenReturn(false);
+
+            assertThrows(IllegalStateException.class, () -> transactionService.returnBook(bookId));
+        }
+
+        @Test
+        void testReturnBook_OfCustomer_ClosesThatCustomersLoan() {
+            UUID bookId = UUID.randomUUID();
+            Customer customer = new Customer(UUID.randomUUID(), "John Doe", "john.doe@example.com", true);
+            Book book = new Book(bookId, "Clean Code", "Robert C. Martin", 2008, false, null);
+            Transaction transaction = new Transaction(LocalDate.now().minusDays(5), LocalDate.now().plusDays(5), customer, book);
+            transaction.setReturnDate(LocalDate.now());
+            when(transactionDao.closeOpenLoan(bookId, customer.getCustomerId(), LocalDate.now())).thenReturn(Optional.of(transaction));
+            when(bookDao.markAsReturned(book)).thenReturn(true);
+
+            String transactionId = transactionService.returnBook(bookId, customer.getCustomerId());
+
+            assertThat(transactionId).isEqualTo(transaction.getTransactionId().toString());
+            verify(transactionDao, never()).closeOpenLoan(any(), any(LocalDate.class));
+            verify(customerDao).closeLoans(customer.getCustomerId(), 1, LocalDate.now());
+        }
+
+        @Test
+        void testReturnBook_NotOnLoanToCustomer_ThrowsException() {
+            UUID bookId = UUID.randomUUID();
+            UUID customerId = UUID.randomUUID();
+            when(transactionDao.closeOpenLoan(eq(bookId), eq(customerId), any(LocalDate.class))).thenReturn(Optional.empty());
+            when(transactionDao.hasLoans(bookId)).thenReturn(true);
+
+            IllegalStateException thrown = assertThrows(IllegalStateException.class, () -> transactionService.returnBook(bookId, customerId));
+            assertThat(thrown.getMessage()).isEqualTo("Book is not on loan to this customer.");
+            verifyNoInteractions(bookDao, customerDao);
+        }
+
+        @Test
+        void testReturnBook_NoOpenLoan_ThrowsException() {
+            UUID bookId = UUID.randomUUID();
+            when(transactionDao.closeOpenLoan(eq(bookId), any(LocalDate.class))).thenReturn(Optional.empty());
+            when(transactionDao.hasLoans(bookId)).thenReturn(true);
+
+            assertThrows(IllegalStateException.class, () -> transactionService.returnBook(bookId));
+            verifyNoInteractions(bookDao);
         }
 
         @Test
@@ -217,6 +297,8 @@ class TransactionServiceTest {
             Customer customer = new Customer(customerId, "John Doe", "john.doe@example.com", true);
             when(bookDao.searchBookById(bookId)).thenReturn(Optional.of(book));
             when(customerDao.getCustomer(customerId)).thenReturn(Optional.of(customer));
+            when(customerDao.addLoans(customerId, 1, MAX_ACTIVE_LOANS)).thenReturn(true);
+            when(bookDao.markAsBorrowed(book)).thenReturn(true);
 
             Transaction transaction = transactionService.borrowBook(customerId, bookId);
 
@@ -230,6 +312,180 @@ class TransactionServiceTest {
             verify(transactionDao).addTransaction(transaction);
 
             assertThat(book.isAvailable()).isFalse();
+            verify(bookDao, never()).updateBook(any(), any());
+        }
+
+        @Test
+        void testBorrowBook_TitleWithSeveralCopies_StaysAvailable() {
+            UUID customerId = UUID.randomUUID();
+            UUID bookId = UUID.randomUUID();
+            Book book = new Book(bookId, "Clean Code", "Robert C. Martin", 2008, true, null);
+            book.setTotalCopies(3);
+            book.setAvailableCopies(3);
+            Customer customer = new Customer(customerId, "John Doe", "john.doe@example.com", true);
+            when(bookDao.searchBookById(bookId)).thenReturn(Optional.of(book));
+            when(customerDao.getCustomer(customerId)).thenReturn(Optional.of(customer));
+            when(customerDao.addLoans(customerId, 1, MAX_ACTIVE_LOANS)).thenReturn(true);
+            when(bookDao.markAsBorrowed(book)).thenReturn(true);
+
+            transactionService.borrowBook(customerId, bookId);
+
+            assertThat(book.getAvailableCopies()).isEqualTo(2);
+            assertThat(book.isAvailable()).isTrue();
+        }
+
+        @Test
+        void testBorrowBook_LostRaceForLastCopy_ThrowsException() {
+            UUID customerId = UUID.randomUUID();
+            UUID bookId = UUID.randomUUID();
+            Book book = new Book(bookId, "Clean Code", "Robert C. Martin", 2008, true, null);
+            Customer customer = new Customer(customerId, "John Doe", "john.doe@example.com", true);
+            when(bookDao.searchBookById(bookId)).thenReturn(Optional.of(book));
+            when(customerDao.getCustomer(customerId)).thenReturn(Optional.of(customer));
+            when(bookDao.markAsBorrowed(book)).thenReturn(false);
+
+            assertThrows(RuntimeException.class, () -> transactionService.borrowBook(customerId, bookId));
+            verifyNoInteractions(transactionDao);
+        }
+
+        @Test
+        void testBorrowBook_LoanLimitReached_ThrowsWithoutRecordingALoan() {
+            UUID customerId = UUID.randomUUID();
+            UUID bookId = UUID.randomUUID();
+            Book book = new Book(bookId, "Clean Code", "Robert C. Martin", 2008, true, null);
+            Customer customer = new Customer(customerId, "John Doe", "john.doe@example.com", true);
+            when(bookDao.searchBookById(bookId)).thenReturn(Optional.of(book));
+            when(customerDao.getCustomer(customerId)).thenReturn(Optional.of(customer));
+            when(bookDao.markAsBorrowed(book)).thenReturn(true);
+            when(customerDao.addLoans(customerId, 1, MAX_ACTIVE_LOANS)).thenReturn(false);
+
+            RuntimeException thrown = assertThrows(RuntimeException.class, () -> transactionService.borrowBook(customerId, bookId));
+
+            assertThat(thrown.getMessage()).contains("limit of " + MAX_ACTIVE_LOANS);
+            verifyNoInteractions(transactionDao);
+        }
+
+        @Test
+        void testBorrowBooks_MixedCart_ReportsEachItem() {
+            UUID customerId = UUID.randomUUID();
+            Customer customer = new Customer(customerId, "John Doe", "john.doe@example.com", true);
+            Book available = new Book(UUID.randomUUID(), "Clean Code", "111", 2008, true, null);
+            Book borrowed = new Book(UUID.randomUUID(), "Refactoring", "222", 1999, false, null);
+            UUID missing = UUID.randomUUID();
+            when(customerDao.getCustomer(customerId)).thenReturn(Optional.of(customer));
+            when(bookDao.searchBooksForUpdate(any())).thenReturn(List.of(available, borrowed));
+            when(customerDao.addLoans(customerId, 1, MAX_ACTIVE_LOANS)).thenReturn(true);
+
+            List<BatchItemResult> results = transactionService.borrowBooks(customerId,
+                    List.of(available.getBookId(), borrowed.getBookId(), missing, available.getBookId()));
+
+            assertThat(results).extracting(BatchItemResult::getStatus).containsExactly(
+                    BatchItemStatus.BORROWED, BatchItemStatus.NOT_AVAILABLE, BatchItemStatus.NOT_FOUND, BatchItemStatus.DUPLICATE);
+            verify(bookDao).markAllAsBorrowed(List.of(available));
+            ArgumentCaptor<List<Transaction>> loans = ArgumentCaptor.forClass(List.class);
+            verify(transactionDao).addTransactions(loans.capture());
+            assertThat(loans.getValue()).singleElement().satisfies(loan -> {
+                assertThat(loan.getBook()).isEqualTo(available);
+                assertThat(loan.getCustomer()).isEqualTo(customer);
+            });
+            assertThat(available.isAvailable()).isFalse();
+        }
+
+        @Test
+        void testBorrowBooks_CartBeyondAllowance_ReportsLoanLimitReached() {
+            UUID customerId = UUID.randomUUID();
+            Customer customer = new Customer(customerId, "John Doe", "john.doe@example.com", true);
+            customer.setActiveLoans(MAX_ACTIVE_LOANS - 1);
+            Book first = new Book(UUID.randomUUID(), "Clean Code", "111", 2008, true, null);
+            Book second = new Book(UUID.randomUUID(), "Refactoring", "222", 1999, true, null);
+            when(customerDao.getCustomer(customerId)).thenReturn(Optional.of(customer));
+            when(bookDao.searchBooksForUpdate(any())).thenReturn(List.of(second, first));
+            when(customerDao.addLoans(customerId, 1, MAX_ACTIVE_LOANS)).thenReturn(true);
+
+            List<BatchItemResult> results = transactionService.borrowBooks(customerId, List.of(first.getBookId(), second.getBookId()));
+
+            assertThat(results).extracting(BatchItemResult::getStatus)
+                    .containsExactly(BatchItemStatus.BORROWED, BatchItemStatus.LOAN_LIMIT_REACHED);
+            verify(bookDao).markAllAsBorrowed(List.of(first));
+        }
+
+        @Test
+        void testBorrowBooks_AllowanceUsedUpConcurrently_ThrowsException() {
+            UUID customerId = UUID.randomUUID();
+            Customer customer = new Customer(customerId, "John Doe", "john.doe@example.com", true);
+            Book book = new Book(UUID.randomUUID(), "Clean Code", "111", 2008, true, null);
+            when(customerDao.getCustomer(customerId)).thenReturn(Optional.of(customer));
+            when(bookDao.searchBooksForUpdate(any())).thenReturn(List.of(book));
+            when(customerDao.addLoans(customerId, 1, MAX_ACTIVE_LOANS)).thenReturn(false);
+
+            assertThrows(IllegalArgumentException.class, () -> transactionService.borrowBooks(customerId, List.of(book.getBookId())));
+            verify(bookDao, never()).markAllAsBorrowed(any());
+            verifyNoInteractions(transactionDao);
+        }
+
+        @Test
+        void testBorrowBooks_CustomerWithoutPrivileges_ThrowsException() {
+            UUID customerId = UUID.randomUUID();
+            when(customerDao.getCustomer(customerId)).thenReturn(Optional.of(new Customer(customerId, "John Doe", "john.doe@example.com", false)));
+
+            assertThrows(IllegalArgumentException.class, () -> transactionService.borrowBooks(customerId, List.of(UUID.randomUUID())));
+            verifyNoInteractions(bookDao, transactionDao);
+        }
+
+        @Test
+        void testReturnBooks_ClosesOpenLoansAndReleasesBooks() {
+            Customer customer = new Customer(UUID.randomUUID(), "John Doe", "john.doe@example.com", true);
+            Book book = new Book(UUID.randomUUID(), "Clean Code", "111", 2008, false, null);
+            Transaction loan = new Transaction(LocalDate.now().minusDays(3), LocalDate.now().plusDays(11), customer, book);
+            UUID notBorrowed = UUID.randomUUID();
+            when(transactionDao.findOpenTransactionsForUpdate(any())).thenReturn(List.of(loan));
+            when(bookDao.markAllAsReturned(List.of(book))).thenReturn(1);
+
+            List<BatchItemResult> results = transactionService.returnBooks(List.of(book.getBookId(), notBorrowed));
+
+            assertThat(results).extracting(BatchItemResult::getStatus)
+                    .containsExactly(BatchItemStatus.RETURNED, BatchItemStatus.NOT_BORROWED);
+            assertThat(results.getFirst().getTransactionId()).isEqualTo(loan.getTransactionId());
+            verify(transactionDao).closeTransactions(eq(List.of(loan)), eq(LocalDate.now()));
+            verify(bookDao).markAllAsReturned(List.of(book));
+            verify(customerDao).closeLoans(customer.getCustomerId(), 1, LocalDate.now());
+            assertThat(book.isAvailable()).isTrue();
+        }
+
+        @Test
+        void testReturnBooks_TwoLoansOfSameTitle_ClosesOldestLoanAndReleasesOneCopy() {
+            Customer first = new Customer(UUID.randomUUID(), "John Doe", "john.doe@example.com", true);
+            Customer second = new Customer(UUID.randomUUID(), "Jane Doe", "jane.doe@example.com", true);
+            Book book = new Book(UUID.randomUUID(), "Clean Code", "111", 2008, false, null);
+            book.setTotalCopies(2);
+            book.setAvailableCopies(0);
+            Transaction newer = new Transaction(LocalDate.now().minusDays(1), LocalDate.now().plusDays(13), second, book);
+            Transaction older = new Transaction(LocalDate.now().minusDays(5), LocalDate.now().plusDays(9), first, book);
+            when(transactionDao.findOpenTransactionsForUpdate(any())).thenReturn(List.of(newer, older));
+            when(bookDao.markAllAsReturned(List.of(book))).thenReturn(1);
+
+            List<BatchItemResult> results = transactionService.returnBooks(List.of(book.getBookId()));
+
+            assertThat(results).singleElement().satisfies(result -> {
+                assertThat(result.getStatus()).isEqualTo(BatchItemStatus.RETURNED);
+                assertThat(result.getTransactionId()).isEqualTo(older.getTransactionId());
+            });
+            verify(transactionDao).closeTransactions(eq(List.of(older)), eq(LocalDate.now()));
+            verify(bookDao).markAllAsReturned(List.of(book));
+            verify(customerDao).closeLoans(first.getCustomerId(), 1, LocalDate.now());
+            verify(customerDao, never()).closeLoans(eq(second.getCustomerId()), anyInt(), any());
+            assertThat(book.getAvailableCopies()).isEqualTo(1);
+        }
+
+        @Test
+        void testReturnBooks_BookWithoutCopyOnLoan_ThrowsException() {
+            Customer customer = new Customer(UUID.randomUUID(), "John Doe", "john.doe@example.com", true);
+            Book book = new Book(UUID.randomUUID(), "Clean Code", "111", 2008, true, null);
+            Transaction loan = new Transaction(LocalDate.now().minusDays(3), LocalDate.now().plusDays(11), customer, book);
+            when(transactionDao.findOpenTransactionsForUpdate(any())).thenReturn(List.of(loan));
+            when(bookDao.markAllAsReturned(List.of(book))).thenReturn(0);
+
+            assertThrows(IllegalStateException.class, () -> transactionService.returnBooks(List.of(book.getBookId())));
         }
 
         @Test
@@ -321,11 +577,13 @@ class TransactionServiceTest {
             when(bookDao.searchBookById(bookId)).thenReturn(Optional.of(book));
             when(customerDao.getCustomer(customerId)).thenReturn(Optional.of(customer));
             when(book.isAvailable()).thenReturn(true);
+            when(bookDao.markAsBorrowed(book)).thenReturn(true);
 
             transactionService.borrowBookWithDates(customerId, bookId, borrowDate);
 
             verify(bookDao).searchBookById(bookId);
             verify(customerDao).getCustomer(customerId);
+            verify(customerDao).addLoans(customerId, 1, Integer.MAX_VALUE);
 
             verify(book).setAvailable(false);
 
@@ -343,7 +601,7 @@ class TransactionServiceTest {
         void testReturnBookWithDates_NoTransactionFound_ThrowsException() {
             UUID bookId = UUID.randomUUID();
             LocalDate returnDate = LocalDate.now();
-            when(transactionDao.getTransactionsForBook(any(Book.class))).thenReturn(Collections.emptyList());
+            when(transactionDao.closeOpenLoan(bookId, returnDate)).thenReturn(Optional.empty());
 
             assertThrows(EntityNotFoundException.class, () -> transactionService.returnBookWithDates(bookId, returnDate));
             verifyNoInteractions(bookDao);
@@ -356,13 +614,47 @@ class TransactionServiceTest {
             Customer customer = new Customer(UUID.randomUUID(), "John Doe", "john.doe@example.com", true);
             Book book = new Book(bookId, "Clean Code", "Robert C. Martin", 2008, false, null);
             Transaction transaction = new Transaction(LocalDate.now().minusDays(5), LocalDate.now().plusDays(5), customer, book);
-            when(transactionDao.getTransactionsForBook(any(Book.class))).thenReturn(List.of(transaction));
+            transaction.setReturnDate(returnDate);
+            when(transactionDao.closeOpenLoan(bookId, returnDate)).thenReturn(Optional.of(transaction));
+            when(bookDao.markAsReturned(book)).thenReturn(true);
 
             transactionService.returnBookWithDates(bookId, returnDate);
 
             assertThat(transaction.getReturnDate()).isEqualTo(returnDate);
             assertThat(transaction.getBook().isAvailable()).isTrue();
-            verify(transactionDao).updateTransaction(transaction);
-            verify(bookDao).updateBook(bookId, transaction.getBook());
+            verify(transactionDao, never()).getTransactionsForBook(any());
+            verify(transactionDao, never()).updateTransaction(any());
+            verify(bookDao).markAsReturned(book);
+            verify(customerDao).closeLoans(customer.getCustomerId(), 1, LocalDate.now());
+        }
+
+        @Test
+        void testReturnBookWithDates_NoCopyOnLoan_ThrowsException() {
+            UUID bookId = UUID.randomUUID();
+            LocalDate returnDate = LocalDate.now();
+            Customer customer = new Customer(UUID.randomUUID(), "John Doe", "john.doe@example.com", true);
+            Book book = new Book(bookId, "Clean Code", "Robert C. Martin", 2008, true, null);
+            Transaction transaction = new Transaction(LocalDate.now().minusDays(5), LocalDate.now().plusDays(5), customer, book);
+            when(transactionDao.closeOpenLoan(bookId, returnDate)).thenReturn(Optional.of(transaction));
+            when(bookDao.markAsReturned(book)).thenReturn(false);
+
+            assertThrows(IllegalStateException.class, () -> transactionService.returnBookWithDates(bookId, returnDate));
+            verify(customerDao, never()).closeLoans(any(), anyInt(), any());
+        }
+
+        @Test
+        void testReturnBookWithDates_RecountsOverdueLoansAsOfToday() {
+            UUID bookId = UUID.randomUUID();
+            LocalDate returnDate = LocalDate.now().minusDays(2);
+            Customer customer = new Customer(UUID.randomUUID(), "John Doe", "john.doe@example.com", true);
+            Book book = new Book(bookId, "Clean Code", "Robert C. Martin", 2008, false, null);
+            Transaction transaction = new Transaction(returnDate.minusDays(20), returnDate.minusDays(6), customer, book);
+            transaction.setReturnDate(returnDate);
+            when(transactionDao.closeOpenLoan(bookId, returnDate)).thenReturn(Optional.of(transaction));
+            when(bookDao.markAsReturned(book)).thenReturn(true);
+
+            transactionService.returnBookWithDates(bookId, returnDate);
+
+            verify(customerDao).closeLoans(customer.getCustomerId(), 1, LocalDate.now());
         }
     }
\ No newline at end of file
@@ -0,0 +1,73 @@
+package app.infrastructure.config.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("unit")
+class RenderedResponseCacheTest {
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final RenderedResponseCache cache = new RenderedResponseCache(objectMapper, 10, Duration.ofMinutes(1));
+
+    @Test
+    void render_storesBytesWithTheEtagTheFilterWouldHaveComputed() throws IOException {
+        UUID id = UUID.randomUUID();
+
+        RenderedResponse rendered = cache.render(RenderedResponseCache.BOOKS, id, cache.generation(RenderedResponseCache.BOOKS, id), Map.of("message", "Book retrieved successfully"));
+
+        assertArrayEquals(objectMapper.writeValueAsBytes(Map.of("message", "Book retrieved successfully")), rendered.body());
+        assertEquals(new FilterEtag().of(rendered.body()), rendered.etag());
+        assertSame(rendered, cache.get(RenderedResponseCache.BOOKS, id));
+        assertNull(cache.get(RenderedResponseCache.TRANSACTIONS, id));
+    }
+
+    @Test
+    void evict_dropsTheRenderedResponse() {
+        UUID id = UUID.randomUUID();
+        cache.render(RenderedResponseCache.TRANSACTIONS, id, cache.generation(RenderedResponseCache.TRANSACTIONS, id), Map.of("message", "Transaction retrieved successfully"));
+
+        cache.evict(RenderedResponseCache.TRANSACTIONS, id);
+
+        assertNull(cache.get(RenderedResponseCache.TRANSACTIONS, id));
+    }
+
+    @Test
+    void render_ofABodyReadBeforeAnEviction_isNotCached() {
+        UUID id = UUID.randomUUID();
+        long generation = cache.generation(RenderedResponseCache.BOOKS, id);
+
+        cache.evict(RenderedResponseCache.BOOKS, id);
+        RenderedResponse stale = cache.render(RenderedResponseCache.BOOKS, id, generation, Map.of("message", "stale"));
+
+        assertNotNull(stale.etag());
+        assertNull(cache.get(RenderedResponseCache.BOOKS, id));
+        cache.render(RenderedResponseCache.BOOKS, id, cache.generation(RenderedResponseCache.BOOKS, id), Map.of("message", "fresh"));
+        assertNotNull(cache.get(RenderedResponseCache.BOOKS, id));
+    }
+
+    @Test
+    void withoutCapacity_rendersEveryTime() {
+        RenderedResponseCache disabled = new RenderedResponseCache(objectMapper, 0, Duration.ofMinutes(1));
+        UUID id = UUID.randomUUID();
+
+        RenderedResponse rendered = disabled.render(RenderedResponseCache.BOOKS, id, disabled.generation(RenderedResponseCache.BOOKS, id), Map.of("message", "Book retrieved successfully"));
+
+        assertNotNull(rendered.etag());
+        assertNull(disabled.get(RenderedResponseCache.BOOKS, id));
+    }
+
+    private static final class FilterEtag extends ShallowEtagHeaderFilter {
+        String of(byte[] body) throws IOException {
+            return generateETagHeaderValue(new ByteArrayInputStream(body), false);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package app.infrastructure.config.cache;
+
+import app.domain.models.Book;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@Tag("unit")
+class TwoLevelCacheTest {
+    private CaffeineCache local;
+    private ConcurrentMapCache remote;
+    private TwoLevelCache cache;
+
+    @BeforeEach
+    void setUp() {
+        local = new CaffeineCache("books", Caffeine.newBuilder().maximumSize(10).recordStats().build());
+        remote = new ConcurrentMapCache("books");
+        cache = new TwoLevelCache(local, remote);
+    }
+
+    @Test
+    void put_writesBothTiers() {
+        cache.put("key", "value");
+
+        assertEquals("value", local.get("key").get());
+        assertEquals("value", remote.get("key").get());
+    }
+
+    @Test
+    void get_promotesRemoteHitIntoLocalTier() {
+        remote.put("key", "value");
+
+        Cache.ValueWrapper result = cache.get("key");
+
+        assertEquals("value", result.get());
+        assertEquals("value", local.get("key").get());
+        assertEquals(1, cache.getRemoteHits());
+    }
+
+    @Test
+    void get_countsRemoteMiss() {
+        assertNull(cache.get("missing"));
+        assertEquals(1, cache.getRemoteMisses());
+    }
+
+    @Test
+    void evict_removesFromBothTiers() {
+        cache.put("key", "value");
+
+        cache.evict("key");
+
+        assertNull(local.get("key"));
+        assertNull(remote.get("key"));
+    }
+
+    @Test
+    void failingRemoteTier_fallsBackToLocal() {
+        Cache broken = mock(Cache.class);
+        when(broken.get(any())).thenThrow(new IllegalStateException("connection refused"));
+        doThrow(new IllegalStateException("connection refused")).when(broken).put(any(), any());
+        TwoLevelCache degraded = new TwoLevelCache(local, broken);
+
+        assertNull(degraded.get("key"));
+        degraded.put("key", "value");
+
+        assertEquals("value", degraded.get("key").get());
+        assertEquals(2, degraded.getRemoteErrors());
+    }
+
+    @Test
+    void copier_keepsCallersFromChangingTheCachedValue() {
+        TwoLevelCache copying = new TwoLevelCache(local, null, CatalogCaches::copyOf);
+        Book book = new Book(UUID.randomUUID(), "Clean Code", "111", 2008, true, null);
+
+        copying.put("key", book);
+        book.setAvailable(book.lendCopy() > 0);
+        Book cached = (Book) copying.get("key").get();
+        cached.setTitle("Changed");
+
+        assertNotSame(cached, copying.get("key").get());
+        assertEquals("Clean Code", ((Book) copying.get("key").get()).getTitle());
+        assertEquals(1, ((Book) copying.get("key").get()).getAvailableCopies());
+    }
+
+    @Test
+    void withoutRemoteTier_usesLocalOnly() {
+        TwoLevelCache localOnly = new TwoLevelCache(local, null);
+
+        localOnly.put("key", "value");
+
+        assertFalse(localOnly.hasRemote());
+        assertEquals("value", localOnly.get("key").get());
+        assertEquals(0, localOnly.getRemoteMisses());
+    }
+}
@@ -0,0 +1,40 @@
+package app.infrastructure.config.database;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("unit")
+class HikariPoolSizingTest {
+
+    @Test
+    void poolSize_FollowsCoreCountWithAFloor() {
+        assertEquals(HikariPoolSizing.MINIMUM_POOL_SIZE, HikariPoolSizing.poolSize(1));
+        assertEquals(17, HikariPoolSizing.poolSize(8));
+    }
+
+    @Test
+    void postProcess_SizesAFixedPoolWhenNotConfigured() {
+        HikariDataSource dataSource = new HikariDataSource();
+
+        new HikariPoolSizing(new MockEnvironment()).postProcessAfterInitialization(dataSource, "dataSource");
+
+        int expected = HikariPoolSizing.poolSize(Runtime.getRuntime().availableProcessors());
+        assertEquals(expected, dataSource.getMaximumPoolSize());
+        assertEquals(expected, dataSource.getMinimumIdle());
+    }
+
+    @Test
+    void postProcess_KeepsAnExplicitPoolSize() {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setMaximumPoolSize(4);
+        MockEnvironment environment = new MockEnvironment().withProperty("spring.datasource.hikari.maximum-pool-size", "4");
+
+        new HikariPoolSizing(environment).postProcessAfterInitialization(dataSource, "dataSource");
+
+        assertEquals(4, dataSource.getMaximumPoolSize());
+    }
+}
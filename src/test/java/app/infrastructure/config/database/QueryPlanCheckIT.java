@@ -0,0 +1,34 @@
+package app.infrastructure.config.database;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Tag("integration")
+public class QueryPlanCheckIT {
+    @Autowired
+    private QueryPlanCheck queryPlanCheck;
+
+    @Test
+    void hotQueries_useTheMigratedIndexes() {
+        assertThat(queryPlanCheck.fullScans(QueryPlanCheck.HOT_QUERIES)).isEmpty();
+    }
+
+    @Test
+    void unindexedPredicate_isReportedAsFullScan() {
+        QueryPlanCheck.HotQuery unindexed = new QueryPlanCheck.HotQuery("customers by privileges",
+                "SELECT * FROM customers WHERE privileges = ?", true);
+        QueryPlanCheck.HotQuery indexed = new QueryPlanCheck.HotQuery("book by id",
+                "SELECT * FROM books WHERE book_id = ?", new UUID(0, 0));
+
+        assertThat(queryPlanCheck.fullScans(List.of(unindexed, indexed)))
+                .containsExactly("customers by privileges (SELECT * FROM customers WHERE privileges = ?)");
+    }
+}
@@ -0,0 +1,35 @@
+package app.infrastructure.config.database;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("unit")
+class UuidV7Test {
+
+    @Test
+    void next_IsAVersion7UuidCarryingTheTimestamp() {
+        long millis = System.currentTimeMillis();
+
+        UUID id = UuidV7.next(millis);
+
+        assertEquals(7, id.version());
+        assertEquals(2, id.variant());
+        assertTrue(id.getMostSignificantBits() >>> 16 >= millis);
+    }
+
+    @Test
+    void next_SortsInGenerationOrderWithinTheSameMillisecond() {
+        long millis = System.currentTimeMillis();
+        UUID previous = UuidV7.next(millis);
+
+        for (int i = 0; i < 10_000; i++) {
+            UUID current = UuidV7.next(millis);
+            assertTrue(current.toString().compareTo(previous.toString()) > 0, previous + " then " + current);
+            previous = current;
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package app.infrastructure.config.events;
+
+import app.domain.models.CirculationEvent;
+import app.domain.models.CirculationEventType;
+import app.domain.port.CirculationEventDao;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@Tag("unit")
+class CirculationEventPublisherTest {
+    private static final Instant START = Instant.parse("2026-01-01T00:00:00Z");
+
+    private CirculationEventDao eventDao;
+    private ObjectProvider<CirculationEventSubscriber> subscribers;
+    private Clock clock;
+    private final List<CirculationEvent> log = new ArrayList<>();
+    private final List<Long> received = new ArrayList<>();
+    private long position;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        eventDao = mock(CirculationEventDao.class);
+        when(eventDao.lastPublishedId()).thenAnswer(invocation -> position);
+        doAnswer(invocation -> position = invocation.getArgument(0)).when(eventDao).markPublished(anyLong());
+        when(eventDao.findAfter(anyLong(), anyInt())).thenAnswer(invocation -> {
+            long after = invocation.getArgument(0);
+            int limit = invocation.getArgument(1);
+            return log.stream().filter(event -> event.getEventId() > after).limit(limit).toList();
+        });
+        CirculationEventSubscriber subscriber = events -> events.forEach(event -> received.add(event.getEventId()));
+        subscribers = mock(ObjectProvider.class);
+        when(subscribers.orderedStream()).thenAnswer(invocation -> Stream.of(subscriber));
+        clock = mock(Clock.class);
+        when(clock.instant()).thenReturn(START);
+    }
+
+    @Test
+    void publishPending_deliversAllEventsInOrderAcrossBatches() {
+        append(1, 2, 3, 4, 5);
+        CirculationEventPublisher publisher = publisher(2);
+
+        publisher.publishPending();
+
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L), received);
+        assertEquals(5, publisher.getLastPublished());
+    }
+
+    @Test
+    void publishPending_startsAfterEventsAlreadyInTheLog() {
+        append(1, 2);
+        position = 2;
+        CirculationEventPublisher publisher = publisher(10);
+        append(3);
+
+        publisher.publishPending();
+
+        assertEquals(List.of(3L), received);
+    }
+
+    @Test
+    void publishPending_waitsForAGapToBeFilled() {
+        append(1, 3);
+        CirculationEventPublisher publisher = publisher(10);
+
+        publisher.publishPending();
+        assertEquals(List.of(1L), received);
+
+        append(2);
+        publisher.publishPending();
+
+        assertEquals(List.of(1L, 2L, 3L), received);
+    }
+
+    @Test
+    void publishPending_skipsAGapOnceItTimesOut() {
+        append(1, 3);
+        CirculationEventPublisher publisher = publisher(10);
+
+        publisher.publishPending();
+        publisher.publishPending();
+        assertEquals(List.of(1L), received);
+
+        when(clock.instant()).thenReturn(START.plusSeconds(6));
+        publisher.publishPending();
+
+        assertEquals(List.of(1L, 3L), received);
+        assertEquals(3, publisher.getLastPublished());
+    }
+
+    @Test
+    void restart_resumesAfterTheLastPublishedEvent() {
+        append(1, 2);
+        publisher(10).publishPending();
+        append(3, 4);
+
+        CirculationEventPublisher restarted = publisher(10);
+        restarted.publishPending();
+
+        assertEquals(List.of(1L, 2L, 3L, 4L), received);
+        assertEquals(4, position);
+    }
+
+    @Test
+    void failingDurableSubscriber_holdsTheBatchForTheNextPoll() {
+        List<Long> stored = new ArrayList<>();
+        boolean[] down = {true};
+        CirculationEventSubscriber sink = events -> {
+            if (down[0]) {
+                throw new IllegalStateException("disk full");
+            }
+            events.forEach(event -> stored.add(event.getEventId()));
+        };
+        when(subscribers.orderedStream()).thenAnswer(invocation -> Stream.of(sink));
+        append(1, 2);
+        CirculationEventPublisher publisher = publisher(10);
+
+        publisher.publishPending();
+        assertEquals(0, publisher.getLastPublished());
+        assertEquals(0, position);
+
+        down[0] = false;
+        publisher.publishPending();
+
+        assertEquals(List.of(1L, 2L), stored);
+        assertEquals(2, position);
+    }
+
+    @Test
+    void failingLiveSubscriber_doesNotStopTheOthers() {
+        CirculationEventSubscriber broken = new CirculationEventSubscriber() {
+            @Override
+            public void onEvents(List<CirculationEvent> events) {
+                throw new IllegalStateException("client gone");
+            }
+
+            @Override
+            public boolean isDurable() {
+                return false;
+            }
+        };
+        CirculationEventSubscriber healthy = events -> events.forEach(event -> received.add(event.getEventId()));
+        when(subscribers.orderedStream()).thenAnswer(invocation -> Stream.of(broken, healthy));
+        append(1);
+        CirculationEventPublisher publisher = publisher(10);
+
+        publisher.publishPending();
+
+        assertEquals(List.of(1L), received);
+        assertEquals(1, publisher.getLastPublished());
+    }
+
+    private CirculationEventPublisher publisher(int batchSize) {
+        return new CirculationEventPublisher(eventDao, subscribers, batchSize, Duration.ofSeconds(5), clock);
+    }
+
+    private void append(long... eventIds) {
+        for (long eventId : eventIds) {
+            log.add(new CirculationEvent(eventId, CirculationEventType.BORROWED, UUID.randomUUID(), UUID.randomUUID(),
+                    UUID.randomUUID(), LocalDate.now(), START));
+        }
+        log.sort((a, b) -> Long.compare(a.getEventId(), b.getEventId()));
+    }
+}
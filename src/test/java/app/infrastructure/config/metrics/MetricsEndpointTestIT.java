@@ -0,0 +1,51 @@
+package app.infrastructure.config.metrics;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@WithMockUser
+@Tag("integration")
+class MetricsEndpointTestIT {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void prometheusEndpoint_exposesPortAndPerRequestMetrics() throws Exception {
+        mockMvc.perform(get("/authors/paginated").param("page", "0").param("size", "5"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("library_port_calls_seconds_count{method=\"getPaginatedAuthors\",outcome=\"success\",port=\"AuthorDao\"")))
+                .andExpect(content().string(containsString("library_http_sql_statements_count{method=\"GET\",uri=\"/authors/paginated\"")))
+                .andExpect(content().string(containsString("library_sql_statements_total{kind=\"select\"")));
+    }
+
+    @Test
+    void cachesEndpoint_requiresAdminRole() throws Exception {
+        mockMvc.perform(delete("/actuator/caches"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void cachesEndpoint_clearsCachesForAdmin() throws Exception {
+        mockMvc.perform(delete("/actuator/caches"))
+                .andExpect(status().isNoContent());
+    }
+}
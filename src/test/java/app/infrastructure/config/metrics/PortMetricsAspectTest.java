@@ -0,0 +1,98 @@
+package app.infrastructure.config.metrics;
+
+import app.domain.models.Author;
+import app.domain.port.AuthorDao;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@Tag("unit")
+class PortMetricsAspectTest {
+    private SimpleMeterRegistry registry;
+    private AuthorDao authorDao;
+    private AuthorDao proxy;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        authorDao = mock(AuthorDao.class);
+        AspectJProxyFactory factory = new AspectJProxyFactory(authorDao);
+        factory.addAspect(new PortMetricsAspect(registry));
+        proxy = factory.getProxy();
+    }
+
+    @Test
+    void successfulCall_isTimedAndRowsRecorded() {
+        when(authorDao.getPaginatedAuthors(any())).thenReturn(new PageImpl<>(List.of(new Author(), new Author())));
+
+        proxy.getPaginatedAuthors(PageRequest.of(0, 10));
+
+        assertEquals(1, registry.get("library.port.calls")
+                .tags("port", "AuthorDao", "method", "getPaginatedAuthors", "outcome", "success").timer().count());
+        assertEquals(2.0, registry.get("library.port.rows")
+                .tags("port", "AuthorDao", "method", "getPaginatedAuthors").summary().totalAmount());
+    }
+
+    @Test
+    void failingCall_isTimedAsError() {
+        UUID id = UUID.randomUUID();
+        doThrow(new IllegalStateException("boom")).when(authorDao).deleteAuthor(id);
+
+        assertThrows(IllegalStateException.class, () -> proxy.deleteAuthor(id));
+
+        assertEquals(1, registry.get("library.port.calls")
+                .tags("method", "deleteAuthor", "outcome", "error").timer().count());
+        assertNull(registry.find("library.port.rows").tags("method", "deleteAuthor").summary());
+    }
+
+    @Test
+    void rows_countsOptionalsAndIgnoresScalars() {
+        assertEquals(1, PortMetricsAspect.rows(Optional.of("x")));
+        assertEquals(0, PortMetricsAspect.rows(Optional.empty()));
+        assertEquals(-1, PortMetricsAspect.rows(null));
+        assertEquals(-1, PortMetricsAspect.rows(Boolean.TRUE));
+    }
+
+    @Test
+    void rowsAndStatements_areAttributedToTheCurrentRequest() throws SQLException {
+        when(authorDao.searchAuthorByName("a")).thenReturn(Optional.of(new Author()));
+        DataSource target = mock(DataSource.class);
+        Connection connection = mock(Connection.class);
+        when(target.getConnection()).thenReturn(connection);
+        when(connection.createStatement()).thenReturn(mock(Statement.class));
+        SqlStatementCounter counter = new SqlStatementCounter(registry);
+        DataSource dataSource = new StatementCountingDataSource(target, () -> counter);
+        RequestStatistics statistics = RequestStatistics.begin();
+        try {
+            proxy.searchAuthorByName("a");
+            try (Connection counted = dataSource.getConnection()) {
+                counted.prepareStatement("select * from authors");
+                counted.createStatement().executeUpdate("insert into authors (name) values ('a')");
+            }
+        } finally {
+            RequestStatistics.end();
+        }
+
+        assertEquals(1, statistics.getRows());
+        assertEquals(2, statistics.getStatements());
+        assertEquals(1.0, registry.get("library.sql.statements").tag("kind", "select").counter().count());
+        assertEquals(1.0, registry.get("library.sql.statements").tag("kind", "insert").counter().count());
+        verify(connection).close();
+    }
+}